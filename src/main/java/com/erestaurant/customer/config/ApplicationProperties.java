@@ -1,5 +1,6 @@
 package com.erestaurant.customer.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +10,635 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Bulk bulk = new Bulk();
+
+    private final Blob blob = new Blob();
+
+    private final CatalogCache catalogCache = new CatalogCache();
+
+    private final Sse sse = new Sse();
+
+    private final KafkaPublish kafkaPublish = new KafkaPublish();
+
+    private final Outbox outbox = new Outbox();
+
+    private final OrderHistory orderHistory = new OrderHistory();
+
+    private final Cart cart = new Cart();
+
+    private final Kitchen kitchen = new Kitchen();
+
+    private final Search search = new Search();
+
+    private final UserReindex userReindex = new UserReindex();
+
+    private final UserSearch userSearch = new UserSearch();
+
+    private final Typeahead typeahead = new Typeahead();
+
+    private final IdpSync idpSync = new IdpSync();
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Blob getBlob() {
+        return blob;
+    }
+
+    public CatalogCache getCatalogCache() {
+        return catalogCache;
+    }
+
+    public Sse getSse() {
+        return sse;
+    }
+
+    public KafkaPublish getKafkaPublish() {
+        return kafkaPublish;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public OrderHistory getOrderHistory() {
+        return orderHistory;
+    }
+
+    public Cart getCart() {
+        return cart;
+    }
+
+    public Kitchen getKitchen() {
+        return kitchen;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public UserReindex getUserReindex() {
+        return userReindex;
+    }
+
+    public UserSearch getUserSearch() {
+        return userSearch;
+    }
+
+    public Typeahead getTypeahead() {
+        return typeahead;
+    }
+
+    public IdpSync getIdpSync() {
+        return idpSync;
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of rows written by each statement of a bulk save.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Period at which a batch is written even if it is not full, so the results of a slow stream keep flowing.
+         */
+        private Duration flushTimeout = Duration.ofMillis(500);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushTimeout() {
+            return flushTimeout;
+        }
+
+        public void setFlushTimeout(Duration flushTimeout) {
+            this.flushTimeout = flushTimeout;
+        }
+    }
+
+    public static class Blob {
+
+        /**
+         * Directory of the blob store, which holds the images of the entities. It has no default, so the images never
+         * end up in the build directory by mistake.
+         */
+        private String directory;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    public static class CatalogCache {
+
+        /**
+         * Maximum total size in bytes of the cached entities of each catalog cache.
+         */
+        private long maximumWeight = 16 * 1024 * 1024;
+
+        /**
+         * Time after which a cached entity is read again from the database, even without invalidation.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Sse {
+
+        /**
+         * What to do with a subscriber of the Kafka SSE stream whose buffer is full.
+         */
+        public enum OverflowPolicy {
+            /**
+             * Drop the oldest buffered event to make room for the new one.
+             */
+            DROP_OLDEST,
+            /**
+             * Close the stream of the subscriber, which reconnects when it is ready.
+             */
+            DISCONNECT,
+        }
+
+        /**
+         * Number of events buffered for each subscriber not reading fast enough.
+         */
+        private int bufferSize = 256;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+        /**
+         * Maximum number of recent events kept to resume the streams of reconnecting clients.
+         */
+        private int replayCount = 1000;
+
+        /**
+         * Maximum total size in bytes of the recent events kept to resume the streams of reconnecting clients.
+         */
+        private long replayBytes = 1024 * 1024;
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public int getReplayCount() {
+            return replayCount;
+        }
+
+        public void setReplayCount(int replayCount) {
+            this.replayCount = replayCount;
+        }
+
+        public long getReplayBytes() {
+            return replayBytes;
+        }
+
+        public void setReplayBytes(long replayBytes) {
+            this.replayBytes = replayBytes;
+        }
+    }
+
+    public static class KafkaPublish {
+
+        /**
+         * Time to wait for the broker to acknowledge a published message.
+         */
+        private Duration ackTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Number of messages of a bulk publish sent without waiting for their acknowledgement.
+         */
+        private int bulkConcurrency = 256;
+
+        public Duration getAckTimeout() {
+            return ackTimeout;
+        }
+
+        public void setAckTimeout(Duration ackTimeout) {
+            this.ackTimeout = ackTimeout;
+        }
+
+        public int getBulkConcurrency() {
+            return bulkConcurrency;
+        }
+
+        public void setBulkConcurrency(int bulkConcurrency) {
+            this.bulkConcurrency = bulkConcurrency;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Whether this replica relays the outbox events to Kafka.
+         */
+        private boolean relayEnabled = true;
+
+        /**
+         * Delay in milliseconds between the end of a relay and the start of the next one.
+         */
+        private long relayDelay = 1000;
+
+        /**
+         * Number of events locked and published by each transaction of the relay.
+         */
+        private int batchSize = 100;
+
+        public boolean isRelayEnabled() {
+            return relayEnabled;
+        }
+
+        public void setRelayEnabled(boolean relayEnabled) {
+            this.relayEnabled = relayEnabled;
+        }
+
+        public long getRelayDelay() {
+            return relayDelay;
+        }
+
+        public void setRelayDelay(long relayDelay) {
+            this.relayDelay = relayDelay;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class OrderHistory {
+
+        /**
+         * Number of events of an order between two snapshots of its state.
+         */
+        private int snapshotInterval = 50;
+
+        /**
+         * Delay in milliseconds between two reads of the new events by the projections.
+         */
+        private long projectionDelay = 1000;
+
+        /**
+         * Number of events read at once by the projections.
+         */
+        private int projectionBatchSize = 500;
+
+        /**
+         * Time after which a missing event id is considered rolled back, rather than not committed yet.
+         */
+        private Duration gapTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Delay in milliseconds between two checkpoints of the projections.
+         */
+        private long checkpointDelay = 60000;
+
+        public int getSnapshotInterval() {
+            return snapshotInterval;
+        }
+
+        public void setSnapshotInterval(int snapshotInterval) {
+            this.snapshotInterval = snapshotInterval;
+        }
+
+        public long getProjectionDelay() {
+            return projectionDelay;
+        }
+
+        public void setProjectionDelay(long projectionDelay) {
+            this.projectionDelay = projectionDelay;
+        }
+
+        public int getProjectionBatchSize() {
+            return projectionBatchSize;
+        }
+
+        public void setProjectionBatchSize(int projectionBatchSize) {
+            this.projectionBatchSize = projectionBatchSize;
+        }
+
+        public Duration getGapTimeout() {
+            return gapTimeout;
+        }
+
+        public void setGapTimeout(Duration gapTimeout) {
+            this.gapTimeout = gapTimeout;
+        }
+
+        public long getCheckpointDelay() {
+            return checkpointDelay;
+        }
+
+        public void setCheckpointDelay(long checkpointDelay) {
+            this.checkpointDelay = checkpointDelay;
+        }
+    }
+
+    public static class Cart {
+
+        /**
+         * Number of shards of the carts held in memory, each with its own lock.
+         */
+        private int shards = 16;
+
+        /**
+         * Delay in milliseconds between two writes of the changed carts to the database.
+         */
+        private long flushDelay = 1000;
+
+        /**
+         * Time without change after which the changes of a cart are written.
+         */
+        private Duration idleTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Longest time the changes of a cart stay in memory only, even if it keeps changing.
+         */
+        private Duration maxWriteDelay = Duration.ofSeconds(60);
+
+        /**
+         * Time without access after which a written cart is dropped from memory.
+         */
+        private Duration evictAfter = Duration.ofMinutes(10);
+
+        public int getShards() {
+            return shards;
+        }
+
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+
+        public long getFlushDelay() {
+            return flushDelay;
+        }
+
+        public void setFlushDelay(long flushDelay) {
+            this.flushDelay = flushDelay;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public Duration getMaxWriteDelay() {
+            return maxWriteDelay;
+        }
+
+        public void setMaxWriteDelay(Duration maxWriteDelay) {
+            this.maxWriteDelay = maxWriteDelay;
+        }
+
+        public Duration getEvictAfter() {
+            return evictAfter;
+        }
+
+        public void setEvictAfter(Duration evictAfter) {
+            this.evictAfter = evictAfter;
+        }
+    }
+
+    public static class Kitchen {
+
+        /**
+         * Number of stations of the kitchen, each preparing one order at a time.
+         */
+        private int stations = 4;
+
+        public int getStations() {
+            return stations;
+        }
+
+        public void setStations(int stations) {
+            this.stations = stations;
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Where the full-text index of the products is held.
+         */
+        public enum Backend {
+            /**
+             * In the Elasticsearch cluster of {@code spring.elasticsearch.uris}.
+             */
+            ELASTICSEARCH,
+            /**
+             * In the memory of each replica, rebuilt from the database on startup.
+             */
+            LUCENE,
+        }
+
+        private Backend backend = Backend.ELASTICSEARCH;
+
+        /**
+         * Number of changed products which are written to the index at once, without waiting for the next flush.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Delay in milliseconds between two writes of the changed products to the index.
+         */
+        private long flushDelay = 1000;
+
+        public Backend getBackend() {
+            return backend;
+        }
+
+        public void setBackend(Backend backend) {
+            this.backend = backend;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushDelay() {
+            return flushDelay;
+        }
+
+        public void setFlushDelay(long flushDelay) {
+            this.flushDelay = flushDelay;
+        }
+    }
+
+    public static class UserReindex {
+
+        /**
+         * Number of users read from the database and written to the index at once.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Number of chunks of users written to the index at the same time.
+         */
+        private int concurrency = 4;
+
+        /**
+         * Number of replicas of the rebuilt index, which has none while it is filled.
+         */
+        private int replicas = 1;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(int replicas) {
+            this.replicas = replicas;
+        }
+    }
+
+    public static class UserSearch {
+
+        /**
+         * Maximum total size in bytes of the cached pages of users found.
+         */
+        private long maximumWeight = 4 * 1024 * 1024;
+
+        /**
+         * Time after which a cached page of users found is searched again, a changed user being found as it was until then.
+         */
+        private Duration timeToLive = Duration.ofSeconds(10);
+
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Typeahead {
+
+        /**
+         * Number of suggestions added or removed since the index was built above which they are merged into a new index.
+         */
+        private int maxPending = 10000;
+
+        /**
+         * Milliseconds between two rebuilds of the index from the database, which adds the writes of the other instances.
+         */
+        private long rebuildDelay = 3600000;
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+        public long getRebuildDelay() {
+            return rebuildDelay;
+        }
+
+        public void setRebuildDelay(long rebuildDelay) {
+            this.rebuildDelay = rebuildDelay;
+        }
+    }
+
+    public static class IdpSync {
+
+        /**
+         * Maximum total size in bytes of the cached users synchronized with the IdP.
+         */
+        private long maximumWeight = 4 * 1024 * 1024;
+
+        /**
+         * Time after which an unchanged user of the IdP is synchronized again, to restore it if it changed in the database.
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+}
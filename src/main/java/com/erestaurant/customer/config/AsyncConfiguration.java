@@ -9,6 +9,8 @@ import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.MessageChannel;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -18,7 +20,9 @@ import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 @Configuration
 @EnableAsync
 @EnableScheduling
-@EnableBinding({ KafkaSseConsumer.class, KafkaSseProducer.class })
+@EnableBinding(
+    { KafkaSseConsumer.class, KafkaSseProducer.class, KafkaCatalogConsumer.class, KafkaCatalogProducer.class, KafkaOutboxProducer.class }
+)
 public class AsyncConfiguration implements AsyncConfigurer {
 
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
@@ -41,6 +45,16 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = KafkaSseProducer.RESULTS_CHANNELNAME)
+    public MessageChannel kafkaSseProducerResults() {
+        return new DirectChannel();
+    }
+
+    @Bean(name = KafkaOutboxProducer.RESULTS_CHANNELNAME)
+    public MessageChannel kafkaOutboxProducerResults() {
+        return new DirectChannel();
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,11 @@
+package com.erestaurant.customer.config;
+
+import org.springframework.cloud.stream.annotation.Input;
+import org.springframework.messaging.MessageChannel;
+
+public interface KafkaCatalogConsumer {
+    String CHANNELNAME = "binding-in-catalog";
+
+    @Input(CHANNELNAME)
+    MessageChannel input();
+}
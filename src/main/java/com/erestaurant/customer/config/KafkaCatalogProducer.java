@@ -0,0 +1,11 @@
+package com.erestaurant.customer.config;
+
+import org.springframework.cloud.stream.annotation.Output;
+import org.springframework.messaging.MessageChannel;
+
+public interface KafkaCatalogProducer {
+    String CHANNELNAME = "binding-out-catalog";
+
+    @Output(CHANNELNAME)
+    MessageChannel output();
+}
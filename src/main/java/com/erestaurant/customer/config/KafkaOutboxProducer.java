@@ -0,0 +1,21 @@
+package com.erestaurant.customer.config;
+
+import org.springframework.cloud.stream.annotation.Output;
+import org.springframework.messaging.MessageChannel;
+
+public interface KafkaOutboxProducer {
+    String CHANNELNAME = "binding-out-outbox";
+
+    /**
+     * The channel receiving the events the broker acknowledged, with their record metadata.
+     */
+    String RESULTS_CHANNELNAME = "binding-out-outbox-results";
+
+    /**
+     * The channel receiving the events the binder failed to send, named after the destination of the binding.
+     */
+    String ERRORS_CHANNELNAME = "domain-events-topic.errors";
+
+    @Output(CHANNELNAME)
+    MessageChannel output();
+}
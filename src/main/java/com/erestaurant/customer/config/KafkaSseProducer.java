@@ -6,6 +6,16 @@ import org.springframework.messaging.MessageChannel;
 public interface KafkaSseProducer {
     String CHANNELNAME = "binding-out-sse";
 
+    /**
+     * The channel receiving the messages the broker acknowledged, with their record metadata.
+     */
+    String RESULTS_CHANNELNAME = "binding-out-sse-results";
+
+    /**
+     * The channel receiving the messages the binder failed to send, named after the destination of the binding.
+     */
+    String ERRORS_CHANNELNAME = "sse-topic.errors";
+
     @Output(CHANNELNAME)
     MessageChannel output();
 }
@@ -0,0 +1,24 @@
+package com.erestaurant.customer.config;
+
+import com.erestaurant.customer.repository.search.ElasticsearchProductsSearchBackend;
+import com.erestaurant.customer.repository.search.LuceneProductsSearchBackend;
+import com.erestaurant.customer.repository.search.ProductsSearchBackend;
+import com.erestaurant.customer.repository.search.ProductsSearchRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfiguration {
+
+    @Bean
+    public ProductsSearchBackend productsSearchBackend(
+        ApplicationProperties applicationProperties,
+        ObjectProvider<ProductsSearchRepository> productsSearchRepository
+    ) {
+        if (applicationProperties.getSearch().getBackend() == ApplicationProperties.Search.Backend.LUCENE) {
+            return new LuceneProductsSearchBackend();
+        }
+        return new ElasticsearchProductsSearchBackend(productsSearchRepository.getObject());
+    }
+}
@@ -30,8 +30,8 @@ public class AppUser implements Serializable, Persistable<String> {
     @Column("description")
     private String description;
 
-    @Column("image")
-    private byte[] image;
+    @Column("image_hash")
+    private String imageHash;
 
     @Column("image_content_type")
     private String imageContentType;
@@ -89,17 +89,17 @@ public class AppUser implements Serializable, Persistable<String> {
         this.description = description;
     }
 
-    public byte[] getImage() {
-        return this.image;
+    public String getImageHash() {
+        return this.imageHash;
     }
 
-    public AppUser image(byte[] image) {
-        this.setImage(image);
+    public AppUser imageHash(String imageHash) {
+        this.setImageHash(imageHash);
         return this;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
     public String getImageContentType() {
@@ -187,8 +187,8 @@ public class AppUser implements Serializable, Persistable<String> {
             "id=" + getId() +
             ", name='" + getName() + "'" +
             ", description='" + getDescription() + "'" +
-            ", image='" + getImage() + "'" +
             ", imageContentType='" + getImageContentType() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
             ", email='" + getEmail() + "'" +
             "}";
     }
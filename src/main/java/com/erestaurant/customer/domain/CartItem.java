@@ -0,0 +1,112 @@
+package com.erestaurant.customer.domain;
+
+import java.io.Serializable;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A CartItem, a {@link Products} in a {@link Cart} with its quantity.
+ */
+@Table("cart_item")
+public class CartItem implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Column("cart_id")
+    private String cartId;
+
+    @NotNull(message = "must not be null")
+    @Column("product_id")
+    private String productId;
+
+    @NotNull(message = "must not be null")
+    @Column("quantity")
+    private Integer quantity;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public CartItem id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCartId() {
+        return this.cartId;
+    }
+
+    public CartItem cartId(String cartId) {
+        this.setCartId(cartId);
+        return this;
+    }
+
+    public void setCartId(String cartId) {
+        this.cartId = cartId;
+    }
+
+    public String getProductId() {
+        return this.productId;
+    }
+
+    public CartItem productId(String productId) {
+        this.setProductId(productId);
+        return this;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return this.quantity;
+    }
+
+    public CartItem quantity(Integer quantity) {
+        this.setQuantity(quantity);
+        return this;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CartItem)) {
+            return false;
+        }
+        return id != null && id.equals(((CartItem) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartItem{" +
+            "id=" + getId() +
+            ", cartId='" + getCartId() + "'" +
+            ", productId='" + getProductId() + "'" +
+            ", quantity='" + getQuantity() + "'" +
+            "}";
+    }
+}
@@ -40,6 +40,9 @@ public class CustomerProfile implements Serializable, Persistable<String> {
     @Column("referals")
     private String referals;
 
+    @Column("geohash")
+    private String geohash;
+
     @Transient
     private boolean isPersisted;
 
@@ -110,6 +113,19 @@ public class CustomerProfile implements Serializable, Persistable<String> {
         this.referals = referals;
     }
 
+    public String getGeohash() {
+        return this.geohash;
+    }
+
+    public CustomerProfile geohash(String geohash) {
+        this.setGeohash(geohash);
+        return this;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
     @Transient
     @Override
     public boolean isNew() {
@@ -149,6 +165,7 @@ public class CustomerProfile implements Serializable, Persistable<String> {
             ", location='" + getLocation() + "'" +
             ", locationRange='" + getLocationRange() + "'" +
             ", referals='" + getReferals() + "'" +
+            ", geohash='" + getGeohash() + "'" +
             "}";
     }
 }
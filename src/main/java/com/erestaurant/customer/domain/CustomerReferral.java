@@ -0,0 +1,94 @@
+package com.erestaurant.customer.domain;
+
+import java.io.Serializable;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A CustomerReferral, a {@link CustomerProfile} referred by another one, parsed from the referals of the referrer.
+ */
+@Table("customer_referral")
+public class CustomerReferral implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Column("referrer_id")
+    private String referrerId;
+
+    @NotNull(message = "must not be null")
+    @Column("referred_id")
+    private String referredId;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public CustomerReferral id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getReferrerId() {
+        return this.referrerId;
+    }
+
+    public CustomerReferral referrerId(String referrerId) {
+        this.setReferrerId(referrerId);
+        return this;
+    }
+
+    public void setReferrerId(String referrerId) {
+        this.referrerId = referrerId;
+    }
+
+    public String getReferredId() {
+        return this.referredId;
+    }
+
+    public CustomerReferral referredId(String referredId) {
+        this.setReferredId(referredId);
+        return this;
+    }
+
+    public void setReferredId(String referredId) {
+        this.referredId = referredId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CustomerReferral)) {
+            return false;
+        }
+        return id != null && id.equals(((CustomerReferral) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerReferral{" +
+            "id=" + getId() +
+            ", referrerId='" + getReferrerId() + "'" +
+            ", referredId='" + getReferredId() + "'" +
+            "}";
+    }
+}
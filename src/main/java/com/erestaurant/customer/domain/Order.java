@@ -26,6 +26,8 @@ public class Order implements Serializable, Persistable<String> {
     private String description;
 
     @NotNull(message = "must not be null")
+    @DecimalMin(value = "0")
+    @DecimalMax(value = "10")
     @Column("rating")
     private Float rating;
 
@@ -0,0 +1,224 @@
+package com.erestaurant.customer.domain;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A OrderEvent, a change of an {@link Order} appended to its history, with the values it changed.
+ */
+@Table("order_event")
+public class OrderEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum EventType {
+        CREATED,
+        UPDATED,
+        TRANSITIONED,
+        DELETED,
+    }
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Column("order_id")
+    private String orderId;
+
+    @NotNull(message = "must not be null")
+    @Column("version")
+    private Integer version;
+
+    @NotNull(message = "must not be null")
+    @Column("event_type")
+    private EventType eventType;
+
+    @Column("description")
+    private String description;
+
+    @Column("rating")
+    private Float rating;
+
+    @Column("previous_rating")
+    private Float previousRating;
+
+    @Column("from_state")
+    private OrderState fromState;
+
+    @Column("to_state")
+    private OrderState toState;
+
+    @NotNull(message = "must not be null")
+    @Column("created_date")
+    private Instant createdDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public OrderEvent id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return this.orderId;
+    }
+
+    public OrderEvent orderId(String orderId) {
+        this.setOrderId(orderId);
+        return this;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public OrderEvent version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public EventType getEventType() {
+        return this.eventType;
+    }
+
+    public OrderEvent eventType(EventType eventType) {
+        this.setEventType(eventType);
+        return this;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public OrderEvent description(String description) {
+        this.setDescription(description);
+        return this;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Float getRating() {
+        return this.rating;
+    }
+
+    public OrderEvent rating(Float rating) {
+        this.setRating(rating);
+        return this;
+    }
+
+    public void setRating(Float rating) {
+        this.rating = rating;
+    }
+
+    public Float getPreviousRating() {
+        return this.previousRating;
+    }
+
+    public OrderEvent previousRating(Float previousRating) {
+        this.setPreviousRating(previousRating);
+        return this;
+    }
+
+    public void setPreviousRating(Float previousRating) {
+        this.previousRating = previousRating;
+    }
+
+    public OrderState getFromState() {
+        return this.fromState;
+    }
+
+    public OrderEvent fromState(OrderState fromState) {
+        this.setFromState(fromState);
+        return this;
+    }
+
+    public void setFromState(OrderState fromState) {
+        this.fromState = fromState;
+    }
+
+    public OrderState getToState() {
+        return this.toState;
+    }
+
+    public OrderEvent toState(OrderState toState) {
+        this.setToState(toState);
+        return this;
+    }
+
+    public void setToState(OrderState toState) {
+        this.toState = toState;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public OrderEvent createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderEvent)) {
+            return false;
+        }
+        return id != null && id.equals(((OrderEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderEvent{" +
+            "id=" + getId() +
+            ", orderId='" + getOrderId() + "'" +
+            ", version='" + getVersion() + "'" +
+            ", eventType='" + getEventType() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", rating='" + getRating() + "'" +
+            ", previousRating='" + getPreviousRating() + "'" +
+            ", fromState='" + getFromState() + "'" +
+            ", toState='" + getToState() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
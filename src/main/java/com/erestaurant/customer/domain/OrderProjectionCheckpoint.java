@@ -0,0 +1,128 @@
+package com.erestaurant.customer.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A OrderProjectionCheckpoint, the state of the projections of the {@link OrderEvent} up to the last event applied.
+ */
+@Table("order_projection_checkpoint")
+public class OrderProjectionCheckpoint implements Serializable, Persistable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private String id;
+
+    @NotNull(message = "must not be null")
+    @Column("last_event_id")
+    private Long lastEventId;
+
+    @NotNull(message = "must not be null")
+    @Column("state")
+    private String state;
+
+    @NotNull(message = "must not be null")
+    @Column("created_date")
+    private Instant createdDate;
+
+    @Transient
+    private boolean isPersisted;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public OrderProjectionCheckpoint id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getLastEventId() {
+        return this.lastEventId;
+    }
+
+    public OrderProjectionCheckpoint lastEventId(Long lastEventId) {
+        this.setLastEventId(lastEventId);
+        return this;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public String getState() {
+        return this.state;
+    }
+
+    public OrderProjectionCheckpoint state(String state) {
+        this.setState(state);
+        return this;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public OrderProjectionCheckpoint createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public OrderProjectionCheckpoint setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderProjectionCheckpoint)) {
+            return false;
+        }
+        return id != null && id.equals(((OrderProjectionCheckpoint) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderProjectionCheckpoint{" +
+            "id=" + getId() +
+            ", lastEventId=" + getLastEventId() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,183 @@
+package com.erestaurant.customer.domain;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A OrderSnapshot, the state of an {@link Order} after the event of the same version.
+ */
+@Table("order_snapshot")
+public class OrderSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Column("order_id")
+    private String orderId;
+
+    @NotNull(message = "must not be null")
+    @Column("version")
+    private Integer version;
+
+    @Column("description")
+    private String description;
+
+    @Column("rating")
+    private Float rating;
+
+    @Column("state")
+    private OrderState state;
+
+    @NotNull(message = "must not be null")
+    @Column("deleted")
+    private Boolean deleted;
+
+    @NotNull(message = "must not be null")
+    @Column("created_date")
+    private Instant createdDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public OrderSnapshot id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return this.orderId;
+    }
+
+    public OrderSnapshot orderId(String orderId) {
+        this.setOrderId(orderId);
+        return this;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public OrderSnapshot version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public OrderSnapshot description(String description) {
+        this.setDescription(description);
+        return this;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Float getRating() {
+        return this.rating;
+    }
+
+    public OrderSnapshot rating(Float rating) {
+        this.setRating(rating);
+        return this;
+    }
+
+    public void setRating(Float rating) {
+        this.rating = rating;
+    }
+
+    public OrderState getState() {
+        return this.state;
+    }
+
+    public OrderSnapshot state(OrderState state) {
+        this.setState(state);
+        return this;
+    }
+
+    public void setState(OrderState state) {
+        this.state = state;
+    }
+
+    public Boolean getDeleted() {
+        return this.deleted;
+    }
+
+    public OrderSnapshot deleted(Boolean deleted) {
+        this.setDeleted(deleted);
+        return this;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public OrderSnapshot createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderSnapshot)) {
+            return false;
+        }
+        return id != null && id.equals(((OrderSnapshot) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderSnapshot{" +
+            "id=" + getId() +
+            ", orderId='" + getOrderId() + "'" +
+            ", version='" + getVersion() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", rating='" + getRating() + "'" +
+            ", state='" + getState() + "'" +
+            ", deleted='" + getDeleted() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,132 @@
+package com.erestaurant.customer.domain;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A OrderTransition, a change of the state of an {@link Order}.
+ */
+@Table("order_transition")
+public class OrderTransition implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Column("order_id")
+    private String orderId;
+
+    @NotNull(message = "must not be null")
+    @Column("from_state")
+    private OrderState fromState;
+
+    @NotNull(message = "must not be null")
+    @Column("to_state")
+    private OrderState toState;
+
+    @NotNull(message = "must not be null")
+    @Column("created_date")
+    private Instant createdDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public OrderTransition id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return this.orderId;
+    }
+
+    public OrderTransition orderId(String orderId) {
+        this.setOrderId(orderId);
+        return this;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderState getFromState() {
+        return this.fromState;
+    }
+
+    public OrderTransition fromState(OrderState fromState) {
+        this.setFromState(fromState);
+        return this;
+    }
+
+    public void setFromState(OrderState fromState) {
+        this.fromState = fromState;
+    }
+
+    public OrderState getToState() {
+        return this.toState;
+    }
+
+    public OrderTransition toState(OrderState toState) {
+        this.setToState(toState);
+        return this;
+    }
+
+    public void setToState(OrderState toState) {
+        this.toState = toState;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public OrderTransition createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderTransition)) {
+            return false;
+        }
+        return id != null && id.equals(((OrderTransition) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderTransition{" +
+            "id=" + getId() +
+            ", orderId='" + getOrderId() + "'" +
+            ", fromState='" + getFromState() + "'" +
+            ", toState='" + getToState() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -5,6 +5,7 @@ import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.elasticsearch.annotations.FieldType;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -12,6 +13,7 @@ import org.springframework.data.relational.core.mapping.Table;
  * A Products.
  */
 @Table("products")
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "products")
 public class Products implements Serializable, Persistable<String> {
 
     private static final long serialVersionUID = 1L;
@@ -19,24 +21,30 @@ public class Products implements Serializable, Persistable<String> {
     @NotNull(message = "must not be null")
     @Size(min = 5)
     @Id
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     @Column("id")
     private String id;
 
     @NotNull(message = "must not be null")
     @Size(min = 3)
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Text)
     @Column("name")
     private String name;
 
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Text)
     @Column("description")
     private String description;
 
-    @Column("image")
-    private byte[] image;
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
+    @Column("image_hash")
+    private String imageHash;
 
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     @Column("image_content_type")
     private String imageContentType;
 
     @NotNull(message = "must not be null")
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Float)
     @Column("estimated_preparaing_time")
     private Float estimatedPreparaingTime;
 
@@ -84,17 +92,17 @@ public class Products implements Serializable, Persistable<String> {
         this.description = description;
     }
 
-    public byte[] getImage() {
-        return this.image;
+    public String getImageHash() {
+        return this.imageHash;
     }
 
-    public Products image(byte[] image) {
-        this.setImage(image);
+    public Products imageHash(String imageHash) {
+        this.setImageHash(imageHash);
         return this;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
     public String getImageContentType() {
@@ -160,8 +168,8 @@ public class Products implements Serializable, Persistable<String> {
             "id=" + getId() +
             ", name='" + getName() + "'" +
             ", description='" + getDescription() + "'" +
-            ", image='" + getImage() + "'" +
             ", imageContentType='" + getImageContentType() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
             ", estimatedPreparaingTime=" + getEstimatedPreparaingTime() +
             "}";
     }
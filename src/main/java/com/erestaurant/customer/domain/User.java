@@ -33,18 +33,22 @@ public class User extends AbstractAuditingEntity implements Serializable {
     @NotNull
     @Pattern(regexp = Constants.LOGIN_REGEX)
     @Size(min = 1, max = 50)
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     private String login;
 
     @Size(max = 50)
     @Column("first_name")
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Text)
     private String firstName;
 
     @Size(max = 50)
     @Column("last_name")
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Text)
     private String lastName;
 
     @Email
     @Size(min = 5, max = 254)
+    @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     private String email;
 
     @NotNull
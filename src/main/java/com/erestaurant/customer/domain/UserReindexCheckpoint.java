@@ -0,0 +1,172 @@
+package com.erestaurant.customer.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A UserReindexCheckpoint, the progress of a rebuild of the search index of the {@link User}, up to the last user
+ * indexed.
+ */
+@Table("user_reindex_checkpoint")
+public class UserReindexCheckpoint implements Serializable, Persistable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String RUNNING = "RUNNING";
+
+    public static final String DONE = "DONE";
+
+    /**
+     * The name of the rebuilt index.
+     */
+    @Id
+    @Column("id")
+    private String id;
+
+    @Column("last_user_id")
+    private String lastUserId;
+
+    @NotNull(message = "must not be null")
+    @Column("indexed_count")
+    private Long indexedCount;
+
+    @NotNull(message = "must not be null")
+    @Size(max = 20)
+    @Column("status")
+    private String status;
+
+    @NotNull(message = "must not be null")
+    @Column("started_date")
+    private Instant startedDate;
+
+    @Column("finished_date")
+    private Instant finishedDate;
+
+    @Transient
+    private boolean isPersisted;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public UserReindexCheckpoint id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLastUserId() {
+        return this.lastUserId;
+    }
+
+    public UserReindexCheckpoint lastUserId(String lastUserId) {
+        this.setLastUserId(lastUserId);
+        return this;
+    }
+
+    public void setLastUserId(String lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    public Long getIndexedCount() {
+        return this.indexedCount;
+    }
+
+    public UserReindexCheckpoint indexedCount(Long indexedCount) {
+        this.setIndexedCount(indexedCount);
+        return this;
+    }
+
+    public void setIndexedCount(Long indexedCount) {
+        this.indexedCount = indexedCount;
+    }
+
+    public String getStatus() {
+        return this.status;
+    }
+
+    public UserReindexCheckpoint status(String status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Instant getStartedDate() {
+        return this.startedDate;
+    }
+
+    public UserReindexCheckpoint startedDate(Instant startedDate) {
+        this.setStartedDate(startedDate);
+        return this;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return this.finishedDate;
+    }
+
+    public UserReindexCheckpoint finishedDate(Instant finishedDate) {
+        this.setFinishedDate(finishedDate);
+        return this;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public UserReindexCheckpoint setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserReindexCheckpoint)) {
+            return false;
+        }
+        return id != null && id.equals(((UserReindexCheckpoint) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserReindexCheckpoint{" +
+            "id=" + getId() +
+            ", lastUserId='" + getLastUserId() + "'" +
+            ", indexedCount=" + getIndexedCount() +
+            ", status='" + getStatus() + "'" +
+            ", startedDate='" + getStartedDate() + "'" +
+            ", finishedDate='" + getFinishedDate() + "'" +
+            "}";
+    }
+}
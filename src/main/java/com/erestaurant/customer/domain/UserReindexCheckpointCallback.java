@@ -0,0 +1,24 @@
+package com.erestaurant.customer.domain;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.r2dbc.mapping.event.AfterConvertCallback;
+import org.springframework.data.r2dbc.mapping.event.AfterSaveCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+public class UserReindexCheckpointCallback
+    implements AfterSaveCallback<UserReindexCheckpoint>, AfterConvertCallback<UserReindexCheckpoint> {
+
+    @Override
+    public Publisher<UserReindexCheckpoint> onAfterConvert(UserReindexCheckpoint entity, SqlIdentifier table) {
+        return Mono.just(entity.setIsPersisted());
+    }
+
+    @Override
+    public Publisher<UserReindexCheckpoint> onAfterSave(UserReindexCheckpoint entity, OutboundRow outboundRow, SqlIdentifier table) {
+        return Mono.just(entity.setIsPersisted());
+    }
+}
@@ -0,0 +1,13 @@
+package com.erestaurant.customer.domain.enumeration;
+
+/**
+ * The OrderState enumeration, one value per state entity of the order lifecycle.
+ */
+public enum OrderState {
+    NEW_ORDER,
+    ON_HOLD,
+    COMPLETE,
+    CANCEL,
+    REFUNDED,
+    CLOSE,
+}
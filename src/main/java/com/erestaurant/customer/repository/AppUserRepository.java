@@ -50,6 +50,12 @@ interface AppUserRepositoryInternal {
 
     Flux<AppUser> findAllBy(Pageable pageable);
 
+    Flux<AppUser> findAllAfter(String afterId, int size);
+
+    Mono<AppUser> update(AppUser entity);
+
+    Mono<AppUser> updateNonNullFields(AppUser entity);
+
     Flux<AppUser> findAll();
 
     Mono<AppUser> findById(String id);
@@ -13,7 +13,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
@@ -24,12 +26,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -49,6 +51,16 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
     private static final Table entityTable = Table.aliased("app_user", EntityManager.ENTITY_ALIAS);
     private static final Table internalUserTable = Table.aliased("jhi_user", "internalUser");
 
+    private static final Condition idCondition = Conditions.isEqual(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.ID_PARAMETER)
+    );
+
+    private static final Condition afterIdCondition = Conditions.isGreater(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.AFTER_ID_PARAMETER)
+    );
+
     public AppUserRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -71,22 +83,24 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
 
     @Override
     public Flux<AppUser> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("all", pageable, null).map(this::process).all();
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager.createSelect(AppUser.class, shape, this::selectFrom, pageable, whereClause);
     }
 
-    RowsFetchSpec<AppUser> createQuery(Pageable pageable, Condition whereClause) {
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = AppUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(UserSqlHelper.getColumns(internalUserTable, "internalUser"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(internalUserTable)
             .on(Column.create("internal_user_id", entityTable))
             .equals(Column.create("id", internalUserTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, AppUser.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -94,10 +108,18 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
         return findAllBy(null);
     }
 
+    @Override
+    public Flux<AppUser> findAllAfter(String afterId, int size) {
+        Pageable page = PageRequest.of(0, size, Sort.by("id"));
+        if (afterId == null) {
+            return createQuery("all", page, null).map(this::process).all();
+        }
+        return createQuery("afterId", page, afterIdCondition).bind(EntityManager.AFTER_ID_PARAMETER, afterId).map(this::process).all();
+    }
+
     @Override
     public Mono<AppUser> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery("byId", null, idCondition).bind(EntityManager.ID_PARAMETER, id).map(this::process).one();
     }
 
     @Override
@@ -116,11 +138,21 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
     }
 
     private AppUser process(Row row, RowMetadata metadata) {
-        AppUser entity = appuserMapper.apply(row, "e");
-        entity.setInternalUser(userMapper.apply(row, "internalUser"));
+        AppUser entity = appuserMapper.apply(row, metadata, "e");
+        entity.setInternalUser(userMapper.apply(row, metadata, "internalUser"));
         return entity;
     }
 
+    @Override
+    public Mono<AppUser> update(AppUser entity) {
+        return entityManager.update(entity);
+    }
+
+    @Override
+    public Mono<AppUser> updateNonNullFields(AppUser entity) {
+        return entityManager.updateNonNullColumns(entity).filter(updated -> updated > 0).flatMap(updated -> findById(entity.getId()));
+    }
+
     @Override
     public <S extends AppUser> Mono<S> save(S entity) {
         return super.save(entity);
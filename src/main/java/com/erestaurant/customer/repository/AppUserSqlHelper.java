@@ -13,7 +13,7 @@ public class AppUserSqlHelper {
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
         columns.add(Column.aliased("name", table, columnPrefix + "_name"));
         columns.add(Column.aliased("description", table, columnPrefix + "_description"));
-        columns.add(Column.aliased("image", table, columnPrefix + "_image"));
+        columns.add(Column.aliased("image_hash", table, columnPrefix + "_image_hash"));
         columns.add(Column.aliased("image_content_type", table, columnPrefix + "_image_content_type"));
         columns.add(Column.aliased("email", table, columnPrefix + "_email"));
 
@@ -33,6 +33,12 @@ interface CancelRepositoryInternal {
 
     Flux<Cancel> findAllBy(Pageable pageable);
 
+    Flux<Cancel> findAllAfter(String afterId, int size);
+
+    Mono<Cancel> update(Cancel entity);
+
+    Mono<Cancel> updateNonNullFields(Cancel entity);
+
     Flux<Cancel> findAll();
 
     Mono<Cancel> findById(String id);
@@ -0,0 +1,22 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.CartItem;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the CartItem entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface CartItemRepository extends ReactiveCrudRepository<CartItem, Long> {
+    Flux<CartItem> findAllByCartIdOrderByIdAsc(String cartId);
+
+    @Modifying
+    @Query("DELETE FROM cart_item WHERE cart_id = :cartId")
+    Mono<Integer> deleteAllByCartId(String cartId);
+}
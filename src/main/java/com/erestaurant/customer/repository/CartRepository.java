@@ -33,6 +33,12 @@ interface CartRepositoryInternal {
 
     Flux<Cart> findAllBy(Pageable pageable);
 
+    Flux<Cart> findAllAfter(String afterId, int size);
+
+    Mono<Cart> update(Cart entity);
+
+    Mono<Cart> updateNonNullFields(Cart entity);
+
     Flux<Cart> findAll();
 
     Mono<Cart> findById(String id);
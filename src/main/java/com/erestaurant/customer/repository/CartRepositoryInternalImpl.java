@@ -12,7 +12,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
@@ -23,12 +25,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -46,6 +48,16 @@ class CartRepositoryInternalImpl extends SimpleR2dbcRepository<Cart, String> imp
 
     private static final Table entityTable = Table.aliased("cart", EntityManager.ENTITY_ALIAS);
 
+    private static final Condition idCondition = Conditions.isEqual(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.ID_PARAMETER)
+    );
+
+    private static final Condition afterIdCondition = Conditions.isGreater(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.AFTER_ID_PARAMETER)
+    );
+
     public CartRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -66,15 +78,17 @@ class CartRepositoryInternalImpl extends SimpleR2dbcRepository<Cart, String> imp
 
     @Override
     public Flux<Cart> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("all", pageable, null).map(this::process).all();
     }
 
-    RowsFetchSpec<Cart> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = CartSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Cart.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager.createSelect(Cart.class, shape, this::selectFrom, pageable, whereClause);
+    }
+
+    private SelectFromAndJoin selectFrom() {
+        List<Expression> columns = CartSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -82,17 +96,35 @@ class CartRepositoryInternalImpl extends SimpleR2dbcRepository<Cart, String> imp
         return findAllBy(null);
     }
 
+    @Override
+    public Flux<Cart> findAllAfter(String afterId, int size) {
+        Pageable page = PageRequest.of(0, size, Sort.by("id"));
+        if (afterId == null) {
+            return createQuery("all", page, null).map(this::process).all();
+        }
+        return createQuery("afterId", page, afterIdCondition).bind(EntityManager.AFTER_ID_PARAMETER, afterId).map(this::process).all();
+    }
+
     @Override
     public Mono<Cart> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery("byId", null, idCondition).bind(EntityManager.ID_PARAMETER, id).map(this::process).one();
     }
 
     private Cart process(Row row, RowMetadata metadata) {
-        Cart entity = cartMapper.apply(row, "e");
+        Cart entity = cartMapper.apply(row, metadata, "e");
         return entity;
     }
 
+    @Override
+    public Mono<Cart> update(Cart entity) {
+        return entityManager.update(entity);
+    }
+
+    @Override
+    public Mono<Cart> updateNonNullFields(Cart entity) {
+        return entityManager.updateNonNullColumns(entity).filter(updated -> updated > 0).flatMap(updated -> findById(entity.getId()));
+    }
+
     @Override
     public <S extends Cart> Mono<S> save(S entity) {
         return super.save(entity);
@@ -33,6 +33,12 @@ interface CategoriesRepositoryInternal {
 
     Flux<Categories> findAllBy(Pageable pageable);
 
+    Flux<Categories> findAllAfter(String afterId, int size);
+
+    Mono<Categories> update(Categories entity);
+
+    Mono<Categories> updateNonNullFields(Categories entity);
+
     Flux<Categories> findAll();
 
     Mono<Categories> findById(String id);
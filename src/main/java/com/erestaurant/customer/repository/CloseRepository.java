@@ -33,6 +33,12 @@ interface CloseRepositoryInternal {
 
     Flux<Close> findAllBy(Pageable pageable);
 
+    Flux<Close> findAllAfter(String afterId, int size);
+
+    Mono<Close> update(Close entity);
+
+    Mono<Close> updateNonNullFields(Close entity);
+
     Flux<Close> findAll();
 
     Mono<Close> findById(String id);
@@ -33,6 +33,12 @@ interface CompleteRepositoryInternal {
 
     Flux<Complete> findAllBy(Pageable pageable);
 
+    Flux<Complete> findAllAfter(String afterId, int size);
+
+    Mono<Complete> update(Complete entity);
+
+    Mono<Complete> updateNonNullFields(Complete entity);
+
     Flux<Complete> findAll();
 
     Mono<Complete> findById(String id);
@@ -33,6 +33,12 @@ interface CustomerProfileRepositoryInternal {
 
     Flux<CustomerProfile> findAllBy(Pageable pageable);
 
+    Flux<CustomerProfile> findAllAfter(String afterId, int size);
+
+    Mono<CustomerProfile> update(CustomerProfile entity);
+
+    Mono<CustomerProfile> updateNonNullFields(CustomerProfile entity);
+
     Flux<CustomerProfile> findAll();
 
     Mono<CustomerProfile> findById(String id);
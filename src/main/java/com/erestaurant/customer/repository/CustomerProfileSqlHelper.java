@@ -15,6 +15,7 @@ public class CustomerProfileSqlHelper {
         columns.add(Column.aliased("location", table, columnPrefix + "_location"));
         columns.add(Column.aliased("location_range", table, columnPrefix + "_location_range"));
         columns.add(Column.aliased("referals", table, columnPrefix + "_referals"));
+        columns.add(Column.aliased("geohash", table, columnPrefix + "_geohash"));
 
         return columns;
     }
@@ -0,0 +1,23 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.CustomerReferral;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the CustomerReferral entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface CustomerReferralRepository extends ReactiveCrudRepository<CustomerReferral, Long> {
+    @Query("SELECT * FROM customer_referral WHERE referrer_id = :referrerId")
+    Flux<CustomerReferral> findAllByReferrerId(String referrerId);
+
+    @Modifying
+    @Query("DELETE FROM customer_referral WHERE referrer_id = :referrerId")
+    Mono<Integer> deleteAllByReferrerId(String referrerId);
+}
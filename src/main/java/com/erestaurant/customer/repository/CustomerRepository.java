@@ -33,6 +33,12 @@ interface CustomerRepositoryInternal {
 
     Flux<Customer> findAllBy(Pageable pageable);
 
+    Flux<Customer> findAllAfter(String afterId, int size);
+
+    Mono<Customer> update(Customer entity);
+
+    Mono<Customer> updateNonNullFields(Customer entity);
+
     Flux<Customer> findAll();
 
     Mono<Customer> findById(String id);
@@ -2,29 +2,49 @@ package com.erestaurant.customer.repository;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
+import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.OrderByField;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -41,6 +61,16 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    public static final String ID_PARAMETER = "id";
+    public static final String AFTER_ID_PARAMETER = "afterId";
+    public static final String LIMIT_PARAMETER = "pageLimit";
+    public static final String OFFSET_PARAMETER = "pageOffset";
+
+    /**
+     * Upper bound of cached statements, the sort order is part of the key, so it must not grow with arbitrary requests.
+     */
+    private static final int MAX_CACHED_STATEMENTS = 1024;
+
     public static class LinkTable {
 
         final String tableName;
@@ -61,11 +91,19 @@ public class EntityManager {
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final R2dbcDialect dialect;
+    private final Map<String, String> statementCache = new ConcurrentHashMap<>();
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcDialect dialect
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+        this.dialect = dialect;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
     }
 
@@ -133,6 +171,41 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates a parameterized SQL select, which is rendered only once for the given entity type, shape and sort order.
+     * The paging values are bound as parameters, so the SQL stays the same for every page, and the driver can reuse
+     * its prepared statement.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the name of the statement shape, unique per entity type, e.g. "all" or "byId".
+     * @param selectFrom supplies the select statement, only called if the statement is not cached yet.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param where condition or null. It is part of the cached statement, so it must use bind markers for the values.
+     * @return the select statement, with the paging parameters already bound.
+     */
+    public GenericExecuteSpec createSelect(
+        Class<?> entityType,
+        String shape,
+        Supplier<? extends SelectWhere> selectFrom,
+        Pageable pageable,
+        Condition where
+    ) {
+        boolean paged = pageable != null && pageable.isPaged();
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        String key = entityType.getName() + ':' + shape + (paged ? ":paged:" : ":all:") + sort;
+        String sql = statementCache.get(key);
+        if (sql == null) {
+            sql = renderSelect(selectFrom.get(), entityType, paged, sort, where);
+            if (statementCache.size() < MAX_CACHED_STATEMENTS) {
+                statementCache.putIfAbsent(key, sql);
+            }
+        }
+        GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient().sql(sql);
+        if (paged) {
+            spec = spec.bind(LIMIT_PARAMETER, pageable.getPageSize()).bind(OFFSET_PARAMETER, pageable.getOffset());
+        }
+        return spec;
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -142,6 +215,35 @@ public class EntityManager {
         return sqlRenderer.render(select);
     }
 
+    /**
+     * Selects the columns of the fields of a projection among the columns of an entity.
+     * @param entityType the entity type which holds the column names of its fields.
+     * @param columns all the columns of the entity, from its SqlHelper.
+     * @param projection the fields to select.
+     * @return the columns to select.
+     * @throws PropertyReferenceException if a field of the projection is not a persistent field of the entity.
+     */
+    public List<Expression> selectColumns(Class<?> entityType, List<Expression> columns, Projection projection) {
+        if (projection.isAll()) {
+            return columns;
+        }
+        RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
+        Set<String> selected = new HashSet<>();
+        selected.add(entity.getRequiredIdProperty().getColumnName().getReference().toLowerCase(Locale.ROOT));
+        for (String field : projection.getFields()) {
+            RelationalPersistentProperty property = entity.getPersistentProperty(field);
+            if (property == null) {
+                throw new PropertyReferenceException(field, ClassTypeInformation.from(entityType), List.of());
+            }
+            selected.add(property.getColumnName().getReference().toLowerCase(Locale.ROOT));
+        }
+        return columns
+            .stream()
+            .filter(column -> column instanceof Column)
+            .filter(column -> selected.contains(((Column) column).getName().getReference().toLowerCase(Locale.ROOT)))
+            .collect(Collectors.toList());
+    }
+
     /**
      * Delete all the entity with the given type, and return the number of deletions.
      * @param entityType the entity type which holds the table name.
@@ -171,6 +273,65 @@ public class EntityManager {
         return r2dbcEntityTemplate.insert(entity);
     }
 
+    /**
+     * Updates all the columns of the row of the given entity with a single statement, a missing row is detected
+     * from the update count, so the row doesn't have to be checked or read before.
+     * @param <S> the type of the persisted entity.
+     * @param entity the entity with the new values of all the columns.
+     * @return the entity, or an empty {@link Mono} if there is no row with the id of the entity.
+     */
+    public <S> Mono<S> update(S entity) {
+        return updateColumns(entity, false).filter(updated -> updated > 0).map(updated -> entity);
+    }
+
+    /**
+     * Updates only the columns of the non-null properties of the given entity with a single statement.
+     * @param entity the entity with the id, and the new values of the changed columns.
+     * @return the number of updated rows, which is 0 if there is no row with the id of the entity.
+     */
+    public Mono<Integer> updateNonNullColumns(Object entity) {
+        return updateColumns(entity, true);
+    }
+
+    /**
+     * Inserts the given entities, or updates the rows which already have their id, with one multi-row statement,
+     * {@code INSERT ... ON CONFLICT} on PostgreSQL and {@code MERGE INTO ... KEY} on H2.
+     * @param entities the entities of the same type to write, all with an id.
+     * @return the number of written rows.
+     */
+    public Mono<Integer> upsertAll(List<?> entities) {
+        if (entities.isEmpty()) {
+            return Mono.just(0);
+        }
+        Class<?> entityType = entities.get(0).getClass();
+        RelationalPersistentEntity<?> persistentEntity = getPersistentEntity(entityType);
+        List<SqlIdentifier> columns = new ArrayList<>();
+        persistentEntity.forEach(property -> columns.add(property.getColumnName()));
+        SqlIdentifier idColumn = persistentEntity.getRequiredIdProperty().getColumnName();
+
+        StringJoiner values = new StringJoiner(", ");
+        Map<String, Parameter> bindings = new LinkedHashMap<>();
+        for (int row = 0; row < entities.size(); row++) {
+            Assert.isInstanceOf(entityType, entities.get(row), "entities of different types");
+            OutboundRow outboundRow = toOutboundRow(entities.get(row));
+            StringJoiner markers = new StringJoiner(", ", "(", ")");
+            for (int column = 0; column < columns.size(); column++) {
+                String marker = "r" + row + "c" + column;
+                markers.add(":" + marker);
+                bindings.put(marker, updateMapper.getBindValue(outboundRow.get(columns.get(column))));
+            }
+            values.add(markers.toString());
+        }
+
+        GenericExecuteSpec spec = r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(createUpsert(persistentEntity.getTableName(), columns, idColumn, values.toString()));
+        for (Entry<String, Parameter> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
     /**
      * Updates the table, which links the entity with the referred entities.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
@@ -208,6 +369,78 @@ public class EntityManager {
         return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
     }
 
+    private Mono<Integer> updateColumns(Object entity, boolean nonNullOnly) {
+        RelationalPersistentEntity<?> persistentEntity = getPersistentEntity(entity.getClass());
+        RelationalPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        OutboundRow row = toOutboundRow(entity);
+        Parameter id = row.remove(idProperty.getColumnName());
+        Assert.isTrue(id != null && id.hasValue(), "id is null");
+
+        Map<SqlIdentifier, Object> assignments = new LinkedHashMap<>();
+        row.forEach((column, value) -> {
+            if (!nonNullOnly || value.hasValue()) {
+                assignments.put(column, value);
+            }
+        });
+        Query byId = Query.query(Criteria.where(idProperty.getName()).is(id.getValue()));
+        if (assignments.isEmpty()) {
+            return r2dbcEntityTemplate.exists(byId, entity.getClass()).map(exists -> exists ? 1 : 0);
+        }
+        return r2dbcEntityTemplate.update(byId, Update.from(assignments), entity.getClass());
+    }
+
+    /**
+     * Returns the clause locking the rows of a select statement until the end of the transaction. The rows locked by
+     * another transaction are skipped where the database supports it, so that concurrent transactions lock distinct rows.
+     * @return the clause to append to the select statement.
+     */
+    public String lockForUpdateSkipLocked() {
+        // the H2 dialect extends the PostgreSQL one, but H2 cannot skip the locked rows
+        if (dialect instanceof PostgresDialect && !(dialect instanceof H2Dialect)) {
+            return " FOR UPDATE SKIP LOCKED";
+        }
+        return " FOR UPDATE";
+    }
+
+    private OutboundRow toOutboundRow(Object entity) {
+        OutboundRow row = new OutboundRow();
+        r2dbcEntityTemplate.getConverter().write(entity, row);
+        return row;
+    }
+
+    private String toSql(SqlIdentifier identifier) {
+        return identifier.toSql(dialect.getIdentifierProcessing());
+    }
+
+    private String createUpsert(SqlIdentifier table, List<SqlIdentifier> columns, SqlIdentifier idColumn, String values) {
+        String tableName = toSql(table);
+        String columnNames = columns.stream().map(this::toSql).collect(Collectors.joining(", "));
+        String id = toSql(idColumn);
+        if (dialect instanceof H2Dialect) {
+            return "MERGE INTO " + tableName + " (" + columnNames + ") KEY (" + id + ") VALUES " + values;
+        }
+        if (dialect instanceof PostgresDialect) {
+            String assignments = columns
+                .stream()
+                .filter(column -> !column.equals(idColumn))
+                .map(this::toSql)
+                .map(column -> column + " = EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+            return "INSERT INTO " + tableName + " (" + columnNames + ") VALUES " + values + " ON CONFLICT (" + id + ") DO UPDATE SET " +
+            assignments;
+        }
+        throw new UnsupportedOperationException("Upsert is not supported for " + dialect.getClass().getSimpleName());
+    }
+
+    private String renderSelect(SelectWhere selectFrom, Class<?> entityType, boolean paged, Sort sort, Condition where) {
+        SelectOrdered select = where != null ? selectFrom.where(where) : selectFrom;
+        String sql = createSelectImpl(select, entityType, sort);
+        if (paged) {
+            return sql + " LIMIT :" + LIMIT_PARAMETER + " OFFSET :" + OFFSET_PARAMETER;
+        }
+        return sql;
+    }
+
     private String createSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Sort sortParameter) {
         if (sortParameter != null && sortParameter.isSorted()) {
             RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
@@ -33,6 +33,12 @@ interface NewOrderRepositoryInternal {
 
     Flux<NewOrder> findAllBy(Pageable pageable);
 
+    Flux<NewOrder> findAllAfter(String afterId, int size);
+
+    Mono<NewOrder> update(NewOrder entity);
+
+    Mono<NewOrder> updateNonNullFields(NewOrder entity);
+
     Flux<NewOrder> findAll();
 
     Mono<NewOrder> findById(String id);
@@ -33,6 +33,12 @@ interface OnHoldRepositoryInternal {
 
     Flux<OnHold> findAllBy(Pageable pageable);
 
+    Flux<OnHold> findAllAfter(String afterId, int size);
+
+    Mono<OnHold> update(OnHold entity);
+
+    Mono<OnHold> updateNonNullFields(OnHold entity);
+
     Flux<OnHold> findAll();
 
     Mono<OnHold> findById(String id);
@@ -0,0 +1,45 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.OrderEvent;
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data SQL reactive repository for the OrderEvent entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OrderEventRepository extends ReactiveCrudRepository<OrderEvent, Long> {
+    Flux<OrderEvent> findAllByOrderIdOrderByVersionAsc(String orderId);
+
+    /**
+     * Find the events of orders after their latest snapshot, or all their events if they have none.
+     *
+     * @param orderIds the ids of the orders.
+     * @return the events, by order and version.
+     */
+    @Query(
+        "SELECT e.* FROM order_event e WHERE e.order_id IN (:orderIds)" +
+        " AND e.version > COALESCE((SELECT MAX(s.version) FROM order_snapshot s WHERE s.order_id = e.order_id), 0)" +
+        " ORDER BY e.order_id, e.version"
+    )
+    Flux<OrderEvent> findAllAfterLatestSnapshot(Collection<String> orderIds);
+
+    @Query(
+        "SELECT * FROM order_event WHERE order_id = :orderId AND version > :fromVersion AND version <= :toVersion ORDER BY version"
+    )
+    Flux<OrderEvent> findAllBetweenVersions(String orderId, int fromVersion, int toVersion);
+
+    /**
+     * Find the events of all the orders after the given one, in the order they were appended.
+     *
+     * @param afterId the id of the last event already read.
+     * @param size the maximum number of events.
+     * @return the events, by increasing id.
+     */
+    @Query("SELECT * FROM order_event WHERE id > :afterId ORDER BY id LIMIT :size")
+    Flux<OrderEvent> findAllAfter(long afterId, int size);
+}
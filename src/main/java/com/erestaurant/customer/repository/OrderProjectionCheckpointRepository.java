@@ -0,0 +1,12 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.OrderProjectionCheckpoint;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL reactive repository for the OrderProjectionCheckpoint entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OrderProjectionCheckpointRepository extends ReactiveCrudRepository<OrderProjectionCheckpoint, String> {}
@@ -1,6 +1,8 @@
 package com.erestaurant.customer.repository;
 
 import com.erestaurant.customer.domain.Order;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -33,6 +35,32 @@ interface OrderRepositoryInternal {
 
     Flux<Order> findAllBy(Pageable pageable);
 
+    Flux<Order> findAllAfter(String afterId, int size);
+
+    Mono<Order> update(Order entity);
+
+    Mono<Order> updateNonNullFields(Order entity);
+
+    Mono<Integer> upsertAll(List<Order> entities);
+
+    /**
+     * Find the current state of an order, with a primary key lookup which does not read the other columns.
+     *
+     * @param id the id of the order.
+     * @return the state, or empty if the order does not exist.
+     */
+    Mono<OrderState> findCurrentState(String id);
+
+    /**
+     * Find the current state of an order, and lock the order until the end of the current transaction.
+     *
+     * @param id the id of the order.
+     * @return the state, or empty if the order does not exist.
+     */
+    Mono<OrderState> lockCurrentState(String id);
+
+    Mono<Integer> updateCurrentState(String id, OrderState state);
+
     Flux<Order> findAll();
 
     Mono<Order> findById(String id);
@@ -3,6 +3,7 @@ package com.erestaurant.customer.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import com.erestaurant.customer.domain.Order;
+import com.erestaurant.customer.domain.enumeration.OrderState;
 import com.erestaurant.customer.repository.rowmapper.OrderRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
@@ -12,7 +13,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
@@ -23,12 +26,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -46,6 +49,18 @@ class OrderRepositoryInternalImpl extends SimpleR2dbcRepository<Order, String> i
 
     private static final Table entityTable = Table.aliased("jhi_order", EntityManager.ENTITY_ALIAS);
 
+    private static final Condition idCondition = Conditions.isEqual(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.ID_PARAMETER)
+    );
+
+    private static final Condition afterIdCondition = Conditions.isGreater(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.AFTER_ID_PARAMETER)
+    );
+
+    private static final String SELECT_CURRENT_STATE = "SELECT current_state FROM jhi_order WHERE id = :" + EntityManager.ID_PARAMETER;
+
     public OrderRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -66,15 +81,17 @@ class OrderRepositoryInternalImpl extends SimpleR2dbcRepository<Order, String> i
 
     @Override
     public Flux<Order> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("all", pageable, null).map(this::process).all();
     }
 
-    RowsFetchSpec<Order> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = OrderSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Order.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager.createSelect(Order.class, shape, this::selectFrom, pageable, whereClause);
+    }
+
+    private SelectFromAndJoin selectFrom() {
+        List<Expression> columns = OrderSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -82,17 +99,68 @@ class OrderRepositoryInternalImpl extends SimpleR2dbcRepository<Order, String> i
         return findAllBy(null);
     }
 
+    @Override
+    public Flux<Order> findAllAfter(String afterId, int size) {
+        Pageable page = PageRequest.of(0, size, Sort.by("id"));
+        if (afterId == null) {
+            return createQuery("all", page, null).map(this::process).all();
+        }
+        return createQuery("afterId", page, afterIdCondition).bind(EntityManager.AFTER_ID_PARAMETER, afterId).map(this::process).all();
+    }
+
     @Override
     public Mono<Order> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery("byId", null, idCondition).bind(EntityManager.ID_PARAMETER, id).map(this::process).one();
     }
 
     private Order process(Row row, RowMetadata metadata) {
-        Order entity = orderMapper.apply(row, "e");
+        Order entity = orderMapper.apply(row, metadata, "e");
         return entity;
     }
 
+    @Override
+    public Mono<Order> update(Order entity) {
+        return entityManager.update(entity);
+    }
+
+    @Override
+    public Mono<Order> updateNonNullFields(Order entity) {
+        return entityManager.updateNonNullColumns(entity).filter(updated -> updated > 0).flatMap(updated -> findById(entity.getId()));
+    }
+
+    @Override
+    public Mono<Integer> upsertAll(List<Order> entities) {
+        return entityManager.upsertAll(entities);
+    }
+
+    @Override
+    public Mono<OrderState> findCurrentState(String id) {
+        return selectCurrentState(SELECT_CURRENT_STATE, id);
+    }
+
+    @Override
+    public Mono<OrderState> lockCurrentState(String id) {
+        return selectCurrentState(SELECT_CURRENT_STATE + " FOR UPDATE", id);
+    }
+
+    private Mono<OrderState> selectCurrentState(String sql, String id) {
+        return db
+            .sql(sql)
+            .bind(EntityManager.ID_PARAMETER, id)
+            .map((row, metadata) -> OrderState.valueOf(row.get("current_state", String.class)))
+            .one();
+    }
+
+    @Override
+    public Mono<Integer> updateCurrentState(String id, OrderState state) {
+        return db
+            .sql("UPDATE jhi_order SET current_state = :state WHERE id = :" + EntityManager.ID_PARAMETER)
+            .bind("state", state.name())
+            .bind(EntityManager.ID_PARAMETER, id)
+            .fetch()
+            .rowsUpdated();
+    }
+
     @Override
     public <S extends Order> Mono<S> save(S entity) {
         return super.save(entity);
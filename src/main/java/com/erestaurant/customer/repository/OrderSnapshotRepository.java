@@ -0,0 +1,25 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.OrderSnapshot;
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the OrderSnapshot entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OrderSnapshotRepository extends ReactiveCrudRepository<OrderSnapshot, Long> {
+    @Query(
+        "SELECT s.* FROM order_snapshot s WHERE s.order_id IN (:orderIds)" +
+        " AND s.version = (SELECT MAX(p.version) FROM order_snapshot p WHERE p.order_id = s.order_id)"
+    )
+    Flux<OrderSnapshot> findAllLatest(Collection<String> orderIds);
+
+    @Query("SELECT * FROM order_snapshot WHERE order_id = :orderId AND version <= :version ORDER BY version DESC LIMIT 1")
+    Mono<OrderSnapshot> findLatestAtVersion(String orderId, int version);
+}
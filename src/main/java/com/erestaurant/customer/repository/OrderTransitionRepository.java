@@ -0,0 +1,15 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.OrderTransition;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data SQL reactive repository for the OrderTransition entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OrderTransitionRepository extends ReactiveCrudRepository<OrderTransition, Long> {
+    Flux<OrderTransition> findAllByOrderIdOrderByIdAsc(String orderId);
+}
@@ -0,0 +1,24 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.OutboxEvent;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data SQL reactive repository for the OutboxEvent entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OutboxEventRepository extends ReactiveCrudRepository<OutboxEvent, Long>, OutboxEventRepositoryInternal {}
+
+interface OutboxEventRepositoryInternal {
+    /**
+     * Lock the oldest event of each aggregate, so that the events of an aggregate are relayed in order, until the end
+     * of the current transaction.
+     *
+     * @param size the maximum number of events to lock.
+     * @return the locked events, by increasing id.
+     */
+    Flux<OutboxEvent> lockNextBatch(int size);
+}
@@ -0,0 +1,40 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.OutboxEvent;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data SQL reactive custom repository implementation for the OutboxEvent entity.
+ */
+@SuppressWarnings("unused")
+class OutboxEventRepositoryInternalImpl implements OutboxEventRepositoryInternal {
+
+    private static final String SELECT_HEADS =
+        "SELECT e.id, e.aggregate_type, e.aggregate_id, e.event_type, e.payload, e.created_date FROM outbox_event e" +
+        " WHERE NOT EXISTS (SELECT 1 FROM outbox_event p" +
+        " WHERE p.aggregate_type = e.aggregate_type AND p.aggregate_id = e.aggregate_id AND p.id < e.id)" +
+        " ORDER BY e.id LIMIT :" +
+        EntityManager.LIMIT_PARAMETER;
+
+    private final DatabaseClient db;
+    private final R2dbcConverter converter;
+    private final String lockNextBatch;
+
+    public OutboxEventRepositoryInternalImpl(R2dbcEntityTemplate template, EntityManager entityManager) {
+        this.db = template.getDatabaseClient();
+        this.converter = template.getConverter();
+        this.lockNextBatch = SELECT_HEADS + entityManager.lockForUpdateSkipLocked();
+    }
+
+    @Override
+    public Flux<OutboxEvent> lockNextBatch(int size) {
+        return db
+            .sql(lockNextBatch)
+            .bind(EntityManager.LIMIT_PARAMETER, size)
+            .map((row, metadata) -> converter.read(OutboxEvent.class, row, metadata))
+            .all();
+    }
+}
@@ -33,6 +33,12 @@ interface PaymentRepositoryInternal {
 
     Flux<Payment> findAllBy(Pageable pageable);
 
+    Flux<Payment> findAllAfter(String afterId, int size);
+
+    Mono<Payment> update(Payment entity);
+
+    Mono<Payment> updateNonNullFields(Payment entity);
+
     Flux<Payment> findAll();
 
     Mono<Payment> findById(String id);
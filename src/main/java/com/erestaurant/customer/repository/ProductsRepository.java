@@ -1,6 +1,7 @@
 package com.erestaurant.customer.repository;
 
 import com.erestaurant.customer.domain.Products;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -15,6 +16,11 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface ProductsRepository extends ReactiveCrudRepository<Products, String>, ProductsRepositoryInternal {
+    /**
+     * The fields of the products to list them, without their description.
+     */
+    Projection SUMMARY = Projection.of(List.of("name", "imageHash", "imageContentType", "estimatedPreparaingTime"));
+
     @Override
     <S extends Products> Mono<S> save(S entity);
 
@@ -33,6 +39,18 @@ interface ProductsRepositoryInternal {
 
     Flux<Products> findAllBy(Pageable pageable);
 
+    Flux<Products> findAllAfter(String afterId, int size);
+
+    Flux<Products> findAllBy(Pageable pageable, Projection projection);
+
+    Flux<Products> findAllAfter(String afterId, int size, Projection projection);
+
+    Mono<Products> update(Products entity);
+
+    Mono<Products> updateNonNullFields(Products entity);
+
+    Mono<Integer> upsertAll(List<Products> entities);
+
     Flux<Products> findAll();
 
     Mono<Products> findById(String id);
@@ -12,7 +12,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
@@ -23,12 +25,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -46,6 +48,16 @@ class ProductsRepositoryInternalImpl extends SimpleR2dbcRepository<Products, Str
 
     private static final Table entityTable = Table.aliased("products", EntityManager.ENTITY_ALIAS);
 
+    private static final Condition idCondition = Conditions.isEqual(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.ID_PARAMETER)
+    );
+
+    private static final Condition afterIdCondition = Conditions.isGreater(
+        entityTable.column("id"),
+        SQL.bindMarker(":" + EntityManager.AFTER_ID_PARAMETER)
+    );
+
     public ProductsRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -66,15 +78,36 @@ class ProductsRepositoryInternalImpl extends SimpleR2dbcRepository<Products, Str
 
     @Override
     public Flux<Products> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return findAllBy(pageable, Projection.ALL);
+    }
+
+    @Override
+    public Flux<Products> findAllBy(Pageable pageable, Projection projection) {
+        return Flux.defer(() -> createQuery("all", pageable, null, projection).map(this::process).all());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
+        return createQuery(shape, pageable, whereClause, Projection.ALL);
     }
 
-    RowsFetchSpec<Products> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = ProductsSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause, Projection projection) {
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Products.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager.createSelect(
+            Products.class,
+            shape + ':' + projection.getKey(),
+            () -> selectFrom(projection),
+            pageable,
+            whereClause
+        );
+    }
+
+    private SelectFromAndJoin selectFrom(Projection projection) {
+        List<Expression> columns = entityManager.selectColumns(
+            Products.class,
+            ProductsSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS),
+            projection
+        );
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -82,17 +115,50 @@ class ProductsRepositoryInternalImpl extends SimpleR2dbcRepository<Products, Str
         return findAllBy(null);
     }
 
+    @Override
+    public Flux<Products> findAllAfter(String afterId, int size) {
+        return findAllAfter(afterId, size, Projection.ALL);
+    }
+
+    @Override
+    public Flux<Products> findAllAfter(String afterId, int size, Projection projection) {
+        Pageable page = PageRequest.of(0, size, Sort.by("id"));
+        if (afterId == null) {
+            return findAllBy(page, projection);
+        }
+        return Flux.defer(() ->
+            createQuery("afterId", page, afterIdCondition, projection)
+                .bind(EntityManager.AFTER_ID_PARAMETER, afterId)
+                .map(this::process)
+                .all()
+        );
+    }
+
     @Override
     public Mono<Products> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery("byId", null, idCondition).bind(EntityManager.ID_PARAMETER, id).map(this::process).one();
     }
 
     private Products process(Row row, RowMetadata metadata) {
-        Products entity = productsMapper.apply(row, "e");
+        Products entity = productsMapper.apply(row, metadata, "e");
         return entity;
     }
 
+    @Override
+    public Mono<Products> update(Products entity) {
+        return entityManager.update(entity);
+    }
+
+    @Override
+    public Mono<Products> updateNonNullFields(Products entity) {
+        return entityManager.updateNonNullColumns(entity).filter(updated -> updated > 0).flatMap(updated -> findById(entity.getId()));
+    }
+
+    @Override
+    public Mono<Integer> upsertAll(List<Products> entities) {
+        return entityManager.upsertAll(entities);
+    }
+
     @Override
     public <S extends Products> Mono<S> save(S entity) {
         return super.save(entity);
@@ -0,0 +1,73 @@
+package com.erestaurant.customer.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The fields of an entity a query selects. The id is always selected, the other fields are not read from the database,
+ * so they are left empty in the returned entities.
+ */
+public final class Projection {
+
+    /**
+     * The projection of all the fields.
+     */
+    public static final Projection ALL = new Projection(null);
+
+    private final SortedSet<String> fields;
+
+    private Projection(SortedSet<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Creates the projection of the given fields.
+     * @param fields the names of the entity fields, not of the columns.
+     * @return the projection.
+     */
+    public static Projection of(Collection<String> fields) {
+        return new Projection(Collections.unmodifiableSortedSet(new TreeSet<>(fields)));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * @return the names of the selected fields, which is empty for {@link #ALL}.
+     */
+    public SortedSet<String> getFields() {
+        return fields != null ? fields : Collections.emptySortedSet();
+    }
+
+    /**
+     * @return a key of the projection, to cache the statements selecting it.
+     */
+    public String getKey() {
+        return fields != null ? String.join(",", fields) : "*";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Projection)) {
+            return false;
+        }
+        return Objects.equals(fields, ((Projection) o).fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(fields);
+    }
+
+    @Override
+    public String toString() {
+        return "Projection{" + getKey() + "}";
+    }
+}
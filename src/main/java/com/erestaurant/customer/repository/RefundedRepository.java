@@ -33,6 +33,12 @@ interface RefundedRepositoryInternal {
 
     Flux<Refunded> findAllBy(Pageable pageable);
 
+    Flux<Refunded> findAllAfter(String afterId, int size);
+
+    Mono<Refunded> update(Refunded entity);
+
+    Mono<Refunded> updateNonNullFields(Refunded entity);
+
     Flux<Refunded> findAll();
 
     Mono<Refunded> findById(String id);
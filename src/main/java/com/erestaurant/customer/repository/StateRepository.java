@@ -33,6 +33,12 @@ interface StateRepositoryInternal {
 
     Flux<State> findAllBy(Pageable pageable);
 
+    Flux<State> findAllAfter(String afterId, int size);
+
+    Mono<State> update(State entity);
+
+    Mono<State> updateNonNullFields(State entity);
+
     Flux<State> findAll();
 
     Mono<State> findById(String id);
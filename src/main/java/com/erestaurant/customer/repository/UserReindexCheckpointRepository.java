@@ -0,0 +1,17 @@
+package com.erestaurant.customer.repository;
+
+import com.erestaurant.customer.domain.UserReindexCheckpoint;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the UserReindexCheckpoint entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface UserReindexCheckpointRepository extends ReactiveCrudRepository<UserReindexCheckpoint, String> {
+    @Query("SELECT * FROM user_reindex_checkpoint ORDER BY started_date DESC LIMIT 1")
+    Mono<UserReindexCheckpoint> findLatest();
+}
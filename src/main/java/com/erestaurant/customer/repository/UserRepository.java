@@ -7,9 +7,10 @@ import com.erestaurant.customer.domain.Authority;
 import com.erestaurant.customer.domain.User;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.apache.commons.beanutils.BeanComparator;
 import org.springframework.data.domain.*;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -55,10 +56,29 @@ interface UserRepositoryInternal {
     Mono<User> create(User user);
 
     Flux<User> findAllWithAuthorities(Pageable pageable);
+
+    Flux<User> findAllWithAuthoritiesAfter(String id, int limit);
 }
 
 class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
+    /**
+     * The properties the users can be sorted by, with their column, only these are ever rendered into the SQL.
+     */
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.ofEntries(
+        Map.entry("id", "id"),
+        Map.entry("login", "login"),
+        Map.entry("firstName", "first_name"),
+        Map.entry("lastName", "last_name"),
+        Map.entry("email", "email"),
+        Map.entry("activated", "activated"),
+        Map.entry("langKey", "lang_key"),
+        Map.entry("createdBy", "created_by"),
+        Map.entry("createdDate", "created_date"),
+        Map.entry("lastModifiedBy", "last_modified_by"),
+        Map.entry("lastModifiedDate", "last_modified_date")
+    );
+
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final R2dbcConverter r2dbcConverter;
@@ -76,28 +96,70 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
     @Override
     public Flux<User> findAllWithAuthorities(Pageable pageable) {
-        String property = pageable.getSort().stream().map(Sort.Order::getProperty).findFirst().orElse("id");
-        String direction = String.valueOf(
-            pageable.getSort().stream().map(Sort.Order::getDirection).findFirst().orElse(Sort.DEFAULT_DIRECTION)
-        );
-        long page = pageable.getPageNumber();
-        long size = pageable.getPageSize();
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        String column = SORTABLE_COLUMNS.getOrDefault(order.getProperty(), "id");
+        String direction = order.isAscending() ? "ASC" : "DESC";
+        // the id breaks ties between equal sort values, so a row never shows up on two pages
+        String orderBy = "id".equals(column) ? "u.id " + direction : "u." + column + " " + direction + ", u.id " + direction;
+
+        DatabaseClient.GenericExecuteSpec select;
+        if (pageable.isPaged()) {
+            select =
+                db
+                    .sql("SELECT * FROM jhi_user u ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset")
+                    .bind("limit", pageable.getPageSize())
+                    .bind("offset", pageable.getOffset());
+        } else {
+            select = db.sql("SELECT * FROM jhi_user u ORDER BY " + orderBy);
+        }
+
+        return select
+            .map((row, metadata) -> r2dbcConverter.read(User.class, row, metadata))
+            .all()
+            .collectList()
+            .flatMapMany(users -> findAuthorities(users).thenMany(Flux.fromIterable(users)));
+    }
 
+    /**
+     * Loads the users following the given id in the order of the ids, which unlike an offset reads only the rows of the
+     * returned users whatever the position in the table.
+     */
+    @Override
+    public Flux<User> findAllWithAuthoritiesAfter(String id, int limit) {
+        DatabaseClient.GenericExecuteSpec select;
+        if (id == null) {
+            select = db.sql("SELECT * FROM jhi_user u ORDER BY u.id LIMIT :limit");
+        } else {
+            select = db.sql("SELECT * FROM jhi_user u WHERE u.id > :id ORDER BY u.id LIMIT :limit").bind("id", id);
+        }
+
+        return select
+            .bind("limit", limit)
+            .map((row, metadata) -> r2dbcConverter.read(User.class, row, metadata))
+            .all()
+            .collectList()
+            .flatMapMany(users -> findAuthorities(users).thenMany(Flux.fromIterable(users)));
+    }
+
+    /**
+     * Loads the authorities of all the given users with one query, and sets them on the users.
+     */
+    private Mono<Void> findAuthorities(List<User> users) {
+        if (users.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<String, User> usersById = users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
-            .map((row, metadata) ->
-                Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
-            )
+            .sql("SELECT user_id, authority_name FROM jhi_user_authority WHERE user_id IN (:userIds)")
+            .bind("userIds", usersById.keySet())
+            .map((row, metadata) -> Tuples.of(row.get("user_id", String.class), row.get("authority_name", String.class)))
             .all()
-            .groupBy(t -> t.getT1().getLogin())
-            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)))
-            .sort(
-                Sort.Direction.fromString(direction) == Sort.DEFAULT_DIRECTION
-                    ? new BeanComparator<>(property)
-                    : new BeanComparator<>(property).reversed()
-            )
-            .skip(page * size)
-            .take(size);
+            .doOnNext(userAuthority -> {
+                Authority authority = new Authority();
+                authority.setName(userAuthority.getT2());
+                usersById.get(userAuthority.getT1()).getAuthorities().add(authority);
+            })
+            .then();
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.erestaurant.customer.repository.rowmapper;
 
 import com.erestaurant.customer.domain.AppUser;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,16 @@ public class AppUserRowMapper implements BiFunction<Row, String, AppUser> {
 
     private final ColumnConverter converter;
 
+    private final RowMappingPlan.Columns columns = RowMappingPlan
+        .columns()
+        .add("id", String.class)
+        .add("name", String.class)
+        .add("description", String.class)
+        .add("image_content_type", String.class)
+        .add("image_hash", String.class)
+        .add("email", String.class)
+        .add("internal_user_id", String.class);
+
     public AppUserRowMapper(ColumnConverter converter) {
         this.converter = converter;
     }
@@ -28,9 +39,27 @@ public class AppUserRowMapper implements BiFunction<Row, String, AppUser> {
         entity.setName(converter.fromRow(row, prefix + "_name", String.class));
         entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
         entity.setImageContentType(converter.fromRow(row, prefix + "_image_content_type", String.class));
-        entity.setImage(converter.fromRow(row, prefix + "_image", byte[].class));
+        entity.setImageHash(converter.fromRow(row, prefix + "_image_hash", String.class));
         entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
         entity.setInternalUserId(converter.fromRow(row, prefix + "_internal_user_id", String.class));
         return entity;
     }
+
+    /**
+     * Take a {@link Row}, the {@link RowMetadata} of its result and a column prefix, and extract all the fields
+     * with the {@link RowMappingPlan} resolved for the result.
+     * @return the {@link AppUser} stored in the database.
+     */
+    public AppUser apply(Row row, RowMetadata metadata, String prefix) {
+        RowMappingPlan plan = columns.plan(metadata, prefix, converter);
+        AppUser entity = new AppUser();
+        entity.setId(plan.get(row, 0));
+        entity.setName(plan.get(row, 1));
+        entity.setDescription(plan.get(row, 2));
+        entity.setImageContentType(plan.get(row, 3));
+        entity.setImageHash(plan.get(row, 4));
+        entity.setEmail(plan.get(row, 5));
+        entity.setInternalUserId(plan.get(row, 6));
+        return entity;
+    }
 }
@@ -2,6 +2,7 @@ package com.erestaurant.customer.repository.rowmapper;
 
 import com.erestaurant.customer.domain.Cart;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,11 @@ public class CartRowMapper implements BiFunction<Row, String, Cart> {
 
     private final ColumnConverter converter;
 
+    private final RowMappingPlan.Columns columns = RowMappingPlan
+        .columns()
+        .add("id", String.class)
+        .add("description", String.class);
+
     public CartRowMapper(ColumnConverter converter) {
         this.converter = converter;
     }
@@ -28,4 +34,17 @@ public class CartRowMapper implements BiFunction<Row, String, Cart> {
         entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
         return entity;
     }
+
+    /**
+     * Take a {@link Row}, the {@link RowMetadata} of its result and a column prefix, and extract all the fields
+     * with the {@link RowMappingPlan} resolved for the result.
+     * @return the {@link Cart} stored in the database.
+     */
+    public Cart apply(Row row, RowMetadata metadata, String prefix) {
+        RowMappingPlan plan = columns.plan(metadata, prefix, converter);
+        Cart entity = new Cart();
+        entity.setId(plan.get(row, 0));
+        entity.setDescription(plan.get(row, 1));
+        return entity;
+    }
 }
@@ -1,6 +1,10 @@
 package com.erestaurant.customer.repository.rowmapper;
 
+import io.r2dbc.spi.ColumnMetadata;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
@@ -63,4 +67,56 @@ public class ColumnConverter {
             return convert(obj, target);
         }
     }
+
+    /**
+     * Resolves the position and the conversion path of the given columns in a result, so the rows of the result can
+     * be read without trying the driver first. A column is read directly by the driver if its type already matches,
+     * and converted with the {@link ConversionService} if there is a conversion for the reported column type.
+     * @param metadata the metadata of the result.
+     * @param columnNames the names of the columns to read.
+     * @param targets the intended types of the columns.
+     * @return the plan to read the columns with.
+     */
+    public RowMappingPlan createPlan(RowMetadata metadata, String[] columnNames, Class<?>[] targets) {
+        List<ColumnMetadata> columns = new ArrayList<>();
+        metadata.getColumnMetadatas().forEach(columns::add);
+        int[] indexes = new int[columnNames.length];
+        boolean[] readDirectly = new boolean[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            indexes[i] = indexOf(columns, columnNames[i]);
+            readDirectly[i] = indexes[i] < 0 || isReadDirectly(columns.get(indexes[i]).getJavaType(), targets[i]);
+        }
+        String[] resultNames = new String[columns.size()];
+        Class<?>[] resultTypes = new Class<?>[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            resultNames[i] = columns.get(i).getName();
+            resultTypes[i] = columns.get(i).getJavaType();
+        }
+        return new RowMappingPlan(resultNames, resultTypes, indexes, targets, readDirectly, this);
+    }
+
+    private static int indexOf(List<ColumnMetadata> columns, String columnName) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).getName().equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isReadDirectly(@Nullable Class<?> columnType, Class<?> target) {
+        if (columnType == null) {
+            // the driver does not report the type, so only the driver can decode it
+            return true;
+        }
+        Class<?> sourceType = ClassUtils.resolvePrimitiveIfNecessary(columnType);
+        if (ClassUtils.isAssignable(target, sourceType)) {
+            return true;
+        }
+        if (conversions.hasCustomReadTarget(sourceType, target) || Enum.class.isAssignableFrom(target)) {
+            return false;
+        }
+        // every type can be converted to a String, but the driver knows better how to decode its own types, e.g. a Clob
+        return String.class.equals(target) || !conversionService.canConvert(sourceType, target);
+    }
 }
@@ -2,6 +2,7 @@ package com.erestaurant.customer.repository.rowmapper;
 
 import com.erestaurant.customer.domain.Complete;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,12 @@ public class CompleteRowMapper implements BiFunction<Row, String, Complete> {
 
     private final ColumnConverter converter;
 
+    private final RowMappingPlan.Columns columns = RowMappingPlan
+        .columns()
+        .add("id", String.class)
+        .add("description", String.class)
+        .add("enabled", Boolean.class);
+
     public CompleteRowMapper(ColumnConverter converter) {
         this.converter = converter;
     }
@@ -29,4 +36,18 @@ public class CompleteRowMapper implements BiFunction<Row, String, Complete> {
         entity.setEnabled(converter.fromRow(row, prefix + "_enabled", Boolean.class));
         return entity;
     }
+
+    /**
+     * Take a {@link Row}, the {@link RowMetadata} of its result and a column prefix, and extract all the fields
+     * with the {@link RowMappingPlan} resolved for the result.
+     * @return the {@link Complete} stored in the database.
+     */
+    public Complete apply(Row row, RowMetadata metadata, String prefix) {
+        RowMappingPlan plan = columns.plan(metadata, prefix, converter);
+        Complete entity = new Complete();
+        entity.setId(plan.get(row, 0));
+        entity.setDescription(plan.get(row, 1));
+        entity.setEnabled(plan.get(row, 2));
+        return entity;
+    }
 }
@@ -2,6 +2,7 @@ package com.erestaurant.customer.repository.rowmapper;
 
 import com.erestaurant.customer.domain.CustomerProfile;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,15 @@ public class CustomerProfileRowMapper implements BiFunction<Row, String, Custome
 
     private final ColumnConverter converter;
 
+    private final RowMappingPlan.Columns columns = RowMappingPlan
+        .columns()
+        .add("id", String.class)
+        .add("name", String.class)
+        .add("location", String.class)
+        .add("location_range", String.class)
+        .add("referals", String.class)
+        .add("geohash", String.class);
+
     public CustomerProfileRowMapper(ColumnConverter converter) {
         this.converter = converter;
     }
@@ -29,6 +39,24 @@ public class CustomerProfileRowMapper implements BiFunction<Row, String, Custome
         entity.setLocation(converter.fromRow(row, prefix + "_location", String.class));
         entity.setLocationRange(converter.fromRow(row, prefix + "_location_range", String.class));
         entity.setReferals(converter.fromRow(row, prefix + "_referals", String.class));
+        entity.setGeohash(converter.fromRow(row, prefix + "_geohash", String.class));
+        return entity;
+    }
+
+    /**
+     * Take a {@link Row}, the {@link RowMetadata} of its result and a column prefix, and extract all the fields
+     * with the {@link RowMappingPlan} resolved for the result.
+     * @return the {@link CustomerProfile} stored in the database.
+     */
+    public CustomerProfile apply(Row row, RowMetadata metadata, String prefix) {
+        RowMappingPlan plan = columns.plan(metadata, prefix, converter);
+        CustomerProfile entity = new CustomerProfile();
+        entity.setId(plan.get(row, 0));
+        entity.setName(plan.get(row, 1));
+        entity.setLocation(plan.get(row, 2));
+        entity.setLocationRange(plan.get(row, 3));
+        entity.setReferals(plan.get(row, 4));
+        entity.setGeohash(plan.get(row, 5));
         return entity;
     }
 }
@@ -2,6 +2,7 @@ package com.erestaurant.customer.repository.rowmapper;
 
 import com.erestaurant.customer.domain.Products;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,15 @@ public class ProductsRowMapper implements BiFunction<Row, String, Products> {
 
     private final ColumnConverter converter;
 
+    private final RowMappingPlan.Columns columns = RowMappingPlan
+        .columns()
+        .add("id", String.class)
+        .add("name", String.class)
+        .add("description", String.class)
+        .add("image_content_type", String.class)
+        .add("image_hash", String.class)
+        .add("estimated_preparaing_time", Float.class);
+
     public ProductsRowMapper(ColumnConverter converter) {
         this.converter = converter;
     }
@@ -28,8 +38,25 @@ public class ProductsRowMapper implements BiFunction<Row, String, Products> {
         entity.setName(converter.fromRow(row, prefix + "_name", String.class));
         entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
         entity.setImageContentType(converter.fromRow(row, prefix + "_image_content_type", String.class));
-        entity.setImage(converter.fromRow(row, prefix + "_image", byte[].class));
+        entity.setImageHash(converter.fromRow(row, prefix + "_image_hash", String.class));
         entity.setEstimatedPreparaingTime(converter.fromRow(row, prefix + "_estimated_preparaing_time", Float.class));
         return entity;
     }
+
+    /**
+     * Take a {@link Row}, the {@link RowMetadata} of its result and a column prefix, and extract all the fields
+     * with the {@link RowMappingPlan} resolved for the result.
+     * @return the {@link Products} stored in the database.
+     */
+    public Products apply(Row row, RowMetadata metadata, String prefix) {
+        RowMappingPlan plan = columns.plan(metadata, prefix, converter);
+        Products entity = new Products();
+        entity.setId(plan.get(row, 0));
+        entity.setName(plan.get(row, 1));
+        entity.setDescription(plan.get(row, 2));
+        entity.setImageContentType(plan.get(row, 3));
+        entity.setImageHash(plan.get(row, 4));
+        entity.setEstimatedPreparaingTime(plan.get(row, 5));
+        return entity;
+    }
 }
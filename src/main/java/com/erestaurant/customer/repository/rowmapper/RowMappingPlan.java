@@ -0,0 +1,175 @@
+package com.erestaurant.customer.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The column accessors of an entity for one column prefix, resolved once against the columns of a result. Mapping a
+ * row with a plan reads the columns by index, and the conversion path of every column is already chosen, so no column
+ * names are built and no exceptions are thrown per cell.
+ * <p>
+ * A plan is immutable, and is reused for every result with the same column names and types, whichever the query.
+ */
+public final class RowMappingPlan {
+
+    /**
+     * The layouts of results a prefix keeps plans for, each select shape and projection having its own layout.
+     */
+    private static final int MAX_PLANS_PER_PREFIX = 32;
+
+    private final String[] resultNames;
+    private final Class<?>[] resultTypes;
+    private final int[] indexes;
+    private final Class<?>[] targets;
+    private final boolean[] readDirectly;
+    private final ColumnConverter converter;
+
+    RowMappingPlan(
+        String[] resultNames,
+        Class<?>[] resultTypes,
+        int[] indexes,
+        Class<?>[] targets,
+        boolean[] readDirectly,
+        ColumnConverter converter
+    ) {
+        this.resultNames = resultNames;
+        this.resultTypes = resultTypes;
+        this.indexes = indexes;
+        this.targets = targets;
+        this.readDirectly = readDirectly;
+        this.converter = converter;
+    }
+
+    /**
+     * Creates the column definitions of an entity, the columns must be added in the order the row mapper reads them.
+     * @return the empty column definitions.
+     */
+    public static Columns columns() {
+        return new Columns();
+    }
+
+    /**
+     * Read the value of a column from the row.
+     * @param row which contains the column values.
+     * @param column the position of the column in the {@link Columns} definition.
+     * @param <T> the parameter for the intended type.
+     * @return the converted value, or null if the column is not part of the result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Row row, int column) {
+        int index = indexes[column];
+        if (index < 0) {
+            return null;
+        }
+        if (readDirectly[column]) {
+            return (T) row.get(index, targets[column]);
+        }
+        return (T) converter.convert(row.get(index), targets[column]);
+    }
+
+    /**
+     * Checks whether the column is part of the result, which is not the case for columns left out of a select.
+     * @param column the position of the column in the {@link Columns} definition.
+     * @return true if the column was selected.
+     */
+    public boolean isSelected(int column) {
+        return indexes[column] >= 0;
+    }
+
+    /**
+     * Checks whether the result has the columns this plan was resolved for, comparing their names and types in order
+     * without allocating.
+     */
+    boolean isResolvedFor(RowMetadata metadata) {
+        Iterator<? extends ColumnMetadata> columns = metadata.getColumnMetadatas().iterator();
+        for (int i = 0; i < resultNames.length; i++) {
+            if (!columns.hasNext()) {
+                return false;
+            }
+            ColumnMetadata column = columns.next();
+            if (!resultNames[i].equals(column.getName()) || !Objects.equals(resultTypes[i], column.getJavaType())) {
+                return false;
+            }
+        }
+        return !columns.hasNext();
+    }
+
+    private boolean hasSameColumns(RowMappingPlan other) {
+        return Arrays.equals(resultNames, other.resultNames) && Arrays.equals(resultTypes, other.resultTypes);
+    }
+
+    /**
+     * The column names and types of an entity, without prefix, which caches the resolved plans of each prefix by the
+     * columns of their results. The cached plans of a prefix are replaced as a whole once one is added, so they are read
+     * without locking.
+     */
+    public static final class Columns {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Class<?>> types = new ArrayList<>();
+        private final Map<String, String[]> prefixedNames = new ConcurrentHashMap<>();
+        private volatile Map<String, RowMappingPlan[]> plans = Map.of();
+
+        private Columns() {}
+
+        /**
+         * Add a column definition.
+         * @param name the column name, without prefix.
+         * @param type the type of the entity field.
+         * @return this column definitions.
+         */
+        public Columns add(String name, Class<?> type) {
+            names.add(name);
+            types.add(type);
+            return this;
+        }
+
+        /**
+         * Returns the plan for the given prefix and the columns of the result, which is only resolved the first time
+         * a result has these columns.
+         * @param metadata the metadata of the result the rows belong to.
+         * @param prefix the column prefix.
+         * @param converter the converter to resolve the conversion paths with.
+         * @return the plan for the result.
+         */
+        public RowMappingPlan plan(RowMetadata metadata, String prefix, ColumnConverter converter) {
+            RowMappingPlan[] cached = plans.get(prefix);
+            if (cached != null) {
+                for (RowMappingPlan plan : cached) {
+                    if (plan.isResolvedFor(metadata)) {
+                        return plan;
+                    }
+                }
+            }
+            String[] columnNames = prefixedNames.computeIfAbsent(prefix, this::prefix);
+            RowMappingPlan plan = converter.createPlan(metadata, columnNames, types.toArray(new Class<?>[0]));
+            cache(prefix, plan);
+            return plan;
+        }
+
+        private synchronized void cache(String prefix, RowMappingPlan plan) {
+            RowMappingPlan[] cached = plans.getOrDefault(prefix, new RowMappingPlan[0]);
+            if (cached.length >= MAX_PLANS_PER_PREFIX || Arrays.stream(cached).anyMatch(plan::hasSameColumns)) {
+                return;
+            }
+            RowMappingPlan[] added = Arrays.copyOf(cached, cached.length + 1);
+            added[cached.length] = plan;
+            Map<String, RowMappingPlan[]> copy = new HashMap<>(plans);
+            copy.put(prefix, added);
+            plans = copy;
+        }
+
+        private String[] prefix(String prefix) {
+            return names.stream().map(name -> prefix + "_" + name).toArray(String[]::new);
+        }
+    }
+}
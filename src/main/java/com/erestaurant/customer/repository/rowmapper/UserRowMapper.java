@@ -2,6 +2,7 @@ package com.erestaurant.customer.repository.rowmapper;
 
 import com.erestaurant.customer.domain.User;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,17 @@ public class UserRowMapper implements BiFunction<Row, String, User> {
 
     private final ColumnConverter converter;
 
+    private final RowMappingPlan.Columns columns = RowMappingPlan
+        .columns()
+        .add("id", String.class)
+        .add("login", String.class)
+        .add("first_name", String.class)
+        .add("last_name", String.class)
+        .add("email", String.class)
+        .add("activated", Boolean.class)
+        .add("lang_key", String.class)
+        .add("image_url", String.class);
+
     public UserRowMapper(ColumnConverter converter) {
         this.converter = converter;
     }
@@ -35,4 +47,23 @@ public class UserRowMapper implements BiFunction<Row, String, User> {
         entity.setImageUrl(converter.fromRow(row, prefix + "_image_url", String.class));
         return entity;
     }
+
+    /**
+     * Take a {@link Row}, the {@link RowMetadata} of its result and a column prefix, and extract all the fields
+     * with the {@link RowMappingPlan} resolved for the result.
+     * @return the {@link User} stored in the database.
+     */
+    public User apply(Row row, RowMetadata metadata, String prefix) {
+        RowMappingPlan plan = columns.plan(metadata, prefix, converter);
+        User entity = new User();
+        entity.setId(plan.get(row, 0));
+        entity.setLogin(plan.get(row, 1));
+        entity.setFirstName(plan.get(row, 2));
+        entity.setLastName(plan.get(row, 3));
+        entity.setEmail(plan.get(row, 4));
+        entity.setActivated(Boolean.TRUE.equals(plan.get(row, 5)));
+        entity.setLangKey(plan.get(row, 6));
+        entity.setImageUrl(plan.get(row, 7));
+        return entity;
+    }
 }
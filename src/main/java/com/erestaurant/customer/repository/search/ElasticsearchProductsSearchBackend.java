@@ -0,0 +1,35 @@
+package com.erestaurant.customer.repository.search;
+
+import com.erestaurant.customer.domain.Products;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import reactor.core.publisher.Mono;
+
+/**
+ * The index of the {@link Products} held by Elasticsearch, through the {@link ProductsSearchRepository}.
+ */
+public class ElasticsearchProductsSearchBackend implements ProductsSearchBackend {
+
+    private final ProductsSearchRepository productsSearchRepository;
+
+    public ElasticsearchProductsSearchBackend(ProductsSearchRepository productsSearchRepository) {
+        this.productsSearchRepository = productsSearchRepository;
+    }
+
+    @Override
+    public Mono<Void> bulk(List<Products> indexed, List<String> deletedIds) {
+        return productsSearchRepository.bulk(indexed, deletedIds);
+    }
+
+    @Override
+    public Mono<Page<SearchHit<Products>>> search(String query, Pageable pageable) {
+        return productsSearchRepository.search(query, pageable);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return productsSearchRepository.count();
+    }
+}
@@ -0,0 +1,261 @@
+package com.erestaurant.customer.repository.search;
+
+import com.erestaurant.customer.domain.Products;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDataOutput;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.SingleInstanceLockFactory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The index of the {@link Products} held in memory by Lucene, to search the products without an Elasticsearch
+ * cluster, in the tests and the single node deployments.
+ * <p>
+ * The products are analyzed like the Elasticsearch {@code standard} analyzer does, and a batch of changes is visible
+ * to the searches as soon as it is written. Lucene only holds the terms of the products, with their offsets for the
+ * highlighting, while the products themselves are kept in a map, so a search never decompresses stored fields. Like
+ * Elasticsearch, the matches are counted exactly up to 10000 only. The index is lost when the application stops, and
+ * rebuilt from the database when it starts.
+ */
+public class LuceneProductsSearchBackend implements ProductsSearchBackend, Closeable {
+
+    private static final String INDEX_NAME = "products";
+
+    private static final String ID = "id";
+
+    private static final String[] HIGHLIGHTED_FIELDS = { NAME, DESCRIPTION };
+
+    private static final int[] HIGHLIGHTED_PASSAGES = { 1, DESCRIPTION_FRAGMENTS };
+
+    private static final int TOTAL_HITS_THRESHOLD = 10000;
+
+    private static final FieldType TEXT_WITH_OFFSETS = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TEXT_WITH_OFFSETS.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT_WITH_OFFSETS.freeze();
+    }
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final IndexWriter indexWriter;
+
+    private final SearcherManager searcherManager;
+
+    private final Map<String, Products> products = new ConcurrentHashMap<>();
+
+    public LuceneProductsSearchBackend() {
+        try {
+            this.indexWriter = new IndexWriter(
+                    // each file in a single buffer, which is cheaper to slice for every term of every search
+                    new ByteBuffersDirectory(
+                        new SingleInstanceLockFactory(),
+                        ByteBuffersDataOutput::new,
+                        ByteBuffersDirectory.OUTPUT_AS_ONE_BUFFER
+                    ),
+                    new IndexWriterConfig(analyzer)
+                );
+            this.searcherManager = new SearcherManager(indexWriter, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Mono<Void> bulk(List<Products> indexed, List<String> deletedIds) {
+        return Mono
+            .<Void>fromCallable(() -> {
+                for (Products indexedProducts : indexed) {
+                    products.put(indexedProducts.getId(), indexedProducts);
+                    indexWriter.updateDocument(new Term(ID, indexedProducts.getId()), toDocument(indexedProducts));
+                }
+                for (String id : deletedIds) {
+                    indexWriter.deleteDocuments(new Term(ID, id));
+                }
+                searcherManager.maybeRefreshBlocking();
+                deletedIds.forEach(products::remove);
+                return null;
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Page<SearchHit<Products>>> search(String query, Pageable pageable) {
+        return Mono.fromCallable(() -> {
+            Query parsed = parse(query);
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - pageable.getPageSize());
+                TopScoreDocCollector collector = TopScoreDocCollector.create(offset + pageable.getPageSize(), TOTAL_HITS_THRESHOLD);
+                searcher.search(parsed, collector);
+                TopDocs page = collector.topDocs(offset, pageable.getPageSize());
+                String[] ids = ids(searcher, page);
+                Map<String, String[]> highlights = new ProductsHighlighter(searcher, ids, page)
+                    .highlightFields(HIGHLIGHTED_FIELDS, parsed, page, HIGHLIGHTED_PASSAGES);
+                List<SearchHit<Products>> hits = new ArrayList<>(ids.length);
+                for (int i = 0; i < ids.length; i++) {
+                    Products found = find(ids[i]);
+                    if (found == null) {
+                        // deleted since the searcher was opened
+                        continue;
+                    }
+                    Map<String, List<String>> highlightFields = new LinkedHashMap<>();
+                    for (String field : HIGHLIGHTED_FIELDS) {
+                        String highlight = highlights.get(field)[i];
+                        if (highlight != null) {
+                            highlightFields.put(field, List.of(highlight));
+                        }
+                    }
+                    hits.add(
+                        new SearchHit<>(
+                            INDEX_NAME,
+                            ids[i],
+                            null,
+                            page.scoreDocs[i].score,
+                            null,
+                            highlightFields,
+                            Map.of(),
+                            null,
+                            null,
+                            List.of(),
+                            found
+                        )
+                    );
+                }
+                return new PageImpl<>(hits, pageable, Math.max(page.totalHits.value, offset + hits.size()));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromCallable(() -> {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return (long) searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+    }
+
+    private Query parse(String query) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(NAME, 2f, DESCRIPTION, 1f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(query);
+    }
+
+    /**
+     * @return the ids of the products of the found documents, read from their doc values.
+     */
+    private static String[] ids(IndexSearcher searcher, TopDocs page) throws IOException {
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        String[] ids = new String[page.scoreDocs.length];
+        for (int i = 0; i < ids.length; i++) {
+            int doc = page.scoreDocs[i].doc;
+            LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+            SortedDocValues values = leaf.reader().getSortedDocValues(ID);
+            if (values != null && values.advanceExact(doc - leaf.docBase)) {
+                ids[i] = values.binaryValue().utf8ToString();
+            }
+        }
+        return ids;
+    }
+
+    private Products find(String id) {
+        return id != null ? products.get(id) : null;
+    }
+
+    private static Document toDocument(Products products) {
+        Document document = new Document();
+        document.add(new StringField(ID, products.getId(), Field.Store.NO));
+        document.add(new SortedDocValuesField(ID, new BytesRef(products.getId())));
+        if (products.getName() != null) {
+            document.add(new Field(NAME, products.getName(), TEXT_WITH_OFFSETS));
+        }
+        if (products.getDescription() != null) {
+            document.add(new Field(DESCRIPTION, products.getDescription(), TEXT_WITH_OFFSETS));
+        }
+        return document;
+    }
+
+    /**
+     * Highlights the found products from the map of the products, instead of their stored fields.
+     */
+    private final class ProductsHighlighter extends UnifiedHighlighter {
+
+        private final Map<Integer, String> idsByDoc = new HashMap<>();
+
+        private ProductsHighlighter(IndexSearcher searcher, String[] ids, TopDocs page) {
+            super(searcher, analyzer);
+            setFormatter(new DefaultPassageFormatter("<em>", "</em>", " ", false));
+            setMaxNoHighlightPassages(0);
+            for (int i = 0; i < ids.length; i++) {
+                idsByDoc.put(page.scoreDocs[i].doc, ids[i]);
+            }
+        }
+
+        @Override
+        protected List<CharSequence[]> loadFieldValues(String[] fields, DocIdSetIterator docIter, int cacheCharsThreshold)
+            throws IOException {
+            List<CharSequence[]> values = new ArrayList<>();
+            for (int doc = docIter.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = docIter.nextDoc()) {
+                Products found = find(idsByDoc.get(doc));
+                CharSequence[] fieldValues = new CharSequence[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    String value = found == null ? null : NAME.equals(fields[i]) ? found.getName() : found.getDescription();
+                    fieldValues[i] = value != null ? value : "";
+                }
+                values.add(fieldValues);
+            }
+            return values;
+        }
+    }
+}
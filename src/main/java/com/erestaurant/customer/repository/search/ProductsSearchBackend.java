@@ -0,0 +1,49 @@
+package com.erestaurant.customer.repository.search;
+
+import com.erestaurant.customer.domain.Products;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import reactor.core.publisher.Mono;
+
+/**
+ * The full-text index of the {@link Products}, held by Elasticsearch through {@link ProductsSearchRepository}, or in
+ * process by {@link LuceneProductsSearchBackend}, depending on {@code application.search.backend}.
+ * <p>
+ * Both backends read a query as an Elasticsearch {@code simple_query_string} on the name and the description of the
+ * products, every term being required, and highlight the matched terms with {@code <em>} tags.
+ */
+public interface ProductsSearchBackend {
+    String NAME = "name";
+
+    String DESCRIPTION = "description";
+
+    /**
+     * Maximum number of highlighted fragments of the description of a product, its name being highlighted whole.
+     */
+    int DESCRIPTION_FRAGMENTS = 3;
+
+    /**
+     * Write a batch of changes to the index, as a single request.
+     *
+     * @param indexed the products to index, replacing their previous version.
+     * @param deletedIds the ids of the products to remove from the index.
+     * @return a {@link Mono} completing once the changes are visible to the searches.
+     */
+    Mono<Void> bulk(List<Products> indexed, List<String> deletedIds);
+
+    /**
+     * Search the products.
+     *
+     * @param query the query.
+     * @param pageable the page of the results, which are ordered by relevance.
+     * @return the page of the matching products, with the highlighted fragments of their name and description.
+     */
+    Mono<Page<SearchHit<Products>>> search(String query, Pageable pageable);
+
+    /**
+     * @return the number of indexed products.
+     */
+    Mono<Long> count();
+}
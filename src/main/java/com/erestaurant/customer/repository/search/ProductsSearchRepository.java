@@ -0,0 +1,89 @@
+package com.erestaurant.customer.repository.search;
+
+import static com.erestaurant.customer.repository.search.ProductsSearchBackend.DESCRIPTION;
+import static com.erestaurant.customer.repository.search.ProductsSearchBackend.DESCRIPTION_FRAGMENTS;
+import static com.erestaurant.customer.repository.search.ProductsSearchBackend.NAME;
+import static org.elasticsearch.index.query.QueryBuilders.simpleQueryStringQuery;
+
+import com.erestaurant.customer.domain.Products;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.Operator;
+import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data Elasticsearch repository for the Products entity.
+ */
+public interface ProductsSearchRepository extends ReactiveElasticsearchRepository<Products, String>, ProductsSearchRepositoryInternal {}
+
+interface ProductsSearchRepositoryInternal {
+    Mono<Void> bulk(List<Products> indexed, List<String> deletedIds);
+
+    Mono<Page<SearchHit<Products>>> search(String query, Pageable pageable);
+}
+
+class ProductsSearchRepositoryInternalImpl implements ProductsSearchRepositoryInternal {
+
+    private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    ProductsSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+        this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+    }
+
+    @Override
+    public Mono<Void> bulk(List<Products> indexed, List<String> deletedIds) {
+        String indexName = reactiveElasticsearchTemplate.getIndexCoordinatesFor(Products.class).getIndexName();
+        BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+        for (Products products : indexed) {
+            String source = reactiveElasticsearchTemplate.getElasticsearchConverter().mapObject(products).toJson();
+            bulkRequest.add(new IndexRequest(indexName).id(products.getId()).source(source, XContentType.JSON));
+        }
+        deletedIds.forEach(id -> bulkRequest.add(new DeleteRequest(indexName, id)));
+        if (bulkRequest.numberOfActions() == 0) {
+            return Mono.empty();
+        }
+        return Mono
+            .from(reactiveElasticsearchTemplate.execute(client -> client.bulk(bulkRequest)))
+            .flatMap(response -> {
+                if (!response.hasFailures()) {
+                    return Mono.empty();
+                }
+                Map<String, String> failures = new HashMap<>();
+                for (BulkItemResponse item : response.getItems()) {
+                    if (item.isFailed()) {
+                        failures.put(item.getId(), item.getFailureMessage());
+                    }
+                }
+                return Mono.error(new BulkFailureException("Could not index some products: " + failures, failures));
+            });
+    }
+
+    @Override
+    public Mono<Page<SearchHit<Products>>> search(String query, Pageable pageable) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQueryBuilder()
+            .withQuery(simpleQueryStringQuery(query).field(NAME, 2).field(DESCRIPTION).defaultOperator(Operator.AND))
+            .withHighlightFields(
+                new HighlightBuilder.Field(NAME).numOfFragments(0),
+                new HighlightBuilder.Field(DESCRIPTION).numOfFragments(DESCRIPTION_FRAGMENTS)
+            )
+            .withPageable(pageable)
+            .build();
+        return reactiveElasticsearchTemplate.searchForPage(nativeSearchQuery, Products.class).map(page -> page);
+    }
+}
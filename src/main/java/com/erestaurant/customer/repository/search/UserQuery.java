@@ -0,0 +1,192 @@
+package com.erestaurant.customer.repository.search;
+
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.multiMatchQuery;
+import static org.elasticsearch.index.query.QueryBuilders.prefixQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.elasticsearch.common.unit.Fuzziness;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.Operator;
+import org.elasticsearch.index.query.QueryBuilder;
+
+/**
+ * A search of the {@link com.erestaurant.customer.domain.User}, parsed from the small query language of the user search
+ * instead of being handed to the Elasticsearch query string syntax.
+ * <p>
+ * A query is made of up to {@link #MAX_TERMS} terms separated by spaces, all of which must match:
+ * <ul>
+ *     <li>{@code login:jo} matches the logins starting with {@code jo};</li>
+ *     <li>{@code email:john@example.com} matches this email exactly;</li>
+ *     <li>{@code name:jon} matches the first or last names close to {@code jon}, with a typo or two;</li>
+ *     <li>{@code jon} matches any of the above.</li>
+ * </ul>
+ * A term only holds letters, digits and {@code . _ @ + ' -}, so it has no wildcard nor regular expression, and a fuzzy
+ * term expands to {@link #MAX_EXPANSIONS} names at most. The compiled query is thus bounded whatever the input.
+ */
+public final class UserQuery {
+
+    public static final int MAX_TERMS = 8;
+
+    public static final int MAX_TERM_LENGTH = 100;
+
+    public static final int MAX_LENGTH = 1000;
+
+    static final String LOGIN = "login";
+
+    static final String EMAIL = "email";
+
+    static final String FIRST_NAME = "firstName";
+
+    static final String LAST_NAME = "lastName";
+
+    private static final String NAME = "name";
+
+    private static final int MAX_EXPANSIONS = 20;
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}._@+'-]+");
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final List<Term> terms;
+
+    private UserQuery(List<Term> terms) {
+        this.terms = terms;
+    }
+
+    /**
+     * Parses a query of the user search.
+     *
+     * @param query the query.
+     * @return the parsed query, whose terms are lowercased and sorted.
+     * @throws IllegalArgumentException if the query is empty or too long, has too many terms, an unknown field, or a
+     * forbidden character.
+     */
+    public static UserQuery parse(String query) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("The query is empty");
+        }
+        if (trimmed.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("The query is longer than " + MAX_LENGTH + " characters");
+        }
+        String[] tokens = SPACES.split(trimmed);
+        if (tokens.length > MAX_TERMS) {
+            throw new IllegalArgumentException("The query has more than " + MAX_TERMS + " terms");
+        }
+        List<Term> terms = new ArrayList<>(tokens.length);
+        for (String token : tokens) {
+            int colon = token.indexOf(':');
+            String field = colon < 0 ? null : token.substring(0, colon).toLowerCase(Locale.ROOT);
+            String value = token.substring(colon + 1).toLowerCase(Locale.ROOT);
+            if (field != null && !LOGIN.equals(field) && !EMAIL.equals(field) && !NAME.equals(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "', expected login, email or name");
+            }
+            if (value.length() > MAX_TERM_LENGTH) {
+                throw new IllegalArgumentException("The term '" + token + "' is longer than " + MAX_TERM_LENGTH + " characters");
+            }
+            if (!TERM.matcher(value).matches()) {
+                throw new IllegalArgumentException("The term '" + token + "' may only hold letters, digits and . _ @ + ' -");
+            }
+            terms.add(new Term(field, value));
+        }
+        terms.sort(Comparator.comparing(Term::toString));
+        return new UserQuery(terms);
+    }
+
+    /**
+     * @return the Elasticsearch query matching the users this query matches.
+     */
+    public QueryBuilder toQueryBuilder() {
+        BoolQueryBuilder query = boolQuery();
+        for (Term term : terms) {
+            if (term.field == null) {
+                BoolQueryBuilder any = boolQuery().should(prefixQuery(LOGIN, term.value)).should(fuzzyName(term.value));
+                if (term.value.indexOf('@') >= 0) {
+                    any.should(termQuery(EMAIL, term.value));
+                }
+                query.must(any.minimumShouldMatch(1));
+            } else if (LOGIN.equals(term.field)) {
+                query.must(prefixQuery(LOGIN, term.value));
+            } else if (EMAIL.equals(term.field)) {
+                query.must(termQuery(EMAIL, term.value));
+            } else {
+                query.must(fuzzyName(term.value));
+            }
+        }
+        return query;
+    }
+
+    private static QueryBuilder fuzzyName(String value) {
+        return multiMatchQuery(value, FIRST_NAME, LAST_NAME)
+            .fuzziness(Fuzziness.AUTO)
+            .prefixLength(1)
+            .maxExpansions(MAX_EXPANSIONS)
+            .operator(Operator.AND);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserQuery)) {
+            return false;
+        }
+        return terms.equals(((UserQuery) o).terms);
+    }
+
+    @Override
+    public int hashCode() {
+        return terms.hashCode();
+    }
+
+    /**
+     * @return the normalized query, the same for all the queries matching the same users.
+     */
+    @Override
+    public String toString() {
+        return terms.stream().map(Term::toString).collect(Collectors.joining(" "));
+    }
+
+    private static final class Term {
+
+        private final String field;
+
+        private final String value;
+
+        private Term(String field, String value) {
+            this.field = field;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Term)) {
+                return false;
+            }
+            Term term = (Term) o;
+            return Objects.equals(field, term.field) && value.equals(term.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(field, value);
+        }
+
+        @Override
+        public String toString() {
+            return field == null ? value : field + ":" + value;
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package com.erestaurant.customer.repository.search;
 
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
-
 import com.erestaurant.customer.domain.User;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
 import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.ReactiveIndexOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import org.springframework.http.MediaType;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the User entity.
@@ -15,20 +35,144 @@ import reactor.core.publisher.Flux;
 public interface UserSearchRepository extends ReactiveElasticsearchRepository<User, String>, UserSearchRepositoryInternal {}
 
 interface UserSearchRepositoryInternal {
-    Flux<User> search(String query);
+    Flux<User> search(UserQuery query, Pageable pageable);
+
+    Mono<Void> createIndex(String indexName);
+
+    Mono<Void> bulkCreate(String indexName, List<User> users);
+
+    Mono<Void> index(String indexName, User user);
+
+    Mono<Void> switchAlias(String indexName, int replicas);
 }
 
 class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
 
+    private static final Duration SEARCH_TIMEOUT = Duration.ofSeconds(2);
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
     UserSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
     }
 
+    /**
+     * Searches a page of the users, without counting all the matching users, the shards returning what they found after
+     * the timeout.
+     */
     @Override
-    public Flux<User> search(String query) {
-        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
+    public Flux<User> search(UserQuery query, Pageable pageable) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQueryBuilder()
+            .withQuery(query.toQueryBuilder())
+            .withPageable(pageable)
+            .withTrackTotalHits(false)
+            .withTimeout(SEARCH_TIMEOUT)
+            .build();
         return reactiveElasticsearchTemplate.search(nativeSearchQuery, User.class).map(SearchHit::getContent);
     }
+
+    /**
+     * Creates an index with the mapping of the users, without replicas nor refreshes while it is filled.
+     */
+    @Override
+    public Mono<Void> createIndex(String indexName) {
+        ReactiveIndexOperations indexOps = reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(indexName));
+        Map<String, Object> settings = Map.of("index.number_of_replicas", 0, "index.refresh_interval", "-1");
+        return indexOps
+            .exists()
+            .filter(exists -> !exists)
+            .flatMap(missing -> indexOps.createMapping(User.class))
+            .flatMap(mapping -> indexOps.create(settings, mapping))
+            .then();
+    }
+
+    /**
+     * Indexes the users which are not in the index yet, a user already indexed being left as it is.
+     */
+    @Override
+    public Mono<Void> bulkCreate(String indexName, List<User> users) {
+        if (users.isEmpty()) {
+            return Mono.empty();
+        }
+        BulkRequest bulkRequest = new BulkRequest();
+        for (User user : users) {
+            String source = reactiveElasticsearchTemplate.getElasticsearchConverter().mapObject(user).toJson();
+            bulkRequest.add(
+                new IndexRequest(indexName).id(user.getId()).opType(DocWriteRequest.OpType.CREATE).source(source, XContentType.JSON)
+            );
+        }
+        return Mono
+            .from(reactiveElasticsearchTemplate.execute(client -> client.bulk(bulkRequest)))
+            .flatMap(response -> {
+                Map<String, String> failures = new HashMap<>();
+                for (BulkItemResponse item : response.getItems()) {
+                    if (item.isFailed() && item.getFailure().getStatus() != RestStatus.CONFLICT) {
+                        failures.put(item.getId(), item.getFailureMessage());
+                    }
+                }
+                if (failures.isEmpty()) {
+                    return Mono.empty();
+                }
+                return Mono.error(new BulkFailureException("Could not index some users: " + failures, failures));
+            });
+    }
+
+    @Override
+    public Mono<Void> index(String indexName, User user) {
+        return reactiveElasticsearchTemplate.save(user, IndexCoordinates.of(indexName)).then();
+    }
+
+    /**
+     * Makes the index searchable and replicated, then points the alias of the users to it instead of their former
+     * indices, in one atomic change, before deleting these indices. The index of the users created by Spring Data has the
+     * name of the alias, it is deleted with the same change.
+     */
+    @Override
+    public Mono<Void> switchAlias(String indexName, int replicas) {
+        String alias = reactiveElasticsearchTemplate.getIndexCoordinatesFor(User.class).getIndexName();
+        ReactiveIndexOperations aliasOps = reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(alias));
+        String settings = "{\"index\":{\"refresh_interval\":null,\"number_of_replicas\":" + replicas + "}}";
+        return Mono
+            .from(
+                reactiveElasticsearchTemplate.execute(client ->
+                    client.execute(webClient ->
+                        webClient
+                            .put()
+                            .uri("/{index}/_settings", indexName)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(settings)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                    )
+                )
+            )
+            .then(reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(indexName)).refresh())
+            .then(aliasOps.exists())
+            .flatMap(exists -> exists ? aliasOps.getAliasesForIndex(alias).map(Map::keySet) : Mono.just(Set.<String>of()))
+            .flatMap(indices -> {
+                Set<String> formerIndices = new TreeSet<>(indices);
+                formerIndices.remove(indexName);
+                AliasActions aliasActions = new AliasActions(
+                    new AliasAction.Add(AliasActionParameters.builder().withIndices(indexName).withAliases(alias).build())
+                );
+                if (formerIndices.remove(alias)) {
+                    aliasActions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(alias).build()));
+                }
+                if (!formerIndices.isEmpty()) {
+                    aliasActions.add(
+                        new AliasAction.Remove(
+                            AliasActionParameters.builder().withIndices(formerIndices.toArray(String[]::new)).withAliases(alias).build()
+                        )
+                    );
+                }
+                return aliasOps
+                    .alias(aliasActions)
+                    .thenMany(
+                        Flux
+                            .fromIterable(formerIndices)
+                            .concatMap(formerIndex -> reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(formerIndex)).delete())
+                    )
+                    .then();
+            });
+    }
 }
@@ -49,6 +49,15 @@ public interface AppUserService {
      */
     Flux<AppUserDTO> findAllWithEagerRelationships(Pageable pageable);
 
+    /**
+     * Get a page of the appUsers, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findAllAfter(String afterId, int size);
+
     /**
      * Returns the number of appUsers available.
      * @return the number of entities in the database.
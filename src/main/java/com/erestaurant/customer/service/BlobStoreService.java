@@ -0,0 +1,26 @@
+package com.erestaurant.customer.service;
+
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for storing binary content, addressed by the SHA-256 hash of the content.
+ * The same content is only stored once, so a blob can be referenced by any number of entities.
+ */
+public interface BlobStoreService {
+    /**
+     * Store a blob, unless a blob with the same content is already stored.
+     *
+     * @param content the content to store.
+     * @return the hex encoded SHA-256 hash of the content, which references the blob.
+     */
+    Mono<String> store(byte[] content);
+
+    /**
+     * Get a blob.
+     *
+     * @param hash the hash returned when the blob was stored.
+     * @return the content of the blob, or an empty {@link Mono} if there is no such blob.
+     */
+    Mono<Resource> find(String hash);
+}
@@ -0,0 +1,203 @@
+package com.erestaurant.customer.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * An in-process cache bounded by the total weight of its values, which evicts the least recently used entries first
+ * and expires every entry after a time to live.
+ * <p>
+ * A value loaded while the cache is invalidated is not stored, so a load racing with an update does not bring the
+ * previous value back.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public final class BoundedCache<K, V> {
+
+    private final String name;
+    private final long maximumWeight;
+    private final long timeToLiveMillis;
+    private final ToLongFunction<V> weigher;
+    private final Clock clock;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param name the name of the cache, in its metrics.
+     * @param maximumWeight the maximum total weight of the values.
+     * @param timeToLive the time after which an entry expires.
+     * @param weigher the weight of a value, roughly its size in bytes.
+     * @param clock the clock the expiry is computed with.
+     */
+    public BoundedCache(String name, long maximumWeight, Duration timeToLive, ToLongFunction<V> weigher, Clock clock) {
+        this.name = name;
+        this.maximumWeight = maximumWeight;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.weigher = weigher;
+        this.clock = clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the cached value of the key, or loads and caches it.
+     * @param key the key of the value.
+     * @param loader the load of the value, which is only subscribed on a miss.
+     * @return the value, or empty if the load is empty, which is not cached.
+     */
+    public Mono<V> get(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            long loadGeneration;
+            synchronized (this) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null && entry.expiresAt > clock.millis()) {
+                    hits.increment();
+                    return Mono.just(entry.value);
+                }
+                if (entry != null) {
+                    remove(key);
+                    evictions.increment();
+                }
+                misses.increment();
+                loadGeneration = generation;
+            }
+            return loader.get().doOnNext(value -> put(key, value, loadGeneration));
+        });
+    }
+
+    /**
+     * Drops the value of a key.
+     * @param key the key of the value.
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        remove(key);
+    }
+
+    /**
+     * Drops all the values.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized void put(K key, V value, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maximumWeight) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry<>(value, valueWeight, clock.millis() + timeToLiveMillis));
+        weight += valueWeight;
+        puts.increment();
+        Iterator<Entry<V>> leastRecentlyUsed = entries.values().iterator();
+        while (weight > maximumWeight) {
+            weight -= leastRecentlyUsed.next().weight;
+            leastRecentlyUsed.remove();
+            evictions.increment();
+        }
+    }
+
+    private void remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long weight;
+        private final long expiresAt;
+
+        private Entry(V value, long weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * The standard cache metrics of a {@link BoundedCache}, with the total weight of its values.
+     */
+    public static class Metrics extends CacheMeterBinder<BoundedCache<?, ?>> {
+
+        public Metrics(BoundedCache<?, ?> cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+        }
+
+        @Override
+        protected Long size() {
+            BoundedCache<?, ?> cache = getCache();
+            return cache != null ? cache.size() : null;
+        }
+
+        @Override
+        protected long hitCount() {
+            BoundedCache<?, ?> cache = getCache();
+            return cache != null ? cache.hits.sum() : 0;
+        }
+
+        @Override
+        protected Long missCount() {
+            BoundedCache<?, ?> cache = getCache();
+            return cache != null ? cache.misses.sum() : null;
+        }
+
+        @Override
+        protected Long evictionCount() {
+            BoundedCache<?, ?> cache = getCache();
+            return cache != null ? cache.evictions.sum() : null;
+        }
+
+        @Override
+        protected long putCount() {
+            BoundedCache<?, ?> cache = getCache();
+            return cache != null ? cache.puts.sum() : 0;
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            Gauge
+                .builder("cache.weight", getCache(), BoundedCache::weight)
+                .tags(getTagsWithCacheName())
+                .description("The total weight of the values in the cache")
+                .baseUnit("bytes")
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.CartItem;
+import com.erestaurant.customer.repository.CartItemRepository;
+import com.erestaurant.customer.repository.CartRepository;
+import com.erestaurant.customer.service.dto.CartContentDTO;
+import com.erestaurant.customer.service.dto.CartItemDTO;
+import com.erestaurant.customer.service.dto.ProductsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Service editing the items of the {@link com.erestaurant.customer.domain.Cart} in memory, and writing them behind to
+ * the database.
+ * <p>
+ * An active cart is loaded once, then each change of its items is applied in memory, with its total quantity and
+ * estimated preparation time updated from the change alone. The changes are written as one replacement of the items of
+ * the cart, however many they are, once the cart is idle for {@code application.cart.idle-timeout}, when it is checked
+ * out, or at the latest {@code application.cart.max-write-delay} after its first unwritten change. The carts are
+ * spread over shards, each with its own lock, so the edits of different carts rarely contend.
+ * <p>
+ * A cart is held in the memory of a single instance, so the application must run as a single replica, or route all the
+ * requests of a cart to the same instance, e.g. by a sticky routing on the cart id: otherwise each instance edits its
+ * own copy of the cart, and the last one written replaces the others.
+ */
+@Service
+public class CartEngineService {
+
+    private final Logger log = LoggerFactory.getLogger(CartEngineService.class);
+
+    private final CartRepository cartRepository;
+
+    private final CartItemRepository cartItemRepository;
+
+    private final ProductsService productsService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final Shard[] shards;
+
+    private final long idleTimeoutNanos;
+
+    private final long maxWriteDelayNanos;
+
+    private final long evictAfterNanos;
+
+    private final Counter flushes;
+
+    public CartEngineService(
+        CartRepository cartRepository,
+        CartItemRepository cartItemRepository,
+        ProductsService productsService,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.productsService = productsService;
+        this.transactionalOperator = transactionalOperator;
+        ApplicationProperties.Cart properties = applicationProperties.getCart();
+        this.shards = new Shard[Integer.highestOneBit(Math.max(properties.getShards(), 1) * 2 - 1)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.maxWriteDelayNanos = properties.getMaxWriteDelay().toNanos();
+        this.evictAfterNanos = properties.getEvictAfter().toNanos();
+        Gauge.builder("cart.hot", this, CartEngineService::getHotCartCount).description("The carts held in memory").register(meterRegistry);
+        this.flushes = Counter.builder("cart.flushes").description("The writes of the changed carts").register(meterRegistry);
+    }
+
+    /**
+     * Get the content of a cart.
+     *
+     * @param cartId the id of the cart.
+     * @return the content of the cart, or empty if it does not exist.
+     */
+    public Mono<CartContentDTO> findContent(String cartId) {
+        return hotCart(cartId)
+            .map(cart -> {
+                synchronized (cart) {
+                    return cart.toDto();
+                }
+            });
+    }
+
+    /**
+     * Add a quantity of a product to a cart.
+     *
+     * @param cartId the id of the cart.
+     * @param productId the id of the product.
+     * @param quantity the quantity to add.
+     * @return the content of the cart, empty if it does not exist, an {@link UnknownProductException}, or a
+     * {@link QuantityTooLargeException} if the quantity of the product would overflow.
+     */
+    public Mono<CartContentDTO> addItem(String cartId, String productId, int quantity) {
+        return edit(
+            cartId,
+            cart -> preparationTime(cart, productId),
+            (cart, preparationTime) -> {
+                int current = cart.getQuantity(productId);
+                if (quantity > Integer.MAX_VALUE - current) {
+                    throw new QuantityTooLargeException(productId);
+                }
+                cart.setQuantity(productId, preparationTime, Math.max(current + quantity, 0));
+            }
+        );
+    }
+
+    /**
+     * Set the quantity of a product in a cart.
+     *
+     * @param cartId the id of the cart.
+     * @param productId the id of the product.
+     * @param quantity the new quantity, 0 to remove the product.
+     * @return the content of the cart, empty if it does not exist, or an {@link UnknownProductException}.
+     */
+    public Mono<CartContentDTO> setQuantity(String cartId, String productId, int quantity) {
+        if (quantity == 0) {
+            return removeItem(cartId, productId);
+        }
+        return edit(
+            cartId,
+            cart -> preparationTime(cart, productId),
+            (cart, preparationTime) -> cart.setQuantity(productId, preparationTime, quantity)
+        );
+    }
+
+    /**
+     * Remove a product from a cart.
+     *
+     * @param cartId the id of the cart.
+     * @param productId the id of the product.
+     * @return the content of the cart, or empty if it does not exist.
+     */
+    public Mono<CartContentDTO> removeItem(String cartId, String productId) {
+        return edit(cartId, cart -> Mono.just(0f), (cart, preparationTime) -> cart.setQuantity(productId, 0, 0));
+    }
+
+    /**
+     * Apply a change to a cart in memory, once the preparation time of its product is known. If the cart was dropped
+     * from memory meanwhile, by a checkout or an eviction, the change is applied to the cart loaded again instead, so
+     * that it is written.
+     *
+     * @param cartId the id of the cart.
+     * @param preparationTimeOf the estimated preparation time of a unit of the changed product.
+     * @param change the change.
+     * @return the content of the cart, or empty if it does not exist.
+     */
+    private Mono<CartContentDTO> edit(String cartId, Function<HotCart, Mono<Float>> preparationTimeOf, Change change) {
+        return hotCart(cartId)
+            .flatMap(cart ->
+                preparationTimeOf
+                    .apply(cart)
+                    .flatMap(preparationTime -> {
+                        synchronized (cart) {
+                            if (cart.dropped) {
+                                return edit(cartId, preparationTimeOf, change);
+                            }
+                            change.apply(cart, preparationTime);
+                            return Mono.just(cart.toDto());
+                        }
+                    })
+            );
+    }
+
+    /**
+     * Write the items of a cart, and drop it from memory unless it changed meanwhile.
+     *
+     * @param cartId the id of the cart.
+     * @return the written content of the cart, or empty if it does not exist.
+     */
+    public Mono<CartContentDTO> checkout(String cartId) {
+        return hotCart(cartId)
+            .flatMap(cart ->
+                flush(cart)
+                    .then(
+                        Mono.fromSupplier(() -> {
+                            Shard shard = shardOf(cartId);
+                            synchronized (shard) {
+                                synchronized (cart) {
+                                    if (!cart.isDirty()) {
+                                        cart.dropped = shard.carts.remove(cartId, cart);
+                                    }
+                                    return cart.toDto();
+                                }
+                            }
+                        })
+                    )
+            );
+    }
+
+    /**
+     * Drop a cart from memory without writing its changes, when it is deleted.
+     *
+     * @param cartId the id of the cart.
+     */
+    public void evict(String cartId) {
+        Shard shard = shardOf(cartId);
+        synchronized (shard) {
+            HotCart cart = shard.carts.remove(cartId);
+            if (cart != null) {
+                synchronized (cart) {
+                    cart.dropped = true;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.cart.flush-delay:1000}")
+    public void scheduledFlush() {
+        try {
+            flushIdle().block();
+        } catch (RuntimeException e) {
+            log.warn("Could not write the changed carts", e);
+        }
+    }
+
+    /**
+     * Write the changed carts which are idle or changed long ago, and drop the written carts not accessed for a while.
+     *
+     * @return the number of written carts.
+     */
+    public Mono<Long> flushIdle() {
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+            List<HotCart> toFlush = new ArrayList<>();
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    shard.carts
+                        .values()
+                        .removeIf(cart -> {
+                            synchronized (cart) {
+                                if (!cart.isDirty()) {
+                                    cart.dropped = now - cart.lastAccess >= evictAfterNanos;
+                                    return cart.dropped;
+                                }
+                                boolean idle = now - cart.lastChange >= idleTimeoutNanos;
+                                if (idle || now - cart.firstUnwrittenChange >= maxWriteDelayNanos) {
+                                    toFlush.add(cart);
+                                }
+                                return false;
+                            }
+                        });
+                }
+            }
+            return Flux
+                .fromIterable(toFlush)
+                .concatMap(cart ->
+                    flush(cart)
+                        .thenReturn(cart)
+                        .onErrorResume(e -> {
+                            log.warn("Could not write the Cart : {}", cart.cartId, e);
+                            return Mono.empty();
+                        })
+                )
+                .count();
+        });
+    }
+
+    /**
+     * Write all the changed carts, when the application stops.
+     */
+    @PreDestroy
+    public void flushAll() {
+        List<HotCart> dirty = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (HotCart cart : shard.carts.values()) {
+                    synchronized (cart) {
+                        if (cart.isDirty()) {
+                            dirty.add(cart);
+                        }
+                    }
+                }
+            }
+        }
+        log.debug("Writing {} changed carts", dirty.size());
+        try {
+            Flux.fromIterable(dirty).concatMap(this::flush).then().block();
+        } catch (RuntimeException e) {
+            log.warn("Could not write the changed carts", e);
+        }
+    }
+
+    public int getHotCartCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                count += shard.carts.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write the items of a cart if it changed, once the write of the cart in flight, if any, is done.
+     */
+    private Mono<Void> flush(HotCart cart) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> written = Sinks.empty();
+            synchronized (cart) {
+                if (cart.writing != null) {
+                    return cart.writing.asMono().then(flush(cart));
+                }
+                cart.writing = written;
+            }
+            return write(cart)
+                .doFinally(signal -> {
+                    synchronized (cart) {
+                        cart.writing = null;
+                    }
+                    written.tryEmitEmpty();
+                });
+        });
+    }
+
+    private Mono<Void> write(HotCart cart) {
+        long version;
+        List<CartItem> items;
+        synchronized (cart) {
+            if (!cart.isDirty()) {
+                return Mono.empty();
+            }
+            version = cart.version;
+            items = cart.toItems();
+        }
+        log.debug("Writing the {} items of Cart : {}", items.size(), cart.cartId);
+        return cartItemRepository
+            .deleteAllByCartId(cart.cartId)
+            .thenMany(cartItemRepository.saveAll(items))
+            .then()
+            .as(transactionalOperator::transactional)
+            .doOnSuccess(v -> {
+                flushes.increment();
+                synchronized (cart) {
+                    cart.writtenVersion = Math.max(cart.writtenVersion, version);
+                }
+            });
+    }
+
+    private Mono<HotCart> hotCart(String cartId) {
+        return Mono.defer(() -> {
+            Shard shard = shardOf(cartId);
+            HotCart cart;
+            synchronized (shard) {
+                cart = shard.carts.get(cartId);
+            }
+            if (cart != null) {
+                return Mono.just(cart);
+            }
+            return load(cartId)
+                .map(loaded -> {
+                    synchronized (shard) {
+                        return shard.carts.computeIfAbsent(cartId, id -> loaded);
+                    }
+                });
+        });
+    }
+
+    private Mono<HotCart> load(String cartId) {
+        log.debug("Loading Cart : {}", cartId);
+        return cartRepository
+            .existsById(cartId)
+            .filter(Boolean::booleanValue)
+            .flatMap(exists ->
+                cartItemRepository
+                    .findAllByCartIdOrderByIdAsc(cartId)
+                    .concatMap(item ->
+                        productsService
+                            .findOne(item.getProductId())
+                            .map(CartEngineService::preparationTimeOf)
+                            .defaultIfEmpty(0f)
+                            .map(preparationTime -> new Line(item.getProductId(), preparationTime, item.getQuantity()))
+                    )
+                    .collectList()
+                    .map(lines -> new HotCart(cartId, lines))
+            );
+    }
+
+    /**
+     * @return the estimated preparation time of a unit of a product, from the cart if it already holds the product.
+     */
+    private Mono<Float> preparationTime(HotCart cart, String productId) {
+        synchronized (cart) {
+            Line line = cart.lines.get(productId);
+            if (line != null) {
+                return Mono.just(line.preparationTime);
+            }
+        }
+        return productsService
+            .findOne(productId)
+            .map(CartEngineService::preparationTimeOf)
+            .switchIfEmpty(Mono.error(() -> new UnknownProductException(productId)));
+    }
+
+    private static float preparationTimeOf(ProductsDTO productsDTO) {
+        return productsDTO.getEstimatedPreparaingTime() != null ? productsDTO.getEstimatedPreparaingTime() : 0;
+    }
+
+    private Shard shardOf(String cartId) {
+        int hash = cartId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    /**
+     * A shard of the carts in memory, guarded by its own monitor.
+     */
+    private static final class Shard {
+
+        private final Map<String, HotCart> carts = new HashMap<>();
+    }
+
+    private static final class Line {
+
+        private final String productId;
+
+        private final float preparationTime;
+
+        private int quantity;
+
+        private Line(String productId, float preparationTime, int quantity) {
+            this.productId = productId;
+            this.preparationTime = preparationTime;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * A change of the items of a cart, applied under the monitor of the cart.
+     */
+    private interface Change {
+        void apply(HotCart cart, float preparationTime);
+    }
+
+    /**
+     * A cart in memory, with its totals kept up to date by each change. It is guarded by its own monitor.
+     */
+    private static final class HotCart {
+
+        private final String cartId;
+
+        private final Map<String, Line> lines = new LinkedHashMap<>();
+
+        private long totalQuantity;
+
+        private double preparationTime;
+
+        private long version;
+
+        private long writtenVersion;
+
+        private long lastAccess = System.nanoTime();
+
+        private long lastChange;
+
+        private long firstUnwrittenChange;
+
+        /**
+         * Completed once the write of the cart in flight is done, or null if none is.
+         */
+        private Sinks.Empty<Void> writing;
+
+        /**
+         * Whether the cart was dropped from its shard, after which it must not be changed anymore.
+         */
+        private boolean dropped;
+
+        private HotCart(String cartId, List<Line> loaded) {
+            this.cartId = cartId;
+            for (Line line : loaded) {
+                lines.put(line.productId, line);
+                totalQuantity += line.quantity;
+                preparationTime += (double) line.preparationTime * line.quantity;
+            }
+        }
+
+        private boolean isDirty() {
+            return version != writtenVersion;
+        }
+
+        private int getQuantity(String productId) {
+            Line line = lines.get(productId);
+            return line != null ? line.quantity : 0;
+        }
+
+        private void setQuantity(String productId, float unitPreparationTime, int quantity) {
+            Line line = lines.get(productId);
+            int delta = quantity - (line != null ? line.quantity : 0);
+            lastAccess = System.nanoTime();
+            if (delta == 0) {
+                return;
+            }
+            if (line == null) {
+                line = new Line(productId, unitPreparationTime, quantity);
+                lines.put(productId, line);
+            } else if (quantity == 0) {
+                lines.remove(productId);
+            } else {
+                line.quantity = quantity;
+            }
+            totalQuantity += delta;
+            preparationTime = lines.isEmpty() ? 0 : preparationTime + (double) line.preparationTime * delta;
+            if (!isDirty()) {
+                firstUnwrittenChange = lastAccess;
+            }
+            lastChange = lastAccess;
+            version++;
+        }
+
+        private List<CartItem> toItems() {
+            List<CartItem> items = new ArrayList<>(lines.size());
+            for (Line line : lines.values()) {
+                items.add(new CartItem().cartId(cartId).productId(line.productId).quantity(line.quantity));
+            }
+            return items;
+        }
+
+        private CartContentDTO toDto() {
+            lastAccess = System.nanoTime();
+            List<CartItemDTO> items = new ArrayList<>(lines.size());
+            for (Line line : lines.values()) {
+                items.add(new CartItemDTO(line.productId, line.quantity, line.preparationTime));
+            }
+            CartContentDTO content = new CartContentDTO();
+            content.setCartId(cartId);
+            content.setItems(items);
+            content.setTotalQuantity(totalQuantity);
+            content.setEstimatedPreparationTime(preparationTime);
+            return content;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.config.KafkaCatalogConsumer;
+import com.erestaurant.customer.config.KafkaCatalogProducer;
+import com.erestaurant.customer.service.dto.CatalogInvalidationDTO;
+import com.erestaurant.customer.service.dto.CategoriesDTO;
+import com.erestaurant.customer.service.dto.ProductsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Clock;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service caching the products and the categories, which are read for every menu view but rarely change.
+ * <p>
+ * A change is evicted from the local caches right away and again once its transaction completes, then published on Kafka
+ * so that every other replica evicts it too. The TTL bounds the staleness when an invalidation is lost.
+ */
+@Service
+public class CatalogCacheService {
+
+    private static final String ALL = "all";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogCacheService.class);
+
+    private final BoundedCache<String, ProductsDTO> products;
+
+    private final BoundedCache<String, List<ProductsDTO>> productsLists;
+
+    private final BoundedCache<String, CategoriesDTO> categories;
+
+    private final BoundedCache<String, List<CategoriesDTO>> categoriesLists;
+
+    private final MessageChannel output;
+
+    public CatalogCacheService(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        @Qualifier(KafkaCatalogProducer.CHANNELNAME) MessageChannel output
+    ) {
+        ApplicationProperties.CatalogCache properties = applicationProperties.getCatalogCache();
+        this.products = cache("products", properties, CatalogCacheService::weigh, meterRegistry);
+        this.productsLists = cache("productsLists", properties, list -> weighAll(list, CatalogCacheService::weigh), meterRegistry);
+        this.categories = cache("categories", properties, CatalogCacheService::weigh, meterRegistry);
+        this.categoriesLists = cache("categoriesLists", properties, list -> weighAll(list, CatalogCacheService::weigh), meterRegistry);
+        this.output = output;
+    }
+
+    private static <V> BoundedCache<String, V> cache(
+        String name,
+        ApplicationProperties.CatalogCache properties,
+        ToLongFunction<V> weigher,
+        MeterRegistry meterRegistry
+    ) {
+        BoundedCache<String, V> cache = new BoundedCache<>(
+            name,
+            properties.getMaximumWeight(),
+            properties.getTimeToLive(),
+            weigher,
+            Clock.systemUTC()
+        );
+        new BoundedCache.Metrics(cache, Tags.empty()).bindTo(meterRegistry);
+        return cache;
+    }
+
+    public Mono<ProductsDTO> getProducts(String id, Supplier<Mono<ProductsDTO>> loader) {
+        return products.get(id, loader);
+    }
+
+    public Flux<ProductsDTO> getAllProducts(Supplier<Flux<ProductsDTO>> loader) {
+        return productsLists.get(ALL, () -> loader.get().collectList()).flatMapIterable(Function.identity());
+    }
+
+    public Mono<CategoriesDTO> getCategories(String id, Supplier<Mono<CategoriesDTO>> loader) {
+        return categories.get(id, loader);
+    }
+
+    public Flux<CategoriesDTO> getAllCategories(Supplier<Flux<CategoriesDTO>> loader) {
+        return categoriesLists.get(ALL, () -> loader.get().collectList()).flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Evict a changed products on every replica.
+     *
+     * @param id the id of the products, or null if all the products may have changed.
+     * @return a {@link Mono} completing once the eviction is registered with the current transaction.
+     */
+    public Mono<Void> evictProducts(String id) {
+        return evict(new CatalogInvalidationDTO(CatalogInvalidationDTO.Entity.PRODUCTS, id));
+    }
+
+    /**
+     * Evict a changed categories on every replica.
+     *
+     * @param id the id of the categories, or null if all the categories may have changed.
+     * @return a {@link Mono} completing once the eviction is registered with the current transaction.
+     */
+    public Mono<Void> evictCategories(String id) {
+        return evict(new CatalogInvalidationDTO(CatalogInvalidationDTO.Entity.CATEGORIES, id));
+    }
+
+    @StreamListener(KafkaCatalogConsumer.CHANNELNAME)
+    public void consume(CatalogInvalidationDTO invalidation) {
+        log.debug("Got catalog invalidation from kafka stream: {}", invalidation);
+        invalidate(invalidation);
+    }
+
+    private Mono<Void> evict(CatalogInvalidationDTO invalidation) {
+        invalidate(invalidation);
+        Mono<Void> afterCompletion = Mono.fromRunnable(() -> invalidate(invalidation)).then(publish(invalidation));
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .map(synchronizationManager -> {
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return afterCompletion;
+                        }
+                    }
+                );
+                return true;
+            })
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .switchIfEmpty(afterCompletion.thenReturn(false))
+            .then();
+    }
+
+    private Mono<Void> publish(CatalogInvalidationDTO invalidation) {
+        return Mono
+            .fromRunnable(() -> output.send(MessageBuilder.withPayload(invalidation).build()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorResume(e -> {
+                log.warn("Could not publish the catalog invalidation {}, the other replicas expire it after its TTL", invalidation, e);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void invalidate(CatalogInvalidationDTO invalidation) {
+        if (invalidation.getEntity() == CatalogInvalidationDTO.Entity.PRODUCTS) {
+            invalidate(products, invalidation.getId());
+            productsLists.invalidateAll();
+        } else if (invalidation.getEntity() == CatalogInvalidationDTO.Entity.CATEGORIES) {
+            invalidate(categories, invalidation.getId());
+            categoriesLists.invalidateAll();
+        }
+    }
+
+    private static void invalidate(BoundedCache<String, ?> cache, String id) {
+        if (id != null) {
+            cache.invalidate(id);
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    private static long weigh(ProductsDTO productsDTO) {
+        return weigh(
+            productsDTO.getId(),
+            productsDTO.getName(),
+            productsDTO.getDescription(),
+            productsDTO.getImageHash(),
+            productsDTO.getImageContentType()
+        );
+    }
+
+    private static long weigh(CategoriesDTO categoriesDTO) {
+        return weigh(categoriesDTO.getId(), categoriesDTO.getDescription());
+    }
+
+    private static long weigh(String... values) {
+        long weight = 64;
+        for (String value : values) {
+            weight += value != null ? 40 + 2L * value.length() : 0;
+        }
+        return weight;
+    }
+
+    private static <D> long weighAll(List<D> list, ToLongFunction<D> weigher) {
+        long weight = 64;
+        for (D dto : list) {
+            weight += 8 + weigher.applyAsLong(dto);
+        }
+        return weight;
+    }
+}
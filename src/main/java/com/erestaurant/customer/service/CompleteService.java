@@ -40,6 +40,15 @@ public interface CompleteService {
      */
     Flux<CompleteDTO> findAll();
 
+    /**
+     * Get a page of the completes, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<CompleteDTO> findAllAfter(String afterId, int size);
+
     /**
      * Returns the number of completes available.
      * @return the number of entities in the database.
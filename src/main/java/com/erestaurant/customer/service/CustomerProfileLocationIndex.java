@@ -0,0 +1,130 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.domain.CustomerProfile;
+import com.erestaurant.customer.repository.CustomerProfileRepository;
+import com.erestaurant.customer.service.dto.CustomerProfileDTO;
+import com.erestaurant.customer.service.dto.NearbyCustomerProfileDTO;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service indexing the location and location range of the {@link CustomerProfile}s in a {@link GeoGrid}, to find the
+ * profiles near a location without loading them all.
+ * <p>
+ * The index is built from the database when the application is ready, then kept up to date by
+ * {@link CustomerProfileService} on every write. The locations which are not made of coordinates are not indexed.
+ */
+@Service
+public class CustomerProfileLocationIndex {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerProfileLocationIndex.class);
+
+    private final CustomerProfileRepository customerProfileRepository;
+
+    private final GeoGrid grid = new GeoGrid();
+
+    public CustomerProfileLocationIndex(CustomerProfileRepository customerProfileRepository) {
+        this.customerProfileRepository = customerProfileRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild()
+            .subscribe(
+                indexed -> log.info("Indexed the location of {} customer profiles", indexed),
+                e -> log.error("Could not index the location of the customer profiles", e)
+            );
+    }
+
+    /**
+     * Index the location of all the customer profiles again.
+     *
+     * @return the number of indexed profiles.
+     */
+    public Mono<Integer> rebuild() {
+        return customerProfileRepository
+            .findAll()
+            .collectList()
+            .map(customerProfiles -> {
+                synchronized (grid) {
+                    grid.clear();
+                    customerProfiles.forEach(customerProfile ->
+                        index(customerProfile.getId(), customerProfile.getLocation(), customerProfile.getLocationRange())
+                    );
+                    return grid.size();
+                }
+            });
+    }
+
+    /**
+     * @return the geohash of a location, or null if it is not made of coordinates.
+     */
+    public static String geohash(String location) {
+        GeoPoint point = GeoPoint.parse(location);
+        return point != null ? point.geohash(GeoPoint.GEOHASH_PRECISION) : null;
+    }
+
+    /**
+     * Index a saved customer profile, or remove it from the index if its location is not made of coordinates.
+     *
+     * @param customerProfileDTO the customer profile.
+     */
+    public void index(CustomerProfileDTO customerProfileDTO) {
+        synchronized (grid) {
+            index(customerProfileDTO.getId(), customerProfileDTO.getLocation(), customerProfileDTO.getLocationRange());
+        }
+    }
+
+    private void index(String id, String location, String locationRange) {
+        GeoPoint point = GeoPoint.parse(location);
+        if (point != null) {
+            grid.put(id, point, GeoPoint.parseRangeKm(locationRange));
+        } else {
+            grid.remove(id);
+        }
+    }
+
+    /**
+     * Remove a deleted customer profile from the index.
+     *
+     * @param id the id of the customer profile.
+     */
+    public void remove(String id) {
+        synchronized (grid) {
+            grid.remove(id);
+        }
+    }
+
+    /**
+     * Find the customer profiles located within a distance of a location.
+     *
+     * @param location the location.
+     * @param radiusKm the distance, in kilometers.
+     * @param limit the maximum number of profiles to return.
+     * @return the closest profiles first.
+     */
+    public List<NearbyCustomerProfileDTO> findWithin(GeoPoint location, double radiusKm, int limit) {
+        return grid.findWithin(location, radiusKm, limit).stream().map(NearbyCustomerProfileDTO::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Find the customer profiles whose location range covers a location.
+     *
+     * @param location the location.
+     * @param limit the maximum number of profiles to return.
+     * @return the closest profiles first.
+     */
+    public List<NearbyCustomerProfileDTO> findCovering(GeoPoint location, int limit) {
+        return grid.findCovering(location, limit).stream().map(NearbyCustomerProfileDTO::new).collect(Collectors.toList());
+    }
+
+    public int size() {
+        return grid.size();
+    }
+}
@@ -40,6 +40,15 @@ public interface CustomerProfileService {
      */
     Flux<CustomerProfileDTO> findAll();
 
+    /**
+     * Get a page of the customerProfiles, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<CustomerProfileDTO> findAllAfter(String afterId, int size);
+
     /**
      * Returns the number of customerProfiles available.
      * @return the number of entities in the database.
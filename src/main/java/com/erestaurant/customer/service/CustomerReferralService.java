@@ -0,0 +1,241 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.domain.CustomerProfile;
+import com.erestaurant.customer.domain.CustomerReferral;
+import com.erestaurant.customer.repository.CustomerProfileRepository;
+import com.erestaurant.customer.repository.CustomerReferralRepository;
+import com.erestaurant.customer.service.dto.ReferralDTO;
+import com.erestaurant.customer.service.dto.ReferrerDTO;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service keeping the referrals of the {@link CustomerProfile}s in the customer_referral table and in a
+ * {@link ReferralGraph}, to walk the referral chains and rank the referrers.
+ * <p>
+ * The referals of a profile are read as the ids of the profiles it referred, separated by spaces, commas, semicolons
+ * or pipes, and only the ids of existing profiles are kept. {@link CustomerProfileService} replaces the referrals of a
+ * profile in the table when it saves it, and in the graph once its transaction is committed, and the graph is loaded
+ * from the table when the application is ready, after parsing the referals of all the profiles if the table is still
+ * empty.
+ */
+@Service
+public class CustomerReferralService {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,;|]+");
+
+    private static final int MIN_ID_LENGTH = 5;
+
+    private final Logger log = LoggerFactory.getLogger(CustomerReferralService.class);
+
+    private final CustomerReferralRepository customerReferralRepository;
+
+    private final CustomerProfileRepository customerProfileRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ReferralGraph graph = new ReferralGraph();
+
+    public CustomerReferralService(
+        CustomerReferralRepository customerReferralRepository,
+        CustomerProfileRepository customerProfileRepository
+    ) {
+        this.customerReferralRepository = customerReferralRepository;
+        this.customerProfileRepository = customerProfileRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        load()
+            .subscribe(
+                referrals -> log.info("Loaded {} customer referrals", referrals),
+                e -> log.error("Could not load the customer referrals", e)
+            );
+    }
+
+    /**
+     * Load the referral graph from the database, after parsing the referals of all the profiles if there are no
+     * referrals yet.
+     *
+     * @return the number of referrals.
+     */
+    public Mono<Long> load() {
+        return customerReferralRepository
+            .count()
+            .flatMap(count -> count == 0 ? backfill() : Mono.just(count))
+            .then(
+                Mono.defer(() -> {
+                    ReferralGraph loaded = new ReferralGraph();
+                    return customerReferralRepository
+                        .findAll()
+                        .doOnNext(referral -> loaded.add(referral.getReferrerId(), referral.getReferredId()))
+                        .then(Mono.fromCallable(() -> replace(loaded)));
+                })
+            );
+    }
+
+    private Mono<Long> backfill() {
+        return customerProfileRepository
+            .findAll()
+            .map(CustomerProfile::getId)
+            .collect(Collectors.toSet())
+            .flatMapMany(profileIds ->
+                customerProfileRepository
+                    .findAll()
+                    .filter(customerProfile -> customerProfile.getReferals() != null)
+                    .concatMap(customerProfile -> {
+                        List<String> referredIds = parse(customerProfile.getId(), customerProfile.getReferals());
+                        referredIds.retainAll(profileIds);
+                        return customerReferralRepository.saveAll(toReferrals(customerProfile.getId(), referredIds));
+                    })
+            )
+            .count();
+    }
+
+    /**
+     * Replace the referrals of a saved profile in the database, unless they did not change. The graph is left as is, to
+     * be updated by {@link #setReferrals(String, List)} once the referrals are committed.
+     *
+     * @param referrerId the id of the profile.
+     * @param referals the referals of the profile.
+     * @return the ids of the profiles referred by the profile, once the referrals are saved.
+     */
+    public Mono<List<String>> saveReferrals(String referrerId, String referals) {
+        List<String> candidates = parse(referrerId, referals);
+        Mono<Set<String>> existing = candidates.isEmpty()
+            ? Mono.just(Set.of())
+            : customerProfileRepository.findAllById(candidates).map(CustomerProfile::getId).collect(Collectors.toSet());
+        return existing.flatMap(existingIds -> {
+            candidates.retainAll(existingIds);
+            return customerReferralRepository
+                .findAllByReferrerId(referrerId)
+                .map(CustomerReferral::getReferredId)
+                .collect(Collectors.toSet())
+                .flatMap(persisted -> {
+                    if (persisted.equals(new HashSet<>(candidates))) {
+                        return Mono.just(candidates);
+                    }
+                    return customerReferralRepository
+                        .deleteAllByReferrerId(referrerId)
+                        .thenMany(customerReferralRepository.saveAll(toReferrals(referrerId, candidates)))
+                        .then(Mono.just(candidates));
+                });
+        });
+    }
+
+    /**
+     * Replace the referrals of a profile in the referral graph, once they are committed.
+     *
+     * @param referrerId the id of the profile.
+     * @param referredIds the ids of the profiles referred by the profile.
+     */
+    public void setReferrals(String referrerId, List<String> referredIds) {
+        write(current -> current.setReferrals(referrerId, referredIds));
+    }
+
+    /**
+     * Remove a deleted profile from the referral graph, its referrals being deleted with it from the database.
+     *
+     * @param id the id of the profile.
+     */
+    public void remove(String id) {
+        write(current -> current.remove(id));
+    }
+
+    /**
+     * @return the ids of the profiles referred by a referals, in their order and without duplicates.
+     */
+    static List<String> parse(String referrerId, String referals) {
+        Set<String> referredIds = new LinkedHashSet<>();
+        if (referals != null) {
+            for (String token : SEPARATORS.split(referals.trim())) {
+                if (token.length() >= MIN_ID_LENGTH && !token.equals(referrerId)) {
+                    referredIds.add(token);
+                }
+            }
+        }
+        return new ArrayList<>(referredIds);
+    }
+
+    private static Flux<CustomerReferral> toReferrals(String referrerId, List<String> referredIds) {
+        return Flux.fromIterable(referredIds).map(referredId -> new CustomerReferral().referrerId(referrerId).referredId(referredId));
+    }
+
+    /**
+     * Walk the referrals of a profile, to the profiles it referred, then the ones they referred, and so on.
+     *
+     * @param id the id of the profile.
+     * @param depth the maximum number of referrals from the profile.
+     * @param limit the maximum number of referrals to return.
+     * @return the referrals, the closest to the profile first.
+     */
+    public List<ReferralDTO> findReferrals(String id, int depth, int limit) {
+        return read(current -> current.findReferrals(id, depth, limit)).stream().map(ReferralDTO::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Walk the referrers of a profile, to the profiles who referred it, then the ones who referred them, and so on.
+     *
+     * @param id the id of the profile.
+     * @param depth the maximum number of referrals to the profile.
+     * @param limit the maximum number of referrals to return.
+     * @return the referrals, the closest to the profile first.
+     */
+    public List<ReferralDTO> findReferrers(String id, int depth, int limit) {
+        return read(current -> current.findReferrers(id, depth, limit)).stream().map(ReferralDTO::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Find the profiles who referred the most profiles.
+     *
+     * @param limit the number of profiles to return.
+     * @return the profiles with their number of referrals, the most first.
+     */
+    public List<ReferrerDTO> findTopReferrers(int limit) {
+        return read(current -> current.findTopReferrers(limit)).stream().map(ReferrerDTO::new).collect(Collectors.toList());
+    }
+
+    private <T> T read(Function<ReferralGraph, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(graph);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<ReferralGraph> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(graph);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long replace(ReferralGraph loaded) {
+        lock.writeLock().lock();
+        try {
+            graph = loaded;
+            return loaded.getReferralCount();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
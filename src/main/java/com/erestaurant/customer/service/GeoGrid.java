@@ -0,0 +1,311 @@
+package com.erestaurant.customer.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A spatial index of points, each with a range, bucketed in the cells of the 6 characters geohashes, about 1.2 by
+ * 0.6 kilometers at the equator.
+ * <p>
+ * A query reads the cells overlapping the bounding box of its circle, ring by ring from the cell of its location,
+ * and stops once the next ring cannot hold a point closer than the ones it already found. The points of a cell are
+ * kept in an array which is copied on write, so the queries never lock and always read a consistent cell, while the
+ * writes are serialized.
+ */
+public final class GeoGrid {
+
+    private static final int ROWS = 1 << 15;
+
+    private static final int COLUMNS = 1 << 15;
+
+    private static final double CELL_LATITUDE_DEGREES = 180.0 / ROWS;
+
+    private static final double CELL_LONGITUDE_DEGREES = 360.0 / COLUMNS;
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final Map<Integer, Entry[]> cells = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile double maxRangeKm;
+
+    /**
+     * Add a point, or move it if it is already indexed.
+     *
+     * @param id the id of the point.
+     * @param point the location of the point.
+     * @param rangeKm the range of the point, in kilometers, or {@link Double#NaN} if it has none.
+     */
+    public synchronized void put(String id, GeoPoint point, double rangeKm) {
+        remove(id);
+        Entry entry = new Entry(id, point.getLatitude(), point.getLongitude(), rangeKm);
+        entries.put(id, entry);
+        cells.merge(
+            entry.cell,
+            new Entry[] { entry },
+            (cell, added) -> {
+                Entry[] merged = Arrays.copyOf(cell, cell.length + 1);
+                merged[cell.length] = entry;
+                return merged;
+            }
+        );
+        if (rangeKm > maxRangeKm) {
+            maxRangeKm = rangeKm;
+        }
+    }
+
+    /**
+     * Remove a point.
+     *
+     * @param id the id of the point.
+     * @return false if the point was not indexed.
+     */
+    public synchronized boolean remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        cells.computeIfPresent(
+            entry.cell,
+            (key, cell) -> {
+                Entry[] kept = new Entry[cell.length - 1];
+                int size = 0;
+                for (Entry other : cell) {
+                    if (other != entry) {
+                        kept[size++] = other;
+                    }
+                }
+                return size > 0 ? kept : null;
+            }
+        );
+        return true;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        cells.clear();
+        maxRangeKm = 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find the points within a distance of a location.
+     *
+     * @param center the location.
+     * @param radiusKm the distance, in kilometers.
+     * @param limit the maximum number of points to return.
+     * @return the closest points first.
+     */
+    public List<Match> findWithin(GeoPoint center, double radiusKm, int limit) {
+        return find(center, radiusKm, false, limit);
+    }
+
+    /**
+     * Find the points whose range covers a location.
+     *
+     * @param center the location.
+     * @param limit the maximum number of points to return.
+     * @return the closest points first.
+     */
+    public List<Match> findCovering(GeoPoint center, int limit) {
+        return find(center, maxRangeKm, true, limit);
+    }
+
+    private List<Match> find(GeoPoint center, double radiusKm, boolean covering, int limit) {
+        double latitude = center.getLatitude();
+        double longitude = center.getLongitude();
+        double angle = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double minLatitude = latitude - Math.toDegrees(angle);
+        double maxLatitude = latitude + Math.toDegrees(angle);
+        int firstRow = row(minLatitude);
+        int lastRow = row(maxLatitude);
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        int columnReach = COLUMNS;
+        double sinAngle = Math.sin(angle);
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        if (minLatitude > -90 && maxLatitude < 90 && angle < Math.PI / 2 && sinAngle < cosLatitude) {
+            double longitudeDelta = Math.toDegrees(Math.asin(sinAngle / cosLatitude));
+            columnReach = Math.max(centerColumn - column(longitude - longitudeDelta), column(longitude + longitudeDelta) - centerColumn);
+        }
+        Search search = new Search(latitude, longitude, radiusKm, covering, limit);
+        int reach = Math.max(Math.max(centerRow - firstRow, lastRow - centerRow), Math.min(columnReach, COLUMNS / 2));
+        long scanned = (long) (lastRow - firstRow + 1) * Math.min(2L * columnReach + 1, COLUMNS);
+        if (scanned > cells.size()) {
+            // the circle covers more cells than there are non empty ones
+            cells.values().forEach(search::match);
+            return search.result();
+        }
+        // the cells are searched by rings around the cell of the location, until the points of the next ring are all
+        // further than the ones found, knowing they are at least one row or one column less than the ring away
+        double cosMaxLatitude = Math.cos(Math.toRadians(Math.min(90, Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)))));
+        for (int ring = 0; ring <= reach; ring++) {
+            if (ring > 1 && search.isFull()) {
+                double rowsAway = GeoPoint.EARTH_RADIUS_KM * Math.toRadians((ring - 1) * CELL_LATITUDE_DEGREES);
+                double columnsAngle = Math.min(Math.PI, Math.toRadians((ring - 1) * CELL_LONGITUDE_DEGREES));
+                double columnsAway = 2 * GeoPoint.EARTH_RADIUS_KM * cosMaxLatitude * Math.sin(columnsAngle / 2);
+                if (Math.min(rowsAway, columnsAway) > search.furthestKm()) {
+                    break;
+                }
+            }
+            for (int row = Math.max(firstRow, centerRow - ring); row <= Math.min(lastRow, centerRow + ring); row++) {
+                boolean edgeRow = Math.abs(row - centerRow) == ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    if (Math.abs(column - centerColumn) <= columnReach && column - centerColumn < COLUMNS / 2) {
+                        search.match(cells.getOrDefault(row * COLUMNS + Math.floorMod(column, COLUMNS), EMPTY));
+                    }
+                }
+            }
+        }
+        return search.result();
+    }
+
+    private static int row(double latitude) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_LATITUDE_DEGREES)));
+    }
+
+    private static int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_LONGITUDE_DEGREES);
+    }
+
+    /**
+     * The closest points found by a query, kept in a heap with the furthest one first.
+     */
+    private static final class Search {
+
+        private final double latitude;
+
+        private final double longitude;
+
+        private final double cosLatitude;
+
+        private final double radiusKm;
+
+        private final boolean covering;
+
+        private final int limit;
+
+        private final PriorityQueue<Match> closest;
+
+        private Search(double latitude, double longitude, double radiusKm, boolean covering, int limit) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cosLatitude = Math.cos(Math.toRadians(latitude));
+            this.radiusKm = radiusKm;
+            this.covering = covering;
+            this.limit = limit;
+            this.closest = new PriorityQueue<>(Comparator.comparingDouble(Match::getDistanceKm).reversed());
+        }
+
+        private void match(Entry[] cell) {
+            for (Entry entry : cell) {
+                double distance = distanceKm(entry);
+                if (distance <= (covering ? entry.rangeKm : radiusKm) && (!isFull() || distance < furthestKm())) {
+                    closest.add(new Match(entry, distance));
+                    if (closest.size() > limit) {
+                        closest.poll();
+                    }
+                }
+            }
+        }
+
+        private double distanceKm(Entry entry) {
+            double sinLatitude = Math.sin(Math.toRadians(entry.latitude - latitude) / 2);
+            double sinLongitude = Math.sin(Math.toRadians(entry.longitude - longitude) / 2);
+            double a = sinLatitude * sinLatitude + cosLatitude * entry.cosLatitude * sinLongitude * sinLongitude;
+            return 2 * GeoPoint.EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+        }
+
+        private boolean isFull() {
+            return closest.size() >= limit;
+        }
+
+        private double furthestKm() {
+            return closest.peek().getDistanceKm();
+        }
+
+        private List<Match> result() {
+            List<Match> matches = new ArrayList<>(closest);
+            matches.sort(Comparator.comparingDouble(Match::getDistanceKm));
+            return matches;
+        }
+    }
+
+    /**
+     * A point found by a query, with its distance to the location of the query.
+     */
+    public static final class Match {
+
+        private final String id;
+
+        private final double latitude;
+
+        private final double longitude;
+
+        private final double rangeKm;
+
+        private final double distanceKm;
+
+        private Match(Entry entry, double distanceKm) {
+            this.id = entry.id;
+            this.latitude = entry.latitude;
+            this.longitude = entry.longitude;
+            this.rangeKm = entry.rangeKm;
+            this.distanceKm = distanceKm;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public double getRangeKm() {
+            return rangeKm;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String id;
+
+        private final double latitude;
+
+        private final double longitude;
+
+        private final double cosLatitude;
+
+        private final double rangeKm;
+
+        private final int cell;
+
+        private Entry(String id, double latitude, double longitude, double rangeKm) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cosLatitude = Math.cos(Math.toRadians(latitude));
+            this.rangeKm = rangeKm;
+            this.cell = row(latitude) * COLUMNS + Math.floorMod(column(longitude), COLUMNS);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.erestaurant.customer.service;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A point on the earth, in decimal degrees, parsed from the free-text location of a
+ * {@link com.erestaurant.customer.domain.CustomerProfile} and stored as a geohash.
+ */
+public final class GeoPoint {
+
+    /**
+     * The mean radius of the earth, in kilometers.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * The precision of the stored geohashes, about 4 centimeters.
+     */
+    public static final int GEOHASH_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private static final Pattern LOCATION = Pattern.compile(
+        "^\\s*(?:geo:)?\\s*([-+]?\\d{1,3}(?:\\.\\d+)?)\\s*[,;\\s]\\s*([-+]?\\d{1,3}(?:\\.\\d+)?)\\s*(?:;.*)?$",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern RANGE = Pattern.compile("^\\s*(\\d+(?:\\.\\d+)?)\\s*(km|m|mi)?\\s*$", Pattern.CASE_INSENSITIVE);
+
+    private final double latitude;
+
+    private final double longitude;
+
+    public GeoPoint(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Invalid coordinates " + latitude + ", " + longitude);
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Parse a location like {@code 40.4168,-3.7038}, {@code 40.4168 -3.7038} or {@code geo:40.4168,-3.7038}.
+     *
+     * @param location the location.
+     * @return the point, or null if the location is not made of valid coordinates.
+     */
+    public static GeoPoint parse(String location) {
+        if (location == null) {
+            return null;
+        }
+        Matcher matcher = LOCATION.matcher(location);
+        if (!matcher.matches()) {
+            return null;
+        }
+        double latitude = Double.parseDouble(matcher.group(1));
+        double longitude = Double.parseDouble(matcher.group(2));
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            return null;
+        }
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * Parse a range like {@code 5km}, {@code 500 m} or {@code 3mi}, in kilometers without a unit.
+     *
+     * @param range the range.
+     * @return the range in kilometers, or {@link Double#NaN} if it is not a valid range.
+     */
+    public static double parseRangeKm(String range) {
+        if (range == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = RANGE.matcher(range);
+        if (!matcher.matches()) {
+            return Double.NaN;
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        String unit = matcher.group(2) != null ? matcher.group(2).toLowerCase(Locale.ROOT) : "km";
+        switch (unit) {
+            case "m":
+                return value / 1000;
+            case "mi":
+                return value * 1.609344;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Decode a geohash.
+     *
+     * @param geohash the geohash.
+     * @return the center of the cell of the geohash.
+     */
+    public static GeoPoint fromGeohash(String geohash) {
+        double[] latitude = { -90, 90 };
+        double[] longitude = { -180, 180 };
+        boolean even = true;
+        for (int i = 0; i < geohash.length(); i++) {
+            int bits = BASE32.indexOf(geohash.charAt(i));
+            if (bits < 0) {
+                throw new IllegalArgumentException("Invalid geohash " + geohash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                double[] interval = even ? longitude : latitude;
+                double middle = (interval[0] + interval[1]) / 2;
+                if ((bits >> bit & 1) == 1) {
+                    interval[0] = middle;
+                } else {
+                    interval[1] = middle;
+                }
+                even = !even;
+            }
+        }
+        return new GeoPoint((latitude[0] + latitude[1]) / 2, (longitude[0] + longitude[1]) / 2);
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Encode the point as a geohash.
+     *
+     * @param precision the number of characters of the geohash.
+     * @return the geohash of the cell containing the point.
+     */
+    public String geohash(int precision) {
+        StringBuilder geohash = new StringBuilder(precision);
+        double[] latitudeInterval = { -90, 90 };
+        double[] longitudeInterval = { -180, 180 };
+        boolean even = true;
+        int bits = 0;
+        int bitCount = 0;
+        while (geohash.length() < precision) {
+            double[] interval = even ? longitudeInterval : latitudeInterval;
+            double value = even ? longitude : latitude;
+            double middle = (interval[0] + interval[1]) / 2;
+            bits <<= 1;
+            if (value >= middle) {
+                bits |= 1;
+                interval[0] = middle;
+            } else {
+                interval[1] = middle;
+            }
+            even = !even;
+            if (++bitCount == 5) {
+                geohash.append(BASE32.charAt(bits));
+                bits = 0;
+                bitCount = 0;
+            }
+        }
+        return geohash.toString();
+    }
+
+    /**
+     * @return the great-circle distance to another point, in kilometers.
+     */
+    public double distanceKm(GeoPoint other) {
+        return distanceKm(latitude, longitude, other.latitude, other.longitude);
+    }
+
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a =
+            Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2) +
+            Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    @Override
+    public String toString() {
+        return latitude + "," + longitude;
+    }
+}
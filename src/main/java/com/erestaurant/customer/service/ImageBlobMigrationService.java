@@ -0,0 +1,84 @@
+package com.erestaurant.customer.service;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+/**
+ * Service moving the images still stored in the rows of AppUser, Customer and Products to the {@link BlobStoreService}.
+ * <p>
+ * It runs when the application is ready, and clears the image column of every migrated row,
+ * so it only finds rows to migrate after an upgrade, or after loading the fake data.
+ */
+@Service
+public class ImageBlobMigrationService {
+
+    private static final List<String> TABLES = List.of("app_user", "customer", "products");
+
+    private final Logger log = LoggerFactory.getLogger(ImageBlobMigrationService.class);
+
+    private final DatabaseClient databaseClient;
+
+    private final BlobStoreService blobStoreService;
+
+    public ImageBlobMigrationService(DatabaseClient databaseClient, BlobStoreService blobStoreService) {
+        this.databaseClient = databaseClient;
+        this.blobStoreService = blobStoreService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        migrate()
+            .subscribe(
+                migrated -> {
+                    if (migrated > 0) {
+                        log.info("Moved {} images to the blob store", migrated);
+                    }
+                },
+                e -> log.error("Could not move the images to the blob store", e)
+            );
+    }
+
+    /**
+     * Move the images of all the tables to the blob store.
+     *
+     * @return the number of moved images.
+     */
+    public Mono<Long> migrate() {
+        return Flux.fromIterable(TABLES).concatMap(this::migrate).reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> migrate(String table) {
+        return databaseClient
+            .sql("SELECT id, image FROM " + table + " WHERE image IS NOT NULL")
+            .map((row, metadata) -> Tuples.of(row.get("id", String.class), toBytes(row.get("image", ByteBuffer.class))))
+            .all()
+            .concatMap(image ->
+                blobStoreService
+                    .store(image.getT2())
+                    .flatMap(hash ->
+                        databaseClient
+                            .sql("UPDATE " + table + " SET image_hash = :hash, image = NULL WHERE id = :id")
+                            .bind("hash", hash)
+                            .bind("id", image.getT1())
+                            .fetch()
+                            .rowsUpdated()
+                    )
+            )
+            .count();
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
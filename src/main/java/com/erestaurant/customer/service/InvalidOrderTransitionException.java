@@ -0,0 +1,29 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+
+/**
+ * Thrown when an order is moved to a state which cannot follow its current state.
+ */
+public class InvalidOrderTransitionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final OrderState fromState;
+
+    private final OrderState toState;
+
+    public InvalidOrderTransitionException(String orderId, OrderState fromState, OrderState toState) {
+        super("Order " + orderId + " cannot go from " + fromState + " to " + toState);
+        this.fromState = fromState;
+        this.toState = toState;
+    }
+
+    public OrderState getFromState() {
+        return fromState;
+    }
+
+    public OrderState getToState() {
+        return toState;
+    }
+}
@@ -0,0 +1,90 @@
+package com.erestaurant.customer.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Correlates the messages sent on a Kafka output binding with their acknowledgement, reported by the binder on the
+ * results and errors channels of the binding.
+ */
+final class KafkaAcknowledgements {
+
+    /**
+     * The header correlating a sent message with its acknowledgement.
+     */
+    static final String PUBLISH_ID_HEADER = "publish_id";
+
+    private final MessageChannel output;
+
+    private final AtomicLong publishIds = new AtomicLong();
+
+    private final Map<Long, MonoSink<String>> pending = new ConcurrentHashMap<>();
+
+    KafkaAcknowledgements(MessageChannel output) {
+        this.output = output;
+    }
+
+    /**
+     * Send a message, without waiting for the broker.
+     *
+     * @param message the builder of the message.
+     * @return the id of the record once acknowledged, made of its partition and offset.
+     */
+    Mono<String> send(MessageBuilder<?> message) {
+        return Mono
+            .<String>create(sink -> {
+                long publishId = publishIds.incrementAndGet();
+                pending.put(publishId, sink);
+                sink.onDispose(() -> pending.remove(publishId));
+                output.send(message.setHeader(PUBLISH_ID_HEADER, publishId).build());
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Complete the sending of an acknowledged message.
+     *
+     * @param message the message, with its record metadata.
+     */
+    void acknowledge(Message<?> message) {
+        MonoSink<String> sink = removePending(message);
+        RecordMetadata metadata = message.getHeaders().get(KafkaHeaders.RECORD_METADATA, RecordMetadata.class);
+        if (sink != null && metadata != null) {
+            sink.success(metadata.partition() + "-" + metadata.offset());
+        }
+    }
+
+    /**
+     * Fail the sending of a message.
+     *
+     * @param errorMessage the error, with the failed message.
+     * @return false if the error is not about a message sent by this instance.
+     */
+    boolean fail(ErrorMessage errorMessage) {
+        Throwable error = errorMessage.getPayload();
+        if (error instanceof MessagingException && ((MessagingException) error).getFailedMessage() != null) {
+            MonoSink<String> sink = removePending(((MessagingException) error).getFailedMessage());
+            if (sink != null) {
+                sink.error(error);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MonoSink<String> removePending(Message<?> message) {
+        Long publishId = message.getHeaders().get(PUBLISH_ID_HEADER, Long.class);
+        return publishId != null ? pending.remove(publishId) : null;
+    }
+}
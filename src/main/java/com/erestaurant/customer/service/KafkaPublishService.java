@@ -0,0 +1,115 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.config.KafkaSseProducer;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service publishing messages on the Kafka SSE topic, and waiting for the broker to acknowledge them.
+ * <p>
+ * The binder sends the messages asynchronously, so the messages of concurrent publications are grouped in the producer
+ * batches, and reports each acknowledged or failed message on the results and errors channels of the binding.
+ */
+@Service
+public class KafkaPublishService {
+
+    /**
+     * The header correlating a sent message with its acknowledgement.
+     */
+    public static final String PUBLISH_ID_HEADER = KafkaAcknowledgements.PUBLISH_ID_HEADER;
+
+    private final Logger log = LoggerFactory.getLogger(KafkaPublishService.class);
+
+    private final KafkaAcknowledgements acknowledgements;
+
+    private final Duration ackTimeout;
+
+    private final int bulkConcurrency;
+
+    private final Timer acknowledged;
+
+    private final Timer failed;
+
+    public KafkaPublishService(
+        @Qualifier(KafkaSseProducer.CHANNELNAME) MessageChannel output,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.acknowledgements = new KafkaAcknowledgements(output);
+        this.ackTimeout = applicationProperties.getKafkaPublish().getAckTimeout();
+        this.bulkConcurrency = applicationProperties.getKafkaPublish().getBulkConcurrency();
+        this.acknowledged = publishTimer("acknowledged", meterRegistry);
+        this.failed = publishTimer("failed", meterRegistry);
+    }
+
+    private static Timer publishTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer
+            .builder("kafka.publish")
+            .description("The time from the publication of a message to its acknowledgement by the broker")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Publish a message, and wait for the broker to acknowledge it.
+     *
+     * @param message the message.
+     * @return the id of the record, made of its partition and offset.
+     */
+    public Mono<String> publish(String message) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return acknowledgements
+                .send(MessageBuilder.withPayload(message).setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE))
+                .timeout(ackTimeout)
+                .doOnSuccess(id -> sample.stop(acknowledged))
+                .doOnError(e -> sample.stop(failed));
+        });
+    }
+
+    /**
+     * Publish a stream of messages, without waiting for the acknowledgement of a message to send the next ones.
+     *
+     * @param messages the messages.
+     * @return the result of each message, in the order of the stream, with the id of its record.
+     */
+    public Flux<BulkItemResultDTO> publishAll(Flux<String> messages) {
+        return messages
+            .index()
+            .flatMapSequential(
+                indexed ->
+                    publish(indexed.getT2())
+                        .map(id -> BulkItemResultDTO.saved(indexed.getT1(), id))
+                        .onErrorResume(e -> Mono.just(BulkItemResultDTO.failed(indexed.getT1(), null, e.getMessage()))),
+                bulkConcurrency
+            );
+    }
+
+    @ServiceActivator(inputChannel = KafkaSseProducer.RESULTS_CHANNELNAME)
+    public void acknowledge(Message<?> message) {
+        acknowledgements.acknowledge(message);
+    }
+
+    @ServiceActivator(inputChannel = KafkaSseProducer.ERRORS_CHANNELNAME)
+    public void fail(ErrorMessage errorMessage) {
+        if (!acknowledgements.fail(errorMessage)) {
+            log.warn("Could not publish a message to Kafka", errorMessage.getPayload());
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.erestaurant.customer.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A model of the kitchen as parallel stations serving one queue of orders, by priority then by arrival.
+ * <p>
+ * The queue is a treap keeping, in each node, the number of orders and the total preparation time of its subtree, so
+ * inserting or removing an order and finding the preparation time queued ahead of an order all take
+ * {@code O(log n)}. The ready time of an order is derived from the work ahead of it when it is queried, so no other
+ * order has to be replanned when an order is queued, started or cancelled.
+ * <p>
+ * A queued order is estimated to start once the stations have done the work ahead of it, shared between them, that is
+ * the remaining work of the orders in progress and the preparation time of the orders queued before it. The estimate
+ * is exact with one station. It is not thread-safe.
+ */
+public final class KitchenScheduler {
+
+    public enum Status {
+        QUEUED,
+        IN_PROGRESS,
+    }
+
+    private final Ticket[] stations;
+
+    private final Map<String, Integer> stationOf = new HashMap<>();
+
+    private final Map<String, Node> queued = new HashMap<>();
+
+    private final SplittableRandom random = new SplittableRandom(0);
+
+    private Node root;
+
+    private long sequence;
+
+    public KitchenScheduler(int stationCount) {
+        if (stationCount < 1) {
+            throw new IllegalArgumentException("The kitchen needs at least one station");
+        }
+        this.stations = new Ticket[stationCount];
+    }
+
+    /**
+     * Queue an order.
+     *
+     * @param orderId the id of the order.
+     * @param priority the priority of the order, the lowest first.
+     * @param preparationMillis the preparation time of the order.
+     * @return false if the order is already queued or in progress.
+     */
+    public boolean enqueue(String orderId, int priority, long preparationMillis) {
+        if (queued.containsKey(orderId) || stationOf.containsKey(orderId)) {
+            return false;
+        }
+        Node node = new Node(orderId, priority, sequence++, preparationMillis, random.nextInt());
+        queued.put(orderId, node);
+        Node[] split = split(root, node);
+        root = merge(merge(split[0], node), split[1]);
+        return true;
+    }
+
+    /**
+     * Remove an order from the queue.
+     *
+     * @param orderId the id of the order.
+     * @return false if the order is not queued.
+     */
+    public boolean cancel(String orderId) {
+        Node node = queued.remove(orderId);
+        if (node == null) {
+            return false;
+        }
+        root = remove(root, node);
+        return true;
+    }
+
+    /**
+     * Start the first queued order on a free station.
+     *
+     * @param nowMillis the current time.
+     * @return the id of the started order, or null if no station is free or no order is queued.
+     */
+    public String startNext(long nowMillis) {
+        if (root == null) {
+            return null;
+        }
+        for (int station = 0; station < stations.length; station++) {
+            if (stations[station] == null) {
+                Node first = root;
+                while (first.left != null) {
+                    first = first.left;
+                }
+                queued.remove(first.orderId);
+                root = remove(root, first);
+                stations[station] = new Ticket(nowMillis + first.preparationMillis);
+                stationOf.put(first.orderId, station);
+                return first.orderId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Free the station of an order in progress.
+     *
+     * @param orderId the id of the order.
+     * @return false if the order is not in progress.
+     */
+    public boolean complete(String orderId) {
+        Integer station = stationOf.remove(orderId);
+        if (station == null) {
+            return false;
+        }
+        stations[station] = null;
+        return true;
+    }
+
+    /**
+     * Estimate when an order will be ready.
+     *
+     * @param orderId the id of the order.
+     * @param nowMillis the current time.
+     * @return the estimate, or null if the order is neither queued nor in progress.
+     */
+    public Estimate estimate(String orderId, long nowMillis) {
+        Integer station = stationOf.get(orderId);
+        if (station != null) {
+            return new Estimate(orderId, Status.IN_PROGRESS, 0, Math.max(stations[station].readyMillis, nowMillis));
+        }
+        Node node = queued.get(orderId);
+        if (node == null) {
+            return null;
+        }
+        long ahead = 0;
+        int position = 1;
+        Node current = root;
+        while (current != node) {
+            if (compare(node, current) < 0) {
+                current = current.left;
+            } else {
+                ahead += work(current.left) + current.preparationMillis;
+                position += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        ahead += work(node.left);
+        position += size(node.left);
+        long inProgress = 0;
+        for (Ticket ticket : stations) {
+            if (ticket != null) {
+                inProgress += Math.max(ticket.readyMillis - nowMillis, 0);
+            }
+        }
+        long start = nowMillis + (inProgress + ahead + stations.length - 1) / stations.length;
+        return new Estimate(orderId, Status.QUEUED, position, start + node.preparationMillis);
+    }
+
+    public int getQueueSize() {
+        return size(root);
+    }
+
+    public long getQueuedWorkMillis() {
+        return work(root);
+    }
+
+    private static int compare(Node a, Node b) {
+        if (a.priority != b.priority) {
+            return Integer.compare(a.priority, b.priority);
+        }
+        return Long.compare(a.sequence, b.sequence);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static long work(Node node) {
+        return node != null ? node.work : 0;
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        node.work = work(node.left) + work(node.right) + node.preparationMillis;
+        return node;
+    }
+
+    /**
+     * @return the nodes of a subtree before the given key, and the ones after it.
+     */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] split = split(node.right, key);
+            node.right = split[0];
+            split[0] = update(node);
+            return split;
+        }
+        Node[] split = split(node.left, key);
+        node.left = split[1];
+        split[1] = update(node);
+        return split;
+    }
+
+    /**
+     * @return the merge of two subtrees, all the nodes of the first one being before the ones of the second one.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.heapPriority > right.heapPriority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node remove(Node node, Node removed) {
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (compare(removed, node) < 0) {
+            node.left = remove(node.left, removed);
+        } else {
+            node.right = remove(node.right, removed);
+        }
+        return update(node);
+    }
+
+    /**
+     * The estimate of the ready time of an order.
+     */
+    public static final class Estimate {
+
+        private final String orderId;
+
+        private final Status status;
+
+        private final int position;
+
+        private final long readyMillis;
+
+        private Estimate(String orderId, Status status, int position, long readyMillis) {
+            this.orderId = orderId;
+            this.status = status;
+            this.position = position;
+            this.readyMillis = readyMillis;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the position of the order in the queue, from 1, or 0 if it is in progress.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        public long getReadyMillis() {
+            return readyMillis;
+        }
+    }
+
+    private static final class Ticket {
+
+        private final long readyMillis;
+
+        private Ticket(long readyMillis) {
+            this.readyMillis = readyMillis;
+        }
+    }
+
+    private static final class Node {
+
+        private final String orderId;
+
+        private final int priority;
+
+        private final long sequence;
+
+        private final long preparationMillis;
+
+        private final int heapPriority;
+
+        private Node left;
+
+        private Node right;
+
+        private int size = 1;
+
+        private long work;
+
+        private Node(String orderId, int priority, long sequence, long preparationMillis, int heapPriority) {
+            this.orderId = orderId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.preparationMillis = preparationMillis;
+            this.heapPriority = heapPriority;
+            this.work = preparationMillis;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.service.dto.KitchenEtaDTO;
+import com.erestaurant.customer.service.dto.KitchenTicketDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service queueing the {@link com.erestaurant.customer.domain.Order} in the kitchen, and estimating when they will be
+ * ready from the {@code estimatedPreparaingTime} of their products, in minutes.
+ * <p>
+ * The kitchen is modelled by a {@link KitchenScheduler} with {@code application.kitchen.stations} stations, guarded
+ * by its own monitor.
+ */
+@Service
+public class KitchenService {
+
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final Logger log = LoggerFactory.getLogger(KitchenService.class);
+
+    private final OrderService orderService;
+
+    private final ProductsService productsService;
+
+    private final KitchenScheduler scheduler;
+
+    public KitchenService(
+        OrderService orderService,
+        ProductsService productsService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.orderService = orderService;
+        this.productsService = productsService;
+        this.scheduler = new KitchenScheduler(applicationProperties.getKitchen().getStations());
+        Gauge
+            .builder("kitchen.queue", this, KitchenService::getQueueSize)
+            .description("The orders waiting for a station")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue an order, unless it is already queued or in progress.
+     *
+     * @param kitchenTicketDTO the order and its products.
+     * @return the estimate of the order, empty if the order does not exist, or an {@link UnknownProductException}.
+     */
+    public Mono<KitchenEtaDTO> enqueue(KitchenTicketDTO kitchenTicketDTO) {
+        log.debug("Request to queue in the kitchen : {}", kitchenTicketDTO);
+        String orderId = kitchenTicketDTO.getOrderId();
+        return orderService
+            .findOne(orderId)
+            .flatMap(order ->
+                Flux
+                    .fromIterable(kitchenTicketDTO.getItems())
+                    .concatMap(item ->
+                        productsService
+                            .findOne(item.getProductId())
+                            .switchIfEmpty(Mono.error(() -> new UnknownProductException(item.getProductId())))
+                            .map(product ->
+                                product.getEstimatedPreparaingTime() != null
+                                    ? (double) product.getEstimatedPreparaingTime() * item.getQuantity()
+                                    : 0.0
+                            )
+                    )
+                    .reduce(0.0, Double::sum)
+            )
+            .map(minutes -> {
+                synchronized (scheduler) {
+                    scheduler.enqueue(orderId, kitchenTicketDTO.getPriority(), Math.round(minutes * MILLIS_PER_MINUTE));
+                    return new KitchenEtaDTO(scheduler.estimate(orderId, System.currentTimeMillis()));
+                }
+            });
+    }
+
+    /**
+     * Start the first queued order on a free station.
+     *
+     * @return the estimate of the started order, or empty if no station is free or no order is queued.
+     */
+    public Mono<KitchenEtaDTO> startNext() {
+        return Mono.fromSupplier(() -> {
+            long now = System.currentTimeMillis();
+            synchronized (scheduler) {
+                String orderId = scheduler.startNext(now);
+                return orderId != null ? new KitchenEtaDTO(scheduler.estimate(orderId, now)) : null;
+            }
+        });
+    }
+
+    /**
+     * Free the station of an order in progress, or remove it from the queue.
+     *
+     * @param orderId the id of the order.
+     * @return true if the order was in progress or queued.
+     */
+    public Mono<Boolean> complete(String orderId) {
+        return Mono.fromSupplier(() -> {
+            synchronized (scheduler) {
+                return scheduler.complete(orderId) || scheduler.cancel(orderId);
+            }
+        });
+    }
+
+    /**
+     * Estimate when an order will be ready.
+     *
+     * @param orderId the id of the order.
+     * @return the estimate, or empty if the order is neither queued nor in progress.
+     */
+    public Mono<KitchenEtaDTO> findEstimate(String orderId) {
+        return Mono.fromSupplier(() -> {
+            KitchenScheduler.Estimate estimate;
+            synchronized (scheduler) {
+                estimate = scheduler.estimate(orderId, System.currentTimeMillis());
+            }
+            return estimate != null ? new KitchenEtaDTO(estimate) : null;
+        });
+    }
+
+    public int getQueueSize() {
+        synchronized (scheduler) {
+            return scheduler.getQueueSize();
+        }
+    }
+}
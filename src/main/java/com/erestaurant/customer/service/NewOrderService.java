@@ -40,6 +40,15 @@ public interface NewOrderService {
      */
     Flux<NewOrderDTO> findAll();
 
+    /**
+     * Get a page of the newOrders, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<NewOrderDTO> findAllAfter(String afterId, int size);
+
     /**
      * Returns the number of newOrders available.
      * @return the number of entities in the database.
@@ -0,0 +1,61 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import com.erestaurant.customer.service.dto.OrderDTO;
+import com.erestaurant.customer.service.dto.OrderEventDTO;
+import com.erestaurant.customer.service.dto.OrderSnapshotDTO;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for managing the history of {@link com.erestaurant.customer.domain.Order}, an append-only log of
+ * {@link com.erestaurant.customer.domain.OrderEvent} with periodic {@link com.erestaurant.customer.domain.OrderSnapshot}.
+ * <p>
+ * The events must be recorded after the change of the order in the same transaction, so that the lock of the order
+ * row orders the events of concurrent changes.
+ */
+public interface OrderHistoryService {
+    /**
+     * Record that orders were created or updated.
+     *
+     * @param orderDTOs the saved orders.
+     * @return a {@link Mono} completing once the events are appended.
+     */
+    Mono<Void> recordSaved(List<OrderDTO> orderDTOs);
+
+    /**
+     * Record that an order changed state.
+     *
+     * @param orderId the id of the order.
+     * @param fromState the previous state.
+     * @param toState the new state.
+     * @return a {@link Mono} completing once the event is appended.
+     */
+    Mono<Void> recordTransition(String orderId, OrderState fromState, OrderState toState);
+
+    /**
+     * Record that an order was deleted.
+     *
+     * @param orderId the id of the order.
+     * @return a {@link Mono} completing once the event is appended.
+     */
+    Mono<Void> recordDeleted(String orderId);
+
+    /**
+     * Get the history of an order.
+     *
+     * @param orderId the id of the order.
+     * @return the events, by version.
+     */
+    Flux<OrderEventDTO> findEvents(String orderId);
+
+    /**
+     * Get the state of an order, rebuilt from its latest snapshot and the events after it.
+     *
+     * @param orderId the id of the order.
+     * @param version the version of the state, or null for the current state.
+     * @return the state, or empty if the order has no history.
+     */
+    Mono<OrderSnapshotDTO> findState(String orderId, Integer version);
+}
@@ -0,0 +1,38 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import com.erestaurant.customer.service.dto.OrderStateDTO;
+import com.erestaurant.customer.service.dto.OrderTransitionDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for managing the lifecycle of {@link com.erestaurant.customer.domain.Order}.
+ */
+public interface OrderLifecycleService {
+    /**
+     * Get the current state of an order.
+     *
+     * @param orderId the id of the order.
+     * @return the state, or empty if the order does not exist.
+     */
+    Mono<OrderStateDTO> findState(String orderId);
+
+    /**
+     * Move an order to a new state, and record the transition.
+     *
+     * @param orderId the id of the order.
+     * @param toState the new state.
+     * @return the recorded transition, empty if the order does not exist, or an {@link InvalidOrderTransitionException}
+     * if the new state cannot follow the current one.
+     */
+    Mono<OrderTransitionDTO> transition(String orderId, OrderState toState);
+
+    /**
+     * Get the transitions of an order.
+     *
+     * @param orderId the id of the order.
+     * @return the transitions, in the order they happened.
+     */
+    Flux<OrderTransitionDTO> findTransitions(String orderId);
+}
@@ -0,0 +1,349 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.OrderEvent;
+import com.erestaurant.customer.domain.OrderProjectionCheckpoint;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import com.erestaurant.customer.repository.OrderEventRepository;
+import com.erestaurant.customer.repository.OrderProjectionCheckpointRepository;
+import com.erestaurant.customer.service.dto.OrderProjectionDTO;
+import com.erestaurant.customer.service.dto.OrderRatingStatsDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service projecting the history of the {@link com.erestaurant.customer.domain.Order} into the number of orders by
+ * state, their average rating and their refund rate.
+ * <p>
+ * The projections tail the events by id, and apply each event in constant time from the previous values it carries.
+ * The ids are allocated before the transactions commit, so a missing id may be an event not committed yet: the
+ * projections wait for it, until an event after it is older than {@code application.order-history.gap-timeout}, which
+ * means that its transaction was rolled back.
+ * <p>
+ * The projections are saved every {@code application.order-history.checkpoint-delay} with the id of the last event
+ * applied, so on restart they are restored from their checkpoint and only apply the events after it.
+ */
+@Service
+public class OrderProjectionService {
+
+    static final String CHECKPOINT_ID = "orders";
+
+    private final Logger log = LoggerFactory.getLogger(OrderProjectionService.class);
+
+    private final OrderEventRepository orderEventRepository;
+
+    private final OrderProjectionCheckpointRepository orderProjectionCheckpointRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    private final Duration gapTimeout;
+
+    private final long[] ordersByState = new long[OrderState.values().length];
+
+    private RatingStatistics ratings = new RatingStatistics();
+
+    /**
+     * The statistics of the ratings as last read, until the next event is applied.
+     */
+    private OrderRatingStatsDTO ratingStats;
+
+    /**
+     * The number of orders which were completed or cancelled, and so could be refunded.
+     */
+    private long settledCount;
+
+    private long refundedCount;
+
+    private long lastEventId;
+
+    private boolean restored;
+
+    private boolean checkpointed;
+
+    private long checkpointEventId;
+
+    public OrderProjectionService(
+        OrderEventRepository orderEventRepository,
+        OrderProjectionCheckpointRepository orderProjectionCheckpointRepository,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderProjectionCheckpointRepository = orderProjectionCheckpointRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = applicationProperties.getOrderHistory().getProjectionBatchSize();
+        this.gapTimeout = applicationProperties.getOrderHistory().getGapTimeout();
+    }
+
+    @Scheduled(fixedDelayString = "${application.order-history.projection-delay:1000}")
+    public void scheduledProject() {
+        try {
+            project().block();
+        } catch (RuntimeException e) {
+            log.warn("Could not project the order events", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.order-history.checkpoint-delay:60000}")
+    public void scheduledCheckpoint() {
+        try {
+            checkpoint().block();
+        } catch (RuntimeException e) {
+            log.warn("Could not save the checkpoint of the order projections", e);
+        }
+    }
+
+    /**
+     * Apply the new events to the projections, batch after batch while the batches are full, once the projections are
+     * restored from their checkpoint.
+     *
+     * @return the number of applied events.
+     */
+    public Mono<Long> project() {
+        return restore()
+            .then(
+                Mono
+                    .defer(() -> orderEventRepository.findAllAfter(getLastEventId(), batchSize).collectList())
+                    .map(this::applyAll)
+                    .repeat()
+                    .takeUntil(count -> count < batchSize)
+                    .reduce(0L, Long::sum)
+            );
+    }
+
+    private Mono<Void> restore() {
+        return Mono.defer(() -> {
+            if (isRestored()) {
+                return Mono.empty();
+            }
+            return orderProjectionCheckpointRepository
+                .findById(CHECKPOINT_ID)
+                .flatMap(checkpoint -> Mono.fromCallable(() -> objectMapper.readValue(checkpoint.getState(), Checkpoint.class)))
+                .doOnNext(this::restore)
+                .switchIfEmpty(Mono.fromRunnable(() -> restore(null)))
+                .then();
+        });
+    }
+
+    private synchronized void restore(Checkpoint checkpoint) {
+        if (checkpoint != null) {
+            checkpoint.ordersByState.forEach((state, count) -> ordersByState[state.ordinal()] = count);
+            settledCount = checkpoint.settledCount;
+            refundedCount = checkpoint.refundedCount;
+            ratings = new RatingStatistics(checkpoint.ratings);
+            lastEventId = checkpoint.lastEventId;
+            checkpointEventId = checkpoint.lastEventId;
+            checkpointed = true;
+            log.info("Restored the order projections at event {}", lastEventId);
+        }
+        ratingStats = null;
+        restored = true;
+    }
+
+    /**
+     * Save the projections with the id of the last event applied, if events were applied since the last checkpoint.
+     *
+     * @return a {@link Mono} completing once the checkpoint is saved.
+     */
+    public Mono<Void> checkpoint() {
+        return Mono.defer(() -> {
+            OrderProjectionCheckpoint checkpoint;
+            synchronized (this) {
+                if (!restored || lastEventId == checkpointEventId) {
+                    return Mono.empty();
+                }
+                checkpoint = toCheckpoint();
+            }
+            return orderProjectionCheckpointRepository
+                .save(checkpoint)
+                .doOnNext(saved -> checkpointed(saved.getLastEventId()))
+                .then();
+        });
+    }
+
+    private OrderProjectionCheckpoint toCheckpoint() {
+        Checkpoint state = new Checkpoint();
+        for (OrderState orderState : OrderState.values()) {
+            state.ordersByState.put(orderState, ordersByState[orderState.ordinal()]);
+        }
+        state.settledCount = settledCount;
+        state.refundedCount = refundedCount;
+        state.ratings = new LinkedHashMap<>(ratings.getRatings());
+        state.lastEventId = lastEventId;
+        OrderProjectionCheckpoint checkpoint;
+        try {
+            checkpoint =
+                new OrderProjectionCheckpoint()
+                    .id(CHECKPOINT_ID)
+                    .lastEventId(lastEventId)
+                    .state(objectMapper.writeValueAsString(state))
+                    .createdDate(Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the order projections", e);
+        }
+        return checkpointed ? checkpoint.setIsPersisted() : checkpoint;
+    }
+
+    private synchronized void checkpointed(long eventId) {
+        checkpointEventId = eventId;
+        checkpointed = true;
+    }
+
+    /**
+     * Apply events, in the order of their ids, stopping at the first gap which may still be filled.
+     *
+     * @return the number of applied events.
+     */
+    synchronized long applyAll(List<OrderEvent> events) {
+        Instant gapDeadline = Instant.now().minus(gapTimeout);
+        long applied = 0;
+        for (OrderEvent event : events) {
+            if (event.getId() != lastEventId + 1) {
+                if (event.getCreatedDate().isAfter(gapDeadline)) {
+                    log.debug("Waiting for the order events between {} and {}", lastEventId, event.getId());
+                    break;
+                }
+                log.debug("Skipping the rolled back order events between {} and {}", lastEventId, event.getId());
+            }
+            apply(event);
+            lastEventId = event.getId();
+            applied++;
+        }
+        if (applied > 0) {
+            ratingStats = null;
+        }
+        return applied;
+    }
+
+    private void apply(OrderEvent event) {
+        switch (event.getEventType()) {
+            case CREATED:
+                enter(event.getToState());
+                addRating(event.getRating());
+                break;
+            case UPDATED:
+                removeRating(event.getPreviousRating());
+                addRating(event.getRating());
+                break;
+            case TRANSITIONED:
+                leave(event.getFromState());
+                enter(event.getToState());
+                break;
+            case DELETED:
+                leave(event.getFromState());
+                removeRating(event.getPreviousRating());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event type " + event.getEventType());
+        }
+    }
+
+    private void enter(OrderState state) {
+        if (state == null) {
+            return;
+        }
+        ordersByState[state.ordinal()]++;
+        if (state == OrderState.COMPLETE || state == OrderState.CANCEL) {
+            settledCount++;
+        } else if (state == OrderState.REFUNDED) {
+            refundedCount++;
+        }
+    }
+
+    private void leave(OrderState state) {
+        if (state != null) {
+            ordersByState[state.ordinal()]--;
+        }
+    }
+
+    private void addRating(Float rating) {
+        if (rating != null) {
+            ratings.add(rating);
+        }
+    }
+
+    private void removeRating(Float rating) {
+        if (rating != null && !ratings.remove(rating)) {
+            log.warn("Cannot remove the rating {}, which was never added", rating);
+        }
+    }
+
+    private synchronized boolean isRestored() {
+        return restored;
+    }
+
+    private synchronized long getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Get the projections of the events applied so far.
+     *
+     * @return the projections, with the id of the last applied event.
+     */
+    public synchronized OrderProjectionDTO getProjection() {
+        Map<OrderState, Long> byState = new EnumMap<>(OrderState.class);
+        for (OrderState state : OrderState.values()) {
+            byState.put(state, ordersByState[state.ordinal()]);
+        }
+        OrderProjectionDTO projection = new OrderProjectionDTO();
+        projection.setOrdersByState(byState);
+        projection.setAverageRating(ratings.getAverage());
+        projection.setRefundRate(settledCount > 0 ? (double) refundedCount / settledCount : null);
+        projection.setLastEventId(lastEventId);
+        return projection;
+    }
+
+    /**
+     * Get the statistics of the ratings of the orders, up to the last applied event. They are computed once after
+     * each batch of events, and the same statistics are returned until the next one.
+     *
+     * @return the statistics.
+     */
+    public synchronized OrderRatingStatsDTO getRatingStats() {
+        if (ratingStats == null) {
+            OrderRatingStatsDTO stats = new OrderRatingStatsDTO();
+            stats.setCount(ratings.getCount());
+            stats.setSum(ratings.getSum());
+            stats.setAverage(ratings.getAverage());
+            stats.setMin(ratings.getMin());
+            stats.setMax(ratings.getMax());
+            stats.setP50(ratings.getPercentile(50));
+            stats.setP90(ratings.getPercentile(90));
+            stats.setP99(ratings.getPercentile(99));
+            stats.setHistogram(new LinkedHashMap<>(ratings.getHistogram()));
+            stats.setLastEventId(lastEventId);
+            ratingStats = stats;
+        }
+        return ratingStats;
+    }
+
+    /**
+     * The state of the projections saved in a checkpoint.
+     */
+    static final class Checkpoint {
+
+        public Map<OrderState, Long> ordersByState = new EnumMap<>(OrderState.class);
+
+        public long settledCount;
+
+        public long refundedCount;
+
+        public Map<Float, Long> ratings = new LinkedHashMap<>();
+
+        public long lastEventId;
+    }
+}
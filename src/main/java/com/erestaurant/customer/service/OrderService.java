@@ -1,5 +1,6 @@
 package com.erestaurant.customer.service;
 
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import com.erestaurant.customer.service.dto.OrderDTO;
 import java.util.List;
 import reactor.core.publisher.Flux;
@@ -33,6 +34,14 @@ public interface OrderService {
      */
     Mono<OrderDTO> partialUpdate(OrderDTO orderDTO);
 
+    /**
+     * Save a stream of orders, the orders which already exist are updated.
+     *
+     * @param orderDTOs the entities to save.
+     * @return the result of each entity, in the order of the stream.
+     */
+    Flux<BulkItemResultDTO> saveAll(Flux<OrderDTO> orderDTOs);
+
     /**
      * Get all the orders.
      *
@@ -40,6 +49,15 @@ public interface OrderService {
      */
     Flux<OrderDTO> findAll();
 
+    /**
+     * Get a page of the orders, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<OrderDTO> findAllAfter(String afterId, int size);
+
     /**
      * Returns the number of orders available.
      * @return the number of entities in the database.
@@ -0,0 +1,165 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.config.KafkaOutboxProducer;
+import com.erestaurant.customer.domain.OutboxEvent;
+import com.erestaurant.customer.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service relaying the events of the outbox to the Kafka domain events topic.
+ * <p>
+ * Each batch is relayed in a transaction which locks the oldest event of each aggregate, publishes them all without
+ * waiting for each acknowledgement, and deletes the acknowledged ones. An event which could not be published stays the
+ * oldest of its aggregate, so it is retried by the next relay before any later event of the aggregate. The events are
+ * keyed by aggregate, so the events of an aggregate are also consumed in order.
+ */
+@Service
+public class OutboxRelayService {
+
+    public static final String EVENT_ID_HEADER = "event_id";
+
+    public static final String AGGREGATE_TYPE_HEADER = "aggregate_type";
+
+    public static final String AGGREGATE_ID_HEADER = "aggregate_id";
+
+    public static final String EVENT_TYPE_HEADER = "event_type";
+
+    private final Logger log = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final KafkaAcknowledgements acknowledgements;
+
+    private final boolean relayEnabled;
+
+    private final int batchSize;
+
+    private final Duration ackTimeout;
+
+    private final Counter relayed;
+
+    private final Counter failed;
+
+    public OutboxRelayService(
+        OutboxEventRepository outboxEventRepository,
+        TransactionalOperator transactionalOperator,
+        @Qualifier(KafkaOutboxProducer.CHANNELNAME) MessageChannel output,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.acknowledgements = new KafkaAcknowledgements(output);
+        this.relayEnabled = applicationProperties.getOutbox().isRelayEnabled();
+        this.batchSize = applicationProperties.getOutbox().getBatchSize();
+        this.ackTimeout = applicationProperties.getKafkaPublish().getAckTimeout();
+        this.relayed = relayCounter("relayed", meterRegistry);
+        this.failed = relayCounter("failed", meterRegistry);
+    }
+
+    private static Counter relayCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter
+            .builder("outbox.events")
+            .description("The outbox events published to Kafka, or which failed to be")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.relay-delay:1000}")
+    public void scheduledRelay() {
+        if (!relayEnabled) {
+            return;
+        }
+        try {
+            relay().block();
+        } catch (RuntimeException e) {
+            log.warn("Could not relay the outbox events", e);
+        }
+    }
+
+    /**
+     * Relay the events of the outbox, batch after batch while the batches are full.
+     *
+     * @return the number of relayed events.
+     */
+    public Mono<Long> relay() {
+        return Mono.defer(this::relayBatch).repeat().takeUntil(count -> count < batchSize).reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> relayBatch() {
+        return outboxEventRepository
+            .lockNextBatch(batchSize)
+            .collectList()
+            .flatMap(events -> Flux.fromIterable(events).flatMapSequential(this::publish).collectList())
+            .flatMap(this::delete)
+            .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Long> delete(List<Long> acknowledgedIds) {
+        if (acknowledgedIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return outboxEventRepository.deleteAllById(acknowledgedIds).thenReturn((long) acknowledgedIds.size());
+    }
+
+    /**
+     * @return the id of the event once acknowledged, or empty if it could not be published.
+     */
+    private Mono<Long> publish(OutboxEvent event) {
+        String key = event.getAggregateType() + ":" + event.getAggregateId();
+        return acknowledgements
+            .send(
+                MessageBuilder
+                    .withPayload(event.getPayload())
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                    .setHeader(KafkaHeaders.MESSAGE_KEY, key.getBytes(StandardCharsets.UTF_8))
+                    .setHeader(EVENT_ID_HEADER, event.getId())
+                    .setHeader(AGGREGATE_TYPE_HEADER, event.getAggregateType())
+                    .setHeader(AGGREGATE_ID_HEADER, event.getAggregateId())
+                    .setHeader(EVENT_TYPE_HEADER, event.getEventType().name())
+            )
+            .timeout(ackTimeout)
+            .doOnSuccess(recordId -> relayed.increment())
+            .thenReturn(event.getId())
+            .onErrorResume(e -> {
+                log.warn("Could not publish the outbox event {}, it will be retried: {}", event.getId(), e.getMessage());
+                failed.increment();
+                return Mono.empty();
+            });
+    }
+
+    @ServiceActivator(inputChannel = KafkaOutboxProducer.RESULTS_CHANNELNAME)
+    public void acknowledge(Message<?> message) {
+        acknowledgements.acknowledge(message);
+    }
+
+    @ServiceActivator(inputChannel = KafkaOutboxProducer.ERRORS_CHANNELNAME)
+    public void fail(ErrorMessage errorMessage) {
+        if (!acknowledgements.fail(errorMessage)) {
+            log.warn("Could not publish an outbox event to Kafka", errorMessage.getPayload());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.domain.OutboxEvent;
+import com.erestaurant.customer.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service recording the changes of the entities in the outbox, within the transaction of the change.
+ * <p>
+ * The events are published to Kafka by the {@link OutboxRelayService} once committed, so an event is published if and
+ * only if its change is committed, and the events of an entity are published in the order of its changes.
+ */
+@Service
+public class OutboxService {
+
+    private final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Record that an entity was saved.
+     *
+     * @param aggregateType the type of the entity.
+     * @param aggregateId the id of the entity.
+     * @param payload the saved state of the entity, serialized as JSON.
+     * @param <D> the type of the state.
+     * @return the given state, once the event is recorded.
+     */
+    public <D> Mono<D> saved(Class<?> aggregateType, String aggregateId, D payload) {
+        return Mono
+            .fromCallable(() -> savedEvent(aggregateType, aggregateId, payload))
+            .flatMap(outboxEventRepository::save)
+            .thenReturn(payload);
+    }
+
+    /**
+     * Record that entities were saved.
+     *
+     * @param aggregateType the type of the entities.
+     * @param payloads the saved states of the entities, serialized as JSON.
+     * @param idOf the function returning the id of the entity of a state.
+     * @param <D> the type of the states.
+     * @return a {@link Mono} completing once the events are recorded.
+     */
+    public <D> Mono<Void> savedAll(Class<?> aggregateType, List<D> payloads, Function<D, String> idOf) {
+        log.debug("Recording {} saved {} in the outbox", payloads.size(), aggregateType.getSimpleName());
+        return Mono
+            .fromCallable(() -> {
+                List<OutboxEvent> events = new ArrayList<>(payloads.size());
+                for (D payload : payloads) {
+                    events.add(savedEvent(aggregateType, idOf.apply(payload), payload));
+                }
+                return events;
+            })
+            .flatMapMany(outboxEventRepository::saveAll)
+            .then();
+    }
+
+    /**
+     * Record that an entity was deleted, with its id as payload.
+     *
+     * @param aggregateType the type of the entity.
+     * @param aggregateId the id of the entity.
+     * @return a {@link Mono} completing once the event is recorded.
+     */
+    public Mono<Void> deleted(Class<?> aggregateType, String aggregateId) {
+        return Mono
+            .fromCallable(() -> {
+                String payload = objectMapper.writeValueAsString(Map.of("id", aggregateId));
+                return event(aggregateType, aggregateId, OutboxEvent.EventType.DELETED).payload(payload);
+            })
+            .flatMap(outboxEventRepository::save)
+            .then();
+    }
+
+    private OutboxEvent savedEvent(Class<?> aggregateType, String aggregateId, Object payload) throws JsonProcessingException {
+        return event(aggregateType, aggregateId, OutboxEvent.EventType.SAVED).payload(objectMapper.writeValueAsString(payload));
+    }
+
+    private static OutboxEvent event(Class<?> aggregateType, String aggregateId, OutboxEvent.EventType eventType) {
+        return new OutboxEvent()
+            .aggregateType(aggregateType.getSimpleName())
+            .aggregateId(aggregateId)
+            .eventType(eventType)
+            .createdDate(Instant.now());
+    }
+}
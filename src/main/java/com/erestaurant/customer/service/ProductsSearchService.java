@@ -0,0 +1,216 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.Products;
+import com.erestaurant.customer.repository.ProductsRepository;
+import com.erestaurant.customer.repository.search.ProductsSearchBackend;
+import com.erestaurant.customer.service.dto.ProductsDTO;
+import com.erestaurant.customer.service.dto.ProductsSearchHitDTO;
+import com.erestaurant.customer.service.mapper.ProductsMapper;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service keeping the full-text index of the {@link Products} in sync with the database, and searching it.
+ * <p>
+ * {@link ProductsService} records each saved or deleted product here, and the changes are written to the
+ * {@link ProductsSearchBackend} in bulk, every {@code application.search.flush-delay} milliseconds or as soon as
+ * {@code application.search.batch-size} products changed, only the last change of a product being written. A batch
+ * which could not be written is retried with the next flush. The index is rebuilt from the database when the
+ * application is ready and the index is empty.
+ */
+@Service
+public class ProductsSearchService {
+
+    private final Logger log = LoggerFactory.getLogger(ProductsSearchService.class);
+
+    private final ProductsSearchBackend productsSearchBackend;
+
+    private final ProductsRepository productsRepository;
+
+    private final ProductsMapper productsMapper;
+
+    private final int batchSize;
+
+    /**
+     * The changes not written to the index yet, by product id, a deleted product being mapped to null.
+     */
+    private final Map<String, Products> pending = new LinkedHashMap<>();
+
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    public ProductsSearchService(
+        ProductsSearchBackend productsSearchBackend,
+        ProductsRepository productsRepository,
+        ProductsMapper productsMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productsSearchBackend = productsSearchBackend;
+        this.productsRepository = productsRepository;
+        this.productsMapper = productsMapper;
+        this.batchSize = Math.max(applicationProperties.getSearch().getBatchSize(), 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexOnStartup() {
+        productsSearchBackend
+            .count()
+            .flatMap(count -> count == 0 ? reindex() : Mono.just(count))
+            .subscribe(indexed -> log.info("Indexed {} products", indexed), e -> log.error("Could not index the products", e));
+    }
+
+    /**
+     * Index all the products of the database again.
+     *
+     * @return the number of indexed products.
+     */
+    public Mono<Long> reindex() {
+        return productsRepository
+            .findAll()
+            .buffer(batchSize)
+            .concatMap(batch -> productsSearchBackend.bulk(batch, List.of()).thenReturn((long) batch.size()))
+            .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Record a saved product, to index it with the next flush.
+     *
+     * @param productsDTO the saved product.
+     */
+    public void index(ProductsDTO productsDTO) {
+        change(productsDTO.getId(), productsMapper.toEntity(productsDTO));
+    }
+
+    /**
+     * Record a batch of saved products, to index them with the next flush.
+     *
+     * @param batch the saved products.
+     */
+    public void indexAll(List<Products> batch) {
+        batch.forEach(products -> change(products.getId(), products));
+    }
+
+    /**
+     * Record a deleted product, to remove it from the index with the next flush.
+     *
+     * @param id the id of the deleted product.
+     */
+    public void remove(String id) {
+        change(id, null);
+    }
+
+    private void change(String id, Products products) {
+        boolean full;
+        synchronized (pending) {
+            pending.put(id, products);
+            full = pending.size() >= batchSize;
+        }
+        if (full) {
+            flush().subscribe(null, e -> log.warn("Could not index the changed products", e));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.search.flush-delay:1000}")
+    public void scheduledFlush() {
+        try {
+            flush().block();
+        } catch (RuntimeException e) {
+            log.warn("Could not index the changed products", e);
+        }
+    }
+
+    /**
+     * Write the changes of the index left when the application stops.
+     */
+    @PreDestroy
+    public void flushAll() {
+        scheduledFlush();
+    }
+
+    /**
+     * Write the recorded changes to the index, in batches, unless another flush is already writing them.
+     *
+     * @return the number of written changes.
+     */
+    public Mono<Integer> flush() {
+        return Mono.defer(() -> {
+            if (!flushing.compareAndSet(false, true)) {
+                return Mono.just(0);
+            }
+            return flushBatch()
+                .expand(written -> written > 0 ? flushBatch() : Mono.empty())
+                .reduce(0, Integer::sum)
+                .doFinally(signal -> flushing.set(false));
+        });
+    }
+
+    private Mono<Integer> flushBatch() {
+        return Mono.defer(() -> {
+            Map<String, Products> batch = new LinkedHashMap<>();
+            synchronized (pending) {
+                Iterator<Map.Entry<String, Products>> changes = pending.entrySet().iterator();
+                while (changes.hasNext() && batch.size() < batchSize) {
+                    Map.Entry<String, Products> change = changes.next();
+                    batch.put(change.getKey(), change.getValue());
+                    changes.remove();
+                }
+            }
+            if (batch.isEmpty()) {
+                return Mono.just(0);
+            }
+            List<Products> indexed = new ArrayList<>();
+            List<String> deletedIds = new ArrayList<>();
+            batch.forEach((id, products) -> {
+                if (products != null) {
+                    indexed.add(products);
+                } else {
+                    deletedIds.add(id);
+                }
+            });
+            return productsSearchBackend
+                .bulk(indexed, deletedIds)
+                .thenReturn(batch.size())
+                .onErrorResume(e -> {
+                    // retry the changes with the next flush, unless the products changed again since then
+                    synchronized (pending) {
+                        batch.forEach((id, products) -> {
+                            if (!pending.containsKey(id)) {
+                                pending.put(id, products);
+                            }
+                        });
+                    }
+                    return Mono.error(e);
+                });
+        });
+    }
+
+    /**
+     * Search the products.
+     *
+     * @param query the query, a {@code simple_query_string} on the name and the description of the products.
+     * @param pageable the page of the results, which are ordered by relevance.
+     * @return the page of the matching products, with the highlighted fragments of their name and description.
+     */
+    public Mono<Page<ProductsSearchHitDTO>> search(String query, Pageable pageable) {
+        return productsSearchBackend
+            .search(query, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+            .map(page ->
+                page.map(hit -> new ProductsSearchHitDTO(productsMapper.toDto(hit.getContent()), hit.getScore(), hit.getHighlightFields()))
+            );
+    }
+}
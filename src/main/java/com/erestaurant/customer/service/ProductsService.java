@@ -1,5 +1,7 @@
 package com.erestaurant.customer.service;
 
+import com.erestaurant.customer.repository.Projection;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import com.erestaurant.customer.service.dto.ProductsDTO;
 import java.util.List;
 import reactor.core.publisher.Flux;
@@ -33,6 +35,14 @@ public interface ProductsService {
      */
     Mono<ProductsDTO> partialUpdate(ProductsDTO productsDTO);
 
+    /**
+     * Save a stream of products, the products which already exist are updated.
+     *
+     * @param productsDTOs the entities to save.
+     * @return the result of each entity, in the order of the stream.
+     */
+    Flux<BulkItemResultDTO> saveAll(Flux<ProductsDTO> productsDTOs);
+
     /**
      * Get all the products.
      *
@@ -40,6 +50,33 @@ public interface ProductsService {
      */
     Flux<ProductsDTO> findAll();
 
+    /**
+     * Get the given fields of all the products.
+     *
+     * @param projection the fields to read, the other fields are left empty.
+     * @return the list of entities.
+     */
+    Flux<ProductsDTO> findAll(Projection projection);
+
+    /**
+     * Get a page of the products, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<ProductsDTO> findAllAfter(String afterId, int size);
+
+    /**
+     * Get the given fields of a page of the products, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @param projection the fields to read, the other fields are left empty.
+     * @return the list of entities.
+     */
+    Flux<ProductsDTO> findAllAfter(String afterId, int size, Projection projection);
+
     /**
      * Returns the number of products available.
      * @return the number of entities in the database.
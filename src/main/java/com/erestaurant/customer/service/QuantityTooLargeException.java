@@ -0,0 +1,20 @@
+package com.erestaurant.customer.service;
+
+/**
+ * Thrown when the quantity of a product in a cart would exceed the largest quantity it can hold.
+ */
+public class QuantityTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String productId;
+
+    public QuantityTooLargeException(String productId) {
+        super("The quantity of product " + productId + " is too large");
+        this.productId = productId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,141 @@
+package com.erestaurant.customer.service;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The statistics of a multiset of ratings: their count, sum, minimum, maximum and percentiles.
+ * <p>
+ * The count, the sum, the minimum and the maximum are those of the ratings as they were added, which are kept with
+ * their number of occurrences, so a rating can be removed as well as added. The percentiles and the histogram are those
+ * of the ratings binned in fixed bins, {@link #BINS_PER_RATING} per unit of rating from {@link #MIN_RATING} to
+ * {@link #MAX_RATING}: a rating counts in the nearest bin, and a rating out of the range in the bin of the nearest bound,
+ * so that they cost the same whatever the number of ratings. It is not thread-safe.
+ */
+public final class RatingStatistics {
+
+    public static final float MIN_RATING = 0;
+
+    public static final float MAX_RATING = 10;
+
+    public static final int BINS_PER_RATING = 10;
+
+    private static final int BINS = Math.round((MAX_RATING - MIN_RATING) * BINS_PER_RATING) + 1;
+
+    private final long[] histogram = new long[BINS];
+
+    private final TreeMap<Float, Long> ratings = new TreeMap<>();
+
+    private long count;
+
+    private double sum;
+
+    public RatingStatistics() {}
+
+    /**
+     * @param ratings the number of occurrences of each rating, as returned by {@link #getRatings()}.
+     */
+    public RatingStatistics(Map<Float, Long> ratings) {
+        ratings.forEach(this::add);
+    }
+
+    private static int bin(float rating) {
+        return Math.max(0, Math.min(BINS - 1, Math.round((rating - MIN_RATING) * BINS_PER_RATING)));
+    }
+
+    private static float rating(int bin) {
+        return MIN_RATING + (float) bin / BINS_PER_RATING;
+    }
+
+    public void add(float rating) {
+        add(rating, 1L);
+    }
+
+    private void add(float rating, long occurrences) {
+        ratings.merge(rating, occurrences, (previous, added) -> previous + added == 0 ? null : previous + added);
+        histogram[bin(rating)] += occurrences;
+        count += occurrences;
+        sum += rating * (double) occurrences;
+    }
+
+    /**
+     * Remove one occurrence of a rating.
+     *
+     * @param rating the rating.
+     * @return true if the rating was removed, false if there was none.
+     */
+    public boolean remove(float rating) {
+        if (!ratings.containsKey(rating)) {
+            return false;
+        }
+        add(rating, -1L);
+        return true;
+    }
+
+    public void merge(RatingStatistics other) {
+        other.ratings.forEach(this::add);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return count > 0 ? sum : 0;
+    }
+
+    public Double getAverage() {
+        return count > 0 ? sum / count : null;
+    }
+
+    public Float getMin() {
+        return ratings.isEmpty() ? null : ratings.firstKey();
+    }
+
+    public Float getMax() {
+        return ratings.isEmpty() ? null : ratings.lastKey();
+    }
+
+    /**
+     * Get a percentile of the ratings, by the nearest rank method over the bins.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the smallest binned rating such that at least this percentage of the ratings are lower or equal, or null
+     * if there are no ratings.
+     */
+    public Float getPercentile(double percentile) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += histogram[bin];
+            if (seen >= rank) {
+                return rating(bin);
+            }
+        }
+        return rating(bin(getMax()));
+    }
+
+    /**
+     * @return the number of occurrences of the ratings of each non-empty bin, by increasing rating.
+     */
+    public NavigableMap<Float, Long> getHistogram() {
+        TreeMap<Float, Long> bins = new TreeMap<>();
+        for (int bin = 0; bin < BINS; bin++) {
+            if (histogram[bin] > 0) {
+                bins.put(rating(bin), histogram[bin]);
+            }
+        }
+        return bins;
+    }
+
+    /**
+     * @return the number of occurrences of each rating, by increasing rating.
+     */
+    public NavigableMap<Float, Long> getRatings() {
+        return new TreeMap<>(ratings);
+    }
+}
@@ -0,0 +1,356 @@
+package com.erestaurant.customer.service;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.IntHashSet;
+import com.carrotsearch.hppc.ObjectArrayList;
+import com.carrotsearch.hppc.ObjectIntHashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The graph of the referrals between the {@link com.erestaurant.customer.domain.CustomerProfile}s, each profile
+ * pointing to the profiles it referred.
+ * <p>
+ * Each profile id is mapped once to an int, and the referrals and referrers of a profile are kept in arrays of ints,
+ * so the graph holds millions of referrals without an object per referral, and the traversals only read arrays. The
+ * int of a removed profile is reused by the next added one, so the arrays do not grow with the removals. It is not
+ * thread-safe.
+ */
+public final class ReferralGraph {
+
+    private static final int MISSING = -1;
+
+    private final ObjectIntHashMap<String> nodes = new ObjectIntHashMap<>();
+
+    private final ObjectArrayList<String> ids = new ObjectArrayList<>();
+
+    private final ObjectArrayList<IntArrayList> referrals = new ObjectArrayList<>();
+
+    private final ObjectArrayList<IntArrayList> referrers = new ObjectArrayList<>();
+
+    /**
+     * The number of referrals of each node, to rank the referrers by reading a single array.
+     */
+    private final IntArrayList counts = new IntArrayList();
+
+    /**
+     * The nodes of the removed profiles, reused before adding new ones.
+     */
+    private final IntArrayList freeNodes = new IntArrayList();
+
+    private long referralCount;
+
+    /**
+     * Add a referral.
+     *
+     * @param referrerId the id of the profile who referred.
+     * @param referredId the id of the referred profile.
+     * @return false if the referral already exists.
+     */
+    public boolean add(String referrerId, String referredId) {
+        int referrer = node(referrerId);
+        int referred = node(referredId);
+        IntArrayList referredNodes = edges(referrals, referrer);
+        if (referrer == referred || referredNodes.contains(referred)) {
+            return false;
+        }
+        referredNodes.add(referred);
+        edges(referrers, referred).add(referrer);
+        counts.buffer[referrer]++;
+        referralCount++;
+        return true;
+    }
+
+    /**
+     * Replace the referrals of a profile.
+     *
+     * @param referrerId the id of the profile who referred.
+     * @param referredIds the ids of the referred profiles.
+     */
+    public void setReferrals(String referrerId, Collection<String> referredIds) {
+        removeReferrals(nodes.getOrDefault(referrerId, MISSING));
+        referredIds.forEach(referredId -> add(referrerId, referredId));
+    }
+
+    /**
+     * Remove a profile with its referrals and its referrers.
+     *
+     * @param id the id of the profile.
+     */
+    public void remove(String id) {
+        int node = nodes.getOrDefault(id, MISSING);
+        if (node == MISSING) {
+            return;
+        }
+        removeReferrals(node);
+        IntArrayList referrerNodes = referrers.get(node);
+        if (referrerNodes != null) {
+            for (int i = 0; i < referrerNodes.size(); i++) {
+                referrals.get(referrerNodes.get(i)).removeFirst(node);
+                counts.buffer[referrerNodes.get(i)]--;
+            }
+            referralCount -= referrerNodes.size();
+            referrers.set(node, null);
+        }
+        nodes.remove(id);
+        ids.set(node, null);
+        freeNodes.add(node);
+    }
+
+    private void removeReferrals(int referrer) {
+        if (referrer == MISSING || referrals.get(referrer) == null) {
+            return;
+        }
+        IntArrayList referredNodes = referrals.get(referrer);
+        for (int i = 0; i < referredNodes.size(); i++) {
+            referrers.get(referredNodes.get(i)).removeFirst(referrer);
+        }
+        referralCount -= referredNodes.size();
+        referrals.set(referrer, null);
+        counts.set(referrer, 0);
+    }
+
+    /**
+     * @return the ids of the profiles referred by a profile.
+     */
+    public List<String> getReferrals(String id) {
+        int node = nodes.getOrDefault(id, MISSING);
+        List<String> referredIds = new ArrayList<>();
+        if (node != MISSING && referrals.get(node) != null) {
+            IntArrayList referredNodes = referrals.get(node);
+            for (int i = 0; i < referredNodes.size(); i++) {
+                referredIds.add(ids.get(referredNodes.get(i)));
+            }
+        }
+        return referredIds;
+    }
+
+    public long getReferralCount() {
+        return referralCount;
+    }
+
+    /**
+     * @return the number of profiles held by the graph, from their first referral until they are removed.
+     */
+    public int getProfileCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Walk the referrals of a profile breadth first, to the profiles it referred, then the ones they referred, and so
+     * on.
+     *
+     * @param id the id of the profile.
+     * @param maxDepth the maximum number of referrals from the profile.
+     * @param limit the maximum number of referrals to return.
+     * @return the referrals, each found profile being reached by a single referral, the closest to the profile first.
+     */
+    public List<Referral> findReferrals(String id, int maxDepth, int limit) {
+        return walk(id, maxDepth, limit, true);
+    }
+
+    /**
+     * Walk the referrers of a profile breadth first, to the profiles who referred it, then the ones who referred them,
+     * and so on.
+     *
+     * @param id the id of the profile.
+     * @param maxDepth the maximum number of referrals to the profile.
+     * @param limit the maximum number of referrals to return.
+     * @return the referrals, each found profile being reached by a single referral, the closest to the profile first.
+     */
+    public List<Referral> findReferrers(String id, int maxDepth, int limit) {
+        return walk(id, maxDepth, limit, false);
+    }
+
+    private List<Referral> walk(String id, int maxDepth, int limit, boolean forward) {
+        List<Referral> found = new ArrayList<>();
+        int start = nodes.getOrDefault(id, MISSING);
+        if (start == MISSING) {
+            return found;
+        }
+        ObjectArrayList<IntArrayList> edges = forward ? referrals : referrers;
+        IntHashSet visited = new IntHashSet();
+        IntArrayList queue = new IntArrayList();
+        visited.add(start);
+        queue.add(start);
+        int head = 0;
+        for (int depth = 1; depth <= maxDepth && head < queue.size(); depth++) {
+            int levelEnd = queue.size();
+            for (; head < levelEnd; head++) {
+                int node = queue.get(head);
+                IntArrayList next = edges.get(node);
+                for (int i = 0; next != null && i < next.size(); i++) {
+                    int other = next.get(i);
+                    if (visited.add(other)) {
+                        String nodeId = ids.get(node);
+                        String otherId = ids.get(other);
+                        found.add(forward ? new Referral(nodeId, otherId, depth) : new Referral(otherId, nodeId, depth));
+                        if (found.size() >= limit) {
+                            return found;
+                        }
+                        queue.add(other);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find the profiles who referred the most profiles.
+     *
+     * @param limit the number of profiles to return.
+     * @return the ids of the profiles with their number of referrals, the most first.
+     */
+    public List<Referrer> findTopReferrers(int limit) {
+        // a min-heap of the nodes with the most referrals so far, the one with the fewest at the root
+        int[] heap = new int[Math.max(0, Math.min(limit, ids.size()))];
+        int size = 0;
+        for (int node = 0; node < ids.size(); node++) {
+            int count = count(node);
+            if (count == 0) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = node;
+                siftUp(heap, size++);
+            } else if (heap.length > 0 && count > count(heap[0])) {
+                heap[0] = node;
+                siftDown(heap, size);
+            }
+        }
+        List<Referrer> top = new ArrayList<>(size);
+        while (size > 0) {
+            top.add(new Referrer(ids.get(heap[0]), count(heap[0])));
+            heap[0] = heap[--size];
+            siftDown(heap, size);
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    private int count(int node) {
+        return counts.buffer[node];
+    }
+
+    private boolean before(int a, int b) {
+        int countA = count(a);
+        int countB = count(b);
+        return countA < countB || (countA == countB && a > b);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!before(heap[index], heap[parent])) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (before(heap[child], heap[smallest])) {
+                    smallest = child;
+                }
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(heap, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int node = heap[a];
+        heap[a] = heap[b];
+        heap[b] = node;
+    }
+
+    private int node(String id) {
+        int node = nodes.getOrDefault(id, MISSING);
+        if (node == MISSING && !freeNodes.isEmpty()) {
+            node = freeNodes.remove(freeNodes.size() - 1);
+            nodes.put(id, node);
+            ids.set(node, id);
+        } else if (node == MISSING) {
+            node = ids.size();
+            nodes.put(id, node);
+            ids.add(id);
+            referrals.add((IntArrayList) null);
+            referrers.add((IntArrayList) null);
+            counts.add(0);
+        }
+        return node;
+    }
+
+    private static IntArrayList edges(ObjectArrayList<IntArrayList> edges, int node) {
+        IntArrayList nodeEdges = edges.get(node);
+        if (nodeEdges == null) {
+            nodeEdges = new IntArrayList(2);
+            edges.set(node, nodeEdges);
+        }
+        return nodeEdges;
+    }
+
+    /**
+     * A referral found by a walk of the graph, with its number of referrals from the profile the walk started from.
+     */
+    public static final class Referral {
+
+        private final String referrerId;
+
+        private final String referredId;
+
+        private final int depth;
+
+        private Referral(String referrerId, String referredId, int depth) {
+            this.referrerId = referrerId;
+            this.referredId = referredId;
+            this.depth = depth;
+        }
+
+        public String getReferrerId() {
+            return referrerId;
+        }
+
+        public String getReferredId() {
+            return referredId;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+    }
+
+    /**
+     * A profile with its number of referrals.
+     */
+    public static final class Referrer {
+
+        private final String id;
+
+        private final int referrals;
+
+        private Referrer(String id, int referrals) {
+            this.id = id;
+            this.referrals = referrals;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getReferrals() {
+            return referrals;
+        }
+    }
+}
@@ -40,6 +40,15 @@ public interface RefundedService {
      */
     Flux<RefundedDTO> findAll();
 
+    /**
+     * Get a page of the refundeds, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<RefundedDTO> findAllAfter(String afterId, int size);
+
     /**
      * Returns the number of refundeds available.
      * @return the number of entities in the database.
@@ -0,0 +1,287 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.service.dto.SseEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Service broadcasting the events of the Kafka SSE topic to every subscribed client.
+ * <p>
+ * Each subscriber has its own bounded buffer, so a slow client never holds back the others: once its buffer is full,
+ * the oldest event is dropped or the client is disconnected, depending on {@code application.sse.overflow-policy}.
+ * The events can be published concurrently from any thread.
+ * <p>
+ * The most recent events are kept in a ring bounded by count and bytes, so a client reconnecting with the id of the last
+ * event it received resumes right after it. A client which missed more than the ring holds receives a
+ * {@link SseEventDTO#RESET} event, telling it to reload its state.
+ */
+@Service
+public class SseBroadcastService {
+
+    private final Logger log = LoggerFactory.getLogger(SseBroadcastService.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ReplayBuffer replayBuffer;
+
+    private final int bufferSize;
+
+    private final ApplicationProperties.Sse.OverflowPolicy overflowPolicy;
+
+    private final DistributionSummary lag;
+
+    private final Counter dropped;
+
+    private final Counter disconnected;
+
+    private final Counter resets;
+
+    public SseBroadcastService(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Sse properties = applicationProperties.getSse();
+        this.bufferSize = properties.getBufferSize();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.replayBuffer = new ReplayBuffer(properties.getReplayCount(), properties.getReplayBytes());
+        Gauge.builder("sse.subscribers", subscribers, Set::size).description("The number of subscribers").register(meterRegistry);
+        Gauge
+            .builder("sse.replay.events", replayBuffer, ReplayBuffer::size)
+            .description("The number of recent events kept to resume the streams")
+            .register(meterRegistry);
+        this.lag =
+            DistributionSummary
+                .builder("sse.subscriber.lag")
+                .description("The number of events buffered for a subscriber when an event is published")
+                .baseUnit("events")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("sse.events.dropped").description("The events dropped for slow subscribers").register(meterRegistry);
+        this.disconnected =
+            Counter.builder("sse.subscribers.disconnected").description("The slow subscribers disconnected").register(meterRegistry);
+        this.resets =
+            Counter.builder("sse.subscribers.reset").description("The subscribers too far behind to resume").register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to the events published from now on.
+     *
+     * @return the {@link Flux} of events, which completes if the subscriber is disconnected.
+     */
+    public Flux<SseEventDTO> subscribe() {
+        return subscribe(null);
+    }
+
+    /**
+     * Subscribe to the events published after the given event, or from now on.
+     *
+     * @param lastEventId the id of the last event the subscriber received, or null to only receive the next events.
+     * @return the {@link Flux} of events, starting with a {@link SseEventDTO#RESET} event if the events after the given
+     * event are no longer available. It completes if the subscriber is disconnected.
+     */
+    public Flux<SseEventDTO> subscribe(String lastEventId) {
+        return Flux.create(sink -> {
+            Subscriber subscriber = new Subscriber(sink);
+            sink.onRequest(n -> subscriber.drain());
+            sink.onDispose(() -> subscribers.remove(subscriber));
+            synchronized (replayBuffer) {
+                if (lastEventId != null) {
+                    List<SseEventDTO> replayed = replayBuffer.after(lastEventId);
+                    if (replayed != null) {
+                        subscriber.buffer.addAll(replayed);
+                    } else {
+                        log.debug("Cannot resume the SSE stream after {}, resetting the subscriber", lastEventId);
+                        resets.increment();
+                        subscriber.buffer.add(SseEventDTO.reset());
+                    }
+                }
+                subscriber.fromSequence = replayBuffer.nextSequence;
+                subscribers.add(subscriber);
+            }
+            subscriber.drain();
+        });
+    }
+
+    /**
+     * Publish an event to all the subscribers.
+     *
+     * @param event the event.
+     */
+    public void publish(String event) {
+        publish(null, event);
+    }
+
+    /**
+     * Publish an event to all the subscribers.
+     *
+     * @param id the id of the event, which the subscribers can resume after, or null if it has none.
+     * @param event the event.
+     */
+    public void publish(String id, String event) {
+        SseEventDTO sseEvent = new SseEventDTO(id, null, event);
+        long sequence;
+        synchronized (replayBuffer) {
+            sequence = replayBuffer.add(sseEvent);
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(sequence, sseEvent);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private final class Subscriber {
+
+        private final FluxSink<SseEventDTO> sink;
+
+        private final ArrayDeque<SseEventDTO> buffer = new ArrayDeque<>();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * The sequence of the first event published after the subscription, the previous ones are replayed if needed.
+         */
+        private volatile long fromSequence;
+
+        private Subscriber(FluxSink<SseEventDTO> sink) {
+            this.sink = sink;
+        }
+
+        private void offer(long sequence, SseEventDTO event) {
+            if (sequence < fromSequence) {
+                return;
+            }
+            int buffered;
+            synchronized (this) {
+                if (buffer.size() >= bufferSize) {
+                    if (overflowPolicy == ApplicationProperties.Sse.OverflowPolicy.DISCONNECT) {
+                        buffer.clear();
+                        disconnect();
+                        return;
+                    }
+                    buffer.poll();
+                    dropped.increment();
+                }
+                buffer.offer(event);
+                buffered = buffer.size();
+            }
+            lag.record(buffered);
+            drain();
+        }
+
+        private void disconnect() {
+            log.debug("Disconnecting a slow SSE subscriber, {} events behind", bufferSize);
+            subscribers.remove(this);
+            disconnected.increment();
+            sink.complete();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (sink.requestedFromDownstream() > 0 && !sink.isCancelled()) {
+                    SseEventDTO event;
+                    synchronized (this) {
+                        event = buffer.poll();
+                    }
+                    if (event == null) {
+                        break;
+                    }
+                    sink.next(event);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    /**
+     * The ring of the most recent events, with the sequence of each event id. It is guarded by its own monitor.
+     */
+    private static final class ReplayBuffer {
+
+        private final SseEventDTO[] events;
+
+        private final long[] sizes;
+
+        private final long maximumBytes;
+
+        private final Map<String, Long> sequences = new HashMap<>();
+
+        /**
+         * The sequence of the oldest event of the ring.
+         */
+        private long firstSequence;
+
+        private long nextSequence;
+
+        private long bytes;
+
+        private ReplayBuffer(int maximumCount, long maximumBytes) {
+            this.events = new SseEventDTO[Math.max(maximumCount, 1)];
+            this.sizes = new long[events.length];
+            this.maximumBytes = maximumBytes;
+        }
+
+        private long add(SseEventDTO event) {
+            long size = event.getData() != null ? event.getData().getBytes(StandardCharsets.UTF_8).length : 0;
+            while (nextSequence > firstSequence && (nextSequence - firstSequence == events.length || bytes + size > maximumBytes)) {
+                removeFirst();
+            }
+            int index = (int) (nextSequence % events.length);
+            events[index] = event;
+            sizes[index] = size;
+            bytes += size;
+            if (event.getId() != null) {
+                sequences.put(event.getId(), nextSequence);
+            }
+            return nextSequence++;
+        }
+
+        private void removeFirst() {
+            int index = (int) (firstSequence % events.length);
+            if (events[index].getId() != null) {
+                sequences.remove(events[index].getId(), firstSequence);
+            }
+            bytes -= sizes[index];
+            events[index] = null;
+            firstSequence++;
+        }
+
+        /**
+         * @return the events after the given one, or null if it is not in the ring any more.
+         */
+        private List<SseEventDTO> after(String id) {
+            Long sequence = sequences.get(id);
+            if (sequence == null) {
+                return null;
+            }
+            List<SseEventDTO> after = new ArrayList<>((int) (nextSequence - sequence - 1));
+            for (long s = sequence + 1; s < nextSequence; s++) {
+                after.add(events[(int) (s % events.length)]);
+            }
+            return after;
+        }
+
+        private synchronized int size() {
+            return (int) (nextSequence - firstSequence);
+        }
+    }
+}
@@ -40,6 +40,15 @@ public interface StateService {
      */
     Flux<StateDTO> findAll();
 
+    /**
+     * Get a page of the states, ordered by id, starting after the given id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null for the first page.
+     * @param size the number of entities of the page.
+     * @return the list of entities.
+     */
+    Flux<StateDTO> findAllAfter(String afterId, int size);
+
     /**
      * Returns the number of states available.
      * @return the number of entities in the database.
@@ -0,0 +1,560 @@
+package com.erestaurant.customer.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefArray;
+import org.apache.lucene.util.BytesRefBuilder;
+import org.apache.lucene.util.BytesRefIterator;
+import org.apache.lucene.util.Counter;
+import org.apache.lucene.util.IntsRef;
+import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.StringHelper;
+import org.apache.lucene.util.fst.Builder;
+import org.apache.lucene.util.fst.BytesRefFSTEnum;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.PositiveIntOutputs;
+import org.apache.lucene.util.fst.Util;
+
+/**
+ * The suggestions of the typeahead, ranked by the number of times their text was added, for instance the number of
+ * products with the same name.
+ * <p>
+ * The suggestions are held in a Lucene {@link FST}, which shares both the prefixes and the suffixes of their texts in a
+ * few bytes per suggestion, and is searched for the best suggestions under a prefix without visiting the others. As an
+ * FST is immutable, the suggestions added or removed since it was built are kept in a small sorted map merged into the
+ * results, until {@link #compact()} merges them into a new FST, or {@link #rebuild(Terms)} replaces all the suggestions.
+ * It is thread-safe, the suggestions being read without locking.
+ */
+public final class TypeaheadIndex {
+
+    public static final int MAX_LENGTH = 100;
+
+    private static final byte SEPARATOR = 0;
+
+    /**
+     * The FST keeps the lowest output on its shortest paths, so it holds this maximum count minus the count.
+     */
+    private static final long MAX_COUNT = Integer.MAX_VALUE;
+
+    private static final PositiveIntOutputs OUTPUTS = PositiveIntOutputs.getSingleton();
+
+    private static final Comparator<Long> LOWEST_FIRST = Comparator.naturalOrder();
+
+    public enum Kind {
+        LOGIN,
+        PRODUCT,
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Generation generation = new Generation(null, Collections.emptyNavigableMap(), new ConcurrentSkipListMap<>());
+
+    /**
+     * The suggestions changed since the last {@link #startRebuild()}, until its {@link #rebuild(Terms)}.
+     */
+    private NavigableMap<BytesRef, Long> changedSinceRebuild;
+
+    /**
+     * Add a suggestion, or count it once more.
+     *
+     * @param kind the kind of the suggestion.
+     * @param text the text of the suggestion, ignored if blank or longer than {@link #MAX_LENGTH}.
+     */
+    public void add(Kind kind, String text) {
+        change(kind, text, 1);
+    }
+
+    /**
+     * Remove a suggestion, or count it once less.
+     *
+     * @param kind the kind of the suggestion.
+     * @param text the text of the suggestion.
+     */
+    public void remove(Kind kind, String text) {
+        change(kind, text, -1);
+    }
+
+    /**
+     * Replace the text of a suggestion, if it changed.
+     *
+     * @param kind the kind of the suggestion.
+     * @param previousText the former text of the suggestion, or null if it is new.
+     * @param text the new text of the suggestion, or null if it is removed.
+     */
+    public void replace(Kind kind, String previousText, String text) {
+        if (Objects.equals(previousText, text)) {
+            return;
+        }
+        if (previousText != null) {
+            remove(kind, previousText);
+        }
+        if (text != null) {
+            add(kind, text);
+        }
+    }
+
+    private void change(Kind kind, String text, long change) {
+        BytesRef key = key(kind, text);
+        if (key == null) {
+            return;
+        }
+        synchronized (this) {
+            merge(generation.pending, key, change);
+            if (changedSinceRebuild != null) {
+                merge(changedSinceRebuild, key, change);
+            }
+        }
+    }
+
+    private static void merge(NavigableMap<BytesRef, Long> changes, BytesRef key, long change) {
+        changes.merge(key, change, (count, added) -> count + added == 0 ? null : count + added);
+    }
+
+    /**
+     * Find the best suggestions whose text starts with a prefix, regardless of case.
+     *
+     * @param prefix the prefix.
+     * @param size the maximum number of suggestions.
+     * @return the suggestions, by descending count, then by text.
+     */
+    public List<Suggestion> suggest(String prefix, int size) {
+        String normalized = normalize(prefix, true);
+        if (normalized == null || size <= 0) {
+            return List.of();
+        }
+        BytesRef start = new BytesRef(normalized.toLowerCase(Locale.ROOT));
+        Generation current = generation;
+        Map<BytesRef, Long> changes = new HashMap<>();
+        collectChanges(current.frozen, start, changes);
+        collectChanges(current.pending, start, changes);
+
+        // a suggestion counted less since the FST was built may leave the best ones, so as many more are searched
+        int decreased = 0;
+        for (long change : changes.values()) {
+            decreased += change < 0 ? 1 : 0;
+        }
+        Map<BytesRef, Long> counts = new HashMap<>();
+        try {
+            searchFst(current.fst, start, size + decreased, counts);
+            for (Map.Entry<BytesRef, Long> change : changes.entrySet()) {
+                Long count = counts.get(change.getKey());
+                long base = count != null ? count : countInFst(current.fst, change.getKey());
+                counts.put(change.getKey(), base + change.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Map.Entry<BytesRef, Long>> best = new ArrayList<>(counts.size());
+        for (Map.Entry<BytesRef, Long> count : counts.entrySet()) {
+            if (count.getValue() > 0) {
+                best.add(count);
+            }
+        }
+        best.sort(Map.Entry.<BytesRef, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(size, best.size()));
+        for (int i = 0; i < best.size() && i < size; i++) {
+            suggestions.add(decode(best.get(i).getKey(), best.get(i).getValue()));
+        }
+        return suggestions;
+    }
+
+    private static void collectChanges(NavigableMap<BytesRef, Long> changes, BytesRef start, Map<BytesRef, Long> collected) {
+        for (Map.Entry<BytesRef, Long> change : changes.tailMap(start, true).entrySet()) {
+            if (!StringHelper.startsWith(change.getKey(), start)) {
+                break;
+            }
+            collected.merge(change.getKey(), change.getValue(), Long::sum);
+        }
+    }
+
+    private static void searchFst(FST<Long> fst, BytesRef start, int size, Map<BytesRef, Long> counts) throws IOException {
+        if (fst == null) {
+            return;
+        }
+        FST.BytesReader reader = fst.getBytesReader();
+        FST.Arc<Long> arc = fst.getFirstArc(new FST.Arc<>());
+        long output = 0;
+        for (int i = 0; i < start.length; i++) {
+            if (fst.findTargetArc(start.bytes[start.offset + i] & 0xFF, arc, arc, reader) == null) {
+                return;
+            }
+            output += arc.output();
+        }
+        Util.TopResults<Long> results = Util.shortestPaths(fst, arc, output, LOWEST_FIRST, size, true);
+        for (Util.Result<Long> result : results) {
+            counts.put(concat(start, result.input), MAX_COUNT - result.output);
+        }
+    }
+
+    private static BytesRef concat(BytesRef start, IntsRef suffix) {
+        byte[] key = new byte[start.length + suffix.length];
+        System.arraycopy(start.bytes, start.offset, key, 0, start.length);
+        for (int i = 0; i < suffix.length; i++) {
+            key[start.length + i] = (byte) suffix.ints[suffix.offset + i];
+        }
+        return new BytesRef(key);
+    }
+
+    private static long countInFst(FST<Long> fst, BytesRef key) throws IOException {
+        Long output = fst != null ? Util.get(fst, key) : null;
+        return output != null ? MAX_COUNT - output : 0;
+    }
+
+    /**
+     * Merge the suggestions changed since the FST was built into a new FST.
+     */
+    public void compact() {
+        synchronized (rebuildLock) {
+            Generation frozen = freeze();
+            try {
+                publish(build(frozen.fst != null ? new FstCounts(frozen.fst) : null, frozen.frozen));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Start to replace all the suggestions, before reading them.
+     * <p>
+     * The suggestions changed before this call are expected in the terms read after it, so they are dropped by the
+     * {@link #rebuild(Terms)}, while the ones changed after it are kept, as they may be missing from the terms.
+     * Starting another rebuild abandons this one.
+     *
+     * @return the terms to fill with all the suggestions, then to pass to {@link #rebuild(Terms)}.
+     */
+    public synchronized Terms startRebuild() {
+        changedSinceRebuild = new TreeMap<>();
+        return new Terms(changedSinceRebuild);
+    }
+
+    /**
+     * Replace all the suggestions by the terms of the last {@link #startRebuild()}, with the suggestions changed since
+     * it started.
+     *
+     * @param terms the new suggestions.
+     * @throws IllegalStateException if another rebuild was started since these terms.
+     */
+    public void rebuild(Terms terms) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                if (terms.changedSinceRebuild != changedSinceRebuild) {
+                    throw new IllegalStateException("Another rebuild of the typeahead index was started since these terms");
+                }
+                changedSinceRebuild = null;
+                // the suggestions changed from now on are kept after the new FST is published
+                freeze();
+            }
+            try {
+                publish(build(new SortedCounts(terms.texts.iterator(BytesRef::compareTo)), terms.changedSinceRebuild));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of suggestions changed since the FST was built.
+     */
+    public int pendingCount() {
+        Generation current = generation;
+        return current.frozen.size() + current.pending.size();
+    }
+
+    /**
+     * @return the size in bytes of the FST.
+     */
+    public long ramBytesUsed() {
+        FST<Long> fst = generation.fst;
+        return fst != null ? fst.ramBytesUsed() : 0;
+    }
+
+    /**
+     * Start a new map of the changed suggestions, the former one being merged into the FST being built.
+     */
+    private synchronized Generation freeze() {
+        Generation current = generation;
+        NavigableMap<BytesRef, Long> frozen = current.frozen;
+        if (!current.pending.isEmpty()) {
+            NavigableMap<BytesRef, Long> merged = new ConcurrentSkipListMap<>(current.pending);
+            current.frozen.forEach((key, change) -> merged.merge(key, change, Long::sum));
+            frozen = merged;
+        }
+        generation = new Generation(current.fst, frozen, new ConcurrentSkipListMap<>());
+        return generation;
+    }
+
+    private synchronized void publish(FST<Long> fst) {
+        generation = new Generation(fst, Collections.emptyNavigableMap(), generation.pending);
+    }
+
+    private static FST<Long> build(Counts counts, NavigableMap<BytesRef, Long> changes) throws IOException {
+        Builder<Long> builder = new Builder<>(FST.INPUT_TYPE.BYTE1, OUTPUTS);
+        IntsRefBuilder scratch = new IntsRefBuilder();
+        Iterator<Map.Entry<BytesRef, Long>> changeIterator = changes.entrySet().iterator();
+        Map.Entry<BytesRef, Long> change = changeIterator.hasNext() ? changeIterator.next() : null;
+        boolean hasCount = counts != null && counts.next();
+        while (hasCount || change != null) {
+            int order = !hasCount ? 1 : change == null ? -1 : counts.key().compareTo(change.getKey());
+            BytesRef key = order <= 0 ? counts.key() : change.getKey();
+            long count = (order <= 0 ? counts.count() : 0) + (order >= 0 ? change.getValue() : 0);
+            if (count > 0) {
+                builder.add(Util.toIntsRef(key, scratch), MAX_COUNT - Math.min(count, MAX_COUNT));
+            }
+            if (order <= 0) {
+                hasCount = counts.next();
+            }
+            if (order >= 0) {
+                change = changeIterator.hasNext() ? changeIterator.next() : null;
+            }
+        }
+        return builder.finish();
+    }
+
+    /**
+     * The key of a suggestion: its normalized text, to search it regardless of case, then its kind and its text.
+     */
+    private static BytesRef key(Kind kind, String text) {
+        String displayed = normalize(text, false);
+        if (displayed == null) {
+            return null;
+        }
+        byte[] normalized = displayed.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        byte[] displayedBytes = displayed.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[normalized.length + 2 + displayedBytes.length];
+        System.arraycopy(normalized, 0, key, 0, normalized.length);
+        key[normalized.length] = SEPARATOR;
+        key[normalized.length + 1] = (byte) kind.ordinal();
+        System.arraycopy(displayedBytes, 0, key, normalized.length + 2, displayedBytes.length);
+        return new BytesRef(key);
+    }
+
+    private static Suggestion decode(BytesRef key, long count) {
+        int separator = key.offset;
+        while (key.bytes[separator] != SEPARATOR) {
+            separator++;
+        }
+        Kind kind = KINDS[key.bytes[separator + 1]];
+        String text = new String(key.bytes, separator + 2, key.offset + key.length - separator - 2, StandardCharsets.UTF_8);
+        return new Suggestion(text, kind, count);
+    }
+
+    /**
+     * Collapse the spaces of a text and remove its control characters, which includes the separator of the keys.
+     *
+     * @param keepTrailingSpace true for a prefix, where a trailing space ends a word.
+     * @return the text, or null if it is blank or longer than {@link #MAX_LENGTH}.
+     */
+    static String normalize(String text, boolean keepTrailingSpace) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(Math.min(text.length(), MAX_LENGTH + 1));
+        boolean space = false;
+        for (int i = 0; i < text.length() && normalized.length() <= MAX_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isISOControl(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        if (space && keepTrailingSpace) {
+            normalized.append(' ');
+        }
+        return normalized.length() == 0 || normalized.length() > MAX_LENGTH ? null : normalized.toString();
+    }
+
+    /**
+     * The suggestions of a {@link TypeaheadIndex#rebuild(Terms)}, held in a few large byte arrays until they are sorted.
+     * It is not thread-safe.
+     */
+    public static final class Terms {
+
+        private final BytesRefArray texts = new BytesRefArray(Counter.newCounter());
+
+        private final NavigableMap<BytesRef, Long> changedSinceRebuild;
+
+        private Terms(NavigableMap<BytesRef, Long> changedSinceRebuild) {
+            this.changedSinceRebuild = changedSinceRebuild;
+        }
+
+        /**
+         * Add a suggestion, or count it once more.
+         *
+         * @param kind the kind of the suggestion.
+         * @param text the text of the suggestion, ignored if blank or longer than {@link #MAX_LENGTH}.
+         * @return these terms.
+         */
+        public Terms add(Kind kind, String text) {
+            BytesRef key = key(kind, text);
+            if (key != null) {
+                texts.append(key);
+            }
+            return this;
+        }
+
+        public int size() {
+            return texts.size();
+        }
+    }
+
+    /**
+     * A suggestion of the typeahead.
+     */
+    public static final class Suggestion {
+
+        private final String text;
+
+        private final Kind kind;
+
+        private final long count;
+
+        Suggestion(String text, Kind kind, long count) {
+            this.text = text;
+            this.kind = kind;
+            this.count = count;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Suggestion{" +
+                "text='" + text + "'" +
+                ", kind=" + kind +
+                ", count=" + count +
+                "}";
+        }
+    }
+
+    private static final class Generation {
+
+        private final FST<Long> fst;
+
+        /**
+         * The changes being merged into a new FST, still read until it is published.
+         */
+        private final NavigableMap<BytesRef, Long> frozen;
+
+        private final NavigableMap<BytesRef, Long> pending;
+
+        private Generation(FST<Long> fst, NavigableMap<BytesRef, Long> frozen, NavigableMap<BytesRef, Long> pending) {
+            this.fst = fst;
+            this.frozen = frozen;
+            this.pending = pending;
+        }
+    }
+
+    /**
+     * The suggestions with their counts, in the order of their keys.
+     */
+    private interface Counts {
+        boolean next() throws IOException;
+
+        BytesRef key();
+
+        long count();
+    }
+
+    private static final class FstCounts implements Counts {
+
+        private final BytesRefFSTEnum<Long> terms;
+
+        private BytesRefFSTEnum.InputOutput<Long> term;
+
+        private FstCounts(FST<Long> fst) {
+            this.terms = new BytesRefFSTEnum<>(fst);
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            term = terms.next();
+            return term != null;
+        }
+
+        @Override
+        public BytesRef key() {
+            return term.input;
+        }
+
+        @Override
+        public long count() {
+            return MAX_COUNT - term.output;
+        }
+    }
+
+    /**
+     * Counts the runs of equal keys of a sorted iterator.
+     */
+    private static final class SortedCounts implements Counts {
+
+        private final BytesRefIterator keys;
+
+        private final BytesRefBuilder key = new BytesRefBuilder();
+
+        private BytesRef next;
+
+        private long count;
+
+        private SortedCounts(BytesRefIterator keys) throws IOException {
+            this.keys = keys;
+            this.next = keys.next();
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (next == null) {
+                return false;
+            }
+            key.copyBytes(next);
+            count = 0;
+            while (next != null && next.bytesEquals(key.get())) {
+                count++;
+                next = keys.next();
+            }
+            return true;
+        }
+
+        @Override
+        public BytesRef key() {
+            return key.get();
+        }
+
+        @Override
+        public long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.service.TypeaheadIndex.Kind;
+import com.erestaurant.customer.service.dto.TypeaheadSuggestionDTO;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service suggesting the logins of the {@link com.erestaurant.customer.domain.User} and the names of the
+ * {@link com.erestaurant.customer.domain.Products} starting with what is typed, from a {@link TypeaheadIndex} in memory.
+ * <p>
+ * The index is built from the database when the application is ready, then changed on each committed write of this
+ * instance, and rebuilt every {@code application.typeahead.rebuild-delay} milliseconds to add the writes of the other
+ * instances. The name of each product is kept by its id, so that a product renamed or deleted replaces its own former
+ * name.
+ * Once {@code application.typeahead.max-pending} suggestions changed, they are merged into a new index in the
+ * background.
+ */
+@Service
+public class TypeaheadService {
+
+    public static final int MAX_SIZE = 20;
+
+    private final Logger log = LoggerFactory.getLogger(TypeaheadService.class);
+
+    private final DatabaseClient databaseClient;
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    private final int maxPending;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    /**
+     * The names of the products by id, guarded by the monitor of this service.
+     */
+    private Map<String, String> productNames = new HashMap<>();
+
+    /**
+     * The names of the products changed since the last rebuild started, null for a removed product, until it ends.
+     */
+    private Map<String, String> renamedSinceRebuild;
+
+    public TypeaheadService(DatabaseClient databaseClient, ApplicationProperties applicationProperties) {
+        this.databaseClient = databaseClient;
+        this.maxPending = Math.max(applicationProperties.getTypeahead().getMaxPending(), 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild()
+            .subscribe(
+                terms -> log.info("Built the typeahead index of {} suggestions", terms),
+                e -> log.error("Could not build the typeahead index", e)
+            );
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.typeahead.rebuild-delay:3600000}",
+        fixedDelayString = "${application.typeahead.rebuild-delay:3600000}"
+    )
+    public void scheduledRebuild() {
+        try {
+            rebuild().block();
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the typeahead index", e);
+        }
+    }
+
+    /**
+     * Rebuild the index from the logins and the product names of the database.
+     *
+     * @return the number of suggestions read.
+     */
+    public Mono<Integer> rebuild() {
+        return Mono.defer(() -> {
+            // started before the reads, so that only the suggestions changed after them are added to the ones read
+            TypeaheadIndex.Terms terms;
+            Map<String, String> renamed = new HashMap<>();
+            synchronized (this) {
+                terms = index.startRebuild();
+                renamedSinceRebuild = renamed;
+            }
+            Map<String, String> names = new HashMap<>();
+            return databaseClient
+                .sql("SELECT login FROM jhi_user")
+                .map((row, metadata) -> row.get("login", String.class))
+                .all()
+                .doOnNext(login -> terms.add(Kind.LOGIN, login))
+                .thenMany(
+                    databaseClient
+                        .sql("SELECT id, name FROM products")
+                        .map((row, metadata) -> {
+                            String id = row.get("id", String.class);
+                            String name = row.get("name", String.class);
+                            if (name != null) {
+                                names.put(id, name);
+                            }
+                            terms.add(Kind.PRODUCT, name);
+                            return id;
+                        })
+                        .all()
+                )
+                .then(Mono.fromCallable(() -> {
+                    index.rebuild(terms);
+                    synchronized (this) {
+                        if (renamedSinceRebuild == renamed) {
+                            renamed.forEach((id, name) -> {
+                                if (name != null) {
+                                    names.put(id, name);
+                                } else {
+                                    names.remove(id);
+                                }
+                            });
+                            productNames = names;
+                            renamedSinceRebuild = null;
+                        }
+                    }
+                    return terms.size();
+                }));
+        });
+    }
+
+    /**
+     * Find the best suggestions starting with a prefix.
+     *
+     * @param prefix the prefix, regardless of case.
+     * @param size the maximum number of suggestions, up to {@link #MAX_SIZE}.
+     * @return the suggestions, the most frequent first.
+     */
+    public List<TypeaheadSuggestionDTO> suggest(String prefix, int size) {
+        return index
+            .suggest(prefix, Math.min(size, MAX_SIZE))
+            .stream()
+            .map(suggestion -> new TypeaheadSuggestionDTO(suggestion.getText(), suggestion.getKind().name()))
+            .collect(Collectors.toList());
+    }
+
+    public void addLogin(String login) {
+        index.add(Kind.LOGIN, login);
+        compactIfNeeded();
+    }
+
+    /**
+     * Replace the former name of a product, if any, by its committed name.
+     *
+     * @param id the id of the product.
+     * @param name the name of the product, or null if it has none or was deleted.
+     */
+    public void replaceProductName(String id, String name) {
+        synchronized (this) {
+            String previousName = name != null ? productNames.put(id, name) : productNames.remove(id);
+            if (renamedSinceRebuild != null) {
+                renamedSinceRebuild.put(id, name);
+            }
+            index.replace(Kind.PRODUCT, previousName, name);
+        }
+        compactIfNeeded();
+    }
+
+    private void compactIfNeeded() {
+        if (index.pendingCount() < maxPending || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        Mono
+            .fromRunnable(index::compact)
+            .subscribeOn(Schedulers.boundedElastic())
+            .doFinally(signal -> compacting.set(false))
+            .subscribe(null, e -> log.warn("Could not compact the typeahead index", e));
+    }
+}
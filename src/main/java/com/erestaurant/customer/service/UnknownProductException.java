@@ -0,0 +1,20 @@
+package com.erestaurant.customer.service;
+
+/**
+ * Thrown when a product which does not exist is added to a cart.
+ */
+public class UnknownProductException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String productId;
+
+    public UnknownProductException(String productId) {
+        super("Product " + productId + " does not exist");
+        this.productId = productId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,207 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.User;
+import com.erestaurant.customer.domain.UserReindexCheckpoint;
+import com.erestaurant.customer.repository.UserReindexCheckpointRepository;
+import com.erestaurant.customer.repository.UserRepository;
+import com.erestaurant.customer.repository.search.UserSearchRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Service rebuilding the search index of the {@link User}, after a change of its mapping, without interrupting the
+ * searches.
+ * <p>
+ * The users are read in chunks of {@code application.user-reindex.chunk-size}, in the order of their ids, each chunk
+ * following the last id of the previous one, and written with their authorities to a new index, up to
+ * {@code application.user-reindex.concurrency} chunks at once. Once every user is written, the alias of the users is
+ * switched to the new index in one atomic change, the former index being searched until then.
+ * <p>
+ * The last id of the written chunks is saved in a {@link UserReindexCheckpoint}, so a rebuild interrupted by a restart
+ * resumes after it when the application is ready. The users changed meanwhile are written to the new index as well, and
+ * a chunk never overwrites a user already in the new index, so the rebuilt index has their last values.
+ */
+@Service
+public class UserReindexService {
+
+    private static final String INDEX_PREFIX = "user-";
+
+    private final Logger log = LoggerFactory.getLogger(UserReindexService.class);
+
+    private final UserRepository userRepository;
+
+    private final UserSearchRepository userSearchRepository;
+
+    private final UserReindexCheckpointRepository userReindexCheckpointRepository;
+
+    private final int chunkSize;
+
+    private final int concurrency;
+
+    private final int replicas;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * The index being rebuilt, which the changed users are written to as well.
+     */
+    private volatile String rebuiltIndex;
+
+    public UserReindexService(
+        UserRepository userRepository,
+        UserSearchRepository userSearchRepository,
+        UserReindexCheckpointRepository userReindexCheckpointRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.userRepository = userRepository;
+        this.userSearchRepository = userSearchRepository;
+        this.userReindexCheckpointRepository = userReindexCheckpointRepository;
+        this.chunkSize = Math.max(applicationProperties.getUserReindex().getChunkSize(), 1);
+        this.concurrency = Math.max(applicationProperties.getUserReindex().getConcurrency(), 1);
+        this.replicas = applicationProperties.getUserReindex().getReplicas();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        userReindexCheckpointRepository
+            .findLatest()
+            .filter(checkpoint -> UserReindexCheckpoint.RUNNING.equals(checkpoint.getStatus()))
+            .flatMap(checkpoint -> reindex())
+            .subscribe(
+                checkpoint -> log.info("Rebuilt the index {} of {} users", checkpoint.getId(), checkpoint.getIndexedCount()),
+                e -> log.error("Could not rebuild the index of the users", e)
+            );
+    }
+
+    /**
+     * Start rebuilding the index of the users in the background, or resume the interrupted rebuild.
+     *
+     * @return the checkpoint of the started rebuild, or of the rebuild already running.
+     */
+    public Mono<UserReindexCheckpoint> start() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                return userReindexCheckpointRepository.findLatest();
+            }
+            Mono<UserReindexCheckpoint> started = checkpoint().cache();
+            started
+                .flatMap(this::rebuild)
+                .doFinally(signal -> stop())
+                .subscribe(
+                    checkpoint -> log.info("Rebuilt the index {} of {} users", checkpoint.getId(), checkpoint.getIndexedCount()),
+                    e -> log.error("Could not rebuild the index of the users", e)
+                );
+            return started;
+        });
+    }
+
+    /**
+     * Rebuild the index of the users, or resume the interrupted rebuild, unless a rebuild is already running.
+     *
+     * @return the checkpoint of the finished rebuild.
+     */
+    public Mono<UserReindexCheckpoint> reindex() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            return checkpoint().flatMap(this::rebuild).doFinally(signal -> stop());
+        });
+    }
+
+    /**
+     * Get the progress of the last rebuild.
+     *
+     * @return the checkpoint of the last rebuild.
+     */
+    public Mono<UserReindexCheckpoint> findLatest() {
+        return userReindexCheckpointRepository.findLatest();
+    }
+
+    /**
+     * Write a changed user to the index being rebuilt, if any, whether its chunk was written already or not.
+     *
+     * @param user the changed user.
+     * @return a {@link Mono} completing once the user is written.
+     */
+    public Mono<Void> index(User user) {
+        return Mono.defer(() -> {
+            String indexName = rebuiltIndex;
+            return indexName != null ? userSearchRepository.index(indexName, user) : Mono.empty();
+        });
+    }
+
+    private void stop() {
+        rebuiltIndex = null;
+        running.set(false);
+    }
+
+    private Mono<UserReindexCheckpoint> checkpoint() {
+        return userReindexCheckpointRepository
+            .findLatest()
+            .filter(checkpoint -> UserReindexCheckpoint.RUNNING.equals(checkpoint.getStatus()))
+            .switchIfEmpty(
+                Mono.defer(() -> {
+                    Instant now = Instant.now();
+                    return userReindexCheckpointRepository.save(
+                        new UserReindexCheckpoint()
+                            .id(INDEX_PREFIX + now.toEpochMilli())
+                            .indexedCount(0L)
+                            .status(UserReindexCheckpoint.RUNNING)
+                            .startedDate(now)
+                    );
+                })
+            );
+    }
+
+    private Mono<UserReindexCheckpoint> rebuild(UserReindexCheckpoint checkpoint) {
+        String indexName = checkpoint.getId();
+        log.info("Rebuilding the index {} of the users after user {}", indexName, checkpoint.getLastUserId());
+        return userSearchRepository
+            .createIndex(indexName)
+            .doOnSuccess(created -> rebuiltIndex = indexName)
+            .thenMany(chunks(checkpoint.getLastUserId()))
+            // the chunks are written concurrently but saved in order, so the checkpoint never skips an unwritten chunk
+            .flatMapSequential(
+                chunk ->
+                    userSearchRepository
+                        .bulkCreate(indexName, chunk)
+                        .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+                        .thenReturn(chunk),
+                concurrency,
+                1
+            )
+            .concatMap(chunk -> {
+                checkpoint.lastUserId(chunk.get(chunk.size() - 1).getId()).indexedCount(checkpoint.getIndexedCount() + chunk.size());
+                return userReindexCheckpointRepository.save(checkpoint);
+            })
+            .then(Mono.defer(() -> userSearchRepository.switchAlias(indexName, replicas)))
+            .then(
+                Mono.defer(() -> {
+                    checkpoint.status(UserReindexCheckpoint.DONE).finishedDate(Instant.now());
+                    return userReindexCheckpointRepository.save(checkpoint);
+                })
+            );
+    }
+
+    private Flux<List<User>> chunks(String afterId) {
+        return chunk(afterId)
+            .expand(chunk -> chunk.size() < chunkSize ? Mono.empty() : chunk(chunk.get(chunk.size() - 1).getId()))
+            .filter(chunk -> !chunk.isEmpty());
+    }
+
+    private Mono<List<User>> chunk(String afterId) {
+        return userRepository.findAllWithAuthoritiesAfter(afterId, chunkSize).collectList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.repository.search.UserQuery;
+import com.erestaurant.customer.repository.search.UserSearchRepository;
+import com.erestaurant.customer.service.dto.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service searching the {@link com.erestaurant.customer.domain.User} with the queries of {@link UserQuery}.
+ * <p>
+ * The parsed queries are cached by their text, and the pages of users found by their normalized query, for
+ * {@code application.user-search.time-to-live}, so a hot query neither is parsed again nor reaches Elasticsearch. The
+ * pages are of {@link #MAX_PAGE_SIZE} users at most, within the first {@link #MAX_RESULTS} users found.
+ */
+@Service
+public class UserSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final int MAX_RESULTS = 1000;
+
+    private static final long MAXIMUM_QUERIES_WEIGHT = 4 * 1024 * 1024;
+
+    private static final Duration QUERIES_TIME_TO_LIVE = Duration.ofHours(1);
+
+    private final UserSearchRepository userSearchRepository;
+
+    private final BoundedCache<String, UserQuery> queries;
+
+    private final BoundedCache<String, List<UserDTO>> results;
+
+    public UserSearchService(
+        UserSearchRepository userSearchRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.userSearchRepository = userSearchRepository;
+        ApplicationProperties.UserSearch properties = applicationProperties.getUserSearch();
+        this.queries =
+            new BoundedCache<>(
+                "userQueries",
+                MAXIMUM_QUERIES_WEIGHT,
+                QUERIES_TIME_TO_LIVE,
+                // the text of the query, which is the key, up to its maximum length, and the parsed query
+                query -> 64 + 2L * UserQuery.MAX_LENGTH + 2L * query.toString().length(),
+                Clock.systemUTC()
+            );
+        this.results =
+            new BoundedCache<>(
+                "userSearchResults",
+                properties.getMaximumWeight(),
+                properties.getTimeToLive(),
+                UserSearchService::weighAll,
+                Clock.systemUTC()
+            );
+        new BoundedCache.Metrics(queries, Tags.empty()).bindTo(meterRegistry);
+        new BoundedCache.Metrics(results, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Search a page of users.
+     *
+     * @param query the query, in the language of {@link UserQuery}.
+     * @param pageable the page of the users found, of {@link #MAX_PAGE_SIZE} users at most, and ordered by relevance.
+     * @return the users found, or an {@link IllegalArgumentException} if the query is invalid or the page is after the
+     * first {@link #MAX_RESULTS} users found.
+     */
+    public Flux<UserDTO> search(String query, Pageable pageable) {
+        int size = Math.min(pageable.getPageSize(), MAX_PAGE_SIZE);
+        if ((long) pageable.getPageNumber() * size + size > MAX_RESULTS) {
+            return Flux.error(new IllegalArgumentException("Only the first " + MAX_RESULTS + " users found can be paged through"));
+        }
+        PageRequest page = PageRequest.of(pageable.getPageNumber(), size);
+        return queries
+            .get(query, () -> Mono.fromCallable(() -> UserQuery.parse(query)))
+            .flatMap(userQuery ->
+                results.get(
+                    userQuery + "|" + page.getPageNumber() + "|" + size,
+                    () -> userSearchRepository.search(userQuery, page).map(UserDTO::new).collectList()
+                )
+            )
+            .flatMapIterable(Function.identity());
+    }
+
+    private static long weighAll(List<UserDTO> users) {
+        long weight = 64;
+        for (UserDTO user : users) {
+            weight += 72 + 2L * (length(user.getId()) + length(user.getLogin()));
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
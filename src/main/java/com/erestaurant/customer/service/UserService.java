@@ -1,5 +1,6 @@
 package com.erestaurant.customer.service;
 
+import com.erestaurant.customer.config.ApplicationProperties;
 import com.erestaurant.customer.config.Constants;
 import com.erestaurant.customer.domain.Authority;
 import com.erestaurant.customer.domain.User;
@@ -9,8 +10,12 @@ import com.erestaurant.customer.repository.search.UserSearchRepository;
 import com.erestaurant.customer.security.SecurityUtils;
 import com.erestaurant.customer.service.dto.AdminUserDTO;
 import com.erestaurant.customer.service.dto.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Clock;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +32,11 @@ import reactor.core.scheduler.Schedulers;
 
 /**
  * Service class for managing users.
+ * <p>
+ * The users of the IdP are synchronized once per subject and version of their data: the synchronized users are cached
+ * by their {@code sub}, their {@code updated_at} and a hash of their data for
+ * {@code application.idp-sync.time-to-live}, and the known authorities are kept in memory, so an unchanged user costs
+ * no round trip to the database. A synchronized user is only written if its data differs from the database.
  */
 @Service
 public class UserService {
@@ -39,10 +49,40 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, UserSearchRepository userSearchRepository, AuthorityRepository authorityRepository) {
+    private final UserReindexService userReindexService;
+
+    private final TypeaheadService typeaheadService;
+
+    private final BoundedCache<String, AdminUserDTO> idpSyncs;
+
+    /**
+     * The names of the authorities known to be in the database, which never deletes an authority.
+     */
+    private final Set<String> knownAuthorities = ConcurrentHashMap.newKeySet();
+
+    public UserService(
+        UserRepository userRepository,
+        UserSearchRepository userSearchRepository,
+        AuthorityRepository authorityRepository,
+        UserReindexService userReindexService,
+        TypeaheadService typeaheadService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.userRepository = userRepository;
         this.userSearchRepository = userSearchRepository;
         this.authorityRepository = authorityRepository;
+        this.userReindexService = userReindexService;
+        this.typeaheadService = typeaheadService;
+        this.idpSyncs =
+            new BoundedCache<>(
+                "idpSyncs",
+                applicationProperties.getIdpSync().getMaximumWeight(),
+                applicationProperties.getIdpSync().getTimeToLive(),
+                UserService::weigh,
+                Clock.systemUTC()
+            );
+        new BoundedCache.Metrics(idpSyncs, Tags.empty()).bindTo(meterRegistry);
     }
 
     /**
@@ -70,7 +110,7 @@ public class UserService {
                 user.setImageUrl(imageUrl);
                 return saveUser(user);
             })
-            .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
+            .flatMap(user -> userSearchRepository.save(user).then(userReindexService.index(user)).thenReturn(user))
             .doOnNext(user -> log.debug("Changed Information for User: {}", user))
             .then();
     }
@@ -94,7 +134,7 @@ public class UserService {
                 // once https://github.com/spring-projects/spring-data-r2dbc/issues/215 is done
                 Mono<User> persistedUser;
                 if (forceCreate) {
-                    persistedUser = userRepository.create(user);
+                    persistedUser = userRepository.create(user).doOnNext(created -> typeaheadService.addLogin(created.getLogin()));
                 } else {
                     persistedUser = userRepository.save(user);
                 }
@@ -137,28 +177,13 @@ public class UserService {
     }
 
     private Mono<User> syncUserWithIdP(Map<String, Object> details, User user) {
-        // save authorities in to sync user roles/groups between IdP and JHipster's local database
-        Collection<String> userAuthorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toList());
-
-        return getAuthorities()
-            .collectList()
-            .flatMapMany(dbAuthorities -> {
-                List<Authority> authoritiesToSave = userAuthorities
-                    .stream()
-                    .filter(authority -> !dbAuthorities.contains(authority))
-                    .map(authority -> {
-                        Authority authorityToSave = new Authority();
-                        authorityToSave.setName(authority);
-                        return authorityToSave;
-                    })
-                    .collect(Collectors.toList());
-                return Flux.fromIterable(authoritiesToSave);
-            })
-            .doOnNext(authority -> log.debug("Saving authority '{}' in local database", authority))
-            .flatMap(authorityRepository::save)
+        return syncAuthorities(user)
             .then(userRepository.findOneByLogin(user.getLogin()))
             .switchIfEmpty(saveUser(user, true))
             .flatMap(existingUser -> {
+                if (!isChanged(existingUser, user)) {
+                    return Mono.empty();
+                }
                 // if IdP sends last updated information, use it to determine if an update should happen
                 if (details.get("updated_at") != null) {
                     Instant dbModifiedDate = existingUser.getLastModifiedDate();
@@ -177,6 +202,40 @@ public class UserService {
             .thenReturn(user);
     }
 
+    /**
+     * Save the authorities of a user missing in the database, to sync user roles/groups between IdP and JHipster's local
+     * database. The authorities of the database are only read when the user has an authority unknown yet.
+     */
+    private Mono<Void> syncAuthorities(User user) {
+        Collection<String> userAuthorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toList());
+        if (knownAuthorities.containsAll(userAuthorities)) {
+            return Mono.empty();
+        }
+        return getAuthorities()
+            .doOnNext(knownAuthorities::add)
+            .thenMany(Flux.defer(() -> Flux.fromIterable(userAuthorities)))
+            .filter(authority -> !knownAuthorities.contains(authority))
+            .map(authority -> {
+                Authority authorityToSave = new Authority();
+                authorityToSave.setName(authority);
+                return authorityToSave;
+            })
+            .doOnNext(authority -> log.debug("Saving authority '{}' in local database", authority))
+            .flatMap(authorityRepository::save)
+            .doOnNext(authority -> knownAuthorities.add(authority.getName()))
+            .then();
+    }
+
+    private static boolean isChanged(User existingUser, User user) {
+        return (
+            !Objects.equals(existingUser.getFirstName(), user.getFirstName()) ||
+            !Objects.equals(existingUser.getLastName(), user.getLastName()) ||
+            !Objects.equals(existingUser.getEmail(), user.getEmail()) ||
+            !Objects.equals(existingUser.getLangKey(), user.getLangKey()) ||
+            !Objects.equals(existingUser.getImageUrl(), user.getImageUrl())
+        );
+    }
+
     /**
      * Returns the user from an OAuth 2.0 login or resource server with JWT.
      * Synchronizes the user in the local repository.
@@ -208,7 +267,34 @@ public class UserService {
                 .collect(Collectors.toSet())
         );
 
-        return syncUserWithIdP(attributes, user).flatMap(u -> Mono.just(new AdminUserDTO(u)));
+        return idpSyncs.get(idpSyncKey(attributes, user), () -> syncUserWithIdP(attributes, user).map(AdminUserDTO::new));
+    }
+
+    /**
+     * The key of the synchronization of a user: the user is synchronized again once the IdP sends a new version of it,
+     * or other data or authorities for it.
+     */
+    private static String idpSyncKey(Map<String, Object> details, User user) {
+        int hash = Objects.hash(
+            user.getId(),
+            user.getLogin(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getEmail(),
+            user.getLangKey(),
+            user.getImageUrl(),
+            user.isActivated(),
+            user.getAuthorities().stream().map(Authority::getName).sorted().collect(Collectors.toList())
+        );
+        return details.get("sub") + "|" + details.get("updated_at") + "|" + Integer.toHexString(hash);
+    }
+
+    private static long weigh(AdminUserDTO user) {
+        long weight = 256 + 64L * user.getAuthorities().size();
+        for (String value : new String[] { user.getId(), user.getLogin(), user.getEmail(), user.getImageUrl() }) {
+            weight += value != null ? 2L * value.length() : 0;
+        }
+        return weight;
     }
 
     private static User getUser(Map<String, Object> details) {
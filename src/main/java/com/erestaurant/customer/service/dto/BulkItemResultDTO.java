@@ -0,0 +1,102 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the result of one item of a bulk save, in the order of the submitted items.
+ */
+public class BulkItemResultDTO implements Serializable {
+
+    public enum Status {
+        SAVED,
+        FAILED,
+    }
+
+    private long index;
+
+    private String id;
+
+    private Status status;
+
+    private String message;
+
+    public static BulkItemResultDTO saved(long index, String id) {
+        return new BulkItemResultDTO(index, id, Status.SAVED, null);
+    }
+
+    public static BulkItemResultDTO failed(long index, String id, String message) {
+        return new BulkItemResultDTO(index, id, Status.FAILED, message);
+    }
+
+    public BulkItemResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkItemResultDTO(long index, String id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkItemResultDTO)) {
+            return false;
+        }
+        BulkItemResultDTO that = (BulkItemResultDTO) o;
+        return index == that.index && Objects.equals(id, that.id) && status == that.status && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, id, status, message);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + getIndex() +
+            ", id='" + getId() + "'" +
+            ", status=" + getStatus() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,85 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A DTO for the content of a {@link com.erestaurant.customer.domain.Cart}: its items, their total quantity and the
+ * estimated time to prepare them all.
+ */
+public class CartContentDTO implements Serializable {
+
+    private String cartId;
+
+    private List<CartItemDTO> items;
+
+    private Long totalQuantity;
+
+    private Double estimatedPreparationTime;
+
+    public String getCartId() {
+        return cartId;
+    }
+
+    public void setCartId(String cartId) {
+        this.cartId = cartId;
+    }
+
+    public List<CartItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CartItemDTO> items) {
+        this.items = items;
+    }
+
+    public Long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public Double getEstimatedPreparationTime() {
+        return estimatedPreparationTime;
+    }
+
+    public void setEstimatedPreparationTime(Double estimatedPreparationTime) {
+        this.estimatedPreparationTime = estimatedPreparationTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CartContentDTO)) {
+            return false;
+        }
+        CartContentDTO cartContentDTO = (CartContentDTO) o;
+        return (
+            Objects.equals(cartId, cartContentDTO.cartId) &&
+            Objects.equals(items, cartContentDTO.items) &&
+            Objects.equals(totalQuantity, cartContentDTO.totalQuantity) &&
+            Objects.equals(estimatedPreparationTime, cartContentDTO.estimatedPreparationTime)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cartId, items, totalQuantity, estimatedPreparationTime);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartContentDTO{" +
+            "cartId='" + getCartId() + "'" +
+            ", items=" + getItems() +
+            ", totalQuantity=" + getTotalQuantity() +
+            ", estimatedPreparationTime=" + getEstimatedPreparationTime() +
+            "}";
+    }
+}
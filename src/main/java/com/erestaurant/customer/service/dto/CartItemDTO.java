@@ -0,0 +1,84 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.erestaurant.customer.domain.CartItem} entity, with the estimated preparation time of one
+ * unit of its product.
+ */
+public class CartItemDTO implements Serializable {
+
+    @NotNull(message = "must not be null")
+    private String productId;
+
+    @NotNull(message = "must not be null")
+    @Min(value = 0)
+    private Integer quantity;
+
+    private Float estimatedPreparationTime;
+
+    public CartItemDTO() {}
+
+    public CartItemDTO(String productId, Integer quantity, Float estimatedPreparationTime) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.estimatedPreparationTime = estimatedPreparationTime;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Float getEstimatedPreparationTime() {
+        return estimatedPreparationTime;
+    }
+
+    public void setEstimatedPreparationTime(Float estimatedPreparationTime) {
+        this.estimatedPreparationTime = estimatedPreparationTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CartItemDTO)) {
+            return false;
+        }
+        CartItemDTO cartItemDTO = (CartItemDTO) o;
+        return (
+            Objects.equals(productId, cartItemDTO.productId) &&
+            Objects.equals(quantity, cartItemDTO.quantity) &&
+            Objects.equals(estimatedPreparationTime, cartItemDTO.estimatedPreparationTime)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, quantity, estimatedPreparationTime);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartItemDTO{" +
+            "productId='" + getProductId() + "'" +
+            ", quantity=" + getQuantity() +
+            ", estimatedPreparationTime=" + getEstimatedPreparationTime() +
+            "}";
+    }
+}
@@ -0,0 +1,73 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the invalidation of the cached catalog entities, which every replica receives from Kafka.
+ */
+public class CatalogInvalidationDTO implements Serializable {
+
+    public enum Entity {
+        PRODUCTS,
+        CATEGORIES,
+    }
+
+    private Entity entity;
+
+    private String id;
+
+    public CatalogInvalidationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CatalogInvalidationDTO(Entity entity, String id) {
+        this.entity = entity;
+        this.id = id;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public void setEntity(Entity entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * @return the id of the changed entity, or null if all the entities of the type may have changed.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CatalogInvalidationDTO)) {
+            return false;
+        }
+        CatalogInvalidationDTO that = (CatalogInvalidationDTO) o;
+        return entity == that.entity && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entity, id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CatalogInvalidationDTO{" +
+            "entity=" + getEntity() +
+            ", id='" + getId() + "'" +
+            "}";
+    }
+}
@@ -29,6 +29,11 @@ public class CustomerProfileDTO implements Serializable {
     @Lob
     private String referals;
 
+    /**
+     * The geohash of the location, computed on save when the location is made of coordinates.
+     */
+    private String geohash;
+
     public String getId() {
         return id;
     }
@@ -69,6 +74,14 @@ public class CustomerProfileDTO implements Serializable {
         this.referals = referals;
     }
 
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -99,6 +112,7 @@ public class CustomerProfileDTO implements Serializable {
             ", location='" + getLocation() + "'" +
             ", locationRange='" + getLocationRange() + "'" +
             ", referals='" + getReferals() + "'" +
+            ", geohash='" + getGeohash() + "'" +
             "}";
     }
 }
@@ -0,0 +1,98 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.service.KitchenScheduler;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the estimated time at which an {@link com.erestaurant.customer.domain.Order} sent to the kitchen will be
+ * ready.
+ */
+public class KitchenEtaDTO implements Serializable {
+
+    private String orderId;
+
+    private KitchenScheduler.Status status;
+
+    private Integer position;
+
+    private Instant estimatedReadyTime;
+
+    public KitchenEtaDTO() {}
+
+    public KitchenEtaDTO(KitchenScheduler.Estimate estimate) {
+        this.orderId = estimate.getOrderId();
+        this.status = estimate.getStatus();
+        this.position = estimate.getPosition();
+        this.estimatedReadyTime = Instant.ofEpochMilli(estimate.getReadyMillis());
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public KitchenScheduler.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(KitchenScheduler.Status status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the position of the order in the queue, from 1, or 0 if it is in progress.
+     */
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public Instant getEstimatedReadyTime() {
+        return estimatedReadyTime;
+    }
+
+    public void setEstimatedReadyTime(Instant estimatedReadyTime) {
+        this.estimatedReadyTime = estimatedReadyTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KitchenEtaDTO)) {
+            return false;
+        }
+        KitchenEtaDTO kitchenEtaDTO = (KitchenEtaDTO) o;
+        return (
+            Objects.equals(orderId, kitchenEtaDTO.orderId) &&
+            status == kitchenEtaDTO.status &&
+            Objects.equals(position, kitchenEtaDTO.position) &&
+            Objects.equals(estimatedReadyTime, kitchenEtaDTO.estimatedReadyTime)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderId, status, position, estimatedReadyTime);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KitchenEtaDTO{" +
+            "orderId='" + getOrderId() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", position=" + getPosition() +
+            ", estimatedReadyTime='" + getEstimatedReadyTime() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,81 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for an {@link com.erestaurant.customer.domain.Order} sent to the kitchen, with the products to prepare.
+ */
+public class KitchenTicketDTO implements Serializable {
+
+    @NotNull(message = "must not be null")
+    private String orderId;
+
+    /**
+     * The priority of the order, the lowest first.
+     */
+    private int priority;
+
+    @NotNull(message = "must not be null")
+    @Size(min = 1)
+    @Valid
+    private List<CartItemDTO> items;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public List<CartItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CartItemDTO> items) {
+        this.items = items;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KitchenTicketDTO)) {
+            return false;
+        }
+        KitchenTicketDTO kitchenTicketDTO = (KitchenTicketDTO) o;
+        return (
+            Objects.equals(orderId, kitchenTicketDTO.orderId) &&
+            priority == kitchenTicketDTO.priority &&
+            Objects.equals(items, kitchenTicketDTO.items)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderId, priority, items);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KitchenTicketDTO{" +
+            "orderId='" + getOrderId() + "'" +
+            ", priority=" + getPriority() +
+            ", items=" + getItems() +
+            "}";
+    }
+}
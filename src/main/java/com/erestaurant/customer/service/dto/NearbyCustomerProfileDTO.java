@@ -0,0 +1,101 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.service.GeoGrid;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.erestaurant.customer.domain.CustomerProfile} found near a location, with its coordinates and
+ * its distance to the location.
+ */
+public class NearbyCustomerProfileDTO implements Serializable {
+
+    private String id;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private Double rangeKm;
+
+    private Double distanceKm;
+
+    public NearbyCustomerProfileDTO() {}
+
+    public NearbyCustomerProfileDTO(GeoGrid.Match match) {
+        this.id = match.getId();
+        this.latitude = match.getLatitude();
+        this.longitude = match.getLongitude();
+        this.rangeKm = Double.isNaN(match.getRangeKm()) ? null : match.getRangeKm();
+        this.distanceKm = match.getDistanceKm();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getRangeKm() {
+        return rangeKm;
+    }
+
+    public void setRangeKm(Double rangeKm) {
+        this.rangeKm = rangeKm;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NearbyCustomerProfileDTO)) {
+            return false;
+        }
+        NearbyCustomerProfileDTO that = (NearbyCustomerProfileDTO) o;
+        return Objects.equals(id, that.id) && Objects.equals(distanceKm, that.distanceKm);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, distanceKm);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NearbyCustomerProfileDTO{" +
+            "id='" + getId() + "'" +
+            ", latitude=" + getLatitude() +
+            ", longitude=" + getLongitude() +
+            ", rangeKm=" + getRangeKm() +
+            ", distanceKm=" + getDistanceKm() +
+            "}";
+    }
+}
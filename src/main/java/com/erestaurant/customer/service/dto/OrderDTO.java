@@ -18,6 +18,8 @@ public class OrderDTO implements Serializable {
     private String description;
 
     @NotNull(message = "must not be null")
+    @DecimalMin(value = "0")
+    @DecimalMax(value = "10")
     private Float rating;
 
     public String getId() {
@@ -0,0 +1,153 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.domain.OrderEvent;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.persistence.Lob;
+
+/**
+ * A DTO for the {@link com.erestaurant.customer.domain.OrderEvent} entity.
+ */
+public class OrderEventDTO implements Serializable {
+
+    private Long id;
+
+    private String orderId;
+
+    private Integer version;
+
+    private OrderEvent.EventType eventType;
+
+    @Lob
+    private String description;
+
+    private Float rating;
+
+    private Float previousRating;
+
+    private OrderState fromState;
+
+    private OrderState toState;
+
+    private Instant createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public OrderEvent.EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(OrderEvent.EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Float getRating() {
+        return rating;
+    }
+
+    public void setRating(Float rating) {
+        this.rating = rating;
+    }
+
+    public Float getPreviousRating() {
+        return previousRating;
+    }
+
+    public void setPreviousRating(Float previousRating) {
+        this.previousRating = previousRating;
+    }
+
+    public OrderState getFromState() {
+        return fromState;
+    }
+
+    public void setFromState(OrderState fromState) {
+        this.fromState = fromState;
+    }
+
+    public OrderState getToState() {
+        return toState;
+    }
+
+    public void setToState(OrderState toState) {
+        this.toState = toState;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderEventDTO)) {
+            return false;
+        }
+
+        OrderEventDTO orderEventDTO = (OrderEventDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, orderEventDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderEventDTO{" +
+            "id=" + getId() +
+            ", orderId='" + getOrderId() + "'" +
+            ", version='" + getVersion() + "'" +
+            ", eventType='" + getEventType() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", rating='" + getRating() + "'" +
+            ", previousRating='" + getPreviousRating() + "'" +
+            ", fromState='" + getFromState() + "'" +
+            ", toState='" + getToState() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,85 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A DTO for the projections of the history of the {@link com.erestaurant.customer.domain.Order}.
+ */
+public class OrderProjectionDTO implements Serializable {
+
+    private Map<OrderState, Long> ordersByState;
+
+    private Double averageRating;
+
+    private Double refundRate;
+
+    private Long lastEventId;
+
+    public Map<OrderState, Long> getOrdersByState() {
+        return ordersByState;
+    }
+
+    public void setOrdersByState(Map<OrderState, Long> ordersByState) {
+        this.ordersByState = ordersByState;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public Double getRefundRate() {
+        return refundRate;
+    }
+
+    public void setRefundRate(Double refundRate) {
+        this.refundRate = refundRate;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderProjectionDTO)) {
+            return false;
+        }
+        OrderProjectionDTO orderProjectionDTO = (OrderProjectionDTO) o;
+        return (
+            Objects.equals(ordersByState, orderProjectionDTO.ordersByState) &&
+            Objects.equals(averageRating, orderProjectionDTO.averageRating) &&
+            Objects.equals(refundRate, orderProjectionDTO.refundRate) &&
+            Objects.equals(lastEventId, orderProjectionDTO.lastEventId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ordersByState, averageRating, refundRate, lastEventId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderProjectionDTO{" +
+            "ordersByState=" + getOrdersByState() +
+            ", averageRating=" + getAverageRating() +
+            ", refundRate=" + getRefundRate() +
+            ", lastEventId=" + getLastEventId() +
+            "}";
+    }
+}
@@ -0,0 +1,148 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A DTO for the statistics of the ratings of the {@link com.erestaurant.customer.domain.Order}.
+ */
+public class OrderRatingStatsDTO implements Serializable {
+
+    private Long count;
+
+    private Double sum;
+
+    private Double average;
+
+    private Float min;
+
+    private Float max;
+
+    private Float p50;
+
+    private Float p90;
+
+    private Float p99;
+
+    private Map<Float, Long> histogram;
+
+    private Long lastEventId;
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getSum() {
+        return sum;
+    }
+
+    public void setSum(Double sum) {
+        this.sum = sum;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    public Float getMin() {
+        return min;
+    }
+
+    public void setMin(Float min) {
+        this.min = min;
+    }
+
+    public Float getMax() {
+        return max;
+    }
+
+    public void setMax(Float max) {
+        this.max = max;
+    }
+
+    public Float getP50() {
+        return p50;
+    }
+
+    public void setP50(Float p50) {
+        this.p50 = p50;
+    }
+
+    public Float getP90() {
+        return p90;
+    }
+
+    public void setP90(Float p90) {
+        this.p90 = p90;
+    }
+
+    public Float getP99() {
+        return p99;
+    }
+
+    public void setP99(Float p99) {
+        this.p99 = p99;
+    }
+
+    public Map<Float, Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(Map<Float, Long> histogram) {
+        this.histogram = histogram;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderRatingStatsDTO)) {
+            return false;
+        }
+        OrderRatingStatsDTO orderRatingStatsDTO = (OrderRatingStatsDTO) o;
+        return (
+            Objects.equals(count, orderRatingStatsDTO.count) &&
+            Objects.equals(sum, orderRatingStatsDTO.sum) &&
+            Objects.equals(histogram, orderRatingStatsDTO.histogram) &&
+            Objects.equals(lastEventId, orderRatingStatsDTO.lastEventId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, sum, histogram, lastEventId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderRatingStatsDTO{" +
+            "count=" + getCount() +
+            ", average=" + getAverage() +
+            ", min=" + getMin() +
+            ", max=" + getMax() +
+            ", p50=" + getP50() +
+            ", p90=" + getP90() +
+            ", p99=" + getP99() +
+            ", lastEventId=" + getLastEventId() +
+            "}";
+    }
+}
@@ -0,0 +1,130 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.persistence.Lob;
+
+/**
+ * A DTO for the {@link com.erestaurant.customer.domain.OrderSnapshot} entity.
+ */
+public class OrderSnapshotDTO implements Serializable {
+
+    private Long id;
+
+    private String orderId;
+
+    private Integer version;
+
+    @Lob
+    private String description;
+
+    private Float rating;
+
+    private OrderState state;
+
+    private Boolean deleted;
+
+    private Instant createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Float getRating() {
+        return rating;
+    }
+
+    public void setRating(Float rating) {
+        this.rating = rating;
+    }
+
+    public OrderState getState() {
+        return state;
+    }
+
+    public void setState(OrderState state) {
+        this.state = state;
+    }
+
+    public Boolean getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderSnapshotDTO)) {
+            return false;
+        }
+
+        OrderSnapshotDTO orderSnapshotDTO = (OrderSnapshotDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, orderSnapshotDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderSnapshotDTO{" +
+            "id=" + getId() +
+            ", orderId='" + getOrderId() + "'" +
+            ", version='" + getVersion() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", rating='" + getRating() + "'" +
+            ", state='" + getState() + "'" +
+            ", deleted='" + getDeleted() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
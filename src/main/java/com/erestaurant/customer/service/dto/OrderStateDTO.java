@@ -0,0 +1,64 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the current state of an {@link com.erestaurant.customer.domain.Order}.
+ */
+public class OrderStateDTO implements Serializable {
+
+    private String orderId;
+
+    private OrderState state;
+
+    public OrderStateDTO() {}
+
+    public OrderStateDTO(String orderId, OrderState state) {
+        this.orderId = orderId;
+        this.state = state;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderState getState() {
+        return state;
+    }
+
+    public void setState(OrderState state) {
+        this.state = state;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderStateDTO)) {
+            return false;
+        }
+        OrderStateDTO orderStateDTO = (OrderStateDTO) o;
+        return Objects.equals(orderId, orderStateDTO.orderId) && state == orderStateDTO.state;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderId, state);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderStateDTO{" +
+            "orderId='" + getOrderId() + "'" +
+            ", state='" + getState() + "'" +
+            "}";
+    }
+}
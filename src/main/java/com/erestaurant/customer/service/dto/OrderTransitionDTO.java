@@ -0,0 +1,97 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.erestaurant.customer.domain.OrderTransition} entity.
+ */
+public class OrderTransitionDTO implements Serializable {
+
+    private Long id;
+
+    private String orderId;
+
+    private OrderState fromState;
+
+    @NotNull(message = "must not be null")
+    private OrderState toState;
+
+    private Instant createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderState getFromState() {
+        return fromState;
+    }
+
+    public void setFromState(OrderState fromState) {
+        this.fromState = fromState;
+    }
+
+    public OrderState getToState() {
+        return toState;
+    }
+
+    public void setToState(OrderState toState) {
+        this.toState = toState;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderTransitionDTO)) {
+            return false;
+        }
+
+        OrderTransitionDTO orderTransitionDTO = (OrderTransitionDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, orderTransitionDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderTransitionDTO{" +
+            "id=" + getId() +
+            ", orderId='" + getOrderId() + "'" +
+            ", fromState='" + getFromState() + "'" +
+            ", toState='" + getToState() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
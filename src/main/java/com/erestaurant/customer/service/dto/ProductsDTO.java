@@ -1,5 +1,6 @@
 package com.erestaurant.customer.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.util.Objects;
 import javax.persistence.Lob;
@@ -21,11 +22,17 @@ public class ProductsDTO implements Serializable {
     @Lob
     private String description;
 
+    /**
+     * The uploaded image, moved to the blob store on save and never returned, see {@link #imageHash}.
+     */
     @Lob
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] image;
 
     private String imageContentType;
 
+    private String imageHash;
+
     @NotNull(message = "must not be null")
     private Float estimatedPreparaingTime;
 
@@ -69,6 +76,14 @@ public class ProductsDTO implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public Float getEstimatedPreparaingTime() {
         return estimatedPreparaingTime;
     }
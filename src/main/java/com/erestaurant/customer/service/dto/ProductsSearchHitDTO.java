@@ -0,0 +1,78 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.erestaurant.customer.domain.Products} found by a full-text search, with its relevance and the
+ * highlighted fragments of its fields.
+ */
+public class ProductsSearchHitDTO implements Serializable {
+
+    private ProductsDTO products;
+
+    private Float score;
+
+    private Map<String, List<String>> highlights;
+
+    public ProductsSearchHitDTO() {}
+
+    public ProductsSearchHitDTO(ProductsDTO products, Float score, Map<String, List<String>> highlights) {
+        this.products = products;
+        this.score = score;
+        this.highlights = highlights;
+    }
+
+    public ProductsDTO getProducts() {
+        return products;
+    }
+
+    public void setProducts(ProductsDTO products) {
+        this.products = products;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public Map<String, List<String>> getHighlights() {
+        return highlights;
+    }
+
+    public void setHighlights(Map<String, List<String>> highlights) {
+        this.highlights = highlights;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductsSearchHitDTO)) {
+            return false;
+        }
+        ProductsSearchHitDTO that = (ProductsSearchHitDTO) o;
+        return Objects.equals(products, that.products) && Objects.equals(score, that.score);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(products, score);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsSearchHitDTO{" +
+            "products=" + getProducts() +
+            ", score=" + getScore() +
+            ", highlights=" + getHighlights() +
+            "}";
+    }
+}
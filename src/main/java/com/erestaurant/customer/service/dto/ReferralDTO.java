@@ -0,0 +1,77 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.service.ReferralGraph;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a referral between two {@link com.erestaurant.customer.domain.CustomerProfile}s, found by a walk of the
+ * referral graph, with its number of referrals from the profile the walk started from.
+ */
+public class ReferralDTO implements Serializable {
+
+    private String referrerId;
+
+    private String referredId;
+
+    private Integer depth;
+
+    public ReferralDTO() {}
+
+    public ReferralDTO(ReferralGraph.Referral referral) {
+        this.referrerId = referral.getReferrerId();
+        this.referredId = referral.getReferredId();
+        this.depth = referral.getDepth();
+    }
+
+    public String getReferrerId() {
+        return referrerId;
+    }
+
+    public void setReferrerId(String referrerId) {
+        this.referrerId = referrerId;
+    }
+
+    public String getReferredId() {
+        return referredId;
+    }
+
+    public void setReferredId(String referredId) {
+        this.referredId = referredId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReferralDTO)) {
+            return false;
+        }
+        ReferralDTO that = (ReferralDTO) o;
+        return Objects.equals(referrerId, that.referrerId) && Objects.equals(referredId, that.referredId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(referrerId, referredId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReferralDTO{" +
+            "referrerId='" + getReferrerId() + "'" +
+            ", referredId='" + getReferredId() + "'" +
+            ", depth=" + getDepth() +
+            "}";
+    }
+}
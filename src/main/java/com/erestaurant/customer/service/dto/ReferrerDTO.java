@@ -0,0 +1,64 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.service.ReferralGraph;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.erestaurant.customer.domain.CustomerProfile} with the number of profiles it referred.
+ */
+public class ReferrerDTO implements Serializable {
+
+    private String id;
+
+    private Integer referrals;
+
+    public ReferrerDTO() {}
+
+    public ReferrerDTO(ReferralGraph.Referrer referrer) {
+        this.id = referrer.getId();
+        this.referrals = referrer.getReferrals();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Integer getReferrals() {
+        return referrals;
+    }
+
+    public void setReferrals(Integer referrals) {
+        this.referrals = referrals;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReferrerDTO)) {
+            return false;
+        }
+        ReferrerDTO that = (ReferrerDTO) o;
+        return Objects.equals(id, that.id) && Objects.equals(referrals, that.referrals);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, referrals);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReferrerDTO{" +
+            "id='" + getId() + "'" +
+            ", referrals=" + getReferrals() +
+            "}";
+    }
+}
@@ -0,0 +1,92 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for an event of the Kafka SSE stream.
+ */
+public class SseEventDTO implements Serializable {
+
+    /**
+     * The type of the event telling a resuming client that the events it missed are no longer available.
+     */
+    public static final String RESET = "reset";
+
+    private String id;
+
+    private String type;
+
+    private String data;
+
+    public static SseEventDTO reset() {
+        return new SseEventDTO(null, RESET, null);
+    }
+
+    public SseEventDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SseEventDTO(String id, String type, String data) {
+        this.id = id;
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * @return the id of the event, made of its Kafka partition and offset, or null if it has no offset.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the type of the event, or null for a message of the topic.
+     */
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SseEventDTO)) {
+            return false;
+        }
+        SseEventDTO that = (SseEventDTO) o;
+        return Objects.equals(id, that.id) && Objects.equals(type, that.type) && Objects.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, type, data);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SseEventDTO{" +
+            "id='" + getId() + "'" +
+            ", type='" + getType() + "'" +
+            ", data='" + getData() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,67 @@
+package com.erestaurant.customer.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a suggestion of the typeahead, a login of a {@link com.erestaurant.customer.domain.User} or a name of a
+ * {@link com.erestaurant.customer.domain.Products}.
+ */
+public class TypeaheadSuggestionDTO implements Serializable {
+
+    private String text;
+
+    private String type;
+
+    public TypeaheadSuggestionDTO() {}
+
+    public TypeaheadSuggestionDTO(String text, String type) {
+        this.text = text;
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @return LOGIN or PRODUCT.
+     */
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TypeaheadSuggestionDTO)) {
+            return false;
+        }
+        TypeaheadSuggestionDTO typeaheadSuggestionDTO = (TypeaheadSuggestionDTO) o;
+        return Objects.equals(text, typeaheadSuggestionDTO.text) && Objects.equals(type, typeaheadSuggestionDTO.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, type);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TypeaheadSuggestionDTO{" +
+            "text='" + getText() + "'" +
+            ", type='" + getType() + "'" +
+            "}";
+    }
+}
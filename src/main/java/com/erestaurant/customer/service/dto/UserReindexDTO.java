@@ -0,0 +1,110 @@
+package com.erestaurant.customer.service.dto;
+
+import com.erestaurant.customer.domain.UserReindexCheckpoint;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the progress of a rebuild of the search index of the {@link com.erestaurant.customer.domain.User}.
+ */
+public class UserReindexDTO implements Serializable {
+
+    private String indexName;
+
+    private String status;
+
+    private Long indexedCount;
+
+    private Instant startedDate;
+
+    private Instant finishedDate;
+
+    public UserReindexDTO() {}
+
+    public UserReindexDTO(UserReindexCheckpoint checkpoint) {
+        this.indexName = checkpoint.getId();
+        this.status = checkpoint.getStatus();
+        this.indexedCount = checkpoint.getIndexedCount();
+        this.startedDate = checkpoint.getStartedDate();
+        this.finishedDate = checkpoint.getFinishedDate();
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the number of users written to the new index so far.
+     */
+    public Long getIndexedCount() {
+        return indexedCount;
+    }
+
+    public void setIndexedCount(Long indexedCount) {
+        this.indexedCount = indexedCount;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserReindexDTO)) {
+            return false;
+        }
+        UserReindexDTO userReindexDTO = (UserReindexDTO) o;
+        return (
+            Objects.equals(indexName, userReindexDTO.indexName) &&
+            Objects.equals(status, userReindexDTO.status) &&
+            Objects.equals(indexedCount, userReindexDTO.indexedCount) &&
+            Objects.equals(startedDate, userReindexDTO.startedDate) &&
+            Objects.equals(finishedDate, userReindexDTO.finishedDate)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indexName, status, indexedCount, startedDate, finishedDate);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserReindexDTO{" +
+            "indexName='" + getIndexName() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", indexedCount=" + getIndexedCount() +
+            ", startedDate='" + getStartedDate() + "'" +
+            ", finishedDate='" + getFinishedDate() + "'" +
+            "}";
+    }
+}
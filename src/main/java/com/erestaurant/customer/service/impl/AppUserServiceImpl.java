@@ -3,6 +3,8 @@ package com.erestaurant.customer.service.impl;
 import com.erestaurant.customer.domain.AppUser;
 import com.erestaurant.customer.repository.AppUserRepository;
 import com.erestaurant.customer.service.AppUserService;
+import com.erestaurant.customer.service.BlobStoreService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.AppUserDTO;
 import com.erestaurant.customer.service.mapper.AppUserMapper;
 import org.slf4j.Logger;
@@ -26,36 +28,47 @@ public class AppUserServiceImpl implements AppUserService {
 
     private final AppUserMapper appUserMapper;
 
-    public AppUserServiceImpl(AppUserRepository appUserRepository, AppUserMapper appUserMapper) {
+    private final OutboxService outboxService;
+
+    private final BlobStoreService blobStoreService;
+
+    public AppUserServiceImpl(
+        AppUserRepository appUserRepository,
+        AppUserMapper appUserMapper,
+        BlobStoreService blobStoreService,
+        OutboxService outboxService
+    ) {
         this.appUserRepository = appUserRepository;
         this.appUserMapper = appUserMapper;
+        this.outboxService = outboxService;
+        this.blobStoreService = blobStoreService;
     }
 
     @Override
     public Mono<AppUserDTO> save(AppUserDTO appUserDTO) {
         log.debug("Request to save AppUser : {}", appUserDTO);
-        return appUserRepository.save(appUserMapper.toEntity(appUserDTO)).map(appUserMapper::toDto);
+        return storeImage(appUserDTO)
+            .flatMap(dto -> appUserRepository.save(appUserMapper.toEntity(dto)))
+            .map(appUserMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<AppUserDTO> update(AppUserDTO appUserDTO) {
         log.debug("Request to save AppUser : {}", appUserDTO);
-        return appUserRepository.save(appUserMapper.toEntity(appUserDTO).setIsPersisted()).map(appUserMapper::toDto);
+        return storeImage(appUserDTO)
+            .flatMap(dto -> appUserRepository.update(appUserMapper.toEntity(dto)))
+            .map(appUserMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<AppUserDTO> partialUpdate(AppUserDTO appUserDTO) {
         log.debug("Request to partially update AppUser : {}", appUserDTO);
-
-        return appUserRepository
-            .findById(appUserDTO.getId())
-            .map(existingAppUser -> {
-                appUserMapper.partialUpdate(existingAppUser, appUserDTO);
-
-                return existingAppUser;
-            })
-            .flatMap(appUserRepository::save)
-            .map(appUserMapper::toDto);
+        return storeImage(appUserDTO)
+            .flatMap(dto -> appUserRepository.updateNonNullFields(appUserMapper.toEntity(dto)))
+            .map(appUserMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
@@ -69,6 +82,13 @@ public class AppUserServiceImpl implements AppUserService {
         return appUserRepository.findAllWithEagerRelationships(pageable).map(appUserMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppUserDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of AppUsers after : {}", afterId);
+        return appUserRepository.findAllAfter(afterId, size).map(appUserMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return appUserRepository.count();
     }
@@ -83,6 +103,23 @@ public class AppUserServiceImpl implements AppUserService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete AppUser : {}", id);
-        return appUserRepository.deleteById(id);
+        return appUserRepository.deleteById(id).then(outboxService.deleted(AppUser.class, id));
+    }
+
+    private Mono<AppUserDTO> storeImage(AppUserDTO appUserDTO) {
+        if (appUserDTO.getImage() == null) {
+            return Mono.just(appUserDTO);
+        }
+        return blobStoreService
+            .store(appUserDTO.getImage())
+            .map(hash -> {
+                appUserDTO.setImageHash(hash);
+                appUserDTO.setImage(null);
+                return appUserDTO;
+            });
+    }
+
+    private Mono<AppUserDTO> recordSaved(AppUserDTO appUserDTO) {
+        return outboxService.saved(AppUser.class, appUserDTO.getId(), appUserDTO);
     }
 }
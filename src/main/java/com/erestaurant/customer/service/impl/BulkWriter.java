@@ -0,0 +1,158 @@
+package com.erestaurant.customer.service.impl;
+
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.springframework.core.NestedExceptionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Writes a stream of DTOs in batches, each with a single multi-row statement, and reports the result of every item
+ * in the order of the stream. A batch is written once it is full, or at the next tick of the flush timeout, so the
+ * results of a slow stream keep flowing. A single batch is read ahead of the one being written, the stream being read
+ * no further until it is written, and the ticks are dropped meanwhile.
+ * If the statement of a batch fails, its items are written one by one, so only the failing items are reported as failed.
+ *
+ * @param <D> the type of the DTOs.
+ * @param <E> the type of the entities.
+ */
+final class BulkWriter<D, E> {
+
+    private static final Object FLUSH = new Object();
+    private static final Object END = new Object();
+
+    private final Validator validator;
+    private final Function<D, String> idOf;
+    private final Function<D, E> toEntity;
+    private final Function<List<E>, Mono<Integer>> upsertAll;
+    private final int batchSize;
+    private final Duration flushTimeout;
+
+    BulkWriter(
+        Validator validator,
+        Function<D, String> idOf,
+        Function<D, E> toEntity,
+        Function<List<E>, Mono<Integer>> upsertAll,
+        int batchSize,
+        Duration flushTimeout
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        if (flushTimeout.isNegative() || flushTimeout.isZero()) {
+            throw new IllegalArgumentException("The flush timeout must be positive: " + flushTimeout);
+        }
+        this.validator = validator;
+        this.idOf = idOf;
+        this.toEntity = toEntity;
+        this.upsertAll = upsertAll;
+        this.batchSize = batchSize;
+        this.flushTimeout = flushTimeout;
+    }
+
+    Flux<BulkItemResultDTO> write(Flux<D> dtos) {
+        // unlike bufferTimeout, which fails when its timer fires while the previous batch is still being written
+        Flux<Object> ticks = Flux.interval(flushTimeout).onBackpressureDrop().map(tick -> FLUSH);
+        Flux<Object> items = dtos.index().cast(Object.class).concatWithValues(END);
+        return Flux.defer(() ->
+            Flux
+                .merge(1, items, ticks)
+                .takeUntil(END::equals)
+                .bufferUntil(new BatchEnd())
+                .map(BulkWriter::<D>itemsOf)
+                .filter(batch -> !batch.isEmpty())
+                .concatMap(this::writeBatch, 1)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <D> List<Tuple2<Long, D>> itemsOf(List<Object> batch) {
+        List<Tuple2<Long, D>> items = new ArrayList<>(batch.size());
+        for (Object element : batch) {
+            if (element != FLUSH && element != END) {
+                items.add((Tuple2<Long, D>) element);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Ends a batch once it is full, on a tick of the flush timeout, or at the end of the stream.
+     */
+    private final class BatchEnd implements Predicate<Object> {
+
+        private int size;
+
+        @Override
+        public boolean test(Object element) {
+            if (element != FLUSH && element != END && ++size < batchSize) {
+                return false;
+            }
+            size = 0;
+            return true;
+        }
+    }
+
+    private Flux<BulkItemResultDTO> writeBatch(List<Tuple2<Long, D>> batch) {
+        List<BulkItemResultDTO> invalid = new ArrayList<>();
+        List<Tuple2<Long, D>> valid = new ArrayList<>(batch.size());
+        for (Tuple2<Long, D> item : batch) {
+            Set<ConstraintViolation<D>> violations = validator.validate(item.getT2());
+            if (violations.isEmpty()) {
+                valid.add(item);
+            } else {
+                invalid.add(BulkItemResultDTO.failed(item.getT1(), idOf.apply(item.getT2()), describe(violations)));
+            }
+        }
+        if (valid.isEmpty()) {
+            return Flux.fromIterable(invalid);
+        }
+
+        List<E> entities = valid.stream().map(item -> toEntity.apply(item.getT2())).collect(Collectors.toList());
+        Flux<BulkItemResultDTO> written = upsertAll
+            .apply(entities)
+            .flatMapMany(count -> Flux.fromIterable(valid).map(this::saved))
+            .onErrorResume(e ->
+                valid.size() == 1 ? Flux.just(failed(valid.get(0), e)) : Flux.fromIterable(valid).concatMap(this::writeOne)
+            );
+        if (invalid.isEmpty()) {
+            return written;
+        }
+        return written
+            .concatWithValues(invalid.toArray(new BulkItemResultDTO[0]))
+            .sort(Comparator.comparingLong(BulkItemResultDTO::getIndex));
+    }
+
+    private Mono<BulkItemResultDTO> writeOne(Tuple2<Long, D> item) {
+        return upsertAll
+            .apply(List.of(toEntity.apply(item.getT2())))
+            .map(count -> saved(item))
+            .onErrorResume(e -> Mono.just(failed(item, e)));
+    }
+
+    private BulkItemResultDTO saved(Tuple2<Long, D> item) {
+        return BulkItemResultDTO.saved(item.getT1(), idOf.apply(item.getT2()));
+    }
+
+    private BulkItemResultDTO failed(Tuple2<Long, D> item, Throwable e) {
+        return BulkItemResultDTO.failed(item.getT1(), idOf.apply(item.getT2()), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+    }
+
+    private String describe(Set<ConstraintViolation<D>> violations) {
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+}
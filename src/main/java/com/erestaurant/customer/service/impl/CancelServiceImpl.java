@@ -3,6 +3,7 @@ package com.erestaurant.customer.service.impl;
 import com.erestaurant.customer.domain.Cancel;
 import com.erestaurant.customer.repository.CancelRepository;
 import com.erestaurant.customer.service.CancelService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.CancelDTO;
 import com.erestaurant.customer.service.mapper.CancelMapper;
 import java.util.LinkedList;
@@ -28,36 +29,30 @@ public class CancelServiceImpl implements CancelService {
 
     private final CancelMapper cancelMapper;
 
-    public CancelServiceImpl(CancelRepository cancelRepository, CancelMapper cancelMapper) {
+    private final OutboxService outboxService;
+
+    public CancelServiceImpl(CancelRepository cancelRepository, CancelMapper cancelMapper, OutboxService outboxService) {
         this.cancelRepository = cancelRepository;
         this.cancelMapper = cancelMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<CancelDTO> save(CancelDTO cancelDTO) {
         log.debug("Request to save Cancel : {}", cancelDTO);
-        return cancelRepository.save(cancelMapper.toEntity(cancelDTO)).map(cancelMapper::toDto);
+        return cancelRepository.save(cancelMapper.toEntity(cancelDTO)).map(cancelMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CancelDTO> update(CancelDTO cancelDTO) {
         log.debug("Request to save Cancel : {}", cancelDTO);
-        return cancelRepository.save(cancelMapper.toEntity(cancelDTO).setIsPersisted()).map(cancelMapper::toDto);
+        return cancelRepository.update(cancelMapper.toEntity(cancelDTO)).map(cancelMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CancelDTO> partialUpdate(CancelDTO cancelDTO) {
         log.debug("Request to partially update Cancel : {}", cancelDTO);
-
-        return cancelRepository
-            .findById(cancelDTO.getId())
-            .map(existingCancel -> {
-                cancelMapper.partialUpdate(existingCancel, cancelDTO);
-
-                return existingCancel;
-            })
-            .flatMap(cancelRepository::save)
-            .map(cancelMapper::toDto);
+        return cancelRepository.updateNonNullFields(cancelMapper.toEntity(cancelDTO)).map(cancelMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +62,13 @@ public class CancelServiceImpl implements CancelService {
         return cancelRepository.findAll().map(cancelMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CancelDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Cancels after : {}", afterId);
+        return cancelRepository.findAllAfter(afterId, size).map(cancelMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return cancelRepository.count();
     }
@@ -81,6 +83,10 @@ public class CancelServiceImpl implements CancelService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Cancel : {}", id);
-        return cancelRepository.deleteById(id);
+        return cancelRepository.deleteById(id).then(outboxService.deleted(Cancel.class, id));
+    }
+
+    private Mono<CancelDTO> recordSaved(CancelDTO cancelDTO) {
+        return outboxService.saved(Cancel.class, cancelDTO.getId(), cancelDTO);
     }
 }
@@ -2,7 +2,9 @@ package com.erestaurant.customer.service.impl;
 
 import com.erestaurant.customer.domain.Cart;
 import com.erestaurant.customer.repository.CartRepository;
+import com.erestaurant.customer.service.CartEngineService;
 import com.erestaurant.customer.service.CartService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.CartDTO;
 import com.erestaurant.customer.service.mapper.CartMapper;
 import java.util.LinkedList;
@@ -28,36 +30,38 @@ public class CartServiceImpl implements CartService {
 
     private final CartMapper cartMapper;
 
-    public CartServiceImpl(CartRepository cartRepository, CartMapper cartMapper) {
+    private final OutboxService outboxService;
+
+    private final CartEngineService cartEngineService;
+
+    public CartServiceImpl(
+        CartRepository cartRepository,
+        CartMapper cartMapper,
+        OutboxService outboxService,
+        CartEngineService cartEngineService
+    ) {
         this.cartRepository = cartRepository;
         this.cartMapper = cartMapper;
+        this.outboxService = outboxService;
+        this.cartEngineService = cartEngineService;
     }
 
     @Override
     public Mono<CartDTO> save(CartDTO cartDTO) {
         log.debug("Request to save Cart : {}", cartDTO);
-        return cartRepository.save(cartMapper.toEntity(cartDTO)).map(cartMapper::toDto);
+        return cartRepository.save(cartMapper.toEntity(cartDTO)).map(cartMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CartDTO> update(CartDTO cartDTO) {
         log.debug("Request to save Cart : {}", cartDTO);
-        return cartRepository.save(cartMapper.toEntity(cartDTO).setIsPersisted()).map(cartMapper::toDto);
+        return cartRepository.update(cartMapper.toEntity(cartDTO)).map(cartMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CartDTO> partialUpdate(CartDTO cartDTO) {
         log.debug("Request to partially update Cart : {}", cartDTO);
-
-        return cartRepository
-            .findById(cartDTO.getId())
-            .map(existingCart -> {
-                cartMapper.partialUpdate(existingCart, cartDTO);
-
-                return existingCart;
-            })
-            .flatMap(cartRepository::save)
-            .map(cartMapper::toDto);
+        return cartRepository.updateNonNullFields(cartMapper.toEntity(cartDTO)).map(cartMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +71,13 @@ public class CartServiceImpl implements CartService {
         return cartRepository.findAll().map(cartMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CartDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Carts after : {}", afterId);
+        return cartRepository.findAllAfter(afterId, size).map(cartMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return cartRepository.count();
     }
@@ -81,6 +92,13 @@ public class CartServiceImpl implements CartService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Cart : {}", id);
-        return cartRepository.deleteById(id);
+        return Mono
+            .fromRunnable(() -> cartEngineService.evict(id))
+            .then(cartRepository.deleteById(id))
+            .then(outboxService.deleted(Cart.class, id));
+    }
+
+    private Mono<CartDTO> recordSaved(CartDTO cartDTO) {
+        return outboxService.saved(Cart.class, cartDTO.getId(), cartDTO);
     }
 }
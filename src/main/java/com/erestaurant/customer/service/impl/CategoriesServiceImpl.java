@@ -2,7 +2,9 @@ package com.erestaurant.customer.service.impl;
 
 import com.erestaurant.customer.domain.Categories;
 import com.erestaurant.customer.repository.CategoriesRepository;
+import com.erestaurant.customer.service.CatalogCacheService;
 import com.erestaurant.customer.service.CategoriesService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.CategoriesDTO;
 import com.erestaurant.customer.service.mapper.CategoriesMapper;
 import java.util.LinkedList;
@@ -28,43 +30,64 @@ public class CategoriesServiceImpl implements CategoriesService {
 
     private final CategoriesMapper categoriesMapper;
 
-    public CategoriesServiceImpl(CategoriesRepository categoriesRepository, CategoriesMapper categoriesMapper) {
+    private final OutboxService outboxService;
+
+    private final CatalogCacheService catalogCacheService;
+
+    public CategoriesServiceImpl(
+        CategoriesRepository categoriesRepository,
+        CategoriesMapper categoriesMapper,
+        CatalogCacheService catalogCacheService,
+        OutboxService outboxService
+    ) {
         this.categoriesRepository = categoriesRepository;
         this.categoriesMapper = categoriesMapper;
+        this.outboxService = outboxService;
+        this.catalogCacheService = catalogCacheService;
     }
 
     @Override
     public Mono<CategoriesDTO> save(CategoriesDTO categoriesDTO) {
         log.debug("Request to save Categories : {}", categoriesDTO);
-        return categoriesRepository.save(categoriesMapper.toEntity(categoriesDTO)).map(categoriesMapper::toDto);
+        return categoriesRepository
+            .save(categoriesMapper.toEntity(categoriesDTO))
+            .map(categoriesMapper::toDto)
+            .flatMap(this::recordSaved)
+            .flatMap(this::evict);
     }
 
     @Override
     public Mono<CategoriesDTO> update(CategoriesDTO categoriesDTO) {
         log.debug("Request to save Categories : {}", categoriesDTO);
-        return categoriesRepository.save(categoriesMapper.toEntity(categoriesDTO).setIsPersisted()).map(categoriesMapper::toDto);
+        return categoriesRepository
+            .update(categoriesMapper.toEntity(categoriesDTO))
+            .map(categoriesMapper::toDto)
+            .flatMap(this::recordSaved)
+            .flatMap(this::evict);
     }
 
     @Override
     public Mono<CategoriesDTO> partialUpdate(CategoriesDTO categoriesDTO) {
         log.debug("Request to partially update Categories : {}", categoriesDTO);
-
         return categoriesRepository
-            .findById(categoriesDTO.getId())
-            .map(existingCategories -> {
-                categoriesMapper.partialUpdate(existingCategories, categoriesDTO);
-
-                return existingCategories;
-            })
-            .flatMap(categoriesRepository::save)
-            .map(categoriesMapper::toDto);
+            .updateNonNullFields(categoriesMapper.toEntity(categoriesDTO))
+            .map(categoriesMapper::toDto)
+            .flatMap(this::recordSaved)
+            .flatMap(this::evict);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Flux<CategoriesDTO> findAll() {
         log.debug("Request to get all Categories");
-        return categoriesRepository.findAll().map(categoriesMapper::toDto);
+        return catalogCacheService.getAllCategories(() -> categoriesRepository.findAll().map(categoriesMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CategoriesDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Categories after : {}", afterId);
+        return categoriesRepository.findAllAfter(afterId, size).map(categoriesMapper::toDto);
     }
 
     public Mono<Long> countAll() {
@@ -75,12 +98,23 @@ public class CategoriesServiceImpl implements CategoriesService {
     @Transactional(readOnly = true)
     public Mono<CategoriesDTO> findOne(String id) {
         log.debug("Request to get Categories : {}", id);
-        return categoriesRepository.findById(id).map(categoriesMapper::toDto);
+        return catalogCacheService.getCategories(id, () -> categoriesRepository.findById(id).map(categoriesMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Categories : {}", id);
-        return categoriesRepository.deleteById(id);
+        return categoriesRepository
+            .deleteById(id)
+            .then(outboxService.deleted(Categories.class, id))
+            .then(catalogCacheService.evictCategories(id));
+    }
+
+    private Mono<CategoriesDTO> evict(CategoriesDTO categoriesDTO) {
+        return catalogCacheService.evictCategories(categoriesDTO.getId()).thenReturn(categoriesDTO);
+    }
+
+    private Mono<CategoriesDTO> recordSaved(CategoriesDTO categoriesDTO) {
+        return outboxService.saved(Categories.class, categoriesDTO.getId(), categoriesDTO);
     }
 }
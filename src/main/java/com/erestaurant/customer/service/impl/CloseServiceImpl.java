@@ -3,6 +3,7 @@ package com.erestaurant.customer.service.impl;
 import com.erestaurant.customer.domain.Close;
 import com.erestaurant.customer.repository.CloseRepository;
 import com.erestaurant.customer.service.CloseService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.CloseDTO;
 import com.erestaurant.customer.service.mapper.CloseMapper;
 import java.util.LinkedList;
@@ -28,36 +29,30 @@ public class CloseServiceImpl implements CloseService {
 
     private final CloseMapper closeMapper;
 
-    public CloseServiceImpl(CloseRepository closeRepository, CloseMapper closeMapper) {
+    private final OutboxService outboxService;
+
+    public CloseServiceImpl(CloseRepository closeRepository, CloseMapper closeMapper, OutboxService outboxService) {
         this.closeRepository = closeRepository;
         this.closeMapper = closeMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<CloseDTO> save(CloseDTO closeDTO) {
         log.debug("Request to save Close : {}", closeDTO);
-        return closeRepository.save(closeMapper.toEntity(closeDTO)).map(closeMapper::toDto);
+        return closeRepository.save(closeMapper.toEntity(closeDTO)).map(closeMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CloseDTO> update(CloseDTO closeDTO) {
         log.debug("Request to save Close : {}", closeDTO);
-        return closeRepository.save(closeMapper.toEntity(closeDTO).setIsPersisted()).map(closeMapper::toDto);
+        return closeRepository.update(closeMapper.toEntity(closeDTO)).map(closeMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CloseDTO> partialUpdate(CloseDTO closeDTO) {
         log.debug("Request to partially update Close : {}", closeDTO);
-
-        return closeRepository
-            .findById(closeDTO.getId())
-            .map(existingClose -> {
-                closeMapper.partialUpdate(existingClose, closeDTO);
-
-                return existingClose;
-            })
-            .flatMap(closeRepository::save)
-            .map(closeMapper::toDto);
+        return closeRepository.updateNonNullFields(closeMapper.toEntity(closeDTO)).map(closeMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +62,13 @@ public class CloseServiceImpl implements CloseService {
         return closeRepository.findAll().map(closeMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CloseDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Closes after : {}", afterId);
+        return closeRepository.findAllAfter(afterId, size).map(closeMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return closeRepository.count();
     }
@@ -81,6 +83,10 @@ public class CloseServiceImpl implements CloseService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Close : {}", id);
-        return closeRepository.deleteById(id);
+        return closeRepository.deleteById(id).then(outboxService.deleted(Close.class, id));
+    }
+
+    private Mono<CloseDTO> recordSaved(CloseDTO closeDTO) {
+        return outboxService.saved(Close.class, closeDTO.getId(), closeDTO);
     }
 }
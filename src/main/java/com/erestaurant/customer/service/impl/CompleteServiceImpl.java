@@ -3,6 +3,7 @@ package com.erestaurant.customer.service.impl;
 import com.erestaurant.customer.domain.Complete;
 import com.erestaurant.customer.repository.CompleteRepository;
 import com.erestaurant.customer.service.CompleteService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.CompleteDTO;
 import com.erestaurant.customer.service.mapper.CompleteMapper;
 import java.util.LinkedList;
@@ -28,36 +29,33 @@ public class CompleteServiceImpl implements CompleteService {
 
     private final CompleteMapper completeMapper;
 
-    public CompleteServiceImpl(CompleteRepository completeRepository, CompleteMapper completeMapper) {
+    private final OutboxService outboxService;
+
+    public CompleteServiceImpl(CompleteRepository completeRepository, CompleteMapper completeMapper, OutboxService outboxService) {
         this.completeRepository = completeRepository;
         this.completeMapper = completeMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<CompleteDTO> save(CompleteDTO completeDTO) {
         log.debug("Request to save Complete : {}", completeDTO);
-        return completeRepository.save(completeMapper.toEntity(completeDTO)).map(completeMapper::toDto);
+        return completeRepository.save(completeMapper.toEntity(completeDTO)).map(completeMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CompleteDTO> update(CompleteDTO completeDTO) {
         log.debug("Request to save Complete : {}", completeDTO);
-        return completeRepository.save(completeMapper.toEntity(completeDTO).setIsPersisted()).map(completeMapper::toDto);
+        return completeRepository.update(completeMapper.toEntity(completeDTO)).map(completeMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CompleteDTO> partialUpdate(CompleteDTO completeDTO) {
         log.debug("Request to partially update Complete : {}", completeDTO);
-
         return completeRepository
-            .findById(completeDTO.getId())
-            .map(existingComplete -> {
-                completeMapper.partialUpdate(existingComplete, completeDTO);
-
-                return existingComplete;
-            })
-            .flatMap(completeRepository::save)
-            .map(completeMapper::toDto);
+            .updateNonNullFields(completeMapper.toEntity(completeDTO))
+            .map(completeMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +65,13 @@ public class CompleteServiceImpl implements CompleteService {
         return completeRepository.findAll().map(completeMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CompleteDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Completes after : {}", afterId);
+        return completeRepository.findAllAfter(afterId, size).map(completeMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return completeRepository.count();
     }
@@ -81,6 +86,10 @@ public class CompleteServiceImpl implements CompleteService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Complete : {}", id);
-        return completeRepository.deleteById(id);
+        return completeRepository.deleteById(id).then(outboxService.deleted(Complete.class, id));
+    }
+
+    private Mono<CompleteDTO> recordSaved(CompleteDTO completeDTO) {
+        return outboxService.saved(Complete.class, completeDTO.getId(), completeDTO);
     }
 }
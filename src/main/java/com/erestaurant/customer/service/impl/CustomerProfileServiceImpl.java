@@ -2,7 +2,10 @@ package com.erestaurant.customer.service.impl;
 
 import com.erestaurant.customer.domain.CustomerProfile;
 import com.erestaurant.customer.repository.CustomerProfileRepository;
+import com.erestaurant.customer.service.CustomerProfileLocationIndex;
 import com.erestaurant.customer.service.CustomerProfileService;
+import com.erestaurant.customer.service.CustomerReferralService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.CustomerProfileDTO;
 import com.erestaurant.customer.service.mapper.CustomerProfileMapper;
 import java.util.LinkedList;
@@ -11,9 +14,13 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Service Implementation for managing {@link CustomerProfile}.
@@ -28,38 +35,54 @@ public class CustomerProfileServiceImpl implements CustomerProfileService {
 
     private final CustomerProfileMapper customerProfileMapper;
 
-    public CustomerProfileServiceImpl(CustomerProfileRepository customerProfileRepository, CustomerProfileMapper customerProfileMapper) {
+    private final OutboxService outboxService;
+
+    private final CustomerProfileLocationIndex customerProfileLocationIndex;
+
+    private final CustomerReferralService customerReferralService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    public CustomerProfileServiceImpl(
+        CustomerProfileRepository customerProfileRepository,
+        CustomerProfileMapper customerProfileMapper,
+        OutboxService outboxService,
+        CustomerProfileLocationIndex customerProfileLocationIndex,
+        CustomerReferralService customerReferralService,
+        TransactionalOperator transactionalOperator
+    ) {
         this.customerProfileRepository = customerProfileRepository;
         this.customerProfileMapper = customerProfileMapper;
+        this.outboxService = outboxService;
+        this.customerProfileLocationIndex = customerProfileLocationIndex;
+        this.customerReferralService = customerReferralService;
+        this.transactionalOperator = transactionalOperator;
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<CustomerProfileDTO> save(CustomerProfileDTO customerProfileDTO) {
         log.debug("Request to save CustomerProfile : {}", customerProfileDTO);
-        return customerProfileRepository.save(customerProfileMapper.toEntity(customerProfileDTO)).map(customerProfileMapper::toDto);
+        customerProfileDTO.setGeohash(CustomerProfileLocationIndex.geohash(customerProfileDTO.getLocation()));
+        return recordSaved(customerProfileRepository.save(customerProfileMapper.toEntity(customerProfileDTO)));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<CustomerProfileDTO> update(CustomerProfileDTO customerProfileDTO) {
         log.debug("Request to save CustomerProfile : {}", customerProfileDTO);
-        return customerProfileRepository
-            .save(customerProfileMapper.toEntity(customerProfileDTO).setIsPersisted())
-            .map(customerProfileMapper::toDto);
+        customerProfileDTO.setGeohash(CustomerProfileLocationIndex.geohash(customerProfileDTO.getLocation()));
+        return recordSaved(customerProfileRepository.update(customerProfileMapper.toEntity(customerProfileDTO)));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<CustomerProfileDTO> partialUpdate(CustomerProfileDTO customerProfileDTO) {
         log.debug("Request to partially update CustomerProfile : {}", customerProfileDTO);
-
-        return customerProfileRepository
-            .findById(customerProfileDTO.getId())
-            .map(existingCustomerProfile -> {
-                customerProfileMapper.partialUpdate(existingCustomerProfile, customerProfileDTO);
-
-                return existingCustomerProfile;
-            })
-            .flatMap(customerProfileRepository::save)
-            .map(customerProfileMapper::toDto);
+        if (customerProfileDTO.getLocation() != null) {
+            customerProfileDTO.setGeohash(CustomerProfileLocationIndex.geohash(customerProfileDTO.getLocation()));
+        }
+        return recordSaved(customerProfileRepository.updateNonNullFields(customerProfileMapper.toEntity(customerProfileDTO)));
     }
 
     @Override
@@ -69,6 +92,13 @@ public class CustomerProfileServiceImpl implements CustomerProfileService {
         return customerProfileRepository.findAll().map(customerProfileMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CustomerProfileDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of CustomerProfiles after : {}", afterId);
+        return customerProfileRepository.findAllAfter(afterId, size).map(customerProfileMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return customerProfileRepository.count();
     }
@@ -81,8 +111,38 @@ public class CustomerProfileServiceImpl implements CustomerProfileService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<Void> delete(String id) {
         log.debug("Request to delete CustomerProfile : {}", id);
-        return customerProfileRepository.deleteById(id);
+        return customerProfileRepository
+            .deleteById(id)
+            .then(outboxService.deleted(CustomerProfile.class, id))
+            .as(transactionalOperator::transactional)
+            .doOnSuccess(deleted -> {
+                customerProfileLocationIndex.remove(id);
+                customerReferralService.remove(id);
+            });
+    }
+
+    /**
+     * Save a CustomerProfile with its referrals, and record it in the outbox, in the same transaction, then in the
+     * referral graph and the location index.
+     */
+    private Mono<CustomerProfileDTO> recordSaved(Mono<CustomerProfile> write) {
+        return write
+            .map(customerProfileMapper::toDto)
+            .flatMap(customerProfileDTO ->
+                customerReferralService
+                    .saveReferrals(customerProfileDTO.getId(), customerProfileDTO.getReferals())
+                    .flatMap(referredIds ->
+                        outboxService
+                            .saved(CustomerProfile.class, customerProfileDTO.getId(), customerProfileDTO)
+                            .map(saved -> Tuples.of(referredIds, saved))
+                    )
+            )
+            .as(transactionalOperator::transactional)
+            .doOnNext(saved -> customerReferralService.setReferrals(saved.getT2().getId(), saved.getT1()))
+            .map(Tuple2::getT2)
+            .doOnNext(customerProfileLocationIndex::index);
     }
 }
@@ -2,7 +2,9 @@ package com.erestaurant.customer.service.impl;
 
 import com.erestaurant.customer.domain.Customer;
 import com.erestaurant.customer.repository.CustomerRepository;
+import com.erestaurant.customer.service.BlobStoreService;
 import com.erestaurant.customer.service.CustomerService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.CustomerDTO;
 import com.erestaurant.customer.service.mapper.CustomerMapper;
 import java.util.LinkedList;
@@ -28,36 +30,47 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerMapper customerMapper;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper) {
+    private final OutboxService outboxService;
+
+    private final BlobStoreService blobStoreService;
+
+    public CustomerServiceImpl(
+        CustomerRepository customerRepository,
+        CustomerMapper customerMapper,
+        BlobStoreService blobStoreService,
+        OutboxService outboxService
+    ) {
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
+        this.outboxService = outboxService;
+        this.blobStoreService = blobStoreService;
     }
 
     @Override
     public Mono<CustomerDTO> save(CustomerDTO customerDTO) {
         log.debug("Request to save Customer : {}", customerDTO);
-        return customerRepository.save(customerMapper.toEntity(customerDTO)).map(customerMapper::toDto);
+        return storeImage(customerDTO)
+            .flatMap(dto -> customerRepository.save(customerMapper.toEntity(dto)))
+            .map(customerMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CustomerDTO> update(CustomerDTO customerDTO) {
         log.debug("Request to save Customer : {}", customerDTO);
-        return customerRepository.save(customerMapper.toEntity(customerDTO).setIsPersisted()).map(customerMapper::toDto);
+        return storeImage(customerDTO)
+            .flatMap(dto -> customerRepository.update(customerMapper.toEntity(dto)))
+            .map(customerMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<CustomerDTO> partialUpdate(CustomerDTO customerDTO) {
         log.debug("Request to partially update Customer : {}", customerDTO);
-
-        return customerRepository
-            .findById(customerDTO.getId())
-            .map(existingCustomer -> {
-                customerMapper.partialUpdate(existingCustomer, customerDTO);
-
-                return existingCustomer;
-            })
-            .flatMap(customerRepository::save)
-            .map(customerMapper::toDto);
+        return storeImage(customerDTO)
+            .flatMap(dto -> customerRepository.updateNonNullFields(customerMapper.toEntity(dto)))
+            .map(customerMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +80,13 @@ public class CustomerServiceImpl implements CustomerService {
         return customerRepository.findAll().map(customerMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CustomerDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Customers after : {}", afterId);
+        return customerRepository.findAllAfter(afterId, size).map(customerMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return customerRepository.count();
     }
@@ -81,6 +101,23 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Customer : {}", id);
-        return customerRepository.deleteById(id);
+        return customerRepository.deleteById(id).then(outboxService.deleted(Customer.class, id));
+    }
+
+    private Mono<CustomerDTO> storeImage(CustomerDTO customerDTO) {
+        if (customerDTO.getImage() == null) {
+            return Mono.just(customerDTO);
+        }
+        return blobStoreService
+            .store(customerDTO.getImage())
+            .map(hash -> {
+                customerDTO.setImageHash(hash);
+                customerDTO.setImage(null);
+                return customerDTO;
+            });
+    }
+
+    private Mono<CustomerDTO> recordSaved(CustomerDTO customerDTO) {
+        return outboxService.saved(Customer.class, customerDTO.getId(), customerDTO);
     }
 }
@@ -0,0 +1,99 @@
+package com.erestaurant.customer.service.impl;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.service.BlobStoreService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service Implementation storing the blobs as files in a local directory, at {@code ab/cd/abcd...} for the hash {@code abcd...}.
+ * A blob is written to a temporary file and then moved to its final name, so readers never see a partial blob.
+ */
+@Service
+public class FileSystemBlobStoreService implements BlobStoreService {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Logger log = LoggerFactory.getLogger(FileSystemBlobStoreService.class);
+
+    private final Path directory;
+
+    public FileSystemBlobStoreService(ApplicationProperties applicationProperties) {
+        String configuredDirectory = applicationProperties.getBlob().getDirectory();
+        if (configuredDirectory == null || configuredDirectory.isBlank()) {
+            throw new IllegalStateException("The directory of the blob store is not set, set application.blob.directory");
+        }
+        this.directory = Paths.get(configuredDirectory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Mono<String> store(byte[] content) {
+        return Mono.fromCallable(() -> write(content)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Resource> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Mono.empty();
+        }
+        return Mono
+            .fromCallable(() -> {
+                Path path = pathOf(hash);
+                return Files.isRegularFile(path) ? (Resource) new FileSystemResource(path) : null;
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private String write(byte[] content) throws IOException {
+        String hash = hash(content);
+        Path path = pathOf(hash);
+        if (Files.exists(path)) {
+            log.debug("Blob {} is already stored", hash);
+            return hash;
+        }
+        Files.createDirectories(path.getParent());
+        Path temporaryFile = Files.createTempFile(path.getParent(), hash, ".tmp");
+        try {
+            Files.write(temporaryFile, content);
+            Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        log.debug("Stored blob {} of {} bytes", hash, content.length);
+        return hash;
+    }
+
+    private Path pathOf(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static String hash(byte[] content) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
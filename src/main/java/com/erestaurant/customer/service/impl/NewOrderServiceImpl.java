@@ -3,6 +3,7 @@ package com.erestaurant.customer.service.impl;
 import com.erestaurant.customer.domain.NewOrder;
 import com.erestaurant.customer.repository.NewOrderRepository;
 import com.erestaurant.customer.service.NewOrderService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.NewOrderDTO;
 import com.erestaurant.customer.service.mapper.NewOrderMapper;
 import java.util.LinkedList;
@@ -28,36 +29,33 @@ public class NewOrderServiceImpl implements NewOrderService {
 
     private final NewOrderMapper newOrderMapper;
 
-    public NewOrderServiceImpl(NewOrderRepository newOrderRepository, NewOrderMapper newOrderMapper) {
+    private final OutboxService outboxService;
+
+    public NewOrderServiceImpl(NewOrderRepository newOrderRepository, NewOrderMapper newOrderMapper, OutboxService outboxService) {
         this.newOrderRepository = newOrderRepository;
         this.newOrderMapper = newOrderMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<NewOrderDTO> save(NewOrderDTO newOrderDTO) {
         log.debug("Request to save NewOrder : {}", newOrderDTO);
-        return newOrderRepository.save(newOrderMapper.toEntity(newOrderDTO)).map(newOrderMapper::toDto);
+        return newOrderRepository.save(newOrderMapper.toEntity(newOrderDTO)).map(newOrderMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<NewOrderDTO> update(NewOrderDTO newOrderDTO) {
         log.debug("Request to save NewOrder : {}", newOrderDTO);
-        return newOrderRepository.save(newOrderMapper.toEntity(newOrderDTO).setIsPersisted()).map(newOrderMapper::toDto);
+        return newOrderRepository.update(newOrderMapper.toEntity(newOrderDTO)).map(newOrderMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<NewOrderDTO> partialUpdate(NewOrderDTO newOrderDTO) {
         log.debug("Request to partially update NewOrder : {}", newOrderDTO);
-
         return newOrderRepository
-            .findById(newOrderDTO.getId())
-            .map(existingNewOrder -> {
-                newOrderMapper.partialUpdate(existingNewOrder, newOrderDTO);
-
-                return existingNewOrder;
-            })
-            .flatMap(newOrderRepository::save)
-            .map(newOrderMapper::toDto);
+            .updateNonNullFields(newOrderMapper.toEntity(newOrderDTO))
+            .map(newOrderMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +65,13 @@ public class NewOrderServiceImpl implements NewOrderService {
         return newOrderRepository.findAll().map(newOrderMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<NewOrderDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of NewOrders after : {}", afterId);
+        return newOrderRepository.findAllAfter(afterId, size).map(newOrderMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return newOrderRepository.count();
     }
@@ -81,6 +86,10 @@ public class NewOrderServiceImpl implements NewOrderService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete NewOrder : {}", id);
-        return newOrderRepository.deleteById(id);
+        return newOrderRepository.deleteById(id).then(outboxService.deleted(NewOrder.class, id));
+    }
+
+    private Mono<NewOrderDTO> recordSaved(NewOrderDTO newOrderDTO) {
+        return outboxService.saved(NewOrder.class, newOrderDTO.getId(), newOrderDTO);
     }
 }
@@ -3,6 +3,7 @@ package com.erestaurant.customer.service.impl;
 import com.erestaurant.customer.domain.OnHold;
 import com.erestaurant.customer.repository.OnHoldRepository;
 import com.erestaurant.customer.service.OnHoldService;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.dto.OnHoldDTO;
 import com.erestaurant.customer.service.mapper.OnHoldMapper;
 import java.util.LinkedList;
@@ -28,36 +29,30 @@ public class OnHoldServiceImpl implements OnHoldService {
 
     private final OnHoldMapper onHoldMapper;
 
-    public OnHoldServiceImpl(OnHoldRepository onHoldRepository, OnHoldMapper onHoldMapper) {
+    private final OutboxService outboxService;
+
+    public OnHoldServiceImpl(OnHoldRepository onHoldRepository, OnHoldMapper onHoldMapper, OutboxService outboxService) {
         this.onHoldRepository = onHoldRepository;
         this.onHoldMapper = onHoldMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<OnHoldDTO> save(OnHoldDTO onHoldDTO) {
         log.debug("Request to save OnHold : {}", onHoldDTO);
-        return onHoldRepository.save(onHoldMapper.toEntity(onHoldDTO)).map(onHoldMapper::toDto);
+        return onHoldRepository.save(onHoldMapper.toEntity(onHoldDTO)).map(onHoldMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<OnHoldDTO> update(OnHoldDTO onHoldDTO) {
         log.debug("Request to save OnHold : {}", onHoldDTO);
-        return onHoldRepository.save(onHoldMapper.toEntity(onHoldDTO).setIsPersisted()).map(onHoldMapper::toDto);
+        return onHoldRepository.update(onHoldMapper.toEntity(onHoldDTO)).map(onHoldMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<OnHoldDTO> partialUpdate(OnHoldDTO onHoldDTO) {
         log.debug("Request to partially update OnHold : {}", onHoldDTO);
-
-        return onHoldRepository
-            .findById(onHoldDTO.getId())
-            .map(existingOnHold -> {
-                onHoldMapper.partialUpdate(existingOnHold, onHoldDTO);
-
-                return existingOnHold;
-            })
-            .flatMap(onHoldRepository::save)
-            .map(onHoldMapper::toDto);
+        return onHoldRepository.updateNonNullFields(onHoldMapper.toEntity(onHoldDTO)).map(onHoldMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +62,13 @@ public class OnHoldServiceImpl implements OnHoldService {
         return onHoldRepository.findAll().map(onHoldMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OnHoldDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of OnHolds after : {}", afterId);
+        return onHoldRepository.findAllAfter(afterId, size).map(onHoldMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return onHoldRepository.count();
     }
@@ -81,6 +83,10 @@ public class OnHoldServiceImpl implements OnHoldService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete OnHold : {}", id);
-        return onHoldRepository.deleteById(id);
+        return onHoldRepository.deleteById(id).then(outboxService.deleted(OnHold.class, id));
+    }
+
+    private Mono<OnHoldDTO> recordSaved(OnHoldDTO onHoldDTO) {
+        return outboxService.saved(OnHold.class, onHoldDTO.getId(), onHoldDTO);
     }
 }
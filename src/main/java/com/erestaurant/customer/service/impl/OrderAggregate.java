@@ -0,0 +1,104 @@
+package com.erestaurant.customer.service.impl;
+
+import com.erestaurant.customer.domain.OrderEvent;
+import com.erestaurant.customer.domain.OrderSnapshot;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.time.Instant;
+
+/**
+ * The state of an order rebuilt from its history: its latest snapshot, if any, and the events after it.
+ */
+final class OrderAggregate {
+
+    private final String orderId;
+
+    private int version;
+
+    private boolean exists;
+
+    private String description;
+
+    private Float rating;
+
+    private OrderState state;
+
+    private int eventsSinceSnapshot;
+
+    OrderAggregate(String orderId) {
+        this.orderId = orderId;
+    }
+
+    static OrderAggregate of(OrderSnapshot snapshot) {
+        OrderAggregate aggregate = new OrderAggregate(snapshot.getOrderId());
+        aggregate.version = snapshot.getVersion();
+        aggregate.exists = !Boolean.TRUE.equals(snapshot.getDeleted());
+        aggregate.description = snapshot.getDescription();
+        aggregate.rating = snapshot.getRating();
+        aggregate.state = snapshot.getState();
+        return aggregate;
+    }
+
+    void apply(OrderEvent event) {
+        switch (event.getEventType()) {
+            case CREATED:
+                exists = true;
+                description = event.getDescription();
+                rating = event.getRating();
+                state = event.getToState();
+                break;
+            case UPDATED:
+                description = event.getDescription();
+                rating = event.getRating();
+                break;
+            case TRANSITIONED:
+                state = event.getToState();
+                break;
+            case DELETED:
+                exists = false;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event type " + event.getEventType());
+        }
+        version = event.getVersion();
+        eventsSinceSnapshot++;
+    }
+
+    /**
+     * @return the snapshot of the current state, from which the events are counted again.
+     */
+    OrderSnapshot toSnapshot(Instant createdDate) {
+        eventsSinceSnapshot = 0;
+        return new OrderSnapshot()
+            .orderId(orderId)
+            .version(version)
+            .description(description)
+            .rating(rating)
+            .state(state)
+            .deleted(!exists)
+            .createdDate(createdDate);
+    }
+
+    String getOrderId() {
+        return orderId;
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    boolean exists() {
+        return exists;
+    }
+
+    Float getRating() {
+        return rating;
+    }
+
+    OrderState getState() {
+        return state;
+    }
+
+    int getEventsSinceSnapshot() {
+        return eventsSinceSnapshot;
+    }
+}
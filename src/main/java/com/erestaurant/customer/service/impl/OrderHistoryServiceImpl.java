@@ -0,0 +1,205 @@
+package com.erestaurant.customer.service.impl;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.OrderEvent;
+import com.erestaurant.customer.domain.OrderSnapshot;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import com.erestaurant.customer.repository.OrderEventRepository;
+import com.erestaurant.customer.repository.OrderSnapshotRepository;
+import com.erestaurant.customer.service.OrderHistoryService;
+import com.erestaurant.customer.service.dto.OrderDTO;
+import com.erestaurant.customer.service.dto.OrderEventDTO;
+import com.erestaurant.customer.service.dto.OrderSnapshotDTO;
+import com.erestaurant.customer.service.mapper.OrderEventMapper;
+import com.erestaurant.customer.service.mapper.OrderSnapshotMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for managing the history of {@link com.erestaurant.customer.domain.Order}.
+ * <p>
+ * The events are deltas carrying the previous value of what they change, so the projections apply each of them in
+ * constant time. Every {@code application.order-history.snapshot-interval} events of an order, its state is saved in a
+ * snapshot, so rebuilding the state of an order at any version reads one snapshot and less than an interval of events.
+ */
+@Service
+@Transactional
+public class OrderHistoryServiceImpl implements OrderHistoryService {
+
+    private final Logger log = LoggerFactory.getLogger(OrderHistoryServiceImpl.class);
+
+    private final OrderEventRepository orderEventRepository;
+
+    private final OrderSnapshotRepository orderSnapshotRepository;
+
+    private final OrderEventMapper orderEventMapper;
+
+    private final OrderSnapshotMapper orderSnapshotMapper;
+
+    private final int snapshotInterval;
+
+    public OrderHistoryServiceImpl(
+        OrderEventRepository orderEventRepository,
+        OrderSnapshotRepository orderSnapshotRepository,
+        OrderEventMapper orderEventMapper,
+        OrderSnapshotMapper orderSnapshotMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderSnapshotRepository = orderSnapshotRepository;
+        this.orderEventMapper = orderEventMapper;
+        this.orderSnapshotMapper = orderSnapshotMapper;
+        this.snapshotInterval = applicationProperties.getOrderHistory().getSnapshotInterval();
+    }
+
+    @Override
+    public Mono<Void> recordSaved(List<OrderDTO> orderDTOs) {
+        Map<String, OrderDTO> byId = new LinkedHashMap<>();
+        orderDTOs.forEach(orderDTO -> byId.put(orderDTO.getId(), orderDTO));
+        return append(
+            byId.keySet(),
+            (orderId, aggregate) -> {
+                OrderDTO orderDTO = byId.get(orderId);
+                OrderEvent event = new OrderEvent().description(orderDTO.getDescription()).rating(orderDTO.getRating());
+                if (aggregate.exists()) {
+                    return event.eventType(OrderEvent.EventType.UPDATED).previousRating(aggregate.getRating());
+                }
+                return event.eventType(OrderEvent.EventType.CREATED).toState(OrderState.NEW_ORDER);
+            }
+        );
+    }
+
+    @Override
+    public Mono<Void> recordTransition(String orderId, OrderState fromState, OrderState toState) {
+        return append(
+            Set.of(orderId),
+            (id, aggregate) -> new OrderEvent().eventType(OrderEvent.EventType.TRANSITIONED).fromState(fromState).toState(toState)
+        );
+    }
+
+    @Override
+    public Mono<Void> recordDeleted(String orderId) {
+        return append(
+            Set.of(orderId),
+            (id, aggregate) -> {
+                if (!aggregate.exists()) {
+                    return null;
+                }
+                return new OrderEvent()
+                    .eventType(OrderEvent.EventType.DELETED)
+                    .previousRating(aggregate.getRating())
+                    .fromState(aggregate.getState());
+            }
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OrderEventDTO> findEvents(String orderId) {
+        log.debug("Request to get the history of Order : {}", orderId);
+        return orderEventRepository.findAllByOrderIdOrderByVersionAsc(orderId).map(orderEventMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<OrderSnapshotDTO> findState(String orderId, Integer version) {
+        log.debug("Request to get the state of Order : {} at version {}", orderId, version);
+        Mono<OrderAggregate> aggregate;
+        if (version == null) {
+            aggregate = loadAggregates(Set.of(orderId)).map(aggregates -> aggregates.get(orderId));
+        } else {
+            aggregate =
+                orderSnapshotRepository
+                    .findLatestAtVersion(orderId, version)
+                    .map(OrderAggregate::of)
+                    .defaultIfEmpty(new OrderAggregate(orderId))
+                    .flatMap(from ->
+                        orderEventRepository
+                            .findAllBetweenVersions(orderId, from.getVersion(), version)
+                            .reduce(from, (state, event) -> {
+                                state.apply(event);
+                                return state;
+                            })
+                    );
+        }
+        return aggregate
+            .filter(state -> state.getVersion() > 0)
+            .map(state -> state.toSnapshot(null))
+            .map(orderSnapshotMapper::toDto);
+    }
+
+    /**
+     * Append an event to each order, after its latest version, and the snapshots of the orders which reached the
+     * snapshot interval.
+     * <p>
+     * The next version is read before it is written, so an append racing with another one of the same order breaks the
+     * unique version of the order: it fails with an {@link OptimisticLockingFailureException}, a 409 Conflict for the
+     * client, rather than being retried, as the failed insert aborted the transaction of the caller.
+     *
+     * @param orderIds the ids of the orders.
+     * @param eventOf the event of an order given its current state, or null to append none.
+     */
+    private Mono<Void> append(Collection<String> orderIds, BiFunction<String, OrderAggregate, OrderEvent> eventOf) {
+        return loadAggregates(orderIds)
+            .flatMap(aggregates -> {
+                Instant now = Instant.now();
+                List<OrderEvent> events = new ArrayList<>(orderIds.size());
+                List<OrderSnapshot> snapshots = new ArrayList<>();
+                for (String orderId : orderIds) {
+                    OrderAggregate aggregate = aggregates.get(orderId);
+                    OrderEvent event = eventOf.apply(orderId, aggregate);
+                    if (event == null) {
+                        continue;
+                    }
+                    event.orderId(orderId).version(aggregate.getVersion() + 1).createdDate(now);
+                    aggregate.apply(event);
+                    events.add(event);
+                    if (aggregate.getEventsSinceSnapshot() >= snapshotInterval) {
+                        snapshots.add(aggregate.toSnapshot(now));
+                    }
+                }
+                return orderEventRepository.saveAll(events).thenMany(orderSnapshotRepository.saveAll(snapshots)).then();
+            })
+            .onErrorMap(
+                DataIntegrityViolationException.class,
+                e -> new OptimisticLockingFailureException("The history of the orders " + orderIds + " was changed concurrently", e)
+            );
+    }
+
+    /**
+     * Rebuild the current state of orders from their latest snapshot and the events after it, in two queries whatever
+     * the number of orders.
+     *
+     * @return the state of each order, at version 0 if it has no history.
+     */
+    private Mono<Map<String, OrderAggregate>> loadAggregates(Collection<String> orderIds) {
+        return Mono.defer(() -> {
+            Map<String, OrderAggregate> aggregates = new HashMap<>();
+            orderIds.forEach(orderId -> aggregates.put(orderId, new OrderAggregate(orderId)));
+            if (orderIds.isEmpty()) {
+                return Mono.just(aggregates);
+            }
+            return orderSnapshotRepository
+                .findAllLatest(orderIds)
+                .doOnNext(snapshot -> aggregates.put(snapshot.getOrderId(), OrderAggregate.of(snapshot)))
+                .thenMany(orderEventRepository.findAllAfterLatestSnapshot(orderIds))
+                .doOnNext(event -> aggregates.get(event.getOrderId()).apply(event))
+                .then(Mono.just(aggregates));
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.erestaurant.customer.service.impl;
+
+import com.erestaurant.customer.domain.OrderTransition;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import com.erestaurant.customer.repository.OrderRepository;
+import com.erestaurant.customer.repository.OrderTransitionRepository;
+import com.erestaurant.customer.service.InvalidOrderTransitionException;
+import com.erestaurant.customer.service.OrderHistoryService;
+import com.erestaurant.customer.service.OrderLifecycleService;
+import com.erestaurant.customer.service.OutboxService;
+import com.erestaurant.customer.service.dto.OrderStateDTO;
+import com.erestaurant.customer.service.dto.OrderTransitionDTO;
+import com.erestaurant.customer.service.mapper.OrderTransitionMapper;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for managing the lifecycle of {@link com.erestaurant.customer.domain.Order}.
+ * <p>
+ * The current state of each order is kept in its row, so reading it is a primary key lookup, and each change of state
+ * is recorded in the transitions and the history of the order, in the same transaction.
+ */
+@Service
+@Transactional
+public class OrderLifecycleServiceImpl implements OrderLifecycleService {
+
+    private final Logger log = LoggerFactory.getLogger(OrderLifecycleServiceImpl.class);
+
+    private final OrderRepository orderRepository;
+
+    private final OrderTransitionRepository orderTransitionRepository;
+
+    private final OrderTransitionMapper orderTransitionMapper;
+
+    private final OutboxService outboxService;
+
+    private final OrderHistoryService orderHistoryService;
+
+    public OrderLifecycleServiceImpl(
+        OrderRepository orderRepository,
+        OrderTransitionRepository orderTransitionRepository,
+        OrderTransitionMapper orderTransitionMapper,
+        OutboxService outboxService,
+        OrderHistoryService orderHistoryService
+    ) {
+        this.orderRepository = orderRepository;
+        this.orderTransitionRepository = orderTransitionRepository;
+        this.orderTransitionMapper = orderTransitionMapper;
+        this.outboxService = outboxService;
+        this.orderHistoryService = orderHistoryService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<OrderStateDTO> findState(String orderId) {
+        log.debug("Request to get the state of Order : {}", orderId);
+        return orderRepository.findCurrentState(orderId).map(state -> new OrderStateDTO(orderId, state));
+    }
+
+    @Override
+    public Mono<OrderTransitionDTO> transition(String orderId, OrderState toState) {
+        log.debug("Request to move Order : {} to {}", orderId, toState);
+        return orderRepository
+            .lockCurrentState(orderId)
+            .flatMap(fromState -> {
+                if (!OrderTransitions.isAllowed(fromState, toState)) {
+                    return Mono.error(new InvalidOrderTransitionException(orderId, fromState, toState));
+                }
+                OrderTransition transition = new OrderTransition()
+                    .orderId(orderId)
+                    .fromState(fromState)
+                    .toState(toState)
+                    .createdDate(Instant.now());
+                return orderRepository
+                    .updateCurrentState(orderId, toState)
+                    .then(orderHistoryService.recordTransition(orderId, fromState, toState))
+                    .then(orderTransitionRepository.save(transition));
+            })
+            .map(orderTransitionMapper::toDto)
+            .flatMap(transitionDTO -> outboxService.saved(OrderTransition.class, orderId, transitionDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OrderTransitionDTO> findTransitions(String orderId) {
+        log.debug("Request to get the transitions of Order : {}", orderId);
+        return orderTransitionRepository.findAllByOrderIdOrderByIdAsc(orderId).map(orderTransitionMapper::toDto);
+    }
+}
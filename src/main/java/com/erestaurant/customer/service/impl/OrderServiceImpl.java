@@ -1,17 +1,24 @@
 package com.erestaurant.customer.service.impl;
 
+import com.erestaurant.customer.config.ApplicationProperties;
 import com.erestaurant.customer.domain.Order;
 import com.erestaurant.customer.repository.OrderRepository;
+import com.erestaurant.customer.service.OrderHistoryService;
 import com.erestaurant.customer.service.OrderService;
+import com.erestaurant.customer.service.OutboxService;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import com.erestaurant.customer.service.dto.OrderDTO;
 import com.erestaurant.customer.service.mapper.OrderMapper;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -28,36 +35,62 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderMapper orderMapper;
 
-    public OrderServiceImpl(OrderRepository orderRepository, OrderMapper orderMapper) {
+    private final OutboxService outboxService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final OrderHistoryService orderHistoryService;
+
+    private final BulkWriter<OrderDTO, Order> bulkWriter;
+
+    public OrderServiceImpl(
+        OrderRepository orderRepository,
+        OrderMapper orderMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        OutboxService outboxService,
+        TransactionalOperator transactionalOperator,
+        OrderHistoryService orderHistoryService
+    ) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
+        this.outboxService = outboxService;
+        this.transactionalOperator = transactionalOperator;
+        this.orderHistoryService = orderHistoryService;
+        this.bulkWriter =
+            new BulkWriter<>(
+                validator,
+                OrderDTO::getId,
+                orderMapper::toEntity,
+                this::upsertAll,
+                applicationProperties.getBulk().getBatchSize(),
+                applicationProperties.getBulk().getFlushTimeout()
+            );
     }
 
     @Override
     public Mono<OrderDTO> save(OrderDTO orderDTO) {
         log.debug("Request to save Order : {}", orderDTO);
-        return orderRepository.save(orderMapper.toEntity(orderDTO)).map(orderMapper::toDto);
+        return orderRepository.save(orderMapper.toEntity(orderDTO)).map(orderMapper::toDto).flatMap(this::recordSaved);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultDTO> saveAll(Flux<OrderDTO> orderDTOs) {
+        log.debug("Request to save a stream of Orders");
+        return bulkWriter.write(orderDTOs);
     }
 
     @Override
     public Mono<OrderDTO> update(OrderDTO orderDTO) {
         log.debug("Request to save Order : {}", orderDTO);
-        return orderRepository.save(orderMapper.toEntity(orderDTO).setIsPersisted()).map(orderMapper::toDto);
+        return orderRepository.update(orderMapper.toEntity(orderDTO)).map(orderMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<OrderDTO> partialUpdate(OrderDTO orderDTO) {
         log.debug("Request to partially update Order : {}", orderDTO);
-
-        return orderRepository
-            .findById(orderDTO.getId())
-            .map(existingOrder -> {
-                orderMapper.partialUpdate(existingOrder, orderDTO);
-
-                return existingOrder;
-            })
-            .flatMap(orderRepository::save)
-            .map(orderMapper::toDto);
+        return orderRepository.updateNonNullFields(orderMapper.toEntity(orderDTO)).map(orderMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +100,13 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findAll().map(orderMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OrderDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Orders after : {}", afterId);
+        return orderRepository.findAllAfter(afterId, size).map(orderMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return orderRepository.count();
     }
@@ -81,6 +121,26 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Order : {}", id);
-        return orderRepository.deleteById(id);
+        return orderRepository.deleteById(id).then(orderHistoryService.recordDeleted(id)).then(outboxService.deleted(Order.class, id));
+    }
+
+    /**
+     * Upsert a batch of Orders, and record them in their history and the outbox, in the same transaction.
+     */
+    private Mono<Integer> upsertAll(List<Order> orders) {
+        List<OrderDTO> orderDTOs = orderMapper.toDto(orders);
+        return orderRepository
+            .upsertAll(orders)
+            .flatMap(count ->
+                orderHistoryService
+                    .recordSaved(orderDTOs)
+                    .then(outboxService.savedAll(Order.class, orderDTOs, OrderDTO::getId))
+                    .thenReturn(count)
+            )
+            .as(transactionalOperator::transactional);
+    }
+
+    private Mono<OrderDTO> recordSaved(OrderDTO orderDTO) {
+        return orderHistoryService.recordSaved(List.of(orderDTO)).then(outboxService.saved(Order.class, orderDTO.getId(), orderDTO));
     }
 }
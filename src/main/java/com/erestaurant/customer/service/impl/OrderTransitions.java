@@ -0,0 +1,58 @@
+package com.erestaurant.customer.service.impl;
+
+import static com.erestaurant.customer.domain.enumeration.OrderState.CANCEL;
+import static com.erestaurant.customer.domain.enumeration.OrderState.CLOSE;
+import static com.erestaurant.customer.domain.enumeration.OrderState.COMPLETE;
+import static com.erestaurant.customer.domain.enumeration.OrderState.NEW_ORDER;
+import static com.erestaurant.customer.domain.enumeration.OrderState.ON_HOLD;
+import static com.erestaurant.customer.domain.enumeration.OrderState.REFUNDED;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The transitions allowed between the states of an order, compiled into a matrix indexed by the ordinals of the states,
+ * so that validating a transition is a single array lookup.
+ */
+final class OrderTransitions {
+
+    private static final boolean[][] ALLOWED = compile(
+        Map.of(
+            NEW_ORDER,
+            EnumSet.of(ON_HOLD, COMPLETE, CANCEL),
+            ON_HOLD,
+            EnumSet.of(NEW_ORDER, COMPLETE, CANCEL),
+            COMPLETE,
+            EnumSet.of(REFUNDED, CLOSE),
+            CANCEL,
+            EnumSet.of(REFUNDED, CLOSE),
+            REFUNDED,
+            EnumSet.of(CLOSE),
+            CLOSE,
+            EnumSet.noneOf(OrderState.class)
+        )
+    );
+
+    private OrderTransitions() {}
+
+    private static boolean[][] compile(Map<OrderState, Set<OrderState>> transitions) {
+        OrderState[] states = OrderState.values();
+        boolean[][] allowed = new boolean[states.length][states.length];
+        for (OrderState from : states) {
+            Set<OrderState> targets = transitions.get(from);
+            if (targets == null) {
+                throw new IllegalStateException("No transitions defined from " + from);
+            }
+            for (OrderState to : targets) {
+                allowed[from.ordinal()][to.ordinal()] = true;
+            }
+        }
+        return allowed;
+    }
+
+    static boolean isAllowed(OrderState from, OrderState to) {
+        return ALLOWED[from.ordinal()][to.ordinal()];
+    }
+}
@@ -2,6 +2,7 @@ package com.erestaurant.customer.service.impl;
 
 import com.erestaurant.customer.domain.Payment;
 import com.erestaurant.customer.repository.PaymentRepository;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.PaymentService;
 import com.erestaurant.customer.service.dto.PaymentDTO;
 import com.erestaurant.customer.service.mapper.PaymentMapper;
@@ -28,36 +29,33 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentMapper paymentMapper;
 
-    public PaymentServiceImpl(PaymentRepository paymentRepository, PaymentMapper paymentMapper) {
+    private final OutboxService outboxService;
+
+    public PaymentServiceImpl(PaymentRepository paymentRepository, PaymentMapper paymentMapper, OutboxService outboxService) {
         this.paymentRepository = paymentRepository;
         this.paymentMapper = paymentMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<PaymentDTO> save(PaymentDTO paymentDTO) {
         log.debug("Request to save Payment : {}", paymentDTO);
-        return paymentRepository.save(paymentMapper.toEntity(paymentDTO)).map(paymentMapper::toDto);
+        return paymentRepository.save(paymentMapper.toEntity(paymentDTO)).map(paymentMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<PaymentDTO> update(PaymentDTO paymentDTO) {
         log.debug("Request to save Payment : {}", paymentDTO);
-        return paymentRepository.save(paymentMapper.toEntity(paymentDTO).setIsPersisted()).map(paymentMapper::toDto);
+        return paymentRepository.update(paymentMapper.toEntity(paymentDTO)).map(paymentMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<PaymentDTO> partialUpdate(PaymentDTO paymentDTO) {
         log.debug("Request to partially update Payment : {}", paymentDTO);
-
         return paymentRepository
-            .findById(paymentDTO.getId())
-            .map(existingPayment -> {
-                paymentMapper.partialUpdate(existingPayment, paymentDTO);
-
-                return existingPayment;
-            })
-            .flatMap(paymentRepository::save)
-            .map(paymentMapper::toDto);
+            .updateNonNullFields(paymentMapper.toEntity(paymentDTO))
+            .map(paymentMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +65,13 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.findAll().map(paymentMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<PaymentDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Payments after : {}", afterId);
+        return paymentRepository.findAllAfter(afterId, size).map(paymentMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return paymentRepository.count();
     }
@@ -81,6 +86,10 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Payment : {}", id);
-        return paymentRepository.deleteById(id);
+        return paymentRepository.deleteById(id).then(outboxService.deleted(Payment.class, id));
+    }
+
+    private Mono<PaymentDTO> recordSaved(PaymentDTO paymentDTO) {
+        return outboxService.saved(Payment.class, paymentDTO.getId(), paymentDTO);
     }
 }
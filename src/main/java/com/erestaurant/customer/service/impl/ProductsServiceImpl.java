@@ -1,17 +1,28 @@
 package com.erestaurant.customer.service.impl;
 
+import com.erestaurant.customer.config.ApplicationProperties;
 import com.erestaurant.customer.domain.Products;
 import com.erestaurant.customer.repository.ProductsRepository;
+import com.erestaurant.customer.repository.Projection;
+import com.erestaurant.customer.service.BlobStoreService;
+import com.erestaurant.customer.service.CatalogCacheService;
+import com.erestaurant.customer.service.OutboxService;
+import com.erestaurant.customer.service.ProductsSearchService;
 import com.erestaurant.customer.service.ProductsService;
+import com.erestaurant.customer.service.TypeaheadService;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import com.erestaurant.customer.service.dto.ProductsDTO;
 import com.erestaurant.customer.service.mapper.ProductsMapper;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -28,43 +39,111 @@ public class ProductsServiceImpl implements ProductsService {
 
     private final ProductsMapper productsMapper;
 
-    public ProductsServiceImpl(ProductsRepository productsRepository, ProductsMapper productsMapper) {
+    private final OutboxService outboxService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final BlobStoreService blobStoreService;
+
+    private final CatalogCacheService catalogCacheService;
+
+    private final ProductsSearchService productsSearchService;
+
+    private final TypeaheadService typeaheadService;
+
+    private final BulkWriter<ProductsDTO, Products> bulkWriter;
+
+    public ProductsServiceImpl(
+        ProductsRepository productsRepository,
+        ProductsMapper productsMapper,
+        BlobStoreService blobStoreService,
+        CatalogCacheService catalogCacheService,
+        ProductsSearchService productsSearchService,
+        TypeaheadService typeaheadService,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        OutboxService outboxService,
+        TransactionalOperator transactionalOperator
+    ) {
         this.productsRepository = productsRepository;
         this.productsMapper = productsMapper;
+        this.outboxService = outboxService;
+        this.transactionalOperator = transactionalOperator;
+        this.blobStoreService = blobStoreService;
+        this.catalogCacheService = catalogCacheService;
+        this.productsSearchService = productsSearchService;
+        this.typeaheadService = typeaheadService;
+        this.bulkWriter =
+            new BulkWriter<>(
+                validator,
+                ProductsDTO::getId,
+                productsMapper::toEntity,
+                this::upsertAll,
+                applicationProperties.getBulk().getBatchSize(),
+                applicationProperties.getBulk().getFlushTimeout()
+            );
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<ProductsDTO> save(ProductsDTO productsDTO) {
         log.debug("Request to save Products : {}", productsDTO);
-        return productsRepository.save(productsMapper.toEntity(productsDTO)).map(productsMapper::toDto);
+        return storeImage(productsDTO).flatMap(dto -> recordSaved(productsRepository.save(productsMapper.toEntity(dto))));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultDTO> saveAll(Flux<ProductsDTO> productsDTOs) {
+        log.debug("Request to save a stream of Products");
+        return catalogCacheService
+            .evictProducts(null)
+            .thenMany(bulkWriter.write(productsDTOs.concatMap(this::storeImage)))
+            .concatWith(catalogCacheService.evictProducts(null).then(Mono.empty()));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<ProductsDTO> update(ProductsDTO productsDTO) {
         log.debug("Request to save Products : {}", productsDTO);
-        return productsRepository.save(productsMapper.toEntity(productsDTO).setIsPersisted()).map(productsMapper::toDto);
+        return storeImage(productsDTO)
+            .flatMap(dto -> recordSaved(productsRepository.update(productsMapper.toEntity(dto))));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<ProductsDTO> partialUpdate(ProductsDTO productsDTO) {
         log.debug("Request to partially update Products : {}", productsDTO);
+        return storeImage(productsDTO)
+            .flatMap(dto -> recordSaved(productsRepository.updateNonNullFields(productsMapper.toEntity(dto))));
+    }
 
-        return productsRepository
-            .findById(productsDTO.getId())
-            .map(existingProducts -> {
-                productsMapper.partialUpdate(existingProducts, productsDTO);
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ProductsDTO> findAll() {
+        return findAll(Projection.ALL);
+    }
 
-                return existingProducts;
-            })
-            .flatMap(productsRepository::save)
-            .map(productsMapper::toDto);
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ProductsDTO> findAll(Projection projection) {
+        log.debug("Request to get all Products : {}", projection);
+        if (projection.isAll()) {
+            return catalogCacheService.getAllProducts(() -> productsRepository.findAll().map(productsMapper::toDto));
+        }
+        return productsRepository.findAllBy(null, projection).map(productsMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<ProductsDTO> findAll() {
-        log.debug("Request to get all Products");
-        return productsRepository.findAll().map(productsMapper::toDto);
+    public Flux<ProductsDTO> findAllAfter(String afterId, int size) {
+        return findAllAfter(afterId, size, Projection.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ProductsDTO> findAllAfter(String afterId, int size, Projection projection) {
+        log.debug("Request to get a page of Products after : {}, {}", afterId, projection);
+        return productsRepository.findAllAfter(afterId, size, projection).map(productsMapper::toDto);
     }
 
     public Mono<Long> countAll() {
@@ -75,12 +154,68 @@ public class ProductsServiceImpl implements ProductsService {
     @Transactional(readOnly = true)
     public Mono<ProductsDTO> findOne(String id) {
         log.debug("Request to get Products : {}", id);
-        return productsRepository.findById(id).map(productsMapper::toDto);
+        return catalogCacheService.getProducts(id, () -> productsRepository.findById(id).map(productsMapper::toDto));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Products : {}", id);
-        return productsRepository.deleteById(id);
+        return productsRepository
+            .deleteById(id)
+            .then(outboxService.deleted(Products.class, id))
+            .as(transactionalOperator::transactional)
+            .doOnSuccess(deleted -> {
+                typeaheadService.replaceProductName(id, null);
+                productsSearchService.remove(id);
+            })
+            .then(catalogCacheService.evictProducts(id));
+    }
+
+    private Mono<ProductsDTO> evict(ProductsDTO productsDTO) {
+        return catalogCacheService.evictProducts(productsDTO.getId()).thenReturn(productsDTO);
+    }
+
+    private Mono<ProductsDTO> storeImage(ProductsDTO productsDTO) {
+        if (productsDTO.getImage() == null) {
+            return Mono.just(productsDTO);
+        }
+        return blobStoreService
+            .store(productsDTO.getImage())
+            .map(hash -> {
+                productsDTO.setImageHash(hash);
+                productsDTO.setImage(null);
+                return productsDTO;
+            });
+    }
+
+    /**
+     * Upsert a batch of Products, and record them in the outbox, in the same transaction, then in the typeahead and the
+     * search index.
+     */
+    private Mono<Integer> upsertAll(List<Products> batch) {
+        return productsRepository
+            .upsertAll(batch)
+            .flatMap(count -> outboxService.savedAll(Products.class, productsMapper.toDto(batch), ProductsDTO::getId).thenReturn(count))
+            .as(transactionalOperator::transactional)
+            .doOnNext(count -> {
+                batch.forEach(products -> typeaheadService.replaceProductName(products.getId(), products.getName()));
+                productsSearchService.indexAll(batch);
+            });
+    }
+
+    /**
+     * Write a Products, and record it in the outbox, in the same transaction, then in the typeahead and the search index.
+     */
+    private Mono<ProductsDTO> recordSaved(Mono<Products> write) {
+        return write
+            .map(productsMapper::toDto)
+            .flatMap(productsDTO -> outboxService.saved(Products.class, productsDTO.getId(), productsDTO))
+            .as(transactionalOperator::transactional)
+            .doOnNext(productsDTO -> {
+                typeaheadService.replaceProductName(productsDTO.getId(), productsDTO.getName());
+                productsSearchService.index(productsDTO);
+            })
+            .flatMap(this::evict);
     }
 }
@@ -2,6 +2,7 @@ package com.erestaurant.customer.service.impl;
 
 import com.erestaurant.customer.domain.Refunded;
 import com.erestaurant.customer.repository.RefundedRepository;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.RefundedService;
 import com.erestaurant.customer.service.dto.RefundedDTO;
 import com.erestaurant.customer.service.mapper.RefundedMapper;
@@ -28,36 +29,33 @@ public class RefundedServiceImpl implements RefundedService {
 
     private final RefundedMapper refundedMapper;
 
-    public RefundedServiceImpl(RefundedRepository refundedRepository, RefundedMapper refundedMapper) {
+    private final OutboxService outboxService;
+
+    public RefundedServiceImpl(RefundedRepository refundedRepository, RefundedMapper refundedMapper, OutboxService outboxService) {
         this.refundedRepository = refundedRepository;
         this.refundedMapper = refundedMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<RefundedDTO> save(RefundedDTO refundedDTO) {
         log.debug("Request to save Refunded : {}", refundedDTO);
-        return refundedRepository.save(refundedMapper.toEntity(refundedDTO)).map(refundedMapper::toDto);
+        return refundedRepository.save(refundedMapper.toEntity(refundedDTO)).map(refundedMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<RefundedDTO> update(RefundedDTO refundedDTO) {
         log.debug("Request to save Refunded : {}", refundedDTO);
-        return refundedRepository.save(refundedMapper.toEntity(refundedDTO).setIsPersisted()).map(refundedMapper::toDto);
+        return refundedRepository.update(refundedMapper.toEntity(refundedDTO)).map(refundedMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<RefundedDTO> partialUpdate(RefundedDTO refundedDTO) {
         log.debug("Request to partially update Refunded : {}", refundedDTO);
-
         return refundedRepository
-            .findById(refundedDTO.getId())
-            .map(existingRefunded -> {
-                refundedMapper.partialUpdate(existingRefunded, refundedDTO);
-
-                return existingRefunded;
-            })
-            .flatMap(refundedRepository::save)
-            .map(refundedMapper::toDto);
+            .updateNonNullFields(refundedMapper.toEntity(refundedDTO))
+            .map(refundedMapper::toDto)
+            .flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +65,13 @@ public class RefundedServiceImpl implements RefundedService {
         return refundedRepository.findAll().map(refundedMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RefundedDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of Refundeds after : {}", afterId);
+        return refundedRepository.findAllAfter(afterId, size).map(refundedMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return refundedRepository.count();
     }
@@ -81,6 +86,10 @@ public class RefundedServiceImpl implements RefundedService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Refunded : {}", id);
-        return refundedRepository.deleteById(id);
+        return refundedRepository.deleteById(id).then(outboxService.deleted(Refunded.class, id));
+    }
+
+    private Mono<RefundedDTO> recordSaved(RefundedDTO refundedDTO) {
+        return outboxService.saved(Refunded.class, refundedDTO.getId(), refundedDTO);
     }
 }
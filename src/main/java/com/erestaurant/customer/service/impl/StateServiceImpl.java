@@ -2,6 +2,7 @@ package com.erestaurant.customer.service.impl;
 
 import com.erestaurant.customer.domain.State;
 import com.erestaurant.customer.repository.StateRepository;
+import com.erestaurant.customer.service.OutboxService;
 import com.erestaurant.customer.service.StateService;
 import com.erestaurant.customer.service.dto.StateDTO;
 import com.erestaurant.customer.service.mapper.StateMapper;
@@ -28,36 +29,30 @@ public class StateServiceImpl implements StateService {
 
     private final StateMapper stateMapper;
 
-    public StateServiceImpl(StateRepository stateRepository, StateMapper stateMapper) {
+    private final OutboxService outboxService;
+
+    public StateServiceImpl(StateRepository stateRepository, StateMapper stateMapper, OutboxService outboxService) {
         this.stateRepository = stateRepository;
         this.stateMapper = stateMapper;
+        this.outboxService = outboxService;
     }
 
     @Override
     public Mono<StateDTO> save(StateDTO stateDTO) {
         log.debug("Request to save State : {}", stateDTO);
-        return stateRepository.save(stateMapper.toEntity(stateDTO)).map(stateMapper::toDto);
+        return stateRepository.save(stateMapper.toEntity(stateDTO)).map(stateMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<StateDTO> update(StateDTO stateDTO) {
         log.debug("Request to save State : {}", stateDTO);
-        return stateRepository.save(stateMapper.toEntity(stateDTO).setIsPersisted()).map(stateMapper::toDto);
+        return stateRepository.update(stateMapper.toEntity(stateDTO)).map(stateMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
     public Mono<StateDTO> partialUpdate(StateDTO stateDTO) {
         log.debug("Request to partially update State : {}", stateDTO);
-
-        return stateRepository
-            .findById(stateDTO.getId())
-            .map(existingState -> {
-                stateMapper.partialUpdate(existingState, stateDTO);
-
-                return existingState;
-            })
-            .flatMap(stateRepository::save)
-            .map(stateMapper::toDto);
+        return stateRepository.updateNonNullFields(stateMapper.toEntity(stateDTO)).map(stateMapper::toDto).flatMap(this::recordSaved);
     }
 
     @Override
@@ -67,6 +62,13 @@ public class StateServiceImpl implements StateService {
         return stateRepository.findAll().map(stateMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<StateDTO> findAllAfter(String afterId, int size) {
+        log.debug("Request to get a page of States after : {}", afterId);
+        return stateRepository.findAllAfter(afterId, size).map(stateMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
         return stateRepository.count();
     }
@@ -81,6 +83,10 @@ public class StateServiceImpl implements StateService {
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete State : {}", id);
-        return stateRepository.deleteById(id);
+        return stateRepository.deleteById(id).then(outboxService.deleted(State.class, id));
+    }
+
+    private Mono<StateDTO> recordSaved(StateDTO stateDTO) {
+        return outboxService.saved(State.class, stateDTO.getId(), stateDTO);
     }
 }
@@ -12,6 +12,7 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring")
 public interface AppUserMapper extends EntityMapper<AppUserDTO, AppUser> {
     @Mapping(target = "internalUser", source = "internalUser", qualifiedByName = "userLogin")
+    @Mapping(target = "image", ignore = true)
     AppUserDTO toDto(AppUser s);
 
     @Named("userLogin")
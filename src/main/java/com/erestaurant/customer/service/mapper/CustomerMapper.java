@@ -8,4 +8,7 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Customer} and its DTO {@link CustomerDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface CustomerMapper extends EntityMapper<CustomerDTO, Customer> {}
+public interface CustomerMapper extends EntityMapper<CustomerDTO, Customer> {
+    @Mapping(target = "image", ignore = true)
+    CustomerDTO toDto(Customer s);
+}
@@ -0,0 +1,11 @@
+package com.erestaurant.customer.service.mapper;
+
+import com.erestaurant.customer.domain.OrderEvent;
+import com.erestaurant.customer.service.dto.OrderEventDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link OrderEvent} and its DTO {@link OrderEventDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface OrderEventMapper extends EntityMapper<OrderEventDTO, OrderEvent> {}
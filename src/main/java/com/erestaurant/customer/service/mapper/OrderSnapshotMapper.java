@@ -0,0 +1,11 @@
+package com.erestaurant.customer.service.mapper;
+
+import com.erestaurant.customer.domain.OrderSnapshot;
+import com.erestaurant.customer.service.dto.OrderSnapshotDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link OrderSnapshot} and its DTO {@link OrderSnapshotDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface OrderSnapshotMapper extends EntityMapper<OrderSnapshotDTO, OrderSnapshot> {}
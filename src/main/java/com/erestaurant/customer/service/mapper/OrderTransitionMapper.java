@@ -0,0 +1,11 @@
+package com.erestaurant.customer.service.mapper;
+
+import com.erestaurant.customer.domain.OrderTransition;
+import com.erestaurant.customer.service.dto.OrderTransitionDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link OrderTransition} and its DTO {@link OrderTransitionDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface OrderTransitionMapper extends EntityMapper<OrderTransitionDTO, OrderTransition> {}
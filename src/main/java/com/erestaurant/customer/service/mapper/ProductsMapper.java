@@ -8,4 +8,7 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Products} and its DTO {@link ProductsDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface ProductsMapper extends EntityMapper<ProductsDTO, Products> {}
+public interface ProductsMapper extends EntityMapper<ProductsDTO, Products> {
+    @Mapping(target = "image", ignore = true)
+    ProductsDTO toDto(Products s);
+}
@@ -1,9 +1,11 @@
 package com.erestaurant.customer.web.rest;
 
-import com.erestaurant.customer.repository.AppUserRepository;
 import com.erestaurant.customer.service.AppUserService;
+import com.erestaurant.customer.service.BlobStoreService;
 import com.erestaurant.customer.service.dto.AppUserDTO;
 import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.customer.web.rest.util.BlobResponseUtil;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -15,6 +17,7 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -48,11 +51,11 @@ public class AppUserResource {
 
     private final AppUserService appUserService;
 
-    private final AppUserRepository appUserRepository;
+    private final BlobStoreService blobStoreService;
 
-    public AppUserResource(AppUserService appUserService, AppUserRepository appUserRepository) {
+    public AppUserResource(AppUserService appUserService, BlobStoreService blobStoreService) {
         this.appUserService = appUserService;
-        this.appUserRepository = appUserRepository;
+        this.blobStoreService = blobStoreService;
     }
 
     /**
@@ -105,23 +108,15 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return appUserRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return appUserService
-                    .update(appUserDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return appUserService
+            .update(appUserDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -148,24 +143,15 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return appUserRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<AppUserDTO> result = appUserService.partialUpdate(appUserDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return appUserService
+            .partialUpdate(appUserDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
@@ -174,15 +160,20 @@ public class AppUserResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param withTotalCount flag to count all the appUsers for the pagination headers, which costs a query per page.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body.
      */
     @GetMapping("/app-users")
     public Mono<ResponseEntity<List<AppUserDTO>>> getAllAppUsers(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
-        @RequestParam(required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(required = false, defaultValue = "true") boolean withTotalCount
     ) {
         log.debug("REST request to get a page of AppUsers");
+        if (!withTotalCount) {
+            return appUserService.findAll(pageable).collectList().map(appUsers -> ResponseEntity.ok().body(appUsers));
+        }
         return appUserService
             .countAll()
             .zipWith(appUserService.findAll(pageable).collectList())
@@ -199,6 +190,43 @@ public class AppUserResource {
             );
     }
 
+    /**
+     * {@code GET  /app-users?cursor=:cursor} : get a page of the appUsers, ordered by id, starting after the continuation token.
+     *
+     * @param cursor the continuation token of the {@code X-Next-Cursor} header, or an empty token for the first page.
+     * @param size the number of appUsers of the page.
+     * @param withTotalCount flag to also return the total number of appUsers in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of appUsers in body.
+     */
+    @GetMapping(value = "/app-users", params = "cursor")
+    public Mono<ResponseEntity<List<AppUserDTO>>> getAllAppUsersAfterCursor(
+        @RequestParam String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        @RequestParam(required = false, defaultValue = "false") boolean withTotalCount
+    ) {
+        log.debug("REST request to get a page of AppUsers after cursor : {}", cursor);
+        CursorPaginationUtil.checkPageSize(size, ENTITY_NAME);
+        String afterId = CursorPaginationUtil.decodeCursor(cursor, ENTITY_NAME);
+        Mono<Optional<Long>> totalCount = withTotalCount ? appUserService.countAll().map(Optional::of) : Mono.just(Optional.empty());
+        return appUserService
+            .findAllAfter(afterId, size)
+            .collectList()
+            .zipWith(totalCount)
+            .map(pageWithCount ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CursorPaginationUtil.generateCursorHttpHeaders(
+                            pageWithCount.getT1(),
+                            size,
+                            AppUserDTO::getId,
+                            pageWithCount.getT2().orElse(null)
+                        )
+                    )
+                    .body(pageWithCount.getT1())
+            );
+    }
+
     /**
      * {@code GET  /app-users/:id} : get the "id" appUser.
      *
@@ -212,6 +240,26 @@ public class AppUserResource {
         return ResponseUtil.wrapOrNotFound(appUserDTO);
     }
 
+    /**
+     * {@code GET  /app-users/:id/image} : get the image of the "id" appUser, supports range and conditional requests.
+     *
+     * @param id the id of the appUserDTO whose image to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/app-users/{id}/image")
+    public Mono<ResponseEntity<Resource>> getAppUserImage(@PathVariable String id) {
+        log.debug("REST request to get the image of AppUser : {}", id);
+        return appUserService
+            .findOne(id)
+            .filter(appUserDTO -> appUserDTO.getImageHash() != null)
+            .flatMap(appUserDTO ->
+                blobStoreService
+                    .find(appUserDTO.getImageHash())
+                    .map(image -> BlobResponseUtil.ok(image, appUserDTO.getImageHash(), appUserDTO.getImageContentType()))
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
     /**
      * {@code DELETE  /app-users/:id} : delete the "id" appUser.
      *
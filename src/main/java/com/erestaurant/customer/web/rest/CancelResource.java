@@ -1,9 +1,9 @@
 package com.erestaurant.customer.web.rest;
 
-import com.erestaurant.customer.repository.CancelRepository;
 import com.erestaurant.customer.service.CancelService;
 import com.erestaurant.customer.service.dto.CancelDTO;
 import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -18,7 +18,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -40,11 +39,8 @@ public class CancelResource {
 
     private final CancelService cancelService;
 
-    private final CancelRepository cancelRepository;
-
-    public CancelResource(CancelService cancelService, CancelRepository cancelRepository) {
+    public CancelResource(CancelService cancelService) {
         this.cancelService = cancelService;
-        this.cancelRepository = cancelRepository;
     }
 
     /**
@@ -97,23 +93,15 @@ public class CancelResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return cancelRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return cancelService
-                    .update(cancelDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return cancelService
+            .update(cancelDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -140,24 +128,15 @@ public class CancelResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return cancelRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<CancelDTO> result = cancelService.partialUpdate(cancelDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return cancelService
+            .partialUpdate(cancelDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
@@ -181,6 +160,43 @@ public class CancelResource {
         return cancelService.findAll();
     }
 
+    /**
+     * {@code GET  /cancels?cursor=:cursor} : get a page of the cancels, ordered by id, starting after the continuation token.
+     *
+     * @param cursor the continuation token of the {@code X-Next-Cursor} header, or an empty token for the first page.
+     * @param size the number of cancels of the page.
+     * @param withTotalCount flag to also return the total number of cancels in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of cancels in body.
+     */
+    @GetMapping(value = "/cancels", params = "cursor")
+    public Mono<ResponseEntity<List<CancelDTO>>> getAllCancelsAfterCursor(
+        @RequestParam String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        @RequestParam(required = false, defaultValue = "false") boolean withTotalCount
+    ) {
+        log.debug("REST request to get a page of Cancels after cursor : {}", cursor);
+        CursorPaginationUtil.checkPageSize(size, ENTITY_NAME);
+        String afterId = CursorPaginationUtil.decodeCursor(cursor, ENTITY_NAME);
+        Mono<Optional<Long>> totalCount = withTotalCount ? cancelService.countAll().map(Optional::of) : Mono.just(Optional.empty());
+        return cancelService
+            .findAllAfter(afterId, size)
+            .collectList()
+            .zipWith(totalCount)
+            .map(pageWithCount ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CursorPaginationUtil.generateCursorHttpHeaders(
+                            pageWithCount.getT1(),
+                            size,
+                            CancelDTO::getId,
+                            pageWithCount.getT2().orElse(null)
+                        )
+                    )
+                    .body(pageWithCount.getT1())
+            );
+    }
+
     /**
      * {@code GET  /cancels/:id} : get the "id" cancel.
      *
@@ -1,9 +1,14 @@
 package com.erestaurant.customer.web.rest;
 
-import com.erestaurant.customer.repository.CartRepository;
+import com.erestaurant.customer.service.CartEngineService;
 import com.erestaurant.customer.service.CartService;
+import com.erestaurant.customer.service.QuantityTooLargeException;
+import com.erestaurant.customer.service.UnknownProductException;
+import com.erestaurant.customer.service.dto.CartContentDTO;
 import com.erestaurant.customer.service.dto.CartDTO;
+import com.erestaurant.customer.service.dto.CartItemDTO;
 import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -18,7 +23,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -40,11 +44,11 @@ public class CartResource {
 
     private final CartService cartService;
 
-    private final CartRepository cartRepository;
+    private final CartEngineService cartEngineService;
 
-    public CartResource(CartService cartService, CartRepository cartRepository) {
+    public CartResource(CartService cartService, CartEngineService cartEngineService) {
         this.cartService = cartService;
-        this.cartRepository = cartRepository;
+        this.cartEngineService = cartEngineService;
     }
 
     /**
@@ -97,23 +101,15 @@ public class CartResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return cartRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return cartService
-                    .update(cartDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return cartService
+            .update(cartDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -140,24 +136,15 @@ public class CartResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return cartRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<CartDTO> result = cartService.partialUpdate(cartDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return cartService
+            .partialUpdate(cartDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
@@ -181,6 +168,43 @@ public class CartResource {
         return cartService.findAll();
     }
 
+    /**
+     * {@code GET  /carts?cursor=:cursor} : get a page of the carts, ordered by id, starting after the continuation token.
+     *
+     * @param cursor the continuation token of the {@code X-Next-Cursor} header, or an empty token for the first page.
+     * @param size the number of carts of the page.
+     * @param withTotalCount flag to also return the total number of carts in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of carts in body.
+     */
+    @GetMapping(value = "/carts", params = "cursor")
+    public Mono<ResponseEntity<List<CartDTO>>> getAllCartsAfterCursor(
+        @RequestParam String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        @RequestParam(required = false, defaultValue = "false") boolean withTotalCount
+    ) {
+        log.debug("REST request to get a page of Carts after cursor : {}", cursor);
+        CursorPaginationUtil.checkPageSize(size, ENTITY_NAME);
+        String afterId = CursorPaginationUtil.decodeCursor(cursor, ENTITY_NAME);
+        Mono<Optional<Long>> totalCount = withTotalCount ? cartService.countAll().map(Optional::of) : Mono.just(Optional.empty());
+        return cartService
+            .findAllAfter(afterId, size)
+            .collectList()
+            .zipWith(totalCount)
+            .map(pageWithCount ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CursorPaginationUtil.generateCursorHttpHeaders(
+                            pageWithCount.getT1(),
+                            size,
+                            CartDTO::getId,
+                            pageWithCount.getT2().orElse(null)
+                        )
+                    )
+                    .body(pageWithCount.getT1())
+            );
+    }
+
     /**
      * {@code GET  /carts/:id} : get the "id" cart.
      *
@@ -194,6 +218,98 @@ public class CartResource {
         return ResponseUtil.wrapOrNotFound(cartDTO);
     }
 
+    /**
+     * {@code GET  /carts/:id/items} : get the content of the "id" cart.
+     *
+     * @param id the id of the cart.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the content of the cart, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/carts/{id}/items")
+    public Mono<ResponseEntity<CartContentDTO>> getCartContent(@PathVariable String id) {
+        log.debug("REST request to get the content of Cart : {}", id);
+        return ResponseUtil.wrapOrNotFound(cartEngineService.findContent(id));
+    }
+
+    /**
+     * {@code POST  /carts/:id/items} : add a quantity of a product to the "id" cart.
+     *
+     * @param id the id of the cart.
+     * @param cartItemDTO the product and the quantity to add.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the content of the cart,
+     * or with status {@code 400 (Bad Request)} if the quantity is not positive or too large, or the product does not exist,
+     * or with status {@code 404 (Not Found)} if the cart does not exist.
+     */
+    @PostMapping("/carts/{id}/items")
+    public Mono<ResponseEntity<CartContentDTO>> addCartItem(@PathVariable String id, @Valid @RequestBody CartItemDTO cartItemDTO) {
+        log.debug("REST request to add to Cart : {} the item {}", id, cartItemDTO);
+        if (cartItemDTO.getQuantity() < 1) {
+            throw new BadRequestAlertException("Invalid quantity", ENTITY_NAME, "quantityinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(
+            cartEngineService.addItem(id, cartItemDTO.getProductId(), cartItemDTO.getQuantity()).onErrorMap(this::invalidItem)
+        );
+    }
+
+    /**
+     * {@code PUT  /carts/:id/items/:productId} : set the quantity of a product in the "id" cart.
+     *
+     * @param id the id of the cart.
+     * @param productId the id of the product.
+     * @param cartItemDTO the product and its new quantity, 0 to remove it.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the content of the cart,
+     * or with status {@code 400 (Bad Request)} if the product is not valid,
+     * or with status {@code 404 (Not Found)} if the cart does not exist.
+     */
+    @PutMapping("/carts/{id}/items/{productId}")
+    public Mono<ResponseEntity<CartContentDTO>> updateCartItem(
+        @PathVariable String id,
+        @PathVariable String productId,
+        @Valid @RequestBody CartItemDTO cartItemDTO
+    ) {
+        log.debug("REST request to set in Cart : {} the item {}", id, cartItemDTO);
+        if (!Objects.equals(productId, cartItemDTO.getProductId())) {
+            throw new BadRequestAlertException("Invalid product", ENTITY_NAME, "idinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(
+            cartEngineService.setQuantity(id, productId, cartItemDTO.getQuantity()).onErrorMap(this::invalidItem)
+        );
+    }
+
+    /**
+     * {@code DELETE  /carts/:id/items/:productId} : remove a product from the "id" cart.
+     *
+     * @param id the id of the cart.
+     * @param productId the id of the product.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the content of the cart, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/carts/{id}/items/{productId}")
+    public Mono<ResponseEntity<CartContentDTO>> deleteCartItem(@PathVariable String id, @PathVariable String productId) {
+        log.debug("REST request to remove from Cart : {} the product {}", id, productId);
+        return ResponseUtil.wrapOrNotFound(cartEngineService.removeItem(id, productId));
+    }
+
+    /**
+     * {@code POST  /carts/:id/checkout} : check out the "id" cart, writing its items.
+     *
+     * @param id the id of the cart.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the written content of the cart, or with status {@code 404 (Not Found)}.
+     */
+    @PostMapping("/carts/{id}/checkout")
+    public Mono<ResponseEntity<CartContentDTO>> checkoutCart(@PathVariable String id) {
+        log.debug("REST request to check out Cart : {}", id);
+        return ResponseUtil.wrapOrNotFound(cartEngineService.checkout(id));
+    }
+
+    private Throwable invalidItem(Throwable e) {
+        if (e instanceof UnknownProductException) {
+            return new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "productnotfound");
+        }
+        if (e instanceof QuantityTooLargeException) {
+            return new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quantityinvalid");
+        }
+        return e;
+    }
+
     /**
      * {@code DELETE  /carts/:id} : delete the "id" cart.
      *
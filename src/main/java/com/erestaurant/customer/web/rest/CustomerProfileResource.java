@@ -1,9 +1,15 @@
 package com.erestaurant.customer.web.rest;
 
-import com.erestaurant.customer.repository.CustomerProfileRepository;
+import com.erestaurant.customer.service.CustomerProfileLocationIndex;
 import com.erestaurant.customer.service.CustomerProfileService;
+import com.erestaurant.customer.service.CustomerReferralService;
+import com.erestaurant.customer.service.GeoPoint;
 import com.erestaurant.customer.service.dto.CustomerProfileDTO;
+import com.erestaurant.customer.service.dto.NearbyCustomerProfileDTO;
+import com.erestaurant.customer.service.dto.ReferralDTO;
+import com.erestaurant.customer.service.dto.ReferrerDTO;
 import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -18,7 +24,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -40,11 +45,18 @@ public class CustomerProfileResource {
 
     private final CustomerProfileService customerProfileService;
 
-    private final CustomerProfileRepository customerProfileRepository;
+    private final CustomerProfileLocationIndex customerProfileLocationIndex;
 
-    public CustomerProfileResource(CustomerProfileService customerProfileService, CustomerProfileRepository customerProfileRepository) {
+    private final CustomerReferralService customerReferralService;
+
+    public CustomerProfileResource(
+        CustomerProfileService customerProfileService,
+        CustomerProfileLocationIndex customerProfileLocationIndex,
+        CustomerReferralService customerReferralService
+    ) {
         this.customerProfileService = customerProfileService;
-        this.customerProfileRepository = customerProfileRepository;
+        this.customerProfileLocationIndex = customerProfileLocationIndex;
+        this.customerReferralService = customerReferralService;
     }
 
     /**
@@ -98,23 +110,15 @@ public class CustomerProfileResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return customerProfileRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return customerProfileService
-                    .update(customerProfileDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return customerProfileService
+            .update(customerProfileDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -141,24 +145,15 @@ public class CustomerProfileResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return customerProfileRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<CustomerProfileDTO> result = customerProfileService.partialUpdate(customerProfileDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return customerProfileService
+            .partialUpdate(customerProfileDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
@@ -182,6 +177,145 @@ public class CustomerProfileResource {
         return customerProfileService.findAll();
     }
 
+    /**
+     * {@code GET  /customer-profiles?cursor=:cursor} : get a page of the customerProfiles, ordered by id, starting after the continuation token.
+     *
+     * @param cursor the continuation token of the {@code X-Next-Cursor} header, or an empty token for the first page.
+     * @param size the number of customerProfiles of the page.
+     * @param withTotalCount flag to also return the total number of customerProfiles in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of customerProfiles in body.
+     */
+    @GetMapping(value = "/customer-profiles", params = "cursor")
+    public Mono<ResponseEntity<List<CustomerProfileDTO>>> getAllCustomerProfilesAfterCursor(
+        @RequestParam String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        @RequestParam(required = false, defaultValue = "false") boolean withTotalCount
+    ) {
+        log.debug("REST request to get a page of CustomerProfiles after cursor : {}", cursor);
+        CursorPaginationUtil.checkPageSize(size, ENTITY_NAME);
+        String afterId = CursorPaginationUtil.decodeCursor(cursor, ENTITY_NAME);
+        Mono<Optional<Long>> totalCount = withTotalCount
+            ? customerProfileService.countAll().map(Optional::of)
+            : Mono.just(Optional.empty());
+        return customerProfileService
+            .findAllAfter(afterId, size)
+            .collectList()
+            .zipWith(totalCount)
+            .map(pageWithCount ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CursorPaginationUtil.generateCursorHttpHeaders(
+                            pageWithCount.getT1(),
+                            size,
+                            CustomerProfileDTO::getId,
+                            pageWithCount.getT2().orElse(null)
+                        )
+                    )
+                    .body(pageWithCount.getT1())
+            );
+    }
+
+    /**
+     * {@code GET  /customer-profiles/nearby} : get the customerProfiles located near a location, or whose location range
+     * covers it when no radius is given. Only the customerProfiles whose location is made of coordinates are found.
+     *
+     * @param latitude the latitude of the location, in decimal degrees.
+     * @param longitude the longitude of the location, in decimal degrees.
+     * @param radius the distance to the location, in kilometers.
+     * @param size the maximum number of customerProfiles to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the customerProfiles in body, the closest first.
+     */
+    @GetMapping("/customer-profiles/nearby")
+    public Mono<List<NearbyCustomerProfileDTO>> getNearbyCustomerProfiles(
+        @RequestParam double latitude,
+        @RequestParam double longitude,
+        @RequestParam(required = false) Double radius,
+        @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        log.debug("REST request to get the CustomerProfiles near : {}, {}", latitude, longitude);
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new BadRequestAlertException("Invalid location", ENTITY_NAME, "locationinvalid");
+        }
+        if (radius != null && !(radius > 0)) {
+            throw new BadRequestAlertException("Invalid radius", ENTITY_NAME, "radiusinvalid");
+        }
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid page size", ENTITY_NAME, "sizeinvalid");
+        }
+        GeoPoint location = new GeoPoint(latitude, longitude);
+        return Mono.fromSupplier(() ->
+            radius != null
+                ? customerProfileLocationIndex.findWithin(location, radius, size)
+                : customerProfileLocationIndex.findCovering(location, size)
+        );
+    }
+
+    /**
+     * {@code GET  /customer-profiles/:id/referrals} : walk the referrals of the "id" customerProfile, to the
+     * customerProfiles it referred, then the ones they referred, and so on.
+     *
+     * @param id the id of the customerProfile.
+     * @param depth the maximum number of referrals from the customerProfile.
+     * @param size the maximum number of referrals to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the referrals in body, the closest first.
+     */
+    @GetMapping("/customer-profiles/{id}/referrals")
+    public Mono<List<ReferralDTO>> getCustomerProfileReferrals(
+        @PathVariable String id,
+        @RequestParam(required = false, defaultValue = "1") int depth,
+        @RequestParam(required = false, defaultValue = "100") int size
+    ) {
+        log.debug("REST request to get the referrals of CustomerProfile : {}", id);
+        checkWalk(depth, size);
+        return Mono.fromSupplier(() -> customerReferralService.findReferrals(id, depth, size));
+    }
+
+    /**
+     * {@code GET  /customer-profiles/:id/referrers} : walk the referrers of the "id" customerProfile, to the
+     * customerProfiles who referred it, then the ones who referred them, and so on.
+     *
+     * @param id the id of the customerProfile.
+     * @param depth the maximum number of referrals to the customerProfile.
+     * @param size the maximum number of referrals to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the referrals in body, the closest first.
+     */
+    @GetMapping("/customer-profiles/{id}/referrers")
+    public Mono<List<ReferralDTO>> getCustomerProfileReferrers(
+        @PathVariable String id,
+        @RequestParam(required = false, defaultValue = "1") int depth,
+        @RequestParam(required = false, defaultValue = "100") int size
+    ) {
+        log.debug("REST request to get the referrers of CustomerProfile : {}", id);
+        checkWalk(depth, size);
+        return Mono.fromSupplier(() -> customerReferralService.findReferrers(id, depth, size));
+    }
+
+    private static void checkWalk(int depth, int size) {
+        if (depth < 1) {
+            throw new BadRequestAlertException("Invalid depth", ENTITY_NAME, "depthinvalid");
+        }
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid page size", ENTITY_NAME, "sizeinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /customer-profiles/top-referrers} : get the customerProfiles who referred the most customerProfiles.
+     *
+     * @param size the number of customerProfiles to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the customerProfiles with their number of
+     * referrals in body, the most first.
+     */
+    @GetMapping("/customer-profiles/top-referrers")
+    public Mono<List<ReferrerDTO>> getTopReferrers(@RequestParam(required = false, defaultValue = "10") int size) {
+        log.debug("REST request to get the top referrers");
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid page size", ENTITY_NAME, "sizeinvalid");
+        }
+        return Mono.fromSupplier(() -> customerReferralService.findTopReferrers(size));
+    }
+
     /**
      * {@code GET  /customer-profiles/:id} : get the "id" customerProfile.
      *
@@ -1,9 +1,11 @@
 package com.erestaurant.customer.web.rest;
 
-import com.erestaurant.customer.repository.CustomerRepository;
+import com.erestaurant.customer.service.BlobStoreService;
 import com.erestaurant.customer.service.CustomerService;
 import com.erestaurant.customer.service.dto.CustomerDTO;
 import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.customer.web.rest.util.BlobResponseUtil;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,6 +16,7 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -40,11 +43,11 @@ public class CustomerResource {
 
     private final CustomerService customerService;
 
-    private final CustomerRepository customerRepository;
+    private final BlobStoreService blobStoreService;
 
-    public CustomerResource(CustomerService customerService, CustomerRepository customerRepository) {
+    public CustomerResource(CustomerService customerService, BlobStoreService blobStoreService) {
         this.customerService = customerService;
-        this.customerRepository = customerRepository;
+        this.blobStoreService = blobStoreService;
     }
 
     /**
@@ -97,23 +100,15 @@ public class CustomerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return customerRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return customerService
-                    .update(customerDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return customerService
+            .update(customerDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -140,24 +135,15 @@ public class CustomerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return customerRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<CustomerDTO> result = customerService.partialUpdate(customerDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return customerService
+            .partialUpdate(customerDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
@@ -181,6 +167,43 @@ public class CustomerResource {
         return customerService.findAll();
     }
 
+    /**
+     * {@code GET  /customers?cursor=:cursor} : get a page of the customers, ordered by id, starting after the continuation token.
+     *
+     * @param cursor the continuation token of the {@code X-Next-Cursor} header, or an empty token for the first page.
+     * @param size the number of customers of the page.
+     * @param withTotalCount flag to also return the total number of customers in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of customers in body.
+     */
+    @GetMapping(value = "/customers", params = "cursor")
+    public Mono<ResponseEntity<List<CustomerDTO>>> getAllCustomersAfterCursor(
+        @RequestParam String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        @RequestParam(required = false, defaultValue = "false") boolean withTotalCount
+    ) {
+        log.debug("REST request to get a page of Customers after cursor : {}", cursor);
+        CursorPaginationUtil.checkPageSize(size, ENTITY_NAME);
+        String afterId = CursorPaginationUtil.decodeCursor(cursor, ENTITY_NAME);
+        Mono<Optional<Long>> totalCount = withTotalCount ? customerService.countAll().map(Optional::of) : Mono.just(Optional.empty());
+        return customerService
+            .findAllAfter(afterId, size)
+            .collectList()
+            .zipWith(totalCount)
+            .map(pageWithCount ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CursorPaginationUtil.generateCursorHttpHeaders(
+                            pageWithCount.getT1(),
+                            size,
+                            CustomerDTO::getId,
+                            pageWithCount.getT2().orElse(null)
+                        )
+                    )
+                    .body(pageWithCount.getT1())
+            );
+    }
+
     /**
      * {@code GET  /customers/:id} : get the "id" customer.
      *
@@ -194,6 +217,26 @@ public class CustomerResource {
         return ResponseUtil.wrapOrNotFound(customerDTO);
     }
 
+    /**
+     * {@code GET  /customers/:id/image} : get the image of the "id" customer, supports range and conditional requests.
+     *
+     * @param id the id of the customerDTO whose image to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/customers/{id}/image")
+    public Mono<ResponseEntity<Resource>> getCustomerImage(@PathVariable String id) {
+        log.debug("REST request to get the image of Customer : {}", id);
+        return customerService
+            .findOne(id)
+            .filter(customerDTO -> customerDTO.getImageHash() != null)
+            .flatMap(customerDTO ->
+                blobStoreService
+                    .find(customerDTO.getImageHash())
+                    .map(image -> BlobResponseUtil.ok(image, customerDTO.getImageHash(), customerDTO.getImageContentType()))
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
     /**
      * {@code DELETE  /customers/:id} : delete the "id" customer.
      *
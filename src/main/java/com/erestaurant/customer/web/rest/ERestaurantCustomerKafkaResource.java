@@ -1,23 +1,20 @@
 package com.erestaurant.customer.web.rest;
 
 import com.erestaurant.customer.config.KafkaSseConsumer;
-import com.erestaurant.customer.config.KafkaSseProducer;
-import java.util.HashMap;
-import java.util.Map;
+import com.erestaurant.customer.service.KafkaPublishService;
+import com.erestaurant.customer.service.SseBroadcastService;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageChannel;
-import org.springframework.messaging.MessageHeaders;
-import org.springframework.messaging.support.GenericMessage;
-import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 
 @RestController
 @RequestMapping("/api/e-restaurant-customer-kafka")
@@ -25,32 +22,58 @@ public class ERestaurantCustomerKafkaResource {
 
     private final Logger log = LoggerFactory.getLogger(ERestaurantCustomerKafkaResource.class);
 
-    private final MessageChannel output;
-    private Sinks.Many<Message<String>> sink = Sinks.many().unicast().onBackpressureBuffer();
+    private final KafkaPublishService kafkaPublishService;
+    private final SseBroadcastService sseBroadcastService;
 
-    public ERestaurantCustomerKafkaResource(@Qualifier(KafkaSseProducer.CHANNELNAME) MessageChannel output) {
-        this.output = output;
+    public ERestaurantCustomerKafkaResource(KafkaPublishService kafkaPublishService, SseBroadcastService sseBroadcastService) {
+        this.kafkaPublishService = kafkaPublishService;
+        this.sseBroadcastService = sseBroadcastService;
     }
 
+    /**
+     * {@code POST  /publish} : publish a message to the Kafka topic.
+     *
+     * @param message the message.
+     * @return the {@link ResponseEntity} with status {@code 204 (No Content)} once the broker acknowledged the message.
+     */
     @PostMapping("/publish")
     public Mono<ResponseEntity<Void>> publish(@RequestParam String message) {
         log.debug("REST request the message : {} to send to Kafka topic", message);
-        Map<String, Object> map = new HashMap<>();
-        map.put(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE);
-        MessageHeaders headers = new MessageHeaders(map);
-        output.send(new GenericMessage<>(message, headers));
-        return Mono.just(ResponseEntity.noContent().build());
+        return kafkaPublishService.publish(message).map(id -> ResponseEntity.noContent().build());
     }
 
-    @GetMapping("/consume")
-    public Flux<String> consume() {
-        log.debug("REST request to consume records from Kafka topics");
-        return sink.asFlux().map(m -> m.getPayload());
+    /**
+     * {@code POST  /publish/bulk} : publish a stream of messages to the Kafka topic, one message per line.
+     *
+     * @param messages the messages.
+     * @return the result of each message once the broker acknowledged it, with the id of its record, in the order of the stream.
+     */
+    @PostMapping(value = "/publish/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkItemResultDTO> publishAll(@RequestBody Flux<String> messages) {
+        log.debug("REST request to send a stream of messages to Kafka topic");
+        return kafkaPublishService.publishAll(messages);
+    }
+
+    /**
+     * {@code GET  /consume} : stream the records of the Kafka topic, resuming after the {@code Last-Event-ID} if given.
+     *
+     * @param lastEventId the id of the last event the client received, which browsers send when they reconnect.
+     * @return the stream of events, starting with a {@code reset} event if the client missed too many events to resume.
+     */
+    @GetMapping(value = "/consume", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> consume(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("REST request to consume records from Kafka topics after : {}", lastEventId);
+        return sseBroadcastService
+            .subscribe(lastEventId)
+            .map(event -> ServerSentEvent.builder(event.getData()).id(event.getId()).event(event.getType()).build());
     }
 
     @StreamListener(value = KafkaSseConsumer.CHANNELNAME, copyHeaders = "false")
     public void consume(Message<String> message) {
         log.debug("Got message from kafka stream: {}", message.getPayload());
-        sink.emitNext(message, Sinks.EmitFailureHandler.FAIL_FAST);
+        Integer partition = message.getHeaders().get(KafkaHeaders.RECEIVED_PARTITION_ID, Integer.class);
+        Long offset = message.getHeaders().get(KafkaHeaders.OFFSET, Long.class);
+        String id = partition != null && offset != null ? partition + "-" + offset : null;
+        sseBroadcastService.publish(id, message.getPayload());
     }
 }
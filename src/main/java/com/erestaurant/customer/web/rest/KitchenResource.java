@@ -0,0 +1,92 @@
+package com.erestaurant.customer.web.rest;
+
+import com.erestaurant.customer.service.KitchenService;
+import com.erestaurant.customer.service.UnknownProductException;
+import com.erestaurant.customer.service.dto.KitchenEtaDTO;
+import com.erestaurant.customer.service.dto.KitchenTicketDTO;
+import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for sending the {@link com.erestaurant.customer.domain.Order} to the kitchen, and estimating when they
+ * will be ready.
+ */
+@RestController
+@RequestMapping("/api")
+public class KitchenResource {
+
+    private final Logger log = LoggerFactory.getLogger(KitchenResource.class);
+
+    private static final String ENTITY_NAME = "eRestaurantCustomerOrder";
+
+    private final KitchenService kitchenService;
+
+    public KitchenResource(KitchenService kitchenService) {
+        this.kitchenService = kitchenService;
+    }
+
+    /**
+     * {@code POST  /kitchen/tickets} : queue an order in the kitchen.
+     *
+     * @param kitchenTicketDTO the order and the products to prepare.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the estimate of the order,
+     * or with status {@code 400 (Bad Request)} if the order or a product does not exist.
+     */
+    @PostMapping("/kitchen/tickets")
+    public Mono<KitchenEtaDTO> createKitchenTicket(@Valid @RequestBody KitchenTicketDTO kitchenTicketDTO) {
+        log.debug("REST request to queue in the kitchen : {}", kitchenTicketDTO);
+        return kitchenService
+            .enqueue(kitchenTicketDTO)
+            .onErrorMap(
+                UnknownProductException.class,
+                e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "productnotfound")
+            )
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")));
+    }
+
+    /**
+     * {@code POST  /kitchen/tickets/next} : start the first queued order on a free station.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the estimate of the started order,
+     * or with status {@code 404 (Not Found)} if no station is free or no order is queued.
+     */
+    @PostMapping("/kitchen/tickets/next")
+    public Mono<ResponseEntity<KitchenEtaDTO>> startNextKitchenTicket() {
+        log.debug("REST request to start the next order in the kitchen");
+        return ResponseUtil.wrapOrNotFound(kitchenService.startNext());
+    }
+
+    /**
+     * {@code GET  /kitchen/tickets/:orderId} : estimate when the "orderId" order will be ready.
+     *
+     * @param orderId the id of the order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the estimate,
+     * or with status {@code 404 (Not Found)} if the order is not in the kitchen.
+     */
+    @GetMapping("/kitchen/tickets/{orderId}")
+    public Mono<ResponseEntity<KitchenEtaDTO>> getKitchenTicket(@PathVariable String orderId) {
+        log.debug("REST request to estimate when Order : {} will be ready", orderId);
+        return ResponseUtil.wrapOrNotFound(kitchenService.findEstimate(orderId));
+    }
+
+    /**
+     * {@code DELETE  /kitchen/tickets/:orderId} : remove the "orderId" order from the kitchen, once prepared or cancelled.
+     *
+     * @param orderId the id of the order.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if the order is not in the kitchen.
+     */
+    @DeleteMapping("/kitchen/tickets/{orderId}")
+    public Mono<ResponseEntity<Void>> deleteKitchenTicket(@PathVariable String orderId) {
+        log.debug("REST request to remove Order : {} from the kitchen", orderId);
+        return kitchenService
+            .complete(orderId)
+            .map(removed -> removed ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+}
@@ -1,9 +1,20 @@
 package com.erestaurant.customer.web.rest;
 
-import com.erestaurant.customer.repository.OrderRepository;
+import com.erestaurant.customer.service.InvalidOrderTransitionException;
+import com.erestaurant.customer.service.OrderHistoryService;
+import com.erestaurant.customer.service.OrderLifecycleService;
+import com.erestaurant.customer.service.OrderProjectionService;
 import com.erestaurant.customer.service.OrderService;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import com.erestaurant.customer.service.dto.OrderDTO;
+import com.erestaurant.customer.service.dto.OrderEventDTO;
+import com.erestaurant.customer.service.dto.OrderProjectionDTO;
+import com.erestaurant.customer.service.dto.OrderRatingStatsDTO;
+import com.erestaurant.customer.service.dto.OrderSnapshotDTO;
+import com.erestaurant.customer.service.dto.OrderStateDTO;
+import com.erestaurant.customer.service.dto.OrderTransitionDTO;
 import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -18,7 +29,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -40,11 +50,22 @@ public class OrderResource {
 
     private final OrderService orderService;
 
-    private final OrderRepository orderRepository;
+    private final OrderLifecycleService orderLifecycleService;
 
-    public OrderResource(OrderService orderService, OrderRepository orderRepository) {
+    private final OrderHistoryService orderHistoryService;
+
+    private final OrderProjectionService orderProjectionService;
+
+    public OrderResource(
+        OrderService orderService,
+        OrderLifecycleService orderLifecycleService,
+        OrderHistoryService orderHistoryService,
+        OrderProjectionService orderProjectionService
+    ) {
         this.orderService = orderService;
-        this.orderRepository = orderRepository;
+        this.orderLifecycleService = orderLifecycleService;
+        this.orderHistoryService = orderHistoryService;
+        this.orderProjectionService = orderProjectionService;
     }
 
     /**
@@ -74,6 +95,18 @@ public class OrderResource {
             });
     }
 
+    /**
+     * {@code POST  /orders/bulk} : Create or update a stream of orders, written in batches.
+     *
+     * @param orderDTOs the orderDTOs to create or update, as newline delimited JSON.
+     * @return the {@link Flux} of the result of each orderDTO, in the order of the request.
+     */
+    @PostMapping(value = "/orders/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkItemResultDTO> createOrUpdateOrders(@RequestBody Flux<OrderDTO> orderDTOs) {
+        log.debug("REST request to save a stream of Orders");
+        return orderService.saveAll(orderDTOs);
+    }
+
     /**
      * {@code PUT  /orders/:id} : Updates an existing order.
      *
@@ -97,23 +130,15 @@ public class OrderResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return orderRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return orderService
-                    .update(orderDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return orderService
+            .update(orderDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -140,24 +165,15 @@ public class OrderResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return orderRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<OrderDTO> result = orderService.partialUpdate(orderDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return orderService
+            .partialUpdate(orderDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
@@ -181,6 +197,43 @@ public class OrderResource {
         return orderService.findAll();
     }
 
+    /**
+     * {@code GET  /orders?cursor=:cursor} : get a page of the orders, ordered by id, starting after the continuation token.
+     *
+     * @param cursor the continuation token of the {@code X-Next-Cursor} header, or an empty token for the first page.
+     * @param size the number of orders of the page.
+     * @param withTotalCount flag to also return the total number of orders in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of orders in body.
+     */
+    @GetMapping(value = "/orders", params = "cursor")
+    public Mono<ResponseEntity<List<OrderDTO>>> getAllOrdersAfterCursor(
+        @RequestParam String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        @RequestParam(required = false, defaultValue = "false") boolean withTotalCount
+    ) {
+        log.debug("REST request to get a page of Orders after cursor : {}", cursor);
+        CursorPaginationUtil.checkPageSize(size, ENTITY_NAME);
+        String afterId = CursorPaginationUtil.decodeCursor(cursor, ENTITY_NAME);
+        Mono<Optional<Long>> totalCount = withTotalCount ? orderService.countAll().map(Optional::of) : Mono.just(Optional.empty());
+        return orderService
+            .findAllAfter(afterId, size)
+            .collectList()
+            .zipWith(totalCount)
+            .map(pageWithCount ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CursorPaginationUtil.generateCursorHttpHeaders(
+                            pageWithCount.getT1(),
+                            size,
+                            OrderDTO::getId,
+                            pageWithCount.getT2().orElse(null)
+                        )
+                    )
+                    .body(pageWithCount.getT1())
+            );
+    }
+
     /**
      * {@code GET  /orders/:id} : get the "id" order.
      *
@@ -194,6 +247,107 @@ public class OrderResource {
         return ResponseUtil.wrapOrNotFound(orderDTO);
     }
 
+    /**
+     * {@code GET  /orders/:id/state} : get the current state of the "id" order.
+     *
+     * @param id the id of the order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the state, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/orders/{id}/state")
+    public Mono<ResponseEntity<OrderStateDTO>> getOrderState(@PathVariable String id) {
+        log.debug("REST request to get the state of Order : {}", id);
+        return ResponseUtil.wrapOrNotFound(orderLifecycleService.findState(id));
+    }
+
+    /**
+     * {@code POST  /orders/:id/transitions} : move the "id" order to a new state.
+     *
+     * @param id the id of the order.
+     * @param orderTransitionDTO the transition, with the new state.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the recorded transition,
+     * or with status {@code 400 (Bad Request)} if the order does not exist or cannot go to the new state.
+     */
+    @PostMapping("/orders/{id}/transitions")
+    public Mono<ResponseEntity<OrderTransitionDTO>> createOrderTransition(
+        @PathVariable String id,
+        @Valid @RequestBody OrderTransitionDTO orderTransitionDTO
+    ) {
+        log.debug("REST request to move Order : {} to {}", id, orderTransitionDTO.getToState());
+        if (orderTransitionDTO.getOrderId() != null && !Objects.equals(id, orderTransitionDTO.getOrderId())) {
+            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
+        }
+        return orderLifecycleService
+            .transition(id, orderTransitionDTO.getToState())
+            .onErrorMap(
+                InvalidOrderTransitionException.class,
+                e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "transitioninvalid")
+            )
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result -> ResponseEntity.status(HttpStatus.CREATED).body(result));
+    }
+
+    /**
+     * {@code GET  /orders/:id/transitions} : get the transitions of the "id" order.
+     *
+     * @param id the id of the order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transitions in body, oldest first.
+     */
+    @GetMapping("/orders/{id}/transitions")
+    public Mono<List<OrderTransitionDTO>> getOrderTransitions(@PathVariable String id) {
+        log.debug("REST request to get the transitions of Order : {}", id);
+        return orderLifecycleService.findTransitions(id).collectList();
+    }
+
+    /**
+     * {@code GET  /orders/:id/history} : get the history of the "id" order.
+     *
+     * @param id the id of the order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of events in body, by version.
+     */
+    @GetMapping("/orders/{id}/history")
+    public Mono<List<OrderEventDTO>> getOrderHistory(@PathVariable String id) {
+        log.debug("REST request to get the history of Order : {}", id);
+        return orderHistoryService.findEvents(id).collectList();
+    }
+
+    /**
+     * {@code GET  /orders/:id/history/state} : get the state of the "id" order, rebuilt from its history.
+     *
+     * @param id the id of the order.
+     * @param version the version of the state, the current one if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the state, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/orders/{id}/history/state")
+    public Mono<ResponseEntity<OrderSnapshotDTO>> getOrderHistoryState(
+        @PathVariable String id,
+        @RequestParam(required = false) Integer version
+    ) {
+        log.debug("REST request to get the state of Order : {} at version {}", id, version);
+        return ResponseUtil.wrapOrNotFound(orderHistoryService.findState(id, version));
+    }
+
+    /**
+     * {@code GET  /orders/projection} : get the projections of the history of the orders.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the projections in body.
+     */
+    @GetMapping("/orders/projection")
+    public Mono<OrderProjectionDTO> getOrderProjection() {
+        log.debug("REST request to get the projections of the Orders");
+        return Mono.fromSupplier(orderProjectionService::getProjection);
+    }
+
+    /**
+     * {@code GET  /orders/rating-stats} : get the statistics of the ratings of the orders.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics in body.
+     */
+    @GetMapping("/orders/rating-stats")
+    public Mono<OrderRatingStatsDTO> getOrderRatingStats() {
+        log.debug("REST request to get the statistics of the ratings of the Orders");
+        return Mono.fromSupplier(orderProjectionService::getRatingStats);
+    }
+
     /**
      * {@code DELETE  /orders/:id} : delete the "id" order.
      *
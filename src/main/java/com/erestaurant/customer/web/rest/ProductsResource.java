@@ -1,9 +1,16 @@
 package com.erestaurant.customer.web.rest;
 
 import com.erestaurant.customer.repository.ProductsRepository;
+import com.erestaurant.customer.repository.Projection;
+import com.erestaurant.customer.service.BlobStoreService;
+import com.erestaurant.customer.service.ProductsSearchService;
 import com.erestaurant.customer.service.ProductsService;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import com.erestaurant.customer.service.dto.ProductsDTO;
+import com.erestaurant.customer.service.dto.ProductsSearchHitDTO;
 import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.customer.web.rest.util.BlobResponseUtil;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,14 +21,20 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -35,16 +48,25 @@ public class ProductsResource {
 
     private static final String ENTITY_NAME = "eRestaurantCustomerProducts";
 
+    private static final String SUMMARY_VIEW = "summary";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final ProductsService productsService;
 
-    private final ProductsRepository productsRepository;
+    private final BlobStoreService blobStoreService;
+
+    private final ProductsSearchService productsSearchService;
 
-    public ProductsResource(ProductsService productsService, ProductsRepository productsRepository) {
+    public ProductsResource(
+        ProductsService productsService,
+        BlobStoreService blobStoreService,
+        ProductsSearchService productsSearchService
+    ) {
         this.productsService = productsService;
-        this.productsRepository = productsRepository;
+        this.blobStoreService = blobStoreService;
+        this.productsSearchService = productsSearchService;
     }
 
     /**
@@ -74,6 +96,18 @@ public class ProductsResource {
             });
     }
 
+    /**
+     * {@code POST  /products/bulk} : Create or update a stream of products, written in batches.
+     *
+     * @param productsDTOs the productsDTOs to create or update, as newline delimited JSON.
+     * @return the {@link Flux} of the result of each productsDTO, in the order of the request.
+     */
+    @PostMapping(value = "/products/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkItemResultDTO> createOrUpdateProducts(@RequestBody Flux<ProductsDTO> productsDTOs) {
+        log.debug("REST request to save a stream of Products");
+        return productsService.saveAll(productsDTOs);
+    }
+
     /**
      * {@code PUT  /products/:id} : Updates an existing products.
      *
@@ -97,23 +131,15 @@ public class ProductsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return productsRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return productsService
-                    .update(productsDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return productsService
+            .update(productsDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -140,45 +166,106 @@ public class ProductsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return productsRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<ProductsDTO> result = productsService.partialUpdate(productsDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return productsService
+            .partialUpdate(productsDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /products} : get all the products.
      *
+     * @param fields the fields of the products to return, all the fields if absent.
+     * @param view the named set of fields to return, {@code summary} leaves out the description.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
      */
     @GetMapping("/products")
-    public Mono<List<ProductsDTO>> getAllProducts() {
+    public Mono<List<ProductsDTO>> getAllProducts(
+        @RequestParam(required = false) List<String> fields,
+        @RequestParam(required = false) String view
+    ) {
         log.debug("REST request to get all Products");
-        return productsService.findAll().collectList();
+        return findAll(projection(fields, view)).collectList();
     }
 
     /**
      * {@code GET  /products} : get all the products as a stream.
+     * @param fields the fields of the products to return, all the fields if absent.
+     * @param view the named set of fields to return, {@code summary} leaves out the description.
      * @return the {@link Flux} of products.
      */
     @GetMapping(value = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<ProductsDTO> getAllProductsAsStream() {
+    public Flux<ProductsDTO> getAllProductsAsStream(
+        @RequestParam(required = false) List<String> fields,
+        @RequestParam(required = false) String view
+    ) {
         log.debug("REST request to get all Products as a stream");
-        return productsService.findAll();
+        return findAll(projection(fields, view));
+    }
+
+    private Flux<ProductsDTO> findAll(Projection projection) {
+        return productsService.findAll(projection).onErrorMap(PropertyReferenceException.class, this::invalidField);
+    }
+
+    private Projection projection(List<String> fields, String view) {
+        if (view != null) {
+            if (!SUMMARY_VIEW.equals(view) || fields != null) {
+                throw new BadRequestAlertException("Invalid view", ENTITY_NAME, "viewinvalid");
+            }
+            return ProductsRepository.SUMMARY;
+        }
+        return fields != null ? Projection.of(fields) : Projection.ALL;
+    }
+
+    private BadRequestAlertException invalidField(PropertyReferenceException e) {
+        return new BadRequestAlertException("Invalid field " + e.getPropertyName(), ENTITY_NAME, "fieldinvalid");
+    }
+
+    /**
+     * {@code GET  /products?cursor=:cursor} : get a page of the products, ordered by id, starting after the continuation token.
+     *
+     * @param cursor the continuation token of the {@code X-Next-Cursor} header, or an empty token for the first page.
+     * @param size the number of products of the page.
+     * @param withTotalCount flag to also return the total number of products in the {@code X-Total-Count} header.
+     * @param fields the fields of the products to return, all the fields if absent.
+     * @param view the named set of fields to return, {@code summary} leaves out the description.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of products in body.
+     */
+    @GetMapping(value = "/products", params = "cursor")
+    public Mono<ResponseEntity<List<ProductsDTO>>> getAllProductsAfterCursor(
+        @RequestParam String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        @RequestParam(required = false, defaultValue = "false") boolean withTotalCount,
+        @RequestParam(required = false) List<String> fields,
+        @RequestParam(required = false) String view
+    ) {
+        log.debug("REST request to get a page of Products after cursor : {}", cursor);
+        CursorPaginationUtil.checkPageSize(size, ENTITY_NAME);
+        String afterId = CursorPaginationUtil.decodeCursor(cursor, ENTITY_NAME);
+        Mono<Optional<Long>> totalCount = withTotalCount ? productsService.countAll().map(Optional::of) : Mono.just(Optional.empty());
+        return productsService
+            .findAllAfter(afterId, size, projection(fields, view))
+            .onErrorMap(PropertyReferenceException.class, this::invalidField)
+            .collectList()
+            .zipWith(totalCount)
+            .map(pageWithCount ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CursorPaginationUtil.generateCursorHttpHeaders(
+                            pageWithCount.getT1(),
+                            size,
+                            ProductsDTO::getId,
+                            pageWithCount.getT2().orElse(null)
+                        )
+                    )
+                    .body(pageWithCount.getT1())
+            );
     }
 
     /**
@@ -194,6 +281,54 @@ public class ProductsResource {
         return ResponseUtil.wrapOrNotFound(productsDTO);
     }
 
+    /**
+     * {@code GET  /products/:id/image} : get the image of the "id" products, supports range and conditional requests.
+     *
+     * @param id the id of the productsDTO whose image to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/products/{id}/image")
+    public Mono<ResponseEntity<Resource>> getProductsImage(@PathVariable String id) {
+        log.debug("REST request to get the image of Products : {}", id);
+        return productsService
+            .findOne(id)
+            .filter(productsDTO -> productsDTO.getImageHash() != null)
+            .flatMap(productsDTO ->
+                blobStoreService
+                    .find(productsDTO.getImageHash())
+                    .map(image -> BlobResponseUtil.ok(image, productsDTO.getImageHash(), productsDTO.getImageContentType()))
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * {@code GET  /_search/products?query=:query} : search the products by their name and description.
+     *
+     * @param query the query, a {@code simple_query_string} every term of which must match.
+     * @param pageable the pagination information, the products being ordered by relevance.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of matching products, with their highlighted fragments, in body.
+     */
+    @GetMapping("/_search/products")
+    public Mono<ResponseEntity<List<ProductsSearchHitDTO>>> searchProducts(
+        @RequestParam String query,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search a page of Products for query : {}", query);
+        if (query.isBlank()) {
+            throw new BadRequestAlertException("The query must not be blank", ENTITY_NAME, "queryinvalid");
+        }
+        return productsSearchService
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
     /**
      * {@code DELETE  /products/:id} : delete the "id" products.
      *
@@ -1,8 +1,9 @@
 package com.erestaurant.customer.web.rest;
 
-import com.erestaurant.customer.repository.search.UserSearchRepository;
+import com.erestaurant.customer.service.UserSearchService;
 import com.erestaurant.customer.service.UserService;
 import com.erestaurant.customer.service.dto.UserDTO;
+import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -10,11 +11,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -26,12 +25,14 @@ public class PublicUserResource {
 
     private final Logger log = LoggerFactory.getLogger(PublicUserResource.class);
 
+    private static final String ENTITY_NAME = "user";
+
     private final UserService userService;
-    private final UserSearchRepository userSearchRepository;
+    private final UserSearchService userSearchService;
 
-    public PublicUserResource(UserSearchRepository userSearchRepository, UserService userService) {
+    public PublicUserResource(UserSearchService userSearchService, UserService userService) {
         this.userService = userService;
-        this.userSearchRepository = userSearchRepository;
+        this.userSearchService = userSearchService;
     }
 
     /**
@@ -67,11 +68,15 @@ public class PublicUserResource {
     /**
      * {@code SEARCH /_search/users/:query} : search for the User corresponding to the query.
      *
-     * @param query the query to search.
-     * @return the result of the search.
+     * @param query the query to search, such as {@code login:jo name:smith}, see
+     * {@link com.erestaurant.customer.repository.search.UserQuery}.
+     * @param pageable the pagination information.
+     * @return the page of the users found, or with status {@code 400 (Bad Request)} if the query is invalid.
      */
     @GetMapping("/_search/users/{query}")
-    public Mono<List<UserDTO>> search(@PathVariable String query) {
-        return userSearchRepository.search(query).map(UserDTO::new).collectList();
+    public Flux<UserDTO> search(@PathVariable String query, @org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+        return userSearchService
+            .search(query, pageable)
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "queryinvalid"));
     }
 }
@@ -0,0 +1,37 @@
+package com.erestaurant.customer.web.rest;
+
+import com.erestaurant.customer.service.TypeaheadService;
+import com.erestaurant.customer.service.dto.TypeaheadSuggestionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST controller for the typeahead of the user logins and the product names.
+ */
+@RestController
+@RequestMapping("/api")
+public class TypeaheadResource {
+
+    private final Logger log = LoggerFactory.getLogger(TypeaheadResource.class);
+
+    private final TypeaheadService typeaheadService;
+
+    public TypeaheadResource(TypeaheadService typeaheadService) {
+        this.typeaheadService = typeaheadService;
+    }
+
+    /**
+     * {@code GET  /_typeahead?q=:q} : get the user logins and product names starting with a prefix.
+     *
+     * @param q the prefix, regardless of case.
+     * @param size the maximum number of suggestions, up to {@link TypeaheadService#MAX_SIZE}.
+     * @return the suggestions, the most frequent first, and none for a blank or too long prefix.
+     */
+    @GetMapping("/_typeahead")
+    public Flux<TypeaheadSuggestionDTO> typeahead(@RequestParam String q, @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request for the typeahead suggestions of : {}", q);
+        return Flux.defer(() -> Flux.fromIterable(typeaheadService.suggest(q, size)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.erestaurant.customer.web.rest;
+
+import com.erestaurant.customer.service.UserReindexService;
+import com.erestaurant.customer.service.dto.UserReindexDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for rebuilding the search index of the {@link com.erestaurant.customer.domain.User}, for the
+ * administrators.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class UserReindexResource {
+
+    private final Logger log = LoggerFactory.getLogger(UserReindexResource.class);
+
+    private final UserReindexService userReindexService;
+
+    public UserReindexResource(UserReindexService userReindexService) {
+        this.userReindexService = userReindexService;
+    }
+
+    /**
+     * {@code POST  /admin/users/_reindex} : start rebuilding the search index of the users, or resume the interrupted
+     * rebuild.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the progress of the rebuild,
+     * which goes on in the background.
+     */
+    @PostMapping("/users/_reindex")
+    public Mono<ResponseEntity<UserReindexDTO>> startUserReindex() {
+        log.debug("REST request to rebuild the search index of the users");
+        return userReindexService
+            .start()
+            .map(checkpoint -> ResponseEntity.status(HttpStatus.ACCEPTED).body(new UserReindexDTO(checkpoint)));
+    }
+
+    /**
+     * {@code GET  /admin/users/_reindex} : get the progress of the last rebuild of the search index of the users.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the progress of the rebuild,
+     * or with status {@code 404 (Not Found)} if the index was never rebuilt.
+     */
+    @GetMapping("/users/_reindex")
+    public Mono<ResponseEntity<UserReindexDTO>> getUserReindex() {
+        log.debug("REST request to get the progress of the rebuild of the search index of the users");
+        return ResponseUtil.wrapOrNotFound(userReindexService.findLatest().map(UserReindexDTO::new));
+    }
+}
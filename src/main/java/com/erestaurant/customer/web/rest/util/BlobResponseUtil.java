@@ -0,0 +1,41 @@
+package com.erestaurant.customer.web.rest.util;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for serving the blobs of the blob store.
+ */
+public final class BlobResponseUtil {
+
+    private BlobResponseUtil() {}
+
+    /**
+     * Generate the response of a blob, tagged with the hash of its content.
+     * <p>
+     * WebFlux answers a request whose {@code If-None-Match} header matches the tag with {@code 304 (Not Modified)},
+     * and a range request with {@code 206 (Partial Content)}. The content of a file is transferred without being copied to the heap.
+     *
+     * @param blob the content of the blob.
+     * @param hash the hash of the content.
+     * @param contentType the content type of the blob, or null if it's unknown.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the blob in body.
+     */
+    public static ResponseEntity<Resource> ok(Resource blob, String hash, String contentType) {
+        return ResponseEntity.ok().eTag(hash).cacheControl(CacheControl.noCache()).contentType(parseContentType(contentType)).body(blob);
+    }
+
+    private static MediaType parseContentType(String contentType) {
+        if (contentType == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
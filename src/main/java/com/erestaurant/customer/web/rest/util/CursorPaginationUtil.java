@@ -0,0 +1,88 @@
+package com.erestaurant.customer.web.rest.util;
+
+import com.erestaurant.customer.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for handling keyset pagination, where a page starts after the id of the last entity of the previous
+ * page instead of at an offset.
+ * <p>
+ * The continuation token sent to the client is opaque, the next page is requested by sending back the token of the
+ * {@value #HEADER_X_NEXT_CURSOR} header in the {@code cursor} request parameter.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    /**
+     * The largest page, the same as the largest {@link org.springframework.data.domain.Pageable} of the offset pages.
+     */
+    public static final int MAX_PAGE_SIZE = 2000;
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Encodes the id of an entity into a continuation token.
+     * @param id the id of the last entity of a page.
+     * @return the continuation token.
+     */
+    public static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks the size of a keyset page, before it reaches the database as the limit of the query.
+     * @param size the requested page size.
+     * @param entityName the name of the paged entity, used for the error alert.
+     * @throws BadRequestAlertException if the size is below 1 or above {@link #MAX_PAGE_SIZE}.
+     */
+    public static void checkPageSize(int size, String entityName) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("Invalid page size, expected 1 to " + MAX_PAGE_SIZE, entityName, "sizeinvalid");
+        }
+    }
+
+    /**
+     * Decodes a continuation token into the id the next page starts after.
+     * @param cursor the continuation token, or an empty token for the first page.
+     * @param entityName the name of the paged entity, used for the error alert.
+     * @return the id, or null for the first page.
+     * @throws BadRequestAlertException if the token is malformed.
+     */
+    public static String decodeCursor(String cursor, String entityName) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the pagination headers of a keyset page.
+     * @param content the entities of the page.
+     * @param size the requested page size.
+     * @param idExtractor returns the id of an entity.
+     * @param totalCount the total number of entities, or null if it was not requested.
+     * @param <T> the type of the entities.
+     * @return the {@link HttpHeaders}, with the next continuation token if the page is full.
+     */
+    public static <T> HttpHeaders generateCursorHttpHeaders(List<T> content, int size, Function<T, String> idExtractor, Long totalCount) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!content.isEmpty() && content.size() >= size) {
+            headers.add(HEADER_X_NEXT_CURSOR, encodeCursor(idExtractor.apply(content.get(content.size() - 1))));
+        }
+        if (totalCount != null) {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(totalCount));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Utility classes used by the REST controllers.
+ */
+package com.erestaurant.customer.web.rest.util;
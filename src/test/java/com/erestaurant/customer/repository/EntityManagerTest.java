@@ -0,0 +1,192 @@
+package com.erestaurant.customer.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.erestaurant.customer.domain.Products;
+import io.r2dbc.h2.H2ConnectionFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Test class for the statements of the {@link EntityManager}, on an in-memory H2 database.
+ */
+class EntityManagerTest {
+
+    private R2dbcEntityTemplate template;
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        template = new R2dbcEntityTemplate(H2ConnectionFactory.inMemory("entity-manager-" + UUID.randomUUID()));
+        entityManager =
+            new EntityManager(
+                SqlRenderer.create(new RenderContextFactory(H2Dialect.INSTANCE).createRenderContext()),
+                new UpdateMapper(H2Dialect.INSTANCE, (R2dbcConverter) template.getConverter()),
+                template,
+                H2Dialect.INSTANCE
+            );
+        template
+            .getDatabaseClient()
+            .sql(
+                "CREATE TABLE products (id VARCHAR(255) PRIMARY KEY, name VARCHAR(255) NOT NULL, description CLOB, " +
+                "image_hash VARCHAR(64), image_content_type VARCHAR(255), estimated_preparaing_time REAL)"
+            )
+            .then()
+            .block();
+    }
+
+    @Test
+    void updateReturnsEmptyForMissingRow() {
+        assertThat(entityManager.update(new Products().id("missing").name("name")).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void updateWritesAllColumns() {
+        template.insert(new Products().id("product1").name("name").description("description")).block();
+
+        entityManager.update(new Products().id("product1").name("other")).block();
+
+        Products products = template.select(Products.class).first().block();
+        assertThat(products.getName()).isEqualTo("other");
+        assertThat(products.getDescription()).isNull();
+    }
+
+    @Test
+    void updateNonNullColumnsKeepsOtherColumns() {
+        template.insert(new Products().id("product1").name("name").description("description")).block();
+
+        assertThat(entityManager.updateNonNullColumns(new Products().id("product1").name("other")).block()).isEqualTo(1);
+        assertThat(entityManager.updateNonNullColumns(new Products().id("missing").name("other")).block()).isZero();
+        assertThat(entityManager.updateNonNullColumns(new Products().id("product1")).block()).isEqualTo(1);
+
+        Products products = template.select(Products.class).first().block();
+        assertThat(products.getName()).isEqualTo("other");
+        assertThat(products.getDescription()).isEqualTo("description");
+    }
+
+    @Test
+    void upsertAllInsertsAndUpdatesInOneStatement() {
+        template.insert(new Products().id("product1").name("name")).block();
+
+        Integer written = entityManager
+            .upsertAll(
+                List.of(
+                    new Products().id("product1").name("updated").estimatedPreparaingTime(2F),
+                    new Products().id("product2").name("inserted").imageHash("0123").imageContentType("image/png")
+                )
+            )
+            .block();
+
+        assertThat(written).isEqualTo(2);
+        List<Products> products = template.select(Products.class).all().collectList().block();
+        assertThat(products).extracting(Products::getName).containsExactlyInAnyOrder("updated", "inserted");
+        assertThat(products).extracting(Products::getEstimatedPreparaingTime).containsExactlyInAnyOrder(2F, null);
+    }
+
+    @Test
+    void selectColumnsKeepsIdAndProjectedFields() {
+        List<Expression> columns = ProductsSqlHelper.getColumns(Table.aliased("products", EntityManager.ENTITY_ALIAS), "e");
+
+        assertThat(entityManager.selectColumns(Products.class, columns, Projection.ALL)).isSameAs(columns);
+        assertThat(entityManager.selectColumns(Products.class, columns, Projection.of(List.of("name", "imageHash"))))
+            .extracting(Expression::toString)
+            .containsExactly("e.id AS e_id", "e.name AS e_name", "e.image_hash AS e_image_hash");
+    }
+
+    @Test
+    void selectColumnsRejectsUnknownField() {
+        List<Expression> columns = ProductsSqlHelper.getColumns(Table.aliased("products", EntityManager.ENTITY_ALIAS), "e");
+
+        assertThatThrownBy(() -> entityManager.selectColumns(Products.class, columns, Projection.of(List.of("password"))))
+            .isInstanceOf(PropertyReferenceException.class);
+    }
+
+    @Test
+    void createSelectCachesTheSqlAndBindsTheValues() {
+        template.insert(new Products().id("product1").name("a")).block();
+        template.insert(new Products().id("product2").name("b")).block();
+        template.insert(new Products().id("product3").name("c")).block();
+        DatabaseClient databaseClient = mock(DatabaseClient.class, AdditionalAnswers.delegatesTo(template.getDatabaseClient()));
+        R2dbcEntityTemplate spiedTemplate = spy(template);
+        doReturn(databaseClient).when(spiedTemplate).getDatabaseClient();
+        entityManager =
+            new EntityManager(
+                SqlRenderer.create(new RenderContextFactory(H2Dialect.INSTANCE).createRenderContext()),
+                new UpdateMapper(H2Dialect.INSTANCE, (R2dbcConverter) template.getConverter()),
+                spiedTemplate,
+                H2Dialect.INSTANCE
+            );
+        Table table = Table.aliased("products", EntityManager.ENTITY_ALIAS);
+        AtomicInteger rendered = new AtomicInteger();
+        Supplier<SelectWhere> selectFrom = () -> {
+            rendered.incrementAndGet();
+            return Select.builder().select(table.column("name").as("e_name")).from(table);
+        };
+        Condition byId = Conditions.isEqual(table.column("id"), SQL.bindMarker(":" + EntityManager.ID_PARAMETER));
+
+        assertThat(findName(selectFrom, byId, "product1")).isEqualTo("a");
+        assertThat(findName(selectFrom, byId, "product2")).isEqualTo("b");
+        assertThat(findNames(selectFrom, PageRequest.of(0, 2, Sort.by("name").descending()))).containsExactly("c", "b");
+        assertThat(findNames(selectFrom, PageRequest.of(1, 2, Sort.by("name").descending()))).containsExactly("a");
+
+        assertThat(rendered).hasValue(2);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient, times(4)).sql(sql.capture());
+        assertThat(sql.getAllValues().get(0))
+            .isEqualTo(sql.getAllValues().get(1))
+            .contains(":" + EntityManager.ID_PARAMETER)
+            .doesNotContain("product1", "product2");
+        assertThat(sql.getAllValues().get(2))
+            .isEqualTo(sql.getAllValues().get(3))
+            .endsWith(" LIMIT :" + EntityManager.LIMIT_PARAMETER + " OFFSET :" + EntityManager.OFFSET_PARAMETER);
+    }
+
+    private String findName(Supplier<SelectWhere> selectFrom, Condition byId, String id) {
+        return entityManager
+            .createSelect(Products.class, "byId", selectFrom, null, byId)
+            .bind(EntityManager.ID_PARAMETER, id)
+            .map((row, metadata) -> row.get("e_name", String.class))
+            .one()
+            .block();
+    }
+
+    private List<String> findNames(Supplier<SelectWhere> selectFrom, Pageable pageable) {
+        return entityManager
+            .createSelect(Products.class, "all", selectFrom, pageable, null)
+            .map((row, metadata) -> row.get("e_name", String.class))
+            .all()
+            .collectList()
+            .block();
+    }
+}
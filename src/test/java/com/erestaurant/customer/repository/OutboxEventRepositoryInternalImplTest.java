@@ -0,0 +1,82 @@
+package com.erestaurant.customer.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.customer.domain.OutboxEvent;
+import io.r2dbc.h2.H2ConnectionFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+
+/**
+ * Test class for the {@link OutboxEventRepositoryInternalImpl}, on an in-memory H2 database.
+ */
+class OutboxEventRepositoryInternalImplTest {
+
+    private R2dbcEntityTemplate template;
+
+    private OutboxEventRepositoryInternalImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        template = new R2dbcEntityTemplate(H2ConnectionFactory.inMemory("outbox-" + UUID.randomUUID()));
+        EntityManager entityManager = new EntityManager(
+            SqlRenderer.create(new RenderContextFactory(H2Dialect.INSTANCE).createRenderContext()),
+            new UpdateMapper(H2Dialect.INSTANCE, (R2dbcConverter) template.getConverter()),
+            template,
+            H2Dialect.INSTANCE
+        );
+        repository = new OutboxEventRepositoryInternalImpl(template, entityManager);
+        template
+            .getDatabaseClient()
+            .sql(
+                "CREATE TABLE outbox_event (id BIGINT AUTO_INCREMENT PRIMARY KEY, aggregate_type VARCHAR(100) NOT NULL, " +
+                "aggregate_id VARCHAR(255) NOT NULL, event_type VARCHAR(20) NOT NULL, payload CLOB, created_date TIMESTAMP NOT NULL)"
+            )
+            .then()
+            .block();
+    }
+
+    private OutboxEvent insert(String aggregateType, String aggregateId) {
+        return template
+            .insert(
+                new OutboxEvent()
+                    .aggregateType(aggregateType)
+                    .aggregateId(aggregateId)
+                    .eventType(OutboxEvent.EventType.SAVED)
+                    .payload("{}")
+                    .createdDate(Instant.now())
+            )
+            .block();
+    }
+
+    @Test
+    void locksOldestEventOfEachAggregate() {
+        OutboxEvent first = insert("Order", "order1");
+        OutboxEvent second = insert("Order", "order2");
+        insert("Order", "order1");
+        OutboxEvent products = insert("Products", "order1");
+
+        List<OutboxEvent> locked = repository.lockNextBatch(10).collectList().block();
+
+        assertThat(locked).extracting(OutboxEvent::getId).containsExactly(first.getId(), second.getId(), products.getId());
+        assertThat(locked.get(0).getEventType()).isEqualTo(OutboxEvent.EventType.SAVED);
+        assertThat(locked.get(0).getPayload()).isEqualTo("{}");
+    }
+
+    @Test
+    void locksAtMostBatchSize() {
+        OutboxEvent first = insert("Order", "order1");
+        insert("Order", "order2");
+
+        assertThat(repository.lockNextBatch(1).collectList().block()).extracting(OutboxEvent::getId).containsExactly(first.getId());
+    }
+}
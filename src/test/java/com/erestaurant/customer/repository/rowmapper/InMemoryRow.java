@@ -0,0 +1,114 @@
+package com.erestaurant.customer.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link Row} backed by an array, which behaves like a driver: it only decodes a value to its own type,
+ * and fails for every other requested type.
+ */
+public class InMemoryRow implements Row {
+
+    private final Metadata metadata;
+    private final Object[] values;
+
+    public InMemoryRow(Metadata metadata, Object... values) {
+        this.metadata = metadata;
+        this.values = values;
+    }
+
+    public static Metadata metadata(String[] names, Class<?>[] types) {
+        return new Metadata(names, types);
+    }
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public Object get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        Object value = values[index];
+        if (value == null) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("Cannot decode value of type " + value.getClass().getName() + " to " + type.getName());
+        }
+        return type.cast(value);
+    }
+
+    @Override
+    public Object get(String name) {
+        return values[metadata.indexOf(name)];
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        return get(metadata.indexOf(name), type);
+    }
+
+    public static class Metadata implements RowMetadata {
+
+        private final List<ColumnMetadata> columns = new ArrayList<>();
+
+        Metadata(String[] names, Class<?>[] types) {
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i];
+                Class<?> type = types[i];
+                columns.add(
+                    new ColumnMetadata() {
+                        @Override
+                        public String getName() {
+                            return name;
+                        }
+
+                        @Override
+                        public Class<?> getJavaType() {
+                            return type;
+                        }
+                    }
+                );
+            }
+        }
+
+        int indexOf(String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getName().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new NoSuchElementException("Column " + name + " does not exist in " + getColumnNames());
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public Iterable<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+
+        @Override
+        public Collection<String> getColumnNames() {
+            return columns.stream().map(ColumnMetadata::getName).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.erestaurant.customer.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.customer.domain.Products;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Test class for the {@link ProductsRowMapper} and its {@link RowMappingPlan}.
+ */
+class ProductsRowMapperTest {
+
+    private static final String[] COLUMN_NAMES = {
+        "e_id",
+        "e_name",
+        "e_description",
+        "e_image_content_type",
+        "e_image_hash",
+        "e_estimated_preparaing_time",
+    };
+
+    private ProductsRowMapper productsRowMapper;
+
+    @BeforeEach
+    public void setUp() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE, Collections.emptyList());
+        MappingR2dbcConverter r2dbcConverter = new MappingR2dbcConverter(new R2dbcMappingContext(), conversions);
+        productsRowMapper = new ProductsRowMapper(new ColumnConverter(conversions, r2dbcConverter));
+    }
+
+    @Test
+    void planMapsTheSameFieldsAsTheColumnNameLookup() {
+        InMemoryRow.Metadata metadata = InMemoryRow.metadata(
+            COLUMN_NAMES,
+            new Class<?>[] { String.class, String.class, String.class, String.class, String.class, Double.class }
+        );
+        InMemoryRow row = new InMemoryRow(metadata, "burger", "Burger", "vegan", "image/png", "9f86d081884c7d65", 12.5d);
+
+        Products expected = productsRowMapper.apply(row, "e");
+        Products actual = productsRowMapper.apply(row, metadata, "e");
+
+        assertThat(actual.getId()).isEqualTo(expected.getId()).isEqualTo("burger");
+        assertThat(actual.getName()).isEqualTo(expected.getName());
+        assertThat(actual.getDescription()).isEqualTo(expected.getDescription());
+        assertThat(actual.getImageContentType()).isEqualTo(expected.getImageContentType());
+        assertThat(actual.getImageHash()).isEqualTo(expected.getImageHash());
+        assertThat(actual.getEstimatedPreparaingTime()).isEqualTo(expected.getEstimatedPreparaingTime()).isEqualTo(12.5f);
+    }
+
+    @Test
+    void columnsMissingFromTheResultAreLeftEmpty() {
+        InMemoryRow.Metadata metadata = InMemoryRow.metadata(
+            new String[] { "e_id", "e_name" },
+            new Class<?>[] { String.class, String.class }
+        );
+        InMemoryRow row = new InMemoryRow(metadata, "burger", "Burger");
+
+        Products products = productsRowMapper.apply(row, metadata, "e");
+
+        assertThat(products.getId()).isEqualTo("burger");
+        assertThat(products.getName()).isEqualTo("Burger");
+        assertThat(products.getImageHash()).isNull();
+        assertThat(products.getEstimatedPreparaingTime()).isNull();
+    }
+
+    @Test
+    void planIsResolvedAgainForANewResult() {
+        Class<?>[] types = { String.class, String.class };
+        InMemoryRow.Metadata first = InMemoryRow.metadata(new String[] { "e_id", "e_name" }, types);
+        InMemoryRow.Metadata second = InMemoryRow.metadata(new String[] { "e_name", "e_id" }, types);
+
+        productsRowMapper.apply(new InMemoryRow(first, "burger", "Burger"), first, "e");
+        Products products = productsRowMapper.apply(new InMemoryRow(second, "Fries", "fries"), second, "e");
+
+        assertThat(products.getId()).isEqualTo("fries");
+        assertThat(products.getName()).isEqualTo("Fries");
+    }
+
+    @Test
+    void planIsSharedByTheResultsWithTheSameColumns() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE, Collections.emptyList());
+        ColumnConverter converter = new ColumnConverter(conversions, new MappingR2dbcConverter(new R2dbcMappingContext(), conversions));
+        RowMappingPlan.Columns columns = RowMappingPlan.columns().add("id", String.class).add("name", String.class);
+        Class<?>[] types = { String.class, String.class };
+        InMemoryRow.Metadata first = InMemoryRow.metadata(new String[] { "e_id", "e_name" }, types);
+        InMemoryRow.Metadata other = InMemoryRow.metadata(new String[] { "e_name", "e_id" }, types);
+        InMemoryRow.Metadata sameAsFirst = InMemoryRow.metadata(new String[] { "e_id", "e_name" }, types);
+
+        RowMappingPlan plan = columns.plan(first, "e", converter);
+
+        assertThat(columns.plan(other, "e", converter)).isNotSameAs(plan);
+        assertThat(columns.plan(sameAsFirst, "e", converter)).isSameAs(plan);
+        assertThat(columns.plan(first, "e", converter)).isSameAs(plan);
+    }
+}
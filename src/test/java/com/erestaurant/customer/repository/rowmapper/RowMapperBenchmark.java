@@ -0,0 +1,91 @@
+package com.erestaurant.customer.repository.rowmapper;
+
+import com.erestaurant.customer.domain.Products;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Compares the column name lookup of {@link ProductsRowMapper#apply(io.r2dbc.spi.Row, String)} with the
+ * precompiled {@link RowMappingPlan}, for a result whose columns all match the entity types, and for one where the
+ * driver reports a {@code float8} preparation time, which has to be converted to a {@link Float}.
+ * <p>
+ * Run it from the test classpath with {@code java -cp <test classpath> org.openjdk.jmh.Main RowMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final String[] COLUMN_NAMES = {
+        "e_id",
+        "e_name",
+        "e_description",
+        "e_image_content_type",
+        "e_image_hash",
+        "e_estimated_preparaing_time",
+    };
+
+    @Param({ "matching", "converted" })
+    public String columnTypes;
+
+    private ProductsRowMapper productsRowMapper;
+
+    private InMemoryRow.Metadata metadata;
+
+    private InMemoryRow[] rows;
+
+    @Setup
+    public void setUp() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE, Collections.emptyList());
+        MappingR2dbcConverter r2dbcConverter = new MappingR2dbcConverter(new R2dbcMappingContext(), conversions);
+        productsRowMapper = new ProductsRowMapper(new ColumnConverter(conversions, r2dbcConverter));
+
+        boolean converted = "converted".equals(columnTypes);
+        Class<?> preparationTimeType = converted ? Double.class : Float.class;
+        metadata =
+            InMemoryRow.metadata(
+                COLUMN_NAMES,
+                new Class<?>[] { String.class, String.class, String.class, String.class, String.class, preparationTimeType }
+            );
+        rows = new InMemoryRow[1024];
+        for (int i = 0; i < rows.length; i++) {
+            Object preparationTime = converted ? (Object) (double) i : (Object) (float) i;
+            rows[i] = new InMemoryRow(metadata, "product-" + i, "name " + i, "description", "image/png", "9f86d081", preparationTime);
+        }
+    }
+
+    @Benchmark
+    public void columnNameLookup(Blackhole blackhole) {
+        for (InMemoryRow row : rows) {
+            Products products = productsRowMapper.apply(row, "e");
+            blackhole.consume(products);
+        }
+    }
+
+    @Benchmark
+    public void rowMappingPlan(Blackhole blackhole) {
+        for (InMemoryRow row : rows) {
+            Products products = productsRowMapper.apply(row, metadata, "e");
+            blackhole.consume(products);
+        }
+    }
+}
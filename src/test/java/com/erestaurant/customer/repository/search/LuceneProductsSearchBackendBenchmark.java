@@ -0,0 +1,116 @@
+package com.erestaurant.customer.repository.search;
+
+import com.erestaurant.customer.domain.Products;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.SearchHit;
+
+/**
+ * Measures the searches of the {@link LuceneProductsSearchBackend}, with their highlighting, on menus whose products
+ * are named and described with a few common dish words among words drawn from a larger vocabulary.
+ * <p>
+ * Run it from the test classpath with {@code java -cp <test classpath> org.openjdk.jmh.Main LuceneProductsSearchBackendBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LuceneProductsSearchBackendBenchmark {
+
+    private static final int VOCABULARY = 5000;
+
+    private static final String[] DISH_WORDS = {
+        "vegan",
+        "burger",
+        "chicken",
+        "salad",
+        "spicy",
+        "grilled",
+        "cheese",
+        "tomato",
+        "wrap",
+        "fries",
+        "soup",
+        "rice",
+        "noodles",
+        "tofu",
+        "beef",
+        "garlic",
+        "sauce",
+        "fresh",
+        "crispy",
+        "sweet",
+    };
+
+    @Param({ "10000", "100000" })
+    public int products;
+
+    @Param({ "vegan burger", "crispy tofu noodles" })
+    public String query;
+
+    private LuceneProductsSearchBackend backend;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        backend = new LuceneProductsSearchBackend();
+        List<Products> batch = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            String description = words(20, 0.1) + ". " + words(15, 0.1) + ".";
+            batch.add(new Products().id("products-" + i).name(words(3, 0.5)).description(description).estimatedPreparaingTime(10F));
+            if (batch.size() == 1000) {
+                backend.bulk(batch, List.of()).block();
+                batch.clear();
+            }
+        }
+        backend.bulk(batch, List.of()).block();
+    }
+
+    private String words(int count, double dishWordRatio) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            words.append(i > 0 ? " " : "");
+            if (random.nextDouble() < dishWordRatio) {
+                words.append(DISH_WORDS[random.nextInt(DISH_WORDS.length)]);
+            } else {
+                words.append("word").append(random.nextInt(VOCABULARY));
+            }
+        }
+        return words.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        backend.close();
+    }
+
+    @Benchmark
+    public Page<SearchHit<Products>> firstPage() {
+        return backend.search(query, PageRequest.of(0, 20)).block();
+    }
+
+    @Benchmark
+    public Page<SearchHit<Products>> tenthPage() {
+        return backend.search(query, PageRequest.of(9, 20)).block();
+    }
+}
@@ -0,0 +1,80 @@
+package com.erestaurant.customer.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.customer.domain.Products;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.SearchHit;
+
+/**
+ * Test class for the {@link LuceneProductsSearchBackend}.
+ */
+class LuceneProductsSearchBackendTest {
+
+    private final LuceneProductsSearchBackend backend = new LuceneProductsSearchBackend();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        backend.close();
+    }
+
+    private static Products products(String id, String name, String description) {
+        return new Products().id(id).name(name).description(description).imageHash("hash-" + id).estimatedPreparaingTime(12.5F);
+    }
+
+    @Test
+    void searchesEveryTermWithHighlights() {
+        backend
+            .bulk(
+                List.of(
+                    products("burger-1", "Vegan Burger", "A grilled soy patty. Served with fries."),
+                    products("burger-2", "Cheese Burger", "Beef and cheddar, not vegan."),
+                    products("salad-1", "Green Salad", "Vegan and fresh.")
+                ),
+                List.of()
+            )
+            .block();
+
+        Page<SearchHit<Products>> page = backend.search("vegan burger", PageRequest.of(0, 10)).block();
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(SearchHit::getId).containsExactly("burger-1", "burger-2");
+        SearchHit<Products> best = page.getContent().get(0);
+        assertThat(best.getHighlightField(ProductsSearchBackend.NAME)).containsExactly("<em>Vegan</em> <em>Burger</em>");
+        assertThat(best.getHighlightField(ProductsSearchBackend.DESCRIPTION)).isEmpty();
+        assertThat(best.getContent().getImageHash()).isEqualTo("hash-burger-1");
+        assertThat(best.getContent().getEstimatedPreparaingTime()).isEqualTo(12.5F);
+        assertThat(page.getContent().get(1).getHighlightField(ProductsSearchBackend.DESCRIPTION))
+            .containsExactly("Beef and cheddar, not <em>vegan</em>.");
+    }
+
+    @Test
+    void replacesAndDeletesProducts() {
+        backend.bulk(List.of(products("burger-1", "Vegan Burger", null), products("burger-2", "Vegan Wrap", null)), List.of()).block();
+        assertThat(backend.count().block()).isEqualTo(2);
+
+        backend.bulk(List.of(products("burger-1", "Chicken Burger", null)), List.of("burger-2")).block();
+
+        assertThat(backend.count().block()).isEqualTo(1);
+        assertThat(backend.search("vegan", PageRequest.of(0, 10)).block()).isEmpty();
+        assertThat(backend.search("chicken", PageRequest.of(0, 10)).block()).extracting(SearchHit::getId).containsExactly("burger-1");
+    }
+
+    @Test
+    void pagesTheResults() {
+        for (int i = 0; i < 25; i++) {
+            backend.bulk(List.of(products("burger-" + i, "Burger " + i, null)), List.of()).block();
+        }
+
+        Page<SearchHit<Products>> page = backend.search("burger", PageRequest.of(2, 10)).block();
+
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(backend.search("burger -burger", PageRequest.of(0, 10)).block()).isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.erestaurant.customer.repository.search;
+
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configure a Mock version of {@link ProductsSearchRepository} to test the
+ * application without starting Elasticsearch.
+ */
+@Configuration
+public class ProductsSearchRepositoryMockConfiguration {
+
+    @MockBean
+    private ProductsSearchRepository mockProductsSearchRepository;
+}
@@ -0,0 +1,47 @@
+package com.erestaurant.customer.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link UserQuery}.
+ */
+class UserQueryTest {
+
+    @Test
+    void normalizesTheQuery() {
+        UserQuery query = UserQuery.parse("  Name:Smith   LOGIN:Jo ");
+
+        assertThat(query).hasToString("login:jo name:smith").isEqualTo(UserQuery.parse("login:jo name:smith"));
+    }
+
+    @Test
+    void compilesEachFieldToItsQuery() {
+        String compiled = UserQuery.parse("login:jo email:john@example.com name:smith").toQueryBuilder().toString();
+
+        assertThat(compiled).contains("\"prefix\"", "\"login\"", "\"value\" : \"jo\"");
+        assertThat(compiled).contains("\"term\"", "\"email\"", "\"value\" : \"john@example.com\"");
+        assertThat(compiled).contains("\"multi_match\"", "\"firstName^1.0\"", "\"lastName^1.0\"", "\"fuzziness\" : \"AUTO\"");
+        assertThat(compiled).contains("\"max_expansions\" : 20");
+    }
+
+    @Test
+    void matchesATermWithoutFieldOnAnyField() {
+        assertThat(UserQuery.parse("jo").toQueryBuilder().toString()).contains("\"prefix\"", "\"multi_match\"").doesNotContain("\"term\"");
+        assertThat(UserQuery.parse("john@example.com").toQueryBuilder().toString()).contains("\"prefix\"", "\"multi_match\"", "\"term\"");
+    }
+
+    @Test
+    void rejectsUnboundedQueries() {
+        assertThatThrownBy(() -> UserQuery.parse(" ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserQuery.parse("login:j*")).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("login:j*");
+        assertThatThrownBy(() -> UserQuery.parse("name:/jo.*/")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserQuery.parse("password:secret")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserQuery.parse("login:")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserQuery.parse("a b c d e f g h i")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserQuery.parse("name:" + "a".repeat(UserQuery.MAX_TERM_LENGTH + 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
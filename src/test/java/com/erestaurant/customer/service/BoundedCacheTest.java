@@ -0,0 +1,111 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Test class for the {@link BoundedCache}.
+ */
+class BoundedCacheTest {
+
+    private Instant now;
+
+    private BoundedCache<String, String> cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.parse("2026-01-01T00:00:00Z");
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1), value -> value.length(), clock);
+    }
+
+    private Mono<String> load(String value) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+
+    @Test
+    void loadsOnceUntilExpiry() {
+        assertThat(cache.get("a", () -> load("aaa")).block()).isEqualTo("aaa");
+        assertThat(cache.get("a", () -> load("bbb")).block()).isEqualTo("aaa");
+        assertThat(loads).hasValue(1);
+
+        now = now.plusSeconds(61);
+
+        assertThat(cache.get("a", () -> load("bbb")).block()).isEqualTo("bbb");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAboveMaximumWeight() {
+        cache.get("a", () -> load("aaaa")).block();
+        cache.get("b", () -> load("bbbb")).block();
+        cache.get("a", () -> load("aaaa")).block();
+        cache.get("c", () -> load("cccc")).block();
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.weight()).isEqualTo(8);
+        cache.get("a", () -> load("aaaa")).block();
+        assertThat(loads).hasValue(3);
+        cache.get("b", () -> load("bbbb")).block();
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void doesNotStoreValueLoadedDuringInvalidation() {
+        Sinks.One<String> pending = Sinks.one();
+        Mono<String> staleLoad = cache.get("a", pending::asMono);
+        staleLoad.subscribe();
+
+        cache.invalidate("a");
+        pending.tryEmitValue("stale");
+
+        assertThat(cache.get("a", () -> load("fresh")).block()).isEqualTo("fresh");
+        assertThat(cache.get("a", () -> load("other")).block()).isEqualTo("fresh");
+    }
+
+    @Test
+    void publishesMetrics() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new BoundedCache.Metrics(cache, Tags.empty()).bindTo(registry);
+
+        cache.get("a", () -> load("aaa")).block();
+        cache.get("a", () -> load("aaa")).block();
+
+        assertThat(registry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.weight").tag("cache", "test").gauge().value()).isEqualTo(3);
+    }
+}
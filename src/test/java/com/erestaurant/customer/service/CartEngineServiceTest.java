@@ -0,0 +1,188 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.CartItem;
+import com.erestaurant.customer.repository.CartItemRepository;
+import com.erestaurant.customer.repository.CartRepository;
+import com.erestaurant.customer.service.dto.CartContentDTO;
+import com.erestaurant.customer.service.dto.CartItemDTO;
+import com.erestaurant.customer.service.dto.ProductsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Test class for the {@link CartEngineService}.
+ */
+class CartEngineServiceTest {
+
+    private final CartRepository cartRepository = mock(CartRepository.class);
+
+    private final CartItemRepository cartItemRepository = mock(CartItemRepository.class);
+
+    private final ProductsService productsService = mock(ProductsService.class);
+
+    private final TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+
+    private final List<CartItem> written = new ArrayList<>();
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @BeforeEach
+    void setUp() {
+        when(cartRepository.existsById("cart")).thenReturn(Mono.just(true));
+        when(cartRepository.existsById("unknown")).thenReturn(Mono.just(false));
+        when(cartItemRepository.findAllByCartIdOrderByIdAsc("cart"))
+            .thenReturn(Flux.just(new CartItem().cartId("cart").productId("pizza").quantity(1)));
+        when(cartItemRepository.deleteAllByCartId(anyString())).thenAnswer(invocation -> Mono.fromRunnable(written::clear).thenReturn(1));
+        when(cartItemRepository.saveAll(any(Iterable.class)))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<CartItem>>getArgument(0)).doOnNext(written::add));
+        when(productsService.findOne(anyString())).thenReturn(Mono.empty());
+        when(productsService.findOne("pizza")).thenReturn(Mono.just(product("pizza", 10f)));
+        when(productsService.findOne("salad")).thenReturn(Mono.just(product("salad", 4f)));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static ProductsDTO product(String id, float estimatedPreparaingTime) {
+        ProductsDTO productsDTO = new ProductsDTO();
+        productsDTO.setId(id);
+        productsDTO.setEstimatedPreparaingTime(estimatedPreparaingTime);
+        return productsDTO;
+    }
+
+    private CartEngineService createService() {
+        return new CartEngineService(
+            cartRepository,
+            cartItemRepository,
+            productsService,
+            transactionalOperator,
+            applicationProperties,
+            new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void updatesTotalsOnEachChange() {
+        CartEngineService service = createService();
+
+        assertThat(service.findContent("cart").block().getEstimatedPreparationTime()).isEqualTo(10.0);
+        service.addItem("cart", "pizza", 2).block();
+        service.addItem("cart", "salad", 1).block();
+        CartContentDTO content = service.setQuantity("cart", "pizza", 2).block();
+
+        assertThat(content.getTotalQuantity()).isEqualTo(3);
+        assertThat(content.getEstimatedPreparationTime()).isEqualTo(24.0);
+        assertThat(content.getItems()).extracting(CartItemDTO::getProductId).containsExactly("pizza", "salad");
+
+        content = service.removeItem("cart", "pizza").block();
+        assertThat(content.getTotalQuantity()).isEqualTo(1);
+        assertThat(content.getEstimatedPreparationTime()).isEqualTo(4.0);
+        verify(cartItemRepository, times(1)).findAllByCartIdOrderByIdAsc("cart");
+    }
+
+    @Test
+    void rejectsUnknownCartAndProduct() {
+        CartEngineService service = createService();
+
+        assertThat(service.addItem("unknown", "pizza", 1).blockOptional()).isEmpty();
+        assertThatThrownBy(() -> service.addItem("cart", "unknown", 1).block()).isInstanceOf(UnknownProductException.class);
+        assertThatThrownBy(() -> service.addItem("cart", "pizza", Integer.MAX_VALUE).block())
+            .isInstanceOf(QuantityTooLargeException.class);
+        assertThat(service.findContent("cart").block().getTotalQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void writesChangesOnceIdle() {
+        applicationProperties.getCart().setIdleTimeout(Duration.ofHours(1));
+        CartEngineService service = createService();
+        service.addItem("cart", "pizza", 1).block();
+        service.addItem("cart", "salad", 3).block();
+
+        assertThat(service.flushIdle().block()).isZero();
+        verify(cartItemRepository, never()).deleteAllByCartId("cart");
+
+        applicationProperties.getCart().setIdleTimeout(Duration.ZERO);
+        service = createService();
+        service.addItem("cart", "pizza", 1).block();
+        service.addItem("cart", "salad", 3).block();
+
+        assertThat(service.flushIdle().block()).isEqualTo(1);
+        assertThat(service.flushIdle().block()).isZero();
+        verify(cartItemRepository, times(1)).deleteAllByCartId("cart");
+        assertThat(written).extracting(CartItem::getProductId).containsExactly("pizza", "salad");
+        assertThat(written.get(0).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    void checkoutWritesAndDropsCart() {
+        CartEngineService service = createService();
+        service.addItem("cart", "salad", 1).block();
+
+        CartContentDTO content = service.checkout("cart").block();
+
+        assertThat(content.getTotalQuantity()).isEqualTo(2);
+        assertThat(written).extracting(CartItem::getProductId).containsExactly("pizza", "salad");
+        assertThat(service.getHotCartCount()).isZero();
+    }
+
+    @Test
+    void appliesChangeRacingWithCheckoutToTheReloadedCart() {
+        Sinks.One<ProductsDTO> salad = Sinks.one();
+        when(productsService.findOne("salad")).thenReturn(salad.asMono());
+        CartEngineService service = createService();
+        Mono<CartContentDTO> added = service.addItem("cart", "salad", 1).cache();
+        added.subscribe();
+
+        service.checkout("cart").block();
+        assertThat(service.getHotCartCount()).isZero();
+        salad.tryEmitValue(product("salad", 4f));
+
+        assertThat(added.block().getTotalQuantity()).isEqualTo(2);
+        assertThat(service.getHotCartCount()).isEqualTo(1);
+        service.checkout("cart").block();
+        assertThat(written).extracting(CartItem::getProductId).containsExactly("pizza", "salad");
+    }
+
+    @Test
+    void writesCartAfterTheWriteInFlight() {
+        Sinks.Empty<Void> firstWrite = Sinks.empty();
+        when(cartItemRepository.deleteAllByCartId(anyString()))
+            .thenReturn(firstWrite.asMono().then(Mono.fromRunnable(written::clear).thenReturn(1)))
+            .thenAnswer(invocation -> Mono.fromRunnable(written::clear).thenReturn(1));
+        applicationProperties.getCart().setIdleTimeout(Duration.ZERO);
+        CartEngineService service = createService();
+        service.addItem("cart", "salad", 1).block();
+        Mono<Long> flushed = service.flushIdle().cache();
+        flushed.subscribe();
+        service.addItem("cart", "pizza", 1).block();
+
+        Mono<CartContentDTO> checkedOut = service.checkout("cart").cache();
+        checkedOut.subscribe();
+        verify(cartItemRepository, times(1)).deleteAllByCartId("cart");
+
+        firstWrite.tryEmitEmpty();
+
+        assertThat(flushed.block()).isEqualTo(1);
+        assertThat(checkedOut.block().getTotalQuantity()).isEqualTo(3);
+        verify(cartItemRepository, times(2)).deleteAllByCartId("cart");
+        assertThat(written).extracting(CartItem::getQuantity).containsExactly(2, 1);
+        assertThat(service.getHotCartCount()).isZero();
+    }
+}
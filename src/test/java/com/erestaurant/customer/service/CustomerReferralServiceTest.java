@@ -0,0 +1,108 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.customer.domain.CustomerProfile;
+import com.erestaurant.customer.domain.CustomerReferral;
+import com.erestaurant.customer.repository.CustomerProfileRepository;
+import com.erestaurant.customer.repository.CustomerReferralRepository;
+import com.erestaurant.customer.service.dto.ReferralDTO;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link CustomerReferralService}.
+ */
+class CustomerReferralServiceTest {
+
+    private final CustomerReferralRepository customerReferralRepository = mock(CustomerReferralRepository.class);
+
+    private final CustomerProfileRepository customerProfileRepository = mock(CustomerProfileRepository.class);
+
+    private final List<CustomerReferral> saved = new ArrayList<>();
+
+    private CustomerReferralService customerReferralService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        customerReferralService = new CustomerReferralService(customerReferralRepository, customerProfileRepository);
+        when(customerReferralRepository.deleteAllByReferrerId(any())).thenReturn(Mono.just(0));
+        when(customerReferralRepository.findAllByReferrerId(any()))
+            .thenAnswer(invocation ->
+                Flux.fromIterable(saved).filter(referral -> referral.getReferrerId().equals(invocation.getArgument(0)))
+            );
+        when(customerReferralRepository.saveAll(any(Publisher.class)))
+            .thenAnswer(invocation -> Flux.from((Publisher<CustomerReferral>) invocation.getArgument(0)).doOnNext(saved::add));
+    }
+
+    private static CustomerProfile profile(String id, String referals) {
+        return new CustomerProfile().id(id).referals(referals);
+    }
+
+    @Test
+    void parsesReferals() {
+        assertThat(CustomerReferralService.parse("alice", " bob-1, carol-1;bob-1 | dave-1\nalice x "))
+            .containsExactly("bob-1", "carol-1", "dave-1");
+        assertThat(CustomerReferralService.parse("alice", null)).isEmpty();
+    }
+
+    @Test
+    void savesReferralsToExistingProfiles() {
+        when(customerProfileRepository.findAllById(anyIterable())).thenReturn(Flux.just(profile("bob-1", null)));
+
+        List<String> referredIds = customerReferralService.saveReferrals("alice", "bob-1, carol-1").block();
+
+        assertThat(referredIds).containsExactly("bob-1");
+        assertThat(saved)
+            .extracting(CustomerReferral::getReferrerId, CustomerReferral::getReferredId)
+            .containsExactly(tuple("alice", "bob-1"));
+        assertThat(customerReferralService.findReferrals("alice", 1, 10)).isEmpty();
+        customerReferralService.setReferrals("alice", referredIds);
+        assertThat(customerReferralService.findReferrals("alice", 1, 10)).extracting(ReferralDTO::getReferredId).containsExactly("bob-1");
+
+        assertThat(customerReferralService.saveReferrals("alice", "bob-1").block()).containsExactly("bob-1");
+        verify(customerReferralRepository, times(1)).deleteAllByReferrerId("alice");
+    }
+
+    @Test
+    void comparesReferralsWithTheSavedOnes() {
+        when(customerProfileRepository.findAllById(anyIterable())).thenReturn(Flux.just(profile("bob-1", null)));
+        customerReferralService.setReferrals("alice", List.of("bob-1"));
+
+        customerReferralService.saveReferrals("alice", "bob-1").block();
+
+        assertThat(saved)
+            .extracting(CustomerReferral::getReferrerId, CustomerReferral::getReferredId)
+            .containsExactly(tuple("alice", "bob-1"));
+    }
+
+    @Test
+    void backfillsEmptyTableOnLoad() {
+        when(customerReferralRepository.count()).thenReturn(Mono.just(0L));
+        when(customerProfileRepository.findAll())
+            .thenReturn(Flux.just(profile("alice", "bob-1 unknown"), profile("bob-1", "carol-1"), profile("carol-1", null)));
+        when(customerReferralRepository.findAll()).thenAnswer(invocation -> Flux.fromIterable(saved));
+
+        assertThat(customerReferralService.load().block()).isEqualTo(2);
+
+        assertThat(customerReferralService.findReferrals("alice", 2, 10))
+            .extracting(ReferralDTO::getReferredId)
+            .containsExactly("bob-1", "carol-1");
+        assertThat(customerReferralService.findTopReferrers(1)).hasSize(1);
+        verify(customerReferralRepository, never()).deleteAllByReferrerId(any());
+    }
+}
@@ -0,0 +1,63 @@
+package com.erestaurant.customer.service;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the queries of the {@link GeoGrid} with profiles spread over a metropolitan area of about 110 by 85
+ * kilometers, with ranges up to 10 kilometers.
+ * <p>
+ * Run it from the test classpath with {@code java -cp <test classpath> org.openjdk.jmh.Main GeoGridBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoGridBenchmark {
+
+    @Param({ "10000", "100000", "500000" })
+    public int profiles;
+
+    @Param({ "1", "5" })
+    public double radiusKm;
+
+    private GeoGrid grid;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        grid = new GeoGrid();
+        for (int i = 0; i < profiles; i++) {
+            grid.put("profile-" + i, randomPoint(), random.nextDouble() * 10);
+        }
+    }
+
+    private GeoPoint randomPoint() {
+        return new GeoPoint(40 + random.nextDouble(), -4 + random.nextDouble());
+    }
+
+    @Benchmark
+    public List<GeoGrid.Match> findWithin() {
+        return grid.findWithin(randomPoint(), radiusKm, 20);
+    }
+
+    @Benchmark
+    public List<GeoGrid.Match> findCovering() {
+        return grid.findCovering(randomPoint(), 20);
+    }
+}
@@ -0,0 +1,100 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link GeoGrid}.
+ */
+class GeoGridTest {
+
+    @Test
+    void findsPointsWithinRadiusClosestFirst() {
+        GeoGrid grid = new GeoGrid();
+        grid.put("sol", new GeoPoint(40.4168, -3.7038), 5);
+        grid.put("retiro", new GeoPoint(40.4153, -3.6845), 1);
+        grid.put("barcelona", new GeoPoint(41.3874, 2.1686), 10);
+
+        List<GeoGrid.Match> matches = grid.findWithin(new GeoPoint(40.4160, -3.6900), 3, 10);
+
+        assertThat(matches).extracting(GeoGrid.Match::getId).containsExactly("retiro", "sol");
+        assertThat(grid.findWithin(new GeoPoint(40.4160, -3.6900), 3, 1)).extracting(GeoGrid.Match::getId).containsExactly("retiro");
+    }
+
+    @Test
+    void findsPointsCoveringLocation() {
+        GeoGrid grid = new GeoGrid();
+        grid.put("sol", new GeoPoint(40.4168, -3.7038), 5);
+        grid.put("retiro", new GeoPoint(40.4153, -3.6845), 1);
+        grid.put("unknown", new GeoPoint(40.4160, -3.6900), Double.NaN);
+
+        assertThat(grid.findCovering(new GeoPoint(40.4400, -3.7000), 10)).extracting(GeoGrid.Match::getId).containsExactly("sol");
+
+        grid.put("sol", new GeoPoint(41.3874, 2.1686), 5);
+        assertThat(grid.findCovering(new GeoPoint(40.4400, -3.7000), 10)).isEmpty();
+        assertThat(grid.remove("sol")).isTrue();
+        assertThat(grid.remove("sol")).isFalse();
+        assertThat(grid.size()).isEqualTo(2);
+    }
+
+    @Test
+    void findsPointsAcrossAntimeridianAndPoles() {
+        GeoGrid grid = new GeoGrid();
+        grid.put("east", new GeoPoint(0, 179.99), 1);
+        grid.put("west", new GeoPoint(0, -179.99), 1);
+        grid.put("pole", new GeoPoint(89.99, 45), 1);
+
+        assertThat(grid.findWithin(new GeoPoint(0, 180), 5, 10)).extracting(GeoGrid.Match::getId).containsExactlyInAnyOrder("east", "west");
+        assertThat(grid.findWithin(new GeoPoint(89.99, -135), 5, 10)).extracting(GeoGrid.Match::getId).containsExactly("pole");
+    }
+
+    @Test
+    void matchesFullScanOfRandomPoints() {
+        GeoGrid grid = new GeoGrid();
+        Map<String, GeoPoint> points = new HashMap<>();
+        Map<String, Double> ranges = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            GeoPoint point = new GeoPoint(40 + random.nextDouble(), -4 + random.nextDouble());
+            points.put("p" + i, point);
+            ranges.put("p" + i, random.nextDouble() * 10);
+            grid.put("p" + i, point, ranges.get("p" + i));
+        }
+        for (int query = 0; query < 50; query++) {
+            GeoPoint center = new GeoPoint(40 + random.nextDouble(), -4 + random.nextDouble());
+            double radius = random.nextDouble() * 20;
+            List<String> within = new ArrayList<>();
+            List<String> covering = new ArrayList<>();
+            points.forEach((id, point) -> {
+                if (center.distanceKm(point) <= radius) {
+                    within.add(id);
+                }
+                if (center.distanceKm(point) <= ranges.get(id)) {
+                    covering.add(id);
+                }
+            });
+            Comparator<String> closestFirst = Comparator.comparingDouble(id -> center.distanceKm(points.get(id)));
+            within.sort(closestFirst);
+            covering.sort(closestFirst);
+
+            List<GeoGrid.Match> matches = grid.findWithin(center, radius, Integer.MAX_VALUE);
+
+            assertThat(matches.stream().map(GeoGrid.Match::getId).collect(Collectors.toList())).containsExactlyInAnyOrderElementsOf(within);
+            assertThat(matches).isSortedAccordingTo(Comparator.comparingDouble(GeoGrid.Match::getDistanceKm));
+            assertThat(grid.findWithin(center, radius, 5))
+                .extracting(GeoGrid.Match::getId)
+                .containsExactlyElementsOf(within.subList(0, Math.min(5, within.size())));
+            assertThat(grid.findCovering(center, 5))
+                .extracting(GeoGrid.Match::getId)
+                .containsExactlyElementsOf(covering.subList(0, Math.min(5, covering.size())));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link GeoPoint}.
+ */
+class GeoPointTest {
+
+    @Test
+    void parsesCoordinates() {
+        assertThat(GeoPoint.parse("40.4168,-3.7038")).hasToString("40.4168,-3.7038");
+        assertThat(GeoPoint.parse(" geo:40.4168 , -3.7038;u=35")).hasToString("40.4168,-3.7038");
+        assertThat(GeoPoint.parse("40.4168 -3.7038")).hasToString("40.4168,-3.7038");
+        assertThat(GeoPoint.parse("Omani")).isNull();
+        assertThat(GeoPoint.parse("91,0")).isNull();
+        assertThat(GeoPoint.parse(null)).isNull();
+    }
+
+    @Test
+    void parsesRanges() {
+        assertThat(GeoPoint.parseRangeKm("5km")).isEqualTo(5);
+        assertThat(GeoPoint.parseRangeKm("500 m")).isEqualTo(0.5);
+        assertThat(GeoPoint.parseRangeKm("2")).isEqualTo(2);
+        assertThat(GeoPoint.parseRangeKm("1mi")).isEqualTo(1.609344);
+        assertThat(GeoPoint.parseRangeKm("Mandatory")).isNaN();
+    }
+
+    @Test
+    void encodesAndDecodesGeohashes() {
+        GeoPoint point = new GeoPoint(57.64911, 10.40744);
+
+        assertThat(point.geohash(11)).isEqualTo("u4pruydqqvj");
+        GeoPoint decoded = GeoPoint.fromGeohash(point.geohash(GeoPoint.GEOHASH_PRECISION));
+        assertThat(decoded.getLatitude()).isCloseTo(57.64911, within(1e-6));
+        assertThat(decoded.getLongitude()).isCloseTo(10.40744, within(1e-6));
+    }
+
+    @Test
+    void computesGreatCircleDistances() {
+        GeoPoint madrid = new GeoPoint(40.4168, -3.7038);
+        GeoPoint barcelona = new GeoPoint(41.3874, 2.1686);
+
+        assertThat(madrid.distanceKm(barcelona)).isCloseTo(505, within(2.0));
+        assertThat(madrid.distanceKm(madrid)).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Flux;
+
+/**
+ * Test class for the {@link KafkaPublishService}, with a channel acknowledging the messages like the binder does.
+ */
+class KafkaPublishServiceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong offsets = new AtomicLong();
+
+    private KafkaPublishService kafkaPublishService;
+
+    @BeforeEach
+    void setUp() {
+        DirectChannel output = new DirectChannel();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getKafkaPublish().setAckTimeout(Duration.ofSeconds(5));
+        kafkaPublishService = new KafkaPublishService(output, applicationProperties, meterRegistry);
+        output.subscribe(message -> {
+            if ("fail".equals(message.getPayload())) {
+                kafkaPublishService.fail(new ErrorMessage(new MessageDeliveryException(message, "broker unavailable")));
+                return;
+            }
+            RecordMetadata metadata = new RecordMetadata(new TopicPartition("sse-topic", 0), offsets.getAndIncrement(), 0, 0L, 0, 0);
+            kafkaPublishService.acknowledge(MessageBuilder.fromMessage(message).setHeader(KafkaHeaders.RECORD_METADATA, metadata).build());
+        });
+    }
+
+    @Test
+    void publishReturnsRecordIdOnceAcknowledged() {
+        assertThat(kafkaPublishService.publish("a").block()).isEqualTo("0-0");
+        assertThat(kafkaPublishService.publish("b").block()).isEqualTo("0-1");
+        assertThat(meterRegistry.get("kafka.publish").tag("outcome", "acknowledged").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void publishFailsWhenSendFails() {
+        assertThatThrownBy(() -> kafkaPublishService.publish("fail").block()).hasMessageContaining("broker unavailable");
+        assertThat(meterRegistry.get("kafka.publish").tag("outcome", "failed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishAllReturnsResultOfEachMessageInOrder() {
+        List<BulkItemResultDTO> results = kafkaPublishService.publishAll(Flux.just("a", "fail", "b")).collectList().block();
+
+        assertThat(results).extracting(BulkItemResultDTO::getIndex).containsExactly(0L, 1L, 2L);
+        assertThat(results)
+            .extracting(BulkItemResultDTO::getStatus)
+            .containsExactly(BulkItemResultDTO.Status.SAVED, BulkItemResultDTO.Status.FAILED, BulkItemResultDTO.Status.SAVED);
+        assertThat(results.get(0).getId()).isNotNull();
+    }
+}
@@ -0,0 +1,67 @@
+package com.erestaurant.customer.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link KitchenScheduler} with queues of increasing depth: the estimate of a queued order, and the
+ * insertion of an order followed by its cancellation, which keeps the depth constant.
+ * <p>
+ * Run it from the test classpath with {@code java -cp <test classpath> org.openjdk.jmh.Main KitchenSchedulerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KitchenSchedulerBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int depth;
+
+    private KitchenScheduler scheduler;
+
+    private String[] orderIds;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private long next;
+
+    @Setup
+    public void setUp() {
+        scheduler = new KitchenScheduler(4);
+        orderIds = new String[depth];
+        for (int i = 0; i < depth; i++) {
+            orderIds[i] = "order-" + i;
+            scheduler.enqueue(orderIds[i], random.nextInt(3), 60_000 + random.nextInt(600_000));
+        }
+        for (int station = 0; station < 4; station++) {
+            scheduler.enqueue("started-" + station, -1, 300_000);
+            scheduler.startNext(0);
+        }
+    }
+
+    @Benchmark
+    public KitchenScheduler.Estimate estimate() {
+        return scheduler.estimate(orderIds[random.nextInt(depth)], 0);
+    }
+
+    @Benchmark
+    public boolean enqueueAndCancel() {
+        String orderId = "new-" + next++;
+        scheduler.enqueue(orderId, random.nextInt(3), 120_000);
+        return scheduler.cancel(orderId);
+    }
+}
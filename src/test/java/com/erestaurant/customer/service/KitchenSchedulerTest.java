@@ -0,0 +1,84 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link KitchenScheduler}.
+ */
+class KitchenSchedulerTest {
+
+    @Test
+    void queuesByPriorityThenArrival() {
+        KitchenScheduler scheduler = new KitchenScheduler(1);
+        scheduler.enqueue("a", 1, 10);
+        scheduler.enqueue("b", 0, 20);
+        scheduler.enqueue("c", 1, 30);
+
+        assertThat(scheduler.estimate("b", 0).getPosition()).isEqualTo(1);
+        assertThat(scheduler.estimate("a", 0).getPosition()).isEqualTo(2);
+        assertThat(scheduler.estimate("c", 0).getReadyMillis()).isEqualTo(60);
+        assertThat(scheduler.enqueue("a", 0, 10)).isFalse();
+
+        assertThat(scheduler.startNext(0)).isEqualTo("b");
+        assertThat(scheduler.startNext(0)).isNull();
+        assertThat(scheduler.estimate("b", 5).getStatus()).isEqualTo(KitchenScheduler.Status.IN_PROGRESS);
+        assertThat(scheduler.estimate("b", 5).getReadyMillis()).isEqualTo(20);
+        assertThat(scheduler.estimate("a", 5).getReadyMillis()).isEqualTo(30);
+    }
+
+    @Test
+    void sharesWorkAheadBetweenStations() {
+        KitchenScheduler scheduler = new KitchenScheduler(2);
+        scheduler.enqueue("a", 0, 40);
+        scheduler.enqueue("b", 0, 20);
+        scheduler.enqueue("c", 0, 10);
+        scheduler.startNext(0);
+
+        assertThat(scheduler.estimate("b", 0).getReadyMillis()).isEqualTo(40);
+        assertThat(scheduler.estimate("c", 0).getReadyMillis()).isEqualTo(40);
+
+        scheduler.enqueue("urgent", -1, 10);
+        assertThat(scheduler.estimate("c", 0).getReadyMillis()).isEqualTo(45);
+        assertThat(scheduler.estimate("c", 0).getPosition()).isEqualTo(3);
+
+        assertThat(scheduler.cancel("urgent")).isTrue();
+        assertThat(scheduler.complete("a")).isTrue();
+        assertThat(scheduler.estimate("a", 0)).isNull();
+        assertThat(scheduler.estimate("c", 0).getReadyMillis()).isEqualTo(20);
+    }
+
+    @Test
+    void matchesFullReplanAfterRandomChanges() {
+        KitchenScheduler scheduler = new KitchenScheduler(1);
+        List<long[]> queue = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            if (!queue.isEmpty() && random.nextInt(3) == 0) {
+                long[] cancelled = queue.remove(random.nextInt(queue.size()));
+                assertThat(scheduler.cancel("o" + cancelled[2])).isTrue();
+            } else {
+                long[] order = { random.nextInt(5), 1 + random.nextInt(100), i };
+                queue.add(order);
+                scheduler.enqueue("o" + i, (int) order[0], order[1]);
+            }
+        }
+        queue.sort(Comparator.<long[]>comparingLong(order -> order[0]).thenComparingLong(order -> order[2]));
+
+        long ready = 0;
+        for (int position = 0; position < queue.size(); position++) {
+            long[] order = queue.get(position);
+            ready += order[1];
+            KitchenScheduler.Estimate estimate = scheduler.estimate("o" + order[2], 0);
+            assertThat(estimate.getPosition()).isEqualTo(position + 1);
+            assertThat(estimate.getReadyMillis()).isEqualTo(ready);
+        }
+        assertThat(scheduler.getQueueSize()).isEqualTo(queue.size());
+        assertThat(scheduler.getQueuedWorkMillis()).isEqualTo(ready);
+    }
+}
@@ -0,0 +1,149 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.OrderEvent;
+import com.erestaurant.customer.domain.OrderProjectionCheckpoint;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import com.erestaurant.customer.repository.OrderEventRepository;
+import com.erestaurant.customer.repository.OrderProjectionCheckpointRepository;
+import com.erestaurant.customer.service.dto.OrderProjectionDTO;
+import com.erestaurant.customer.service.dto.OrderRatingStatsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link OrderProjectionService}.
+ */
+class OrderProjectionServiceTest {
+
+    private final OrderEventRepository orderEventRepository = mock(OrderEventRepository.class);
+
+    private final OrderProjectionCheckpointRepository orderProjectionCheckpointRepository = mock(
+        OrderProjectionCheckpointRepository.class
+    );
+
+    private final AtomicReference<OrderProjectionCheckpoint> savedCheckpoint = new AtomicReference<>();
+
+    private OrderProjectionService orderProjectionService;
+
+    @BeforeEach
+    void setUp() {
+        when(orderEventRepository.findAllAfter(anyLong(), anyInt())).thenReturn(Flux.empty());
+        when(orderProjectionCheckpointRepository.findById(OrderProjectionService.CHECKPOINT_ID))
+            .thenAnswer(invocation -> Mono.justOrEmpty(savedCheckpoint.get()));
+        when(orderProjectionCheckpointRepository.save(any()))
+            .thenAnswer(invocation -> {
+                savedCheckpoint.set(invocation.getArgument(0));
+                return Mono.just(savedCheckpoint.get());
+            });
+        orderProjectionService = createService();
+    }
+
+    private OrderProjectionService createService() {
+        return new OrderProjectionService(
+            orderEventRepository,
+            orderProjectionCheckpointRepository,
+            new ObjectMapper(),
+            new ApplicationProperties()
+        );
+    }
+
+    private static OrderEvent event(long id, OrderEvent.EventType eventType, Instant createdDate) {
+        return new OrderEvent().id(id).orderId("order").version(1).eventType(eventType).createdDate(createdDate);
+    }
+
+    private static OrderEvent event(long id, OrderEvent.EventType eventType) {
+        return event(id, eventType, Instant.now());
+    }
+
+    @Test
+    void projectsEventsFromTheirPreviousValues() {
+        orderProjectionService.applyAll(
+            List.of(
+                event(1, OrderEvent.EventType.CREATED).rating(4f).toState(OrderState.NEW_ORDER),
+                event(2, OrderEvent.EventType.CREATED).rating(2f).toState(OrderState.NEW_ORDER),
+                event(3, OrderEvent.EventType.UPDATED).previousRating(2f).rating(5f),
+                event(4, OrderEvent.EventType.TRANSITIONED).fromState(OrderState.NEW_ORDER).toState(OrderState.COMPLETE),
+                event(5, OrderEvent.EventType.TRANSITIONED).fromState(OrderState.NEW_ORDER).toState(OrderState.COMPLETE),
+                event(6, OrderEvent.EventType.TRANSITIONED).fromState(OrderState.COMPLETE).toState(OrderState.REFUNDED),
+                event(7, OrderEvent.EventType.DELETED).fromState(OrderState.REFUNDED).previousRating(4f)
+            )
+        );
+
+        OrderProjectionDTO projection = orderProjectionService.getProjection();
+        assertThat(projection.getOrdersByState()).containsEntry(OrderState.NEW_ORDER, 0L).containsEntry(OrderState.COMPLETE, 1L);
+        assertThat(projection.getOrdersByState()).containsEntry(OrderState.REFUNDED, 0L);
+        assertThat(projection.getAverageRating()).isEqualTo(5.0);
+        assertThat(projection.getRefundRate()).isEqualTo(0.5);
+        assertThat(projection.getLastEventId()).isEqualTo(7L);
+    }
+
+    @Test
+    void waitsForRecentGapAndSkipsOldOne() {
+        Instant old = Instant.now().minusSeconds(60);
+        long applied = orderProjectionService.applyAll(
+            List.of(
+                event(1, OrderEvent.EventType.CREATED, old).toState(OrderState.NEW_ORDER),
+                event(3, OrderEvent.EventType.CREATED, old).toState(OrderState.NEW_ORDER),
+                event(5, OrderEvent.EventType.CREATED).toState(OrderState.NEW_ORDER)
+            )
+        );
+
+        assertThat(applied).isEqualTo(2);
+        assertThat(orderProjectionService.getProjection().getLastEventId()).isEqualTo(3L);
+        assertThat(orderProjectionService.getProjection().getOrdersByState()).containsEntry(OrderState.NEW_ORDER, 2L);
+    }
+
+    @Test
+    void computesRatingStatistics() {
+        orderProjectionService.applyAll(
+            List.of(
+                event(1, OrderEvent.EventType.CREATED).rating(1f),
+                event(2, OrderEvent.EventType.CREATED).rating(3f),
+                event(3, OrderEvent.EventType.CREATED).rating(5f),
+                event(4, OrderEvent.EventType.UPDATED).previousRating(1f).rating(4f)
+            )
+        );
+
+        OrderRatingStatsDTO stats = orderProjectionService.getRatingStats();
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getAverage()).isEqualTo(4.0);
+        assertThat(stats.getMin()).isEqualTo(3f);
+        assertThat(stats.getMax()).isEqualTo(5f);
+        assertThat(stats.getP50()).isEqualTo(4f);
+        assertThat(stats.getHistogram()).containsOnlyKeys(3f, 4f, 5f);
+        assertThat(orderProjectionService.getRatingStats()).isSameAs(stats);
+    }
+
+    @Test
+    void restoresFromCheckpoint() {
+        orderProjectionService.project().block();
+        orderProjectionService.applyAll(
+            List.of(
+                event(1, OrderEvent.EventType.CREATED).rating(2f).toState(OrderState.NEW_ORDER),
+                event(2, OrderEvent.EventType.TRANSITIONED).fromState(OrderState.NEW_ORDER).toState(OrderState.CANCEL)
+            )
+        );
+        orderProjectionService.checkpoint().block();
+
+        OrderProjectionService restarted = createService();
+        restarted.project().block();
+
+        assertThat(restarted.getProjection()).isEqualTo(orderProjectionService.getProjection());
+        assertThat(restarted.getRatingStats()).isEqualTo(orderProjectionService.getRatingStats());
+        assertThat(savedCheckpoint.get().getLastEventId()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,116 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.OutboxEvent;
+import com.erestaurant.customer.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link OutboxRelayService}, with a channel acknowledging the events like the binder does.
+ */
+class OutboxRelayServiceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong offsets = new AtomicLong();
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxRelayService outboxRelayService;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        when(outboxEventRepository.deleteAllById(any())).thenReturn(Mono.empty());
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        DirectChannel output = new DirectChannel();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getOutbox().setBatchSize(10);
+        applicationProperties.getKafkaPublish().setAckTimeout(Duration.ofSeconds(5));
+        outboxRelayService =
+            new OutboxRelayService(outboxEventRepository, transactionalOperator, output, applicationProperties, meterRegistry);
+        output.subscribe(message -> {
+            sent.add(message);
+            if ("fail".equals(message.getPayload())) {
+                outboxRelayService.fail(new ErrorMessage(new MessageDeliveryException(message, "broker unavailable")));
+                return;
+            }
+            TopicPartition partition = new TopicPartition("domain-events-topic", 0);
+            RecordMetadata metadata = new RecordMetadata(partition, offsets.getAndIncrement(), 0, 0L, 0, 0);
+            outboxRelayService.acknowledge(MessageBuilder.fromMessage(message).setHeader(KafkaHeaders.RECORD_METADATA, metadata).build());
+        });
+    }
+
+    private static OutboxEvent event(long id, String aggregateId, String payload) {
+        return new OutboxEvent()
+            .id(id)
+            .aggregateType("Order")
+            .aggregateId(aggregateId)
+            .eventType(OutboxEvent.EventType.SAVED)
+            .payload(payload)
+            .createdDate(Instant.now());
+    }
+
+    @Test
+    void deletesAcknowledgedEvents() {
+        when(outboxEventRepository.lockNextBatch(anyInt()))
+            .thenReturn(Flux.just(event(1L, "order1", "{}"), event(2L, "order2", "fail"), event(3L, "order3", "{}")));
+
+        assertThat(outboxRelayService.relay().block()).isEqualTo(2);
+
+        verify(outboxEventRepository).deleteAllById(List.of(1L, 3L));
+        assertThat(meterRegistry.get("outbox.events").tag("outcome", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keysEventsByAggregate() {
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(Flux.just(event(1L, "order1", "{}")));
+
+        outboxRelayService.relay().block();
+
+        assertThat(sent).hasSize(1);
+        assertThat(new String(sent.get(0).getHeaders().get(KafkaHeaders.MESSAGE_KEY, byte[].class), StandardCharsets.UTF_8))
+            .isEqualTo("Order:order1");
+        assertThat(sent.get(0).getHeaders().get(OutboxRelayService.EVENT_TYPE_HEADER)).isEqualTo("SAVED");
+    }
+
+    @Test
+    void doesNotDeleteWhenNothingIsRelayed() {
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(Flux.empty());
+
+        assertThat(outboxRelayService.relay().block()).isZero();
+
+        verify(outboxEventRepository, never()).deleteAllById(any());
+    }
+}
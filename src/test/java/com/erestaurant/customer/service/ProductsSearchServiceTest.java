@@ -0,0 +1,103 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.Products;
+import com.erestaurant.customer.repository.ProductsRepository;
+import com.erestaurant.customer.repository.search.LuceneProductsSearchBackend;
+import com.erestaurant.customer.service.dto.ProductsDTO;
+import com.erestaurant.customer.service.dto.ProductsSearchHitDTO;
+import com.erestaurant.customer.service.mapper.ProductsMapperImpl;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link ProductsSearchService}.
+ */
+class ProductsSearchServiceTest {
+
+    private final List<List<String>> bulks = new ArrayList<>();
+
+    private RuntimeException failure;
+
+    private ProductsSearchService productsSearchService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearch().setBatchSize(3);
+        LuceneProductsSearchBackend backend = new LuceneProductsSearchBackend() {
+            @Override
+            public Mono<Void> bulk(List<Products> indexed, List<String> deletedIds) {
+                if (failure != null) {
+                    return Mono.error(failure);
+                }
+                List<String> bulk = new ArrayList<>();
+                indexed.forEach(products -> bulk.add(products.getId()));
+                deletedIds.forEach(id -> bulk.add("-" + id));
+                bulks.add(bulk);
+                return super.bulk(indexed, deletedIds);
+            }
+        };
+        productsSearchService =
+            new ProductsSearchService(backend, mock(ProductsRepository.class), new ProductsMapperImpl(), applicationProperties);
+    }
+
+    private static ProductsDTO products(String id, String name) {
+        ProductsDTO productsDTO = new ProductsDTO();
+        productsDTO.setId(id);
+        productsDTO.setName(name);
+        productsDTO.setEstimatedPreparaingTime(10F);
+        return productsDTO;
+    }
+
+    @Test
+    void writesOnlyTheLastChangeOfEachProduct() {
+        productsSearchService.index(products("burger-1", "Burger"));
+        productsSearchService.index(products("burger-2", "Burger"));
+        productsSearchService.index(products("burger-1", "Vegan Burger"));
+        productsSearchService.remove("burger-2");
+
+        assertThat(productsSearchService.flush().block()).isEqualTo(2);
+        assertThat(bulks).containsExactly(List.of("burger-1", "-burger-2"));
+        assertThat(productsSearchService.flush().block()).isZero();
+
+        Page<ProductsSearchHitDTO> page = productsSearchService.search("vegan", PageRequest.of(0, 10)).block();
+        assertThat(page.getContent()).extracting(hit -> hit.getProducts().getId()).containsExactly("burger-1");
+        assertThat(page.getContent().get(0).getHighlights()).containsKey("name");
+    }
+
+    @Test
+    void writesFullBatchesWithoutWaitingForTheFlush() {
+        productsSearchService.index(products("burger-1", "Burger"));
+        productsSearchService.index(products("burger-2", "Burger"));
+        assertThat(bulks).isEmpty();
+
+        productsSearchService.index(products("burger-3", "Burger"));
+
+        assertThat(bulks).containsExactly(List.of("burger-1", "burger-2", "burger-3"));
+    }
+
+    @Test
+    void retriesTheFailedChanges() {
+        failure = new IllegalStateException("unavailable");
+        productsSearchService.index(products("burger-1", "Burger"));
+        productsSearchService.remove("burger-2");
+
+        assertThatThrownBy(() -> productsSearchService.flush().block()).isSameAs(failure);
+        productsSearchService.index(products("burger-2", "Burger"));
+        failure = null;
+
+        assertThat(productsSearchService.flush().block()).isEqualTo(2);
+        assertThat(bulks).containsExactly(List.of("burger-1", "burger-2"));
+        assertThat(productsSearchService.search("burger", PageRequest.of(0, 10)).block()).hasSize(2);
+    }
+}
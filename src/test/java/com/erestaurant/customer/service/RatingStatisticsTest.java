@@ -0,0 +1,83 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link RatingStatistics}.
+ */
+class RatingStatisticsTest {
+
+    @Test
+    void tracksAddedAndRemovedRatings() {
+        RatingStatistics statistics = new RatingStatistics();
+        statistics.add(2);
+        statistics.add(5);
+        statistics.add(5);
+        statistics.add(1);
+
+        assertThat(statistics.remove(1)).isTrue();
+        assertThat(statistics.remove(3)).isFalse();
+
+        assertThat(statistics.getCount()).isEqualTo(3);
+        assertThat(statistics.getSum()).isEqualTo(12.0);
+        assertThat(statistics.getAverage()).isEqualTo(4.0);
+        assertThat(statistics.getMin()).isEqualTo(2f);
+        assertThat(statistics.getMax()).isEqualTo(5f);
+        assertThat(statistics.getHistogram()).containsEntry(5f, 2L).doesNotContainKey(1f);
+    }
+
+    @Test
+    void computesPercentilesByNearestRank() {
+        RatingStatistics statistics = new RatingStatistics();
+        for (int rating = 1; rating <= 10; rating++) {
+            statistics.add(rating);
+        }
+
+        assertThat(statistics.getPercentile(0)).isEqualTo(1f);
+        assertThat(statistics.getPercentile(50)).isEqualTo(5f);
+        assertThat(statistics.getPercentile(90)).isEqualTo(9f);
+        assertThat(statistics.getPercentile(100)).isEqualTo(10f);
+        assertThat(new RatingStatistics().getPercentile(50)).isNull();
+    }
+
+    @Test
+    void mergesHistograms() {
+        RatingStatistics first = new RatingStatistics();
+        first.add(1);
+        first.add(3);
+        RatingStatistics second = new RatingStatistics();
+        second.add(3);
+
+        first.merge(second);
+
+        assertThat(first.getCount()).isEqualTo(3);
+        assertThat(first.getHistogram()).containsEntry(3f, 2L);
+        assertThat(new RatingStatistics(first.getRatings()).getSum()).isEqualTo(first.getSum());
+    }
+
+    @Test
+    void binsRatingsOnlyForTheHistogramAndThePercentiles() {
+        RatingStatistics statistics = new RatingStatistics();
+        statistics.add(4.26f);
+        statistics.add(4.34f);
+        statistics.add(-1);
+        statistics.add(1000);
+
+        assertThat(statistics.getHistogram()).containsExactly(entry(0f, 1L), entry(4.3f, 2L), entry(10f, 1L));
+        assertThat(statistics.getPercentile(50)).isEqualTo(4.3f);
+        assertThat(statistics.getMin()).isEqualTo(-1f);
+        assertThat(statistics.getMax()).isEqualTo(1000f);
+        assertThat(statistics.getSum()).isCloseTo(4.26 + 4.34 - 1 + 1000, within(1e-5));
+        assertThat(statistics.remove(4.3f)).isFalse();
+        assertThat(statistics.remove(4.34f)).isTrue();
+        assertThat(statistics.remove(1000)).isTrue();
+        assertThat(statistics.getHistogram()).containsExactly(entry(0f, 1L), entry(4.3f, 1L));
+        assertThat(statistics.getMax()).isEqualTo(4.26f);
+        assertThat(statistics.getSum()).isCloseTo(4.26 - 1, within(1e-5));
+        assertThat(statistics.getRatings()).containsExactly(entry(-1f, 1L), entry(4.26f, 1L));
+    }
+}
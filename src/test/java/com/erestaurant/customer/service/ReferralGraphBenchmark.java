@@ -0,0 +1,63 @@
+package com.erestaurant.customer.service;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the walks and the ranking of the {@link ReferralGraph} with a profile referring 4 profiles on average, each
+ * profile being referred by an older one.
+ * <p>
+ * Run it from the test classpath with {@code java -cp <test classpath> org.openjdk.jmh.Main ReferralGraphBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferralGraphBenchmark {
+
+    @Param({ "100000", "1000000" })
+    public int profiles;
+
+    private ReferralGraph graph;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        graph = new ReferralGraph();
+        for (int i = 1; i < profiles; i++) {
+            for (int referrer = 0; referrer < 4; referrer++) {
+                graph.add("profile-" + random.nextInt(i), "profile-" + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ReferralGraph.Referral> findReferrals() {
+        return graph.findReferrals("profile-" + random.nextInt(profiles), 3, 100);
+    }
+
+    @Benchmark
+    public List<ReferralGraph.Referral> findReferrers() {
+        return graph.findReferrers("profile-" + random.nextInt(profiles), 3, 100);
+    }
+
+    @Benchmark
+    public List<ReferralGraph.Referrer> findTopReferrers() {
+        return graph.findTopReferrers(10);
+    }
+}
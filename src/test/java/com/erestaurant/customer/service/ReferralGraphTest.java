@@ -0,0 +1,91 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ReferralGraph}.
+ */
+class ReferralGraphTest {
+
+    private static ReferralGraph graph() {
+        ReferralGraph graph = new ReferralGraph();
+        graph.setReferrals("alice", List.of("bob", "carol"));
+        graph.setReferrals("bob", List.of("dave", "erin"));
+        graph.setReferrals("carol", List.of("erin"));
+        graph.setReferrals("erin", List.of("frank", "alice"));
+        return graph;
+    }
+
+    @Test
+    void walksReferralsBreadthFirst() {
+        ReferralGraph graph = graph();
+
+        assertThat(graph.findReferrals("alice", 1, 100))
+            .extracting(ReferralGraph.Referral::getReferrerId, ReferralGraph.Referral::getReferredId, ReferralGraph.Referral::getDepth)
+            .containsExactly(tuple("alice", "bob", 1), tuple("alice", "carol", 1));
+        assertThat(graph.findReferrals("alice", 5, 100))
+            .extracting(ReferralGraph.Referral::getReferredId, ReferralGraph.Referral::getDepth)
+            .containsExactly(tuple("bob", 1), tuple("carol", 1), tuple("dave", 2), tuple("erin", 2), tuple("frank", 3));
+        assertThat(graph.findReferrals("alice", 5, 3)).hasSize(3);
+        assertThat(graph.findReferrals("nobody", 5, 100)).isEmpty();
+    }
+
+    @Test
+    void walksReferrersBreadthFirst() {
+        ReferralGraph graph = graph();
+
+        assertThat(graph.findReferrers("erin", 5, 100))
+            .extracting(ReferralGraph.Referral::getReferrerId, ReferralGraph.Referral::getReferredId, ReferralGraph.Referral::getDepth)
+            .containsExactly(tuple("bob", "erin", 1), tuple("carol", "erin", 1), tuple("alice", "bob", 2));
+    }
+
+    @Test
+    void ranksTopReferrers() {
+        ReferralGraph graph = graph();
+
+        assertThat(graph.findTopReferrers(3))
+            .extracting(ReferralGraph.Referrer::getId, ReferralGraph.Referrer::getReferrals)
+            .containsExactly(tuple("alice", 2), tuple("bob", 2), tuple("erin", 2));
+        assertThat(graph.findTopReferrers(10)).hasSize(4);
+    }
+
+    @Test
+    void replacesAndRemovesReferrals() {
+        ReferralGraph graph = graph();
+        assertThat(graph.getReferralCount()).isEqualTo(7);
+
+        graph.setReferrals("bob", List.of("dave", "bob"));
+        assertThat(graph.getReferrals("bob")).containsExactly("dave");
+        assertThat(graph.findReferrers("erin", 1, 100)).extracting(ReferralGraph.Referral::getReferrerId).containsExactly("carol");
+
+        graph.remove("erin");
+        assertThat(graph.getReferrals("carol")).isEmpty();
+        assertThat(graph.findReferrers("alice", 1, 100)).isEmpty();
+        assertThat(graph.getReferralCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reusesTheNodesOfRemovedProfiles() {
+        ReferralGraph graph = graph();
+        assertThat(graph.getProfileCount()).isEqualTo(6);
+
+        graph.remove("frank");
+        graph.remove("dave");
+        assertThat(graph.getProfileCount()).isEqualTo(4);
+        graph.setReferrals("bob", List.of("gina", "hugo"));
+
+        assertThat(graph.getProfileCount()).isEqualTo(6);
+        assertThat(graph.getReferrals("bob")).containsExactly("gina", "hugo");
+        assertThat(graph.getReferrals("erin")).containsExactly("alice");
+        assertThat(graph.findReferrers("gina", 5, 100))
+            .extracting(ReferralGraph.Referral::getReferrerId)
+            .containsExactly("bob", "alice", "erin", "carol");
+        assertThat(graph.findTopReferrers(10))
+            .extracting(ReferralGraph.Referrer::getId, ReferralGraph.Referrer::getReferrals)
+            .contains(tuple("bob", 2), tuple("erin", 1));
+    }
+}
@@ -0,0 +1,152 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.service.dto.SseEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * Test class for the {@link SseBroadcastService}.
+ */
+class SseBroadcastServiceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SseBroadcastService createService(int bufferSize, ApplicationProperties.Sse.OverflowPolicy overflowPolicy) {
+        return createService(bufferSize, overflowPolicy, new ApplicationProperties());
+    }
+
+    private SseBroadcastService createService(
+        int bufferSize,
+        ApplicationProperties.Sse.OverflowPolicy overflowPolicy,
+        ApplicationProperties applicationProperties
+    ) {
+        applicationProperties.getSse().setBufferSize(bufferSize);
+        applicationProperties.getSse().setOverflowPolicy(overflowPolicy);
+        return new SseBroadcastService(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void broadcastsToEverySubscriber() {
+        SseBroadcastService service = createService(10, ApplicationProperties.Sse.OverflowPolicy.DROP_OLDEST);
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        service.subscribe().map(SseEventDTO::getData).subscribe(first::add);
+        service.subscribe().map(SseEventDTO::getData).subscribe(second::add);
+
+        service.publish("a");
+        service.publish("b");
+
+        assertThat(first).containsExactly("a", "b");
+        assertThat(second).containsExactly("a", "b");
+        assertThat(meterRegistry.get("sse.subscribers").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsOldestEventsOfSlowSubscriber() {
+        SseBroadcastService service = createService(2, ApplicationProperties.Sse.OverflowPolicy.DROP_OLDEST);
+        SlowSubscriber subscriber = new SlowSubscriber();
+        service.subscribe().map(SseEventDTO::getData).subscribe(subscriber);
+
+        List.of("a", "b", "c", "d").forEach(service::publish);
+        subscriber.request(2);
+
+        assertThat(subscriber.received).containsExactly("c", "d");
+        assertThat(meterRegistry.get("sse.events.dropped").counter().count()).isEqualTo(2);
+        subscriber.dispose();
+        assertThat(service.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void disconnectsSlowSubscriber() {
+        SseBroadcastService service = createService(2, ApplicationProperties.Sse.OverflowPolicy.DISCONNECT);
+        SlowSubscriber subscriber = new SlowSubscriber();
+        service.subscribe().map(SseEventDTO::getData).subscribe(subscriber);
+
+        List.of("a", "b", "c").forEach(service::publish);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(meterRegistry.get("sse.subscribers.disconnected").counter().count()).isEqualTo(1);
+        assertThat(service.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void resumesAfterLastEventId() {
+        SseBroadcastService service = createService(10, ApplicationProperties.Sse.OverflowPolicy.DROP_OLDEST);
+        service.publish("0-1", "a");
+        service.publish("0-2", "b");
+        service.publish("1-1", "c");
+        List<SseEventDTO> received = new CopyOnWriteArrayList<>();
+        service.subscribe("0-1").subscribe(received::add);
+
+        service.publish("0-3", "d");
+
+        assertThat(received).extracting(SseEventDTO::getId).containsExactly("0-2", "1-1", "0-3");
+        assertThat(received).extracting(SseEventDTO::getData).containsExactly("b", "c", "d");
+    }
+
+    @Test
+    void resetsSubscriberTooFarBehind() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSse().setReplayCount(10);
+        applicationProperties.getSse().setReplayBytes(2);
+        SseBroadcastService service = createService(10, ApplicationProperties.Sse.OverflowPolicy.DROP_OLDEST, applicationProperties);
+        service.publish("0-1", "a");
+        service.publish("0-2", "b");
+        service.publish("0-3", "c");
+        List<SseEventDTO> received = new CopyOnWriteArrayList<>();
+        service.subscribe("0-1").subscribe(received::add);
+
+        assertThat(received).containsExactly(SseEventDTO.reset());
+        assertThat(meterRegistry.get("sse.replay.events").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void acceptsConcurrentPublications() throws InterruptedException {
+        SseBroadcastService service = createService(10_000, ApplicationProperties.Sse.OverflowPolicy.DISCONNECT);
+        List<String> received = new CopyOnWriteArrayList<>();
+        service.subscribe().map(SseEventDTO::getData).subscribe(received::add);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            String event = String.valueOf(i);
+            executor.execute(() -> service.publish(event));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(received).hasSize(1000).doesNotHaveDuplicates();
+    }
+
+    private static class SlowSubscriber extends BaseSubscriber<String> {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        private volatile boolean completed;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // requests explicitly
+        }
+
+        @Override
+        protected void hookOnNext(String value) {
+            received.add(value);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completed = true;
+        }
+    }
+}
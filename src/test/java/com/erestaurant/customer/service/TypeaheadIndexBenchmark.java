@@ -0,0 +1,99 @@
+package com.erestaurant.customer.service;
+
+import com.erestaurant.customer.service.TypeaheadIndex.Kind;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the suggestions of the {@link TypeaheadIndex} on as many logins as product names of a few words, with a
+ * thousand suggestions changed since the index was built.
+ * <p>
+ * Run it from the test classpath with {@code java -cp <test classpath> org.openjdk.jmh.Main TypeaheadIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeaheadIndexBenchmark {
+
+    private static final String[] WORDS = {
+        "vegan",
+        "burger",
+        "chicken",
+        "salad",
+        "spicy",
+        "grilled",
+        "cheese",
+        "tomato",
+        "wrap",
+        "fries",
+        "soup",
+        "rice",
+        "noodles",
+        "tofu",
+        "beef",
+        "garlic",
+    };
+
+    @Param({ "100000", "1000000" })
+    public int terms;
+
+    private TypeaheadIndex index;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        index = new TypeaheadIndex();
+        TypeaheadIndex.Terms built = index.startRebuild();
+        for (int i = 0; i < terms / 2; i++) {
+            built.add(Kind.LOGIN, "user" + random.nextInt(terms));
+            built.add(Kind.PRODUCT, name());
+        }
+        index.rebuild(built);
+        for (int i = 0; i < 1000; i++) {
+            index.add(Kind.PRODUCT, name());
+        }
+    }
+
+    private String name() {
+        return (
+            WORDS[random.nextInt(WORDS.length)] +
+            " " +
+            WORDS[random.nextInt(WORDS.length)] +
+            " " +
+            WORDS[random.nextInt(WORDS.length)] +
+            " " +
+            random.nextInt(1000)
+        );
+    }
+
+    @Benchmark
+    public List<TypeaheadIndex.Suggestion> suggestShortPrefix() {
+        return index.suggest(WORDS[random.nextInt(WORDS.length)].substring(0, 2), 10);
+    }
+
+    @Benchmark
+    public List<TypeaheadIndex.Suggestion> suggestLongPrefix() {
+        return index.suggest(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " s", 10);
+    }
+
+    @Benchmark
+    public List<TypeaheadIndex.Suggestion> suggestLogin() {
+        return index.suggest("user" + random.nextInt(1000), 10);
+    }
+}
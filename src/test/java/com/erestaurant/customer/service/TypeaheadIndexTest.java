@@ -0,0 +1,126 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.erestaurant.customer.service.TypeaheadIndex.Kind;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TypeaheadIndex}.
+ */
+class TypeaheadIndexTest {
+
+    private static TypeaheadIndex index() {
+        TypeaheadIndex index = new TypeaheadIndex();
+        index.rebuild(
+            index
+                .startRebuild()
+                .add(Kind.PRODUCT, "Vegan Burger")
+                .add(Kind.PRODUCT, "Vegan Burger")
+                .add(Kind.PRODUCT, "Vegan Burger")
+                .add(Kind.PRODUCT, "Vegan  Wrap")
+                .add(Kind.PRODUCT, "Veggie Soup")
+                .add(Kind.PRODUCT, "Veggie Soup")
+                .add(Kind.LOGIN, "vera")
+                .add(Kind.LOGIN, "admin")
+        );
+        return index;
+    }
+
+    @Test
+    void ranksSuggestionsByCountThenText() {
+        TypeaheadIndex index = index();
+
+        assertThat(index.suggest("VE", 10))
+            .extracting(TypeaheadIndex.Suggestion::getText, TypeaheadIndex.Suggestion::getKind, TypeaheadIndex.Suggestion::getCount)
+            .containsExactly(
+                tuple("Vegan Burger", Kind.PRODUCT, 3L),
+                tuple("Veggie Soup", Kind.PRODUCT, 2L),
+                tuple("Vegan Wrap", Kind.PRODUCT, 1L),
+                tuple("vera", Kind.LOGIN, 1L)
+            );
+        assertThat(index.suggest("ve", 2)).extracting(TypeaheadIndex.Suggestion::getText).containsExactly("Vegan Burger", "Veggie Soup");
+        assertThat(index.suggest("vegan ", 10))
+            .extracting(TypeaheadIndex.Suggestion::getText)
+            .containsExactly("Vegan Burger", "Vegan Wrap");
+        assertThat(index.suggest("x", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+        assertThat(index.ramBytesUsed()).isPositive();
+    }
+
+    @Test
+    void mergesChangesBeforeAndAfterCompaction() {
+        TypeaheadIndex index = index();
+        index.add(Kind.PRODUCT, "Vegan Wrap");
+        index.add(Kind.PRODUCT, "Vegan Wrap");
+        index.add(Kind.PRODUCT, "Vegan Wrap");
+        index.remove(Kind.PRODUCT, "Veggie Soup");
+        index.replace(Kind.PRODUCT, "Veggie Soup", "Vegetable Soup");
+        index.add(Kind.LOGIN, "veronica");
+
+        assertThat(index.pendingCount()).isEqualTo(4);
+        assertThat(index.suggest("ve", 10))
+            .extracting(TypeaheadIndex.Suggestion::getText, TypeaheadIndex.Suggestion::getCount)
+            .containsExactly(
+                tuple("Vegan Wrap", 4L),
+                tuple("Vegan Burger", 3L),
+                tuple("Vegetable Soup", 1L),
+                tuple("vera", 1L),
+                tuple("veronica", 1L)
+            );
+
+        index.compact();
+
+        assertThat(index.pendingCount()).isZero();
+        assertThat(index.suggest("ve", 10))
+            .extracting(TypeaheadIndex.Suggestion::getText, TypeaheadIndex.Suggestion::getCount)
+            .containsExactly(
+                tuple("Vegan Wrap", 4L),
+                tuple("Vegan Burger", 3L),
+                tuple("Vegetable Soup", 1L),
+                tuple("vera", 1L),
+                tuple("veronica", 1L)
+            );
+    }
+
+    @Test
+    void keepsOnlyChangesAfterRebuildStarted() {
+        TypeaheadIndex index = new TypeaheadIndex();
+        index.add(Kind.LOGIN, "alice");
+        index.add(Kind.LOGIN, "bob");
+        TypeaheadIndex.Terms terms = index.startRebuild();
+        index.add(Kind.LOGIN, "carol");
+        index.compact();
+        index.remove(Kind.LOGIN, "bob");
+
+        index.rebuild(terms.add(Kind.LOGIN, "alice").add(Kind.LOGIN, "bob"));
+
+        assertThat(index.suggest("a", 10)).extracting(TypeaheadIndex.Suggestion::getCount).containsExactly(1L);
+        assertThat(index.suggest("b", 10)).isEmpty();
+        assertThat(index.suggest("c", 10)).extracting(TypeaheadIndex.Suggestion::getText).containsExactly("carol");
+        assertThat(index.pendingCount()).isZero();
+    }
+
+    @Test
+    void rejectsRebuildStartedBeforeAnother() {
+        TypeaheadIndex index = new TypeaheadIndex();
+        TypeaheadIndex.Terms abandoned = index.startRebuild();
+        index.rebuild(index.startRebuild().add(Kind.LOGIN, "bob"));
+
+        assertThatThrownBy(() -> index.rebuild(abandoned)).isInstanceOf(IllegalStateException.class);
+        assertThat(index.suggest("b", 10)).extracting(TypeaheadIndex.Suggestion::getText).containsExactly("bob");
+    }
+
+    @Test
+    void ignoresBlankAndTooLongTexts() {
+        TypeaheadIndex index = new TypeaheadIndex();
+        index.add(Kind.PRODUCT, " \t ");
+        index.add(Kind.PRODUCT, "x".repeat(TypeaheadIndex.MAX_LENGTH + 1));
+        index.add(Kind.PRODUCT, "Tab\u0000Separated");
+
+        assertThat(index.pendingCount()).isEqualTo(1);
+        assertThat(index.suggest("tab", 10)).extracting(TypeaheadIndex.Suggestion::getText).containsExactly("Tab Separated");
+    }
+}
@@ -0,0 +1,35 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.service.dto.TypeaheadSuggestionDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Test class for the {@link TypeaheadService}.
+ */
+class TypeaheadServiceTest {
+
+    private final TypeaheadService typeaheadService = new TypeaheadService(mock(DatabaseClient.class), new ApplicationProperties());
+
+    @Test
+    void replacesTheFormerNameOfEachProduct() {
+        typeaheadService.replaceProductName("product-1", "Veggie Soup");
+        typeaheadService.replaceProductName("product-2", "Veggie Soup");
+        typeaheadService.replaceProductName("product-1", "Vegan Burger");
+        typeaheadService.replaceProductName("product-1", "Vegan Burger");
+
+        assertThat(typeaheadService.suggest("ve", 10))
+            .extracting(TypeaheadSuggestionDTO::getText, TypeaheadSuggestionDTO::getType)
+            .containsExactly(tuple("Vegan Burger", "PRODUCT"), tuple("Veggie Soup", "PRODUCT"));
+
+        typeaheadService.replaceProductName("product-2", null);
+        typeaheadService.replaceProductName("product-3", null);
+
+        assertThat(typeaheadService.suggest("ve", 10)).extracting(TypeaheadSuggestionDTO::getText).containsExactly("Vegan Burger");
+    }
+}
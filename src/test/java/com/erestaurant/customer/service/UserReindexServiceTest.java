@@ -0,0 +1,144 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.User;
+import com.erestaurant.customer.domain.UserReindexCheckpoint;
+import com.erestaurant.customer.repository.UserReindexCheckpointRepository;
+import com.erestaurant.customer.repository.UserRepository;
+import com.erestaurant.customer.repository.search.UserSearchRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link UserReindexService}.
+ */
+class UserReindexServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final UserSearchRepository userSearchRepository = mock(UserSearchRepository.class);
+
+    private final UserReindexCheckpointRepository userReindexCheckpointRepository = mock(UserReindexCheckpointRepository.class);
+
+    private final AtomicReference<UserReindexCheckpoint> savedCheckpoint = new AtomicReference<>();
+
+    private final List<List<String>> bulks = new ArrayList<>();
+
+    private final List<User> users = IntStream
+        .rangeClosed(1, 5)
+        .mapToObj(i -> {
+            User user = new User();
+            user.setId("user-" + i);
+            user.setLogin("login-" + i);
+            return user;
+        })
+        .collect(Collectors.toList());
+
+    private UserReindexService userReindexService;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findAllWithAuthoritiesAfter(any(), anyInt()))
+            .thenAnswer(invocation -> {
+                String afterId = invocation.getArgument(0);
+                int limit = invocation.getArgument(1);
+                return Flux.fromIterable(users).filter(user -> afterId == null || user.getId().compareTo(afterId) > 0).take(limit);
+            });
+        when(userSearchRepository.createIndex(anyString())).thenReturn(Mono.empty());
+        when(userSearchRepository.bulkCreate(anyString(), any()))
+            .thenAnswer(invocation -> {
+                List<User> chunk = invocation.getArgument(1);
+                synchronized (bulks) {
+                    bulks.add(chunk.stream().map(User::getId).collect(Collectors.toList()));
+                }
+                return Mono.empty();
+            });
+        when(userSearchRepository.switchAlias(anyString(), anyInt())).thenReturn(Mono.empty());
+        when(userSearchRepository.index(anyString(), any())).thenReturn(Mono.empty());
+        when(userReindexCheckpointRepository.findLatest()).thenAnswer(invocation -> Mono.justOrEmpty(savedCheckpoint.get()));
+        when(userReindexCheckpointRepository.save(any()))
+            .thenAnswer(invocation -> {
+                savedCheckpoint.set(invocation.getArgument(0));
+                return Mono.just(savedCheckpoint.get());
+            });
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getUserReindex().setChunkSize(2);
+        applicationProperties.getUserReindex().setConcurrency(2);
+        userReindexService =
+            new UserReindexService(userRepository, userSearchRepository, userReindexCheckpointRepository, applicationProperties);
+    }
+
+    @Test
+    void rebuildsTheIndexInChunksAndSwitchesTheAlias() {
+        UserReindexCheckpoint checkpoint = userReindexService.reindex().block();
+
+        assertThat(bulks).containsExactlyInAnyOrder(List.of("user-1", "user-2"), List.of("user-3", "user-4"), List.of("user-5"));
+        assertThat(checkpoint.getStatus()).isEqualTo(UserReindexCheckpoint.DONE);
+        assertThat(checkpoint.getIndexedCount()).isEqualTo(5);
+        assertThat(checkpoint.getLastUserId()).isEqualTo("user-5");
+        assertThat(checkpoint.getFinishedDate()).isNotNull();
+        verify(userSearchRepository).createIndex(checkpoint.getId());
+        verify(userSearchRepository).switchAlias(checkpoint.getId(), 1);
+    }
+
+    @Test
+    void resumesAfterTheCheckpoint() {
+        savedCheckpoint.set(
+            new UserReindexCheckpoint()
+                .id("user-1000")
+                .lastUserId("user-2")
+                .indexedCount(2L)
+                .status(UserReindexCheckpoint.RUNNING)
+                .startedDate(Instant.now())
+                .setIsPersisted()
+        );
+
+        UserReindexCheckpoint checkpoint = userReindexService.reindex().block();
+
+        assertThat(checkpoint.getId()).isEqualTo("user-1000");
+        assertThat(bulks).containsExactlyInAnyOrder(List.of("user-3", "user-4"), List.of("user-5"));
+        assertThat(checkpoint.getIndexedCount()).isEqualTo(5);
+        verify(userRepository, never()).findAllWithAuthoritiesAfter(isNull(), anyInt());
+        verify(userSearchRepository).switchAlias("user-1000", 1);
+    }
+
+    @Test
+    void writesTheChangedUsersToTheRebuiltIndexOnly() {
+        User changed = users.get(0);
+        when(userSearchRepository.bulkCreate(eq("user-1000"), any())).thenAnswer(invocation -> userReindexService.index(changed));
+        savedCheckpoint.set(
+            new UserReindexCheckpoint()
+                .id("user-1000")
+                .indexedCount(0L)
+                .status(UserReindexCheckpoint.RUNNING)
+                .startedDate(Instant.now())
+                .setIsPersisted()
+        );
+
+        userReindexService.reindex().block();
+        userReindexService.index(changed).block();
+
+        verify(userSearchRepository, times(3)).index("user-1000", changed);
+    }
+}
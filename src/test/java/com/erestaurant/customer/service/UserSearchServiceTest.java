@@ -0,0 +1,69 @@
+package com.erestaurant.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.User;
+import com.erestaurant.customer.repository.search.UserQuery;
+import com.erestaurant.customer.repository.search.UserSearchRepository;
+import com.erestaurant.customer.service.dto.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+
+/**
+ * Test class for the {@link UserSearchService}.
+ */
+class UserSearchServiceTest {
+
+    private final UserSearchRepository userSearchRepository = mock(UserSearchRepository.class);
+
+    private UserSearchService userSearchService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId("user-1");
+        user.setLogin("johndoe");
+        when(userSearchRepository.search(any(), any())).thenReturn(Flux.just(user));
+        userSearchService = new UserSearchService(userSearchRepository, new ApplicationProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void searchesAHotQueryOnce() {
+        assertThat(userSearchService.search("name:doe login:jo", PageRequest.of(0, 20)).collectList().block())
+            .extracting(UserDTO::getLogin)
+            .containsExactly("johndoe");
+        assertThat(userSearchService.search("LOGIN:jo  name:Doe", PageRequest.of(0, 20)).collectList().block()).hasSize(1);
+        userSearchService.search("login:jo name:doe", PageRequest.of(1, 20)).collectList().block();
+
+        verify(userSearchRepository).search(UserQuery.parse("login:jo name:doe"), PageRequest.of(0, 20));
+        verify(userSearchRepository).search(UserQuery.parse("login:jo name:doe"), PageRequest.of(1, 20));
+        verify(userSearchRepository, times(2)).search(any(), any());
+    }
+
+    @Test
+    void boundsThePages() {
+        userSearchService.search("jo", PageRequest.of(0, 500)).collectList().block();
+        verify(userSearchRepository).search(UserQuery.parse("jo"), PageRequest.of(0, UserSearchService.MAX_PAGE_SIZE));
+
+        assertThatThrownBy(() -> userSearchService.search("jo", PageRequest.of(10, 100)).collectList().block())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsAnInvalidQueryWithoutSearching() {
+        assertThatThrownBy(() -> userSearchService.search("login:*", PageRequest.of(0, 20)).collectList().block())
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(userSearchRepository, never()).search(any(), any());
+    }
+}
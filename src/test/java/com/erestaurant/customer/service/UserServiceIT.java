@@ -14,6 +14,7 @@ import com.erestaurant.customer.repository.UserRepository;
 import com.erestaurant.customer.repository.search.UserSearchRepository;
 import com.erestaurant.customer.security.AuthoritiesConstants;
 import com.erestaurant.customer.service.dto.AdminUserDTO;
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Collections;
@@ -156,6 +157,26 @@ class UserServiceIT {
         assertThat(userDTO.getLangKey()).isEqualTo("en");
     }
 
+    @Test
+    void testUserSyncIsSkippedUntilUserDetailsChange() {
+        Instant updatedAt = Instant.now();
+        userDetails.put("updated_at", updatedAt);
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        assertThat(userRepository.findOneByLogin(DEFAULT_LOGIN).blockOptional()).isPresent();
+
+        userRepository.deleteAllUserAuthorities().block();
+        userRepository.deleteAll().block();
+        AdminUserDTO userDTO = userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+
+        assertThat(userDTO.getLogin()).isEqualTo(DEFAULT_LOGIN);
+        assertThat(userRepository.findOneByLogin(DEFAULT_LOGIN).blockOptional()).isEmpty();
+
+        userDetails.put("updated_at", updatedAt.plusSeconds(1));
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+
+        assertThat(userRepository.findOneByLogin(DEFAULT_LOGIN).blockOptional()).isPresent();
+    }
+
     private OAuth2AuthenticationToken createMockOAuth2AuthenticationToken(Map<String, Object> userDetails) {
         Collection<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
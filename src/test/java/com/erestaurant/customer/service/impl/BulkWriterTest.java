@@ -0,0 +1,128 @@
+package com.erestaurant.customer.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
+import com.erestaurant.customer.service.dto.OrderDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class BulkWriterTest {
+
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private List<List<String>> statements;
+
+    @BeforeEach
+    void setUp() {
+        statements = new ArrayList<>();
+    }
+
+    private BulkWriter<OrderDTO, String> writer(int batchSize) {
+        return new BulkWriter<>(
+            validator,
+            OrderDTO::getId,
+            OrderDTO::getId,
+            ids -> {
+                statements.add(ids);
+                return ids.contains("broken") ? Mono.error(new IllegalStateException("constraint violated")) : Mono.just(ids.size());
+            },
+            batchSize,
+            Duration.ofMillis(100)
+        );
+    }
+
+    private static OrderDTO order(String id) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(id);
+        orderDTO.setRating(1F);
+        return orderDTO;
+    }
+
+    @Test
+    void writesOneStatementPerBatch() {
+        List<BulkItemResultDTO> results = writer(2)
+            .write(Flux.just(order("order1"), order("order2"), order("order3")))
+            .collectList()
+            .block();
+
+        assertThat(statements).containsExactly(List.of("order1", "order2"), List.of("order3"));
+        assertThat(results)
+            .containsExactly(
+                BulkItemResultDTO.saved(0, "order1"),
+                BulkItemResultDTO.saved(1, "order2"),
+                BulkItemResultDTO.saved(2, "order3")
+            );
+    }
+
+    @Test
+    void reportsInvalidItemsWithoutWritingThem() {
+        List<BulkItemResultDTO> results = writer(10).write(Flux.just(order("short"), order("id"), order("order3"))).collectList().block();
+
+        assertThat(statements).containsExactly(List.of("short", "order3"));
+        assertThat(results).extracting(BulkItemResultDTO::getIndex).containsExactly(0L, 1L, 2L);
+        assertThat(results)
+            .extracting(BulkItemResultDTO::getStatus)
+            .containsExactly(BulkItemResultDTO.Status.SAVED, BulkItemResultDTO.Status.FAILED, BulkItemResultDTO.Status.SAVED);
+        assertThat(results.get(1).getMessage()).startsWith("id size must be");
+    }
+
+    @Test
+    void writesItemsOfFailedBatchOneByOne() {
+        List<BulkItemResultDTO> results = writer(10)
+            .write(Flux.just(order("order1"), order("broken"), order("order3")))
+            .collectList()
+            .block();
+
+        assertThat(statements)
+            .containsExactly(List.of("order1", "broken", "order3"), List.of("order1"), List.of("broken"), List.of("order3"));
+        assertThat(results)
+            .containsExactly(
+                BulkItemResultDTO.saved(0, "order1"),
+                BulkItemResultDTO.failed(1, "broken", "constraint violated"),
+                BulkItemResultDTO.saved(2, "order3")
+            );
+    }
+
+    @Test
+    void writesPartialBatchOfSlowStreamAfterFlushTimeout() {
+        BulkItemResultDTO first = writer(10).write(Flux.just(order("order1")).concatWith(Flux.never())).blockFirst(Duration.ofSeconds(5));
+
+        assertThat(first).isEqualTo(BulkItemResultDTO.saved(0, "order1"));
+        assertThat(statements).containsExactly(List.of("order1"));
+    }
+
+    @Test
+    void keepsReadingWhenBatchesAreWrittenSlowerThanFlushTimeout() {
+        // the validator reads the constraints of the DTO from the jars once, which is a blocking call on a parallel thread
+        validator.validate(order("order0"));
+        BulkWriter<OrderDTO, String> writer = new BulkWriter<>(
+            validator,
+            OrderDTO::getId,
+            OrderDTO::getId,
+            ids -> {
+                statements.add(ids);
+                return Mono.delay(Duration.ofMillis(50)).thenReturn(ids.size());
+            },
+            5,
+            Duration.ofMillis(5)
+        );
+
+        List<BulkItemResultDTO> results = writer
+            .write(Flux.range(0, 200).delayElements(Duration.ofMillis(2)).map(i -> order("order" + i)))
+            .collectList()
+            .block(Duration.ofSeconds(30));
+
+        assertThat(results).extracting(BulkItemResultDTO::getIndex).containsExactlyElementsOf(LongStream.range(0, 200).boxed()::iterator);
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsOnly(BulkItemResultDTO.Status.SAVED);
+        assertThat(statements).allSatisfy(ids -> assertThat(ids).hasSizeBetween(1, 5));
+    }
+}
@@ -0,0 +1,65 @@
+package com.erestaurant.customer.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class FileSystemBlobStoreServiceTest {
+
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path directory;
+
+    private FileSystemBlobStoreService blobStoreService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBlob().setDirectory(directory.toString());
+        blobStoreService = new FileSystemBlobStoreService(applicationProperties);
+    }
+
+    @Test
+    void storesContentUnderItsHash() throws Exception {
+        String hash = blobStoreService.store("hello".getBytes(StandardCharsets.UTF_8)).block();
+
+        assertThat(hash).isEqualTo(HELLO_HASH);
+        Resource blob = blobStoreService.find(hash).block();
+        assertThat(blob.getFile().toPath()).isEqualTo(directory.resolve("2c").resolve("f2").resolve(HELLO_HASH));
+        assertThat(blob.getInputStream().readAllBytes()).isEqualTo("hello".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void storesTheSameContentOnce() throws Exception {
+        blobStoreService.store("hello".getBytes(StandardCharsets.UTF_8)).block();
+        blobStoreService.store("hello".getBytes(StandardCharsets.UTF_8)).block();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void findsNothingForUnknownOrInvalidHashes() {
+        assertThat(blobStoreService.find(HELLO_HASH).blockOptional()).isEmpty();
+        assertThat(blobStoreService.find("../../etc/passwd").blockOptional()).isEmpty();
+        assertThat(blobStoreService.find(null).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void requiresAnExplicitDirectory() {
+        assertThatThrownBy(() -> new FileSystemBlobStoreService(new ApplicationProperties()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("application.blob.directory");
+    }
+}
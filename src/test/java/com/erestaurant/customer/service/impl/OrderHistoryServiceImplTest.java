@@ -0,0 +1,148 @@
+package com.erestaurant.customer.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.erestaurant.customer.config.ApplicationProperties;
+import com.erestaurant.customer.domain.OrderEvent;
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import com.erestaurant.customer.repository.OrderEventRepository;
+import com.erestaurant.customer.repository.OrderSnapshotRepository;
+import com.erestaurant.customer.service.dto.OrderDTO;
+import com.erestaurant.customer.service.dto.OrderEventDTO;
+import com.erestaurant.customer.service.dto.OrderSnapshotDTO;
+import com.erestaurant.customer.service.mapper.OrderEventMapperImpl;
+import com.erestaurant.customer.service.mapper.OrderSnapshotMapperImpl;
+import io.r2dbc.h2.H2ConnectionFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+
+/**
+ * Test class for the {@link OrderHistoryServiceImpl}, on an in-memory H2 database.
+ */
+class OrderHistoryServiceImplTest {
+
+    private OrderEventRepository orderEventRepository;
+
+    private OrderSnapshotRepository orderSnapshotRepository;
+
+    private OrderHistoryServiceImpl orderHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(H2ConnectionFactory.inMemory("order-history-" + UUID.randomUUID()));
+        template
+            .getDatabaseClient()
+            .sql(
+                "CREATE TABLE order_event (id BIGINT AUTO_INCREMENT PRIMARY KEY, order_id VARCHAR(255) NOT NULL, version INT NOT NULL, " +
+                "event_type VARCHAR(20) NOT NULL, description CLOB, rating REAL, previous_rating REAL, from_state VARCHAR(20), " +
+                "to_state VARCHAR(20), created_date TIMESTAMP NOT NULL, UNIQUE (order_id, version));" +
+                "CREATE TABLE order_snapshot (id BIGINT AUTO_INCREMENT PRIMARY KEY, order_id VARCHAR(255) NOT NULL, " +
+                "version INT NOT NULL, description CLOB, rating REAL, state VARCHAR(20), deleted BOOLEAN NOT NULL, " +
+                "created_date TIMESTAMP NOT NULL, UNIQUE (order_id, version))"
+            )
+            .then()
+            .block();
+        R2dbcRepositoryFactory factory = new R2dbcRepositoryFactory(template);
+        orderEventRepository = factory.getRepository(OrderEventRepository.class);
+        orderSnapshotRepository = factory.getRepository(OrderSnapshotRepository.class);
+        orderHistoryService = historyService(orderEventRepository);
+    }
+
+    private OrderHistoryServiceImpl historyService(OrderEventRepository orderEventRepository) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getOrderHistory().setSnapshotInterval(3);
+        return new OrderHistoryServiceImpl(
+            orderEventRepository,
+            orderSnapshotRepository,
+            new OrderEventMapperImpl(),
+            new OrderSnapshotMapperImpl(),
+            applicationProperties
+        );
+    }
+
+    private static OrderDTO order(String id, String description, float rating) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(id);
+        orderDTO.setDescription(description);
+        orderDTO.setRating(rating);
+        return orderDTO;
+    }
+
+    @Test
+    void recordsEventsWithPreviousValues() {
+        orderHistoryService.recordSaved(List.of(order("order1", "a", 1), order("order2", "b", 2))).block();
+        orderHistoryService.recordSaved(List.of(order("order1", "c", 3))).block();
+        orderHistoryService.recordTransition("order1", OrderState.NEW_ORDER, OrderState.COMPLETE).block();
+        orderHistoryService.recordDeleted("order1").block();
+        orderHistoryService.recordDeleted("unknown").block();
+
+        List<OrderEventDTO> events = orderHistoryService.findEvents("order1").collectList().block();
+
+        assertThat(events).extracting(OrderEventDTO::getVersion).containsExactly(1, 2, 3, 4);
+        assertThat(events)
+            .extracting(OrderEventDTO::getEventType)
+            .containsExactly(
+                OrderEvent.EventType.CREATED,
+                OrderEvent.EventType.UPDATED,
+                OrderEvent.EventType.TRANSITIONED,
+                OrderEvent.EventType.DELETED
+            );
+        assertThat(events.get(1).getPreviousRating()).isEqualTo(1);
+        assertThat(events.get(3).getFromState()).isEqualTo(OrderState.COMPLETE);
+        assertThat(events.get(3).getPreviousRating()).isEqualTo(3);
+        assertThat(orderHistoryService.findEvents("unknown").collectList().block()).isEmpty();
+    }
+
+    @Test
+    void rebuildsStateFromSnapshotAndLaterEvents() {
+        for (int i = 1; i <= 7; i++) {
+            orderHistoryService.recordSaved(List.of(order("order1", "v" + i, i))).block();
+        }
+
+        assertThat(orderSnapshotRepository.findAll().map(snapshot -> snapshot.getVersion()).collectList().block())
+            .containsExactlyInAnyOrder(3, 6);
+
+        OrderSnapshotDTO current = orderHistoryService.findState("order1", null).block();
+        assertThat(current.getVersion()).isEqualTo(7);
+        assertThat(current.getDescription()).isEqualTo("v7");
+        assertThat(current.getState()).isEqualTo(OrderState.NEW_ORDER);
+
+        OrderSnapshotDTO atVersion = orderHistoryService.findState("order1", 5).block();
+        assertThat(atVersion.getVersion()).isEqualTo(5);
+        assertThat(atVersion.getRating()).isEqualTo(5);
+
+        assertThat(orderHistoryService.findState("unknown", null).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void rejectsConcurrentAppendOfTheSameOrder() {
+        orderHistoryService.recordSaved(List.of(order("order1", "a", 1))).block();
+        // Another append takes the next version between the read of the latest version and the write
+        OrderEventRepository racingRepository = mock(OrderEventRepository.class, AdditionalAnswers.delegatesTo(orderEventRepository));
+        doAnswer(invocation ->
+                orderEventRepository
+                    .save(new OrderEvent().orderId("order1").version(2).eventType(OrderEvent.EventType.DELETED).createdDate(Instant.now()))
+                    .thenMany(orderEventRepository.saveAll((Iterable<OrderEvent>) invocation.getArgument(0)))
+            )
+            .when(racingRepository)
+            .saveAll(any(Iterable.class));
+
+        OrderHistoryServiceImpl racingService = historyService(racingRepository);
+        assertThatThrownBy(() -> racingService.recordTransition("order1", OrderState.NEW_ORDER, OrderState.COMPLETE).block())
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(orderHistoryService.findEvents("order1").collectList().block())
+            .extracting(OrderEventDTO::getEventType)
+            .containsExactly(OrderEvent.EventType.CREATED, OrderEvent.EventType.DELETED);
+    }
+}
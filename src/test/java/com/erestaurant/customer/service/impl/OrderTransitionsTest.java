@@ -0,0 +1,37 @@
+package com.erestaurant.customer.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.customer.domain.enumeration.OrderState;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link OrderTransitions}.
+ */
+class OrderTransitionsTest {
+
+    @Test
+    void allowsLifecycleOfOrder() {
+        assertThat(OrderTransitions.isAllowed(OrderState.NEW_ORDER, OrderState.ON_HOLD)).isTrue();
+        assertThat(OrderTransitions.isAllowed(OrderState.ON_HOLD, OrderState.NEW_ORDER)).isTrue();
+        assertThat(OrderTransitions.isAllowed(OrderState.NEW_ORDER, OrderState.COMPLETE)).isTrue();
+        assertThat(OrderTransitions.isAllowed(OrderState.COMPLETE, OrderState.REFUNDED)).isTrue();
+        assertThat(OrderTransitions.isAllowed(OrderState.REFUNDED, OrderState.CLOSE)).isTrue();
+        assertThat(OrderTransitions.isAllowed(OrderState.CANCEL, OrderState.CLOSE)).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidTransitions() {
+        assertThat(OrderTransitions.isAllowed(OrderState.NEW_ORDER, OrderState.REFUNDED)).isFalse();
+        assertThat(OrderTransitions.isAllowed(OrderState.COMPLETE, OrderState.NEW_ORDER)).isFalse();
+        assertThat(OrderTransitions.isAllowed(OrderState.CANCEL, OrderState.COMPLETE)).isFalse();
+        assertThat(OrderTransitions.isAllowed(OrderState.NEW_ORDER, OrderState.NEW_ORDER)).isFalse();
+    }
+
+    @Test
+    void closedOrderIsFinal() {
+        for (OrderState state : OrderState.values()) {
+            assertThat(OrderTransitions.isAllowed(OrderState.CLOSE, state)).isFalse();
+        }
+    }
+}
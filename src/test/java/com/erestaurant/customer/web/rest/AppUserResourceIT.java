@@ -29,7 +29,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
-import org.springframework.util.Base64Utils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -50,6 +49,8 @@ class AppUserResourceIT {
 
     private static final byte[] DEFAULT_IMAGE = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_IMAGE_HASH = TestUtil.sha256Hex(DEFAULT_IMAGE);
+    private static final String UPDATED_IMAGE_HASH = TestUtil.sha256Hex(UPDATED_IMAGE);
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
 
@@ -89,7 +90,7 @@ class AppUserResourceIT {
         AppUser appUser = new AppUser()
             .name(DEFAULT_NAME)
             .description(DEFAULT_DESCRIPTION)
-            .image(DEFAULT_IMAGE)
+            .imageHash(DEFAULT_IMAGE_HASH)
             .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE)
             .email(DEFAULT_EMAIL);
         return appUser;
@@ -105,7 +106,7 @@ class AppUserResourceIT {
         AppUser appUser = new AppUser()
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
         return appUser;
@@ -140,6 +141,8 @@ class AppUserResourceIT {
         int databaseSizeBeforeCreate = appUserRepository.findAll().collectList().block().size();
         // Create the AppUser
         AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
+        appUserDTO.setImageHash(null);
+        appUserDTO.setImage(DEFAULT_IMAGE);
         webTestClient
             .post()
             .uri(ENTITY_API_URL)
@@ -155,7 +158,7 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testAppUser.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testAppUser.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
@@ -230,8 +233,8 @@ class AppUserResourceIT {
             .value(hasItem(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.[*].imageContentType")
             .value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.[*].image")
-            .value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.[*].imageHash")
+            .value(hasItem(DEFAULT_IMAGE_HASH))
             .jsonPath("$.[*].email")
             .value(hasItem(DEFAULT_EMAIL));
     }
@@ -279,8 +282,8 @@ class AppUserResourceIT {
             .value(is(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.imageContentType")
             .value(is(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.image")
-            .value(is(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.imageHash")
+            .value(is(DEFAULT_IMAGE_HASH))
             .jsonPath("$.email")
             .value(is(DEFAULT_EMAIL));
     }
@@ -310,7 +313,7 @@ class AppUserResourceIT {
         updatedAppUser
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
         AppUserDTO appUserDTO = appUserMapper.toDto(updatedAppUser);
@@ -330,7 +333,7 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(UPDATED_IMAGE);
+        assertThat(testAppUser.getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
         assertThat(testAppUser.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(UPDATED_EMAIL);
     }
@@ -433,7 +436,7 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testAppUser.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testAppUser.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
@@ -453,7 +456,7 @@ class AppUserResourceIT {
         partialUpdatedAppUser
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
 
@@ -472,7 +475,7 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(UPDATED_IMAGE);
+        assertThat(testAppUser.getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
         assertThat(testAppUser.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(UPDATED_EMAIL);
     }
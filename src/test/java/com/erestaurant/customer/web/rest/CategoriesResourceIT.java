@@ -9,6 +9,7 @@ import com.erestaurant.customer.IntegrationTest;
 import com.erestaurant.customer.domain.Categories;
 import com.erestaurant.customer.repository.CategoriesRepository;
 import com.erestaurant.customer.repository.EntityManager;
+import com.erestaurant.customer.service.CatalogCacheService;
 import com.erestaurant.customer.service.dto.CategoriesDTO;
 import com.erestaurant.customer.service.mapper.CategoriesMapper;
 import java.time.Duration;
@@ -47,6 +48,9 @@ class CategoriesResourceIT {
     @Autowired
     private CategoriesMapper categoriesMapper;
 
+    @Autowired
+    private CatalogCacheService catalogCacheService;
+
     @Autowired
     private EntityManager em;
 
@@ -98,6 +102,7 @@ class CategoriesResourceIT {
     @BeforeEach
     public void initTest() {
         deleteEntities(em);
+        catalogCacheService.evictCategories(null).block();
         categories = createEntity(em);
     }
 
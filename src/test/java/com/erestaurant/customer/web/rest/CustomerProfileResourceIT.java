@@ -3,6 +3,7 @@ package com.erestaurant.customer.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
 import com.erestaurant.customer.IntegrationTest;
@@ -320,6 +321,115 @@ class CustomerProfileResourceIT {
             .value(is(DEFAULT_REFERALS.toString()));
     }
 
+    @Test
+    void getNearbyCustomerProfiles() throws Exception {
+        // Initialize the database
+        customerProfile.setId(UUID.randomUUID().toString());
+        customerProfileRepository.save(customerProfile).block();
+
+        // Move the customerProfile to Madrid, with a 5 km range
+        customerProfile.location("40.4168,-3.7038").locationRange("5km");
+        CustomerProfileDTO customerProfileDTO = customerProfileMapper.toDto(customerProfile);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, customerProfileDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(customerProfileDTO))
+            .exchange()
+            .expectStatus()
+            .isOk();
+        CustomerProfile saved = customerProfileRepository.findById(customerProfile.getId()).block();
+        assertThat(saved.getGeohash()).isEqualTo("ezjmgtwuzjwe");
+
+        // Within 2 km of a point 1.2 km away
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/nearby?latitude=40.4268&longitude=-3.7000&radius=2")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(saved.getId()));
+
+        // Not covered by the range from 8 km away
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/nearby?latitude=40.4888&longitude=-3.7038")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(not(hasItem(saved.getId())));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/nearby?latitude=91&longitude=0")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getCustomerProfileReferrals() throws Exception {
+        // Initialize the database
+        CustomerProfile referred = createEntity(em).id(UUID.randomUUID().toString());
+        customerProfileRepository.save(referred).block();
+        customerProfile.setId(UUID.randomUUID().toString());
+        customerProfileRepository.save(customerProfile).block();
+
+        // Refer the other customerProfile
+        customerProfile.referals(referred.getId() + ", unknown-id");
+        CustomerProfileDTO customerProfileDTO = customerProfileMapper.toDto(customerProfile);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, customerProfileDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(customerProfileDTO))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/referrals?depth=2", customerProfile.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(1))
+            .jsonPath("$.[0].referredId")
+            .value(is(referred.getId()));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/referrers", referred.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].referrerId")
+            .value(hasItem(customerProfile.getId()));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/top-referrers?size=1")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].referrals")
+            .value(is(1));
+    }
+
     @Test
     void getNonExistingCustomerProfile() {
         // Get the customerProfile
@@ -25,7 +25,6 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
-import org.springframework.util.Base64Utils;
 
 /**
  * Integration tests for the {@link CustomerResource} REST controller.
@@ -43,6 +42,8 @@ class CustomerResourceIT {
 
     private static final byte[] DEFAULT_IMAGE = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_IMAGE_HASH = TestUtil.sha256Hex(DEFAULT_IMAGE);
+    private static final String UPDATED_IMAGE_HASH = TestUtil.sha256Hex(UPDATED_IMAGE);
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
 
@@ -79,7 +80,7 @@ class CustomerResourceIT {
         Customer customer = new Customer()
             .name(DEFAULT_NAME)
             .description(DEFAULT_DESCRIPTION)
-            .image(DEFAULT_IMAGE)
+            .imageHash(DEFAULT_IMAGE_HASH)
             .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE)
             .email(DEFAULT_EMAIL)
             .age(DEFAULT_AGE);
@@ -96,7 +97,7 @@ class CustomerResourceIT {
         Customer customer = new Customer()
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL)
             .age(UPDATED_AGE);
@@ -132,6 +133,8 @@ class CustomerResourceIT {
         int databaseSizeBeforeCreate = customerRepository.findAll().collectList().block().size();
         // Create the Customer
         CustomerDTO customerDTO = customerMapper.toDto(customer);
+        customerDTO.setImageHash(null);
+        customerDTO.setImage(DEFAULT_IMAGE);
         webTestClient
             .post()
             .uri(ENTITY_API_URL)
@@ -147,7 +150,7 @@ class CustomerResourceIT {
         Customer testCustomer = customerList.get(customerList.size() - 1);
         assertThat(testCustomer.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testCustomer.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testCustomer.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testCustomer.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testCustomer.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testCustomer.getEmail()).isEqualTo(DEFAULT_EMAIL);
         assertThat(testCustomer.getAge()).isEqualTo(DEFAULT_AGE);
@@ -225,7 +228,7 @@ class CustomerResourceIT {
         Customer testCustomer = customerList.get(0);
         assertThat(testCustomer.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testCustomer.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testCustomer.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testCustomer.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testCustomer.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testCustomer.getEmail()).isEqualTo(DEFAULT_EMAIL);
         assertThat(testCustomer.getAge()).isEqualTo(DEFAULT_AGE);
@@ -256,8 +259,8 @@ class CustomerResourceIT {
             .value(hasItem(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.[*].imageContentType")
             .value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.[*].image")
-            .value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.[*].imageHash")
+            .value(hasItem(DEFAULT_IMAGE_HASH))
             .jsonPath("$.[*].email")
             .value(hasItem(DEFAULT_EMAIL))
             .jsonPath("$.[*].age")
@@ -289,8 +292,8 @@ class CustomerResourceIT {
             .value(is(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.imageContentType")
             .value(is(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.image")
-            .value(is(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.imageHash")
+            .value(is(DEFAULT_IMAGE_HASH))
             .jsonPath("$.email")
             .value(is(DEFAULT_EMAIL))
             .jsonPath("$.age")
@@ -322,7 +325,7 @@ class CustomerResourceIT {
         updatedCustomer
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL)
             .age(UPDATED_AGE);
@@ -343,7 +346,7 @@ class CustomerResourceIT {
         Customer testCustomer = customerList.get(customerList.size() - 1);
         assertThat(testCustomer.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testCustomer.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testCustomer.getImage()).isEqualTo(UPDATED_IMAGE);
+        assertThat(testCustomer.getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
         assertThat(testCustomer.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testCustomer.getEmail()).isEqualTo(UPDATED_EMAIL);
         assertThat(testCustomer.getAge()).isEqualTo(UPDATED_AGE);
@@ -447,7 +450,7 @@ class CustomerResourceIT {
         Customer testCustomer = customerList.get(customerList.size() - 1);
         assertThat(testCustomer.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testCustomer.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testCustomer.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testCustomer.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testCustomer.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testCustomer.getEmail()).isEqualTo(DEFAULT_EMAIL);
         assertThat(testCustomer.getAge()).isEqualTo(UPDATED_AGE);
@@ -468,7 +471,7 @@ class CustomerResourceIT {
         partialUpdatedCustomer
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL)
             .age(UPDATED_AGE);
@@ -488,7 +491,7 @@ class CustomerResourceIT {
         Customer testCustomer = customerList.get(customerList.size() - 1);
         assertThat(testCustomer.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testCustomer.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testCustomer.getImage()).isEqualTo(UPDATED_IMAGE);
+        assertThat(testCustomer.getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
         assertThat(testCustomer.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testCustomer.getEmail()).isEqualTo(UPDATED_EMAIL);
         assertThat(testCustomer.getAge()).isEqualTo(UPDATED_AGE);
@@ -10,16 +10,22 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cloud.stream.test.binder.MessageCollector;
 import org.springframework.http.MediaType;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.GenericMessage;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.util.MimeTypeUtils;
@@ -41,28 +47,47 @@ class ERestaurantCustomerKafkaResourceIT {
     @Qualifier(KafkaSseConsumer.CHANNELNAME)
     private MessageChannel input;
 
+    @Autowired
+    @Qualifier(KafkaSseProducer.RESULTS_CHANNELNAME)
+    private MessageChannel results;
+
     @Autowired
     private MessageCollector collector;
 
     @Test
     void producesMessages() throws InterruptedException {
+        BlockingQueue<Message<?>> messages = collector.forChannel(output);
+        CompletableFuture<Message<?>> sent = acknowledgeNextMessage(messages);
+
         client.post().uri("/api/e-restaurant-customer-kafka/publish?message=value-produce").exchange().expectStatus().isNoContent();
 
-        BlockingQueue<Message<?>> messages = collector.forChannel(output);
-        GenericMessage<String> payload = (GenericMessage<String>) messages.take();
+        GenericMessage<String> payload = (GenericMessage<String>) sent.join();
         assertThat(payload.getPayload()).isEqualTo("value-produce");
     }
 
+    private CompletableFuture<Message<?>> acknowledgeNextMessage(BlockingQueue<Message<?>> messages) {
+        // the test binder does not report the acknowledgements of the broker, so the test does
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Message<?> message = messages.poll(10, TimeUnit.SECONDS);
+                RecordMetadata metadata = new RecordMetadata(new TopicPartition("sse-topic", 0), 0L, 0, 0L, 0, 0);
+                results.send(MessageBuilder.fromMessage(message).setHeader(KafkaHeaders.RECORD_METADATA, metadata).build());
+                return message;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
     @Test
     void consumesMessages() {
-        Map<String, Object> map = new HashMap<>();
-        map.put(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE);
-        MessageHeaders headers = new MessageHeaders(map);
-        Message<String> testMessage = new GenericMessage<>("value-consume", headers);
-        input.send(testMessage);
+        input.send(createMessage("value-before", 41L));
+        input.send(createMessage("value-consume", 42L));
         String value = client
             .get()
             .uri("/api/e-restaurant-customer-kafka/consume")
+            .header("Last-Event-ID", "0-41")
             .accept(MediaType.TEXT_EVENT_STREAM)
             .exchange()
             .expectStatus()
@@ -74,4 +99,12 @@ class ERestaurantCustomerKafkaResourceIT {
             .blockFirst(Duration.ofSeconds(10));
         assertThat(value).isEqualTo("value-consume");
     }
+
+    private Message<String> createMessage(String payload, long offset) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE);
+        map.put(KafkaHeaders.RECEIVED_PARTITION_ID, 0);
+        map.put(KafkaHeaders.OFFSET, offset);
+        return new GenericMessage<>(payload, new MessageHeaders(map));
+    }
 }
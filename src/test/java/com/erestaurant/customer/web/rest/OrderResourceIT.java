@@ -1,15 +1,19 @@
 package com.erestaurant.customer.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
 import com.erestaurant.customer.IntegrationTest;
 import com.erestaurant.customer.domain.Order;
+import com.erestaurant.customer.domain.enumeration.OrderState;
 import com.erestaurant.customer.repository.EntityManager;
 import com.erestaurant.customer.repository.OrderRepository;
 import com.erestaurant.customer.service.dto.OrderDTO;
+import com.erestaurant.customer.service.dto.OrderSnapshotDTO;
+import com.erestaurant.customer.service.dto.OrderTransitionDTO;
 import com.erestaurant.customer.service.mapper.OrderMapper;
 import java.time.Duration;
 import java.util.List;
@@ -513,4 +517,140 @@ class OrderResourceIT {
         List<Order> orderList = orderRepository.findAll().collectList().block();
         assertThat(orderList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void getStateOfNewOrder() {
+        // Initialize the database
+        order.setId(UUID.randomUUID().toString());
+        orderRepository.save(order).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/state", order.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.orderId")
+            .value(is(order.getId()))
+            .jsonPath("$.state")
+            .value(is(OrderState.NEW_ORDER.name()));
+    }
+
+    @Test
+    void getStateOfNonExistingOrder() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/state", UUID.randomUUID().toString())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void transitionOrder() throws Exception {
+        // Initialize the database
+        order.setId(UUID.randomUUID().toString());
+        orderRepository.save(order).block();
+        OrderTransitionDTO orderTransitionDTO = new OrderTransitionDTO();
+        orderTransitionDTO.setToState(OrderState.COMPLETE);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/transitions", order.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(orderTransitionDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody()
+            .jsonPath("$.fromState")
+            .value(is(OrderState.NEW_ORDER.name()))
+            .jsonPath("$.toState")
+            .value(is(OrderState.COMPLETE.name()));
+
+        assertThat(orderRepository.findCurrentState(order.getId()).block()).isEqualTo(OrderState.COMPLETE);
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/transitions", order.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].toState")
+            .value(contains(OrderState.COMPLETE.name()));
+    }
+
+    @Test
+    void transitionOrderToInvalidState() throws Exception {
+        // Initialize the database
+        order.setId(UUID.randomUUID().toString());
+        orderRepository.save(order).block();
+        OrderTransitionDTO orderTransitionDTO = new OrderTransitionDTO();
+        orderTransitionDTO.setToState(OrderState.REFUNDED);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/transitions", order.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(orderTransitionDTO))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        assertThat(orderRepository.findCurrentState(order.getId()).block()).isEqualTo(OrderState.NEW_ORDER);
+    }
+
+    @Test
+    void getOrderHistory() throws Exception {
+        // Create the Order and move it to another state
+        OrderDTO orderDTO = webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(orderMapper.toDto(order)))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody(OrderDTO.class)
+            .returnResult()
+            .getResponseBody();
+        OrderTransitionDTO orderTransitionDTO = new OrderTransitionDTO();
+        orderTransitionDTO.setToState(OrderState.COMPLETE);
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/transitions", orderDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(orderTransitionDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/history", orderDTO.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].eventType")
+            .value(contains("CREATED", "TRANSITIONED"));
+
+        OrderSnapshotDTO state = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/history/state?version=1", orderDTO.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(OrderSnapshotDTO.class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(state.getState()).isEqualTo(OrderState.NEW_ORDER);
+        assertThat(state.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+    }
 }
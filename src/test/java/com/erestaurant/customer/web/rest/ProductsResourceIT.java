@@ -3,15 +3,23 @@ package com.erestaurant.customer.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
 import com.erestaurant.customer.IntegrationTest;
 import com.erestaurant.customer.domain.Products;
 import com.erestaurant.customer.repository.EntityManager;
 import com.erestaurant.customer.repository.ProductsRepository;
+import com.erestaurant.customer.service.CatalogCacheService;
+import com.erestaurant.customer.service.ProductsSearchService;
+import com.erestaurant.customer.service.dto.BulkItemResultDTO;
 import com.erestaurant.customer.service.dto.ProductsDTO;
 import com.erestaurant.customer.service.mapper.ProductsMapper;
+import com.erestaurant.customer.web.rest.util.CursorPaginationUtil;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
@@ -22,10 +30,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
-import org.springframework.util.Base64Utils;
 
 /**
  * Integration tests for the {@link ProductsResource} REST controller.
@@ -43,6 +52,8 @@ class ProductsResourceIT {
 
     private static final byte[] DEFAULT_IMAGE = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_IMAGE_HASH = TestUtil.sha256Hex(DEFAULT_IMAGE);
+    private static final String UPDATED_IMAGE_HASH = TestUtil.sha256Hex(UPDATED_IMAGE);
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
 
@@ -58,6 +69,12 @@ class ProductsResourceIT {
     @Autowired
     private ProductsMapper productsMapper;
 
+    @Autowired
+    private CatalogCacheService catalogCacheService;
+
+    @Autowired
+    private ProductsSearchService productsSearchService;
+
     @Autowired
     private EntityManager em;
 
@@ -76,7 +93,7 @@ class ProductsResourceIT {
         Products products = new Products()
             .name(DEFAULT_NAME)
             .description(DEFAULT_DESCRIPTION)
-            .image(DEFAULT_IMAGE)
+            .imageHash(DEFAULT_IMAGE_HASH)
             .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE)
             .estimatedPreparaingTime(DEFAULT_ESTIMATED_PREPARAING_TIME);
         return products;
@@ -92,7 +109,7 @@ class ProductsResourceIT {
         Products products = new Products()
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .estimatedPreparaingTime(UPDATED_ESTIMATED_PREPARAING_TIME);
         return products;
@@ -119,6 +136,7 @@ class ProductsResourceIT {
     @BeforeEach
     public void initTest() {
         deleteEntities(em);
+        catalogCacheService.evictProducts(null).block();
         products = createEntity(em);
     }
 
@@ -127,6 +145,8 @@ class ProductsResourceIT {
         int databaseSizeBeforeCreate = productsRepository.findAll().collectList().block().size();
         // Create the Products
         ProductsDTO productsDTO = productsMapper.toDto(products);
+        productsDTO.setImageHash(null);
+        productsDTO.setImage(DEFAULT_IMAGE);
         webTestClient
             .post()
             .uri(ENTITY_API_URL)
@@ -142,11 +162,51 @@ class ProductsResourceIT {
         Products testProducts = productsList.get(productsList.size() - 1);
         assertThat(testProducts.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testProducts.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testProducts.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testProducts.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testProducts.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testProducts.getEstimatedPreparaingTime()).isEqualTo(DEFAULT_ESTIMATED_PREPARAING_TIME);
     }
 
+    @Test
+    void createOrUpdateProductsInBulk() throws Exception {
+        products.setId(UUID.randomUUID().toString());
+        productsRepository.save(products).block();
+        int databaseSizeBeforeCreate = productsRepository.findAll().collectList().block().size();
+
+        ProductsDTO updatedProductsDTO = productsMapper.toDto(products);
+        updatedProductsDTO.setName(UPDATED_NAME);
+        ProductsDTO newProductsDTO = productsMapper.toDto(createEntity(em).id(UUID.randomUUID().toString()));
+        ProductsDTO invalidProductsDTO = productsMapper.toDto(createEntity(em).id(UUID.randomUUID().toString()).name(null));
+        String body = String.join(
+            "\n",
+            new String(TestUtil.convertObjectToJsonBytes(updatedProductsDTO), StandardCharsets.UTF_8),
+            new String(TestUtil.convertObjectToJsonBytes(invalidProductsDTO), StandardCharsets.UTF_8),
+            new String(TestUtil.convertObjectToJsonBytes(newProductsDTO), StandardCharsets.UTF_8)
+        );
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(BulkItemResultDTO.class)
+            .isEqualTo(
+                List.of(
+                    BulkItemResultDTO.saved(0, updatedProductsDTO.getId()),
+                    BulkItemResultDTO.failed(1, invalidProductsDTO.getId(), "name must not be null"),
+                    BulkItemResultDTO.saved(2, newProductsDTO.getId())
+                )
+            );
+
+        List<Products> productsList = productsRepository.findAll().collectList().block();
+        assertThat(productsList).hasSize(databaseSizeBeforeCreate + 1);
+        assertThat(productsRepository.findById(products.getId()).block().getName()).isEqualTo(UPDATED_NAME);
+    }
+
     @Test
     void createProductsWithExistingId() throws Exception {
         // Create the Products with an existing ID
@@ -241,7 +301,7 @@ class ProductsResourceIT {
         Products testProducts = productsList.get(0);
         assertThat(testProducts.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testProducts.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testProducts.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testProducts.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testProducts.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testProducts.getEstimatedPreparaingTime()).isEqualTo(DEFAULT_ESTIMATED_PREPARAING_TIME);
     }
@@ -271,12 +331,116 @@ class ProductsResourceIT {
             .value(hasItem(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.[*].imageContentType")
             .value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.[*].image")
-            .value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.[*].imageHash")
+            .value(hasItem(DEFAULT_IMAGE_HASH))
             .jsonPath("$.[*].estimatedPreparaingTime")
             .value(hasItem(DEFAULT_ESTIMATED_PREPARAING_TIME.doubleValue()));
     }
 
+    @Test
+    void getAllProductsWithFields() {
+        // Initialize the database
+        products.setId(UUID.randomUUID().toString());
+        productsRepository.save(products).block();
+
+        // Get the id and the name of all the products
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=name")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[?(@.id == '%s')].name", products.getId())
+            .isEqualTo(DEFAULT_NAME)
+            .jsonPath("$.[?(@.id == '%s')].description", products.getId())
+            .value(hasItem(nullValue()));
+    }
+
+    @Test
+    void getAllProductsSummary() {
+        // Initialize the database
+        products.setId(UUID.randomUUID().toString());
+        productsRepository.save(products).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?view=summary")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[?(@.id == '%s')].imageHash", products.getId())
+            .isEqualTo(DEFAULT_IMAGE_HASH)
+            .jsonPath("$.[?(@.id == '%s')].description", products.getId())
+            .value(hasItem(nullValue()));
+    }
+
+    @Test
+    void getAllProductsWithInvalidFields() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=unknown")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?view=full")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllProductsAfterCursor() {
+        // Initialize the database
+        products.setId("a-" + UUID.randomUUID());
+        productsRepository.save(products).block();
+        Products nextProducts = createEntity(em).id("b-" + UUID.randomUUID());
+        productsRepository.save(nextProducts).block();
+
+        // Get the page after the first products
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=1&cursor={cursor}", CursorPaginationUtil.encodeCursor(products.getId()))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(CursorPaginationUtil.HEADER_X_NEXT_CURSOR, CursorPaginationUtil.encodeCursor(nextProducts.getId()))
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(is(List.of(nextProducts.getId())));
+    }
+
+    @Test
+    void getAllProductsWithInvalidCursor() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?cursor=%%%")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllProductsAfterCursorWithTooLargePage() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?cursor=&size={size}", CursorPaginationUtil.MAX_PAGE_SIZE + 1)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getProducts() {
         // Initialize the database
@@ -302,12 +466,63 @@ class ProductsResourceIT {
             .value(is(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.imageContentType")
             .value(is(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.image")
-            .value(is(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.imageHash")
+            .value(is(DEFAULT_IMAGE_HASH))
             .jsonPath("$.estimatedPreparaingTime")
             .value(is(DEFAULT_ESTIMATED_PREPARAING_TIME.doubleValue()));
     }
 
+    @Test
+    void getProductsImage() throws Exception {
+        byte[] image = TestUtil.createByteArray(64, "1");
+        ProductsDTO productsDTO = productsMapper.toDto(products.id(UUID.randomUUID().toString()));
+        productsDTO.setImageHash(null);
+        productsDTO.setImage(image);
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(productsDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody()
+            .jsonPath("$.imageHash")
+            .value(is(TestUtil.sha256Hex(image)))
+            .jsonPath("$.image")
+            .doesNotExist();
+
+        // Get the image, unless it is not modified, or a part of it
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/image", products.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(DEFAULT_IMAGE_CONTENT_TYPE)
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"" + TestUtil.sha256Hex(image) + "\"")
+            .expectBody(byte[].class)
+            .isEqualTo(image);
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/image", products.getId())
+            .ifNoneMatch("\"" + TestUtil.sha256Hex(image) + "\"")
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/image", products.getId())
+            .header(HttpHeaders.RANGE, "bytes=0-9")
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PARTIAL_CONTENT)
+            .expectBody(byte[].class)
+            .isEqualTo(Arrays.copyOf(image, 10));
+    }
+
     @Test
     void getNonExistingProducts() {
         // Get the products
@@ -333,7 +548,7 @@ class ProductsResourceIT {
         updatedProducts
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .estimatedPreparaingTime(UPDATED_ESTIMATED_PREPARAING_TIME);
         ProductsDTO productsDTO = productsMapper.toDto(updatedProducts);
@@ -353,7 +568,7 @@ class ProductsResourceIT {
         Products testProducts = productsList.get(productsList.size() - 1);
         assertThat(testProducts.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testProducts.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testProducts.getImage()).isEqualTo(UPDATED_IMAGE);
+        assertThat(testProducts.getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
         assertThat(testProducts.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testProducts.getEstimatedPreparaingTime()).isEqualTo(UPDATED_ESTIMATED_PREPARAING_TIME);
     }
@@ -439,7 +654,7 @@ class ProductsResourceIT {
         Products partialUpdatedProducts = new Products();
         partialUpdatedProducts.setId(products.getId());
 
-        partialUpdatedProducts.name(UPDATED_NAME).image(UPDATED_IMAGE).imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+        partialUpdatedProducts.name(UPDATED_NAME).imageHash(UPDATED_IMAGE_HASH).imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         webTestClient
             .patch()
@@ -456,7 +671,7 @@ class ProductsResourceIT {
         Products testProducts = productsList.get(productsList.size() - 1);
         assertThat(testProducts.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testProducts.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testProducts.getImage()).isEqualTo(UPDATED_IMAGE);
+        assertThat(testProducts.getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
         assertThat(testProducts.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testProducts.getEstimatedPreparaingTime()).isEqualTo(DEFAULT_ESTIMATED_PREPARAING_TIME);
     }
@@ -476,7 +691,7 @@ class ProductsResourceIT {
         partialUpdatedProducts
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .estimatedPreparaingTime(UPDATED_ESTIMATED_PREPARAING_TIME);
 
@@ -495,7 +710,7 @@ class ProductsResourceIT {
         Products testProducts = productsList.get(productsList.size() - 1);
         assertThat(testProducts.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testProducts.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testProducts.getImage()).isEqualTo(UPDATED_IMAGE);
+        assertThat(testProducts.getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
         assertThat(testProducts.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testProducts.getEstimatedPreparaingTime()).isEqualTo(UPDATED_ESTIMATED_PREPARAING_TIME);
     }
@@ -569,6 +784,59 @@ class ProductsResourceIT {
         assertThat(productsList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void searchProducts() throws Exception {
+        // Initialize the database
+        products.setId(UUID.randomUUID().toString());
+        productsRepository.save(products).block();
+
+        // Rename the products, which indexes it
+        products.name("Vegan Burger").description("A grilled soy patty. Served with fries.");
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, products.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(productsMapper.toDto(products)))
+            .exchange()
+            .expectStatus()
+            .isOk();
+        productsSearchService.flush().block();
+
+        webTestClient
+            .get()
+            .uri("/api/_search/products?query=vegan burger&page=0&size=10")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[0].products.id")
+            .isEqualTo(products.getId())
+            .jsonPath("$.[0].products.estimatedPreparaingTime")
+            .isEqualTo(DEFAULT_ESTIMATED_PREPARAING_TIME.doubleValue())
+            .jsonPath("$.[0].highlights.name[0]")
+            .isEqualTo("<em>Vegan</em> <em>Burger</em>");
+
+        // Delete the products, which removes it from the index
+        webTestClient.delete().uri(ENTITY_API_URL_ID, products.getId()).exchange().expectStatus().isNoContent();
+        productsSearchService.flush().block();
+
+        webTestClient
+            .get()
+            .uri("/api/_search/products?query=vegan")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].products.id")
+            .value(not(hasItem(products.getId())));
+
+        webTestClient.get().uri("/api/_search/products?query= ").exchange().expectStatus().isBadRequest();
+    }
+
     @Test
     void deleteProducts() {
         // Initialize the database
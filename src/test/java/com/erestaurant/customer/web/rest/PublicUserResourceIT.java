@@ -10,6 +10,7 @@ import com.erestaurant.customer.config.TestSecurityConfiguration;
 import com.erestaurant.customer.domain.User;
 import com.erestaurant.customer.repository.EntityManager;
 import com.erestaurant.customer.repository.UserRepository;
+import com.erestaurant.customer.repository.search.UserQuery;
 import com.erestaurant.customer.repository.search.UserSearchRepository;
 import com.erestaurant.customer.security.AuthoritiesConstants;
 import com.erestaurant.customer.service.dto.UserDTO;
@@ -17,9 +18,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -82,4 +85,27 @@ class PublicUserResourceIT {
 
         assertThat(foundUser.getLogin()).isEqualTo(DEFAULT_LOGIN);
     }
+
+    @Test
+    void searchUsers() {
+        when(mockUserSearchRepository.search(any(), any())).thenReturn(Flux.just(user));
+
+        webTestClient
+            .get()
+            .uri("/api/_search/users/login:john name:doe?page=0&size=10")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].login")
+            .isEqualTo(DEFAULT_LOGIN);
+
+        verify(mockUserSearchRepository).search(UserQuery.parse("login:john name:doe"), PageRequest.of(0, 10));
+    }
+
+    @Test
+    void searchUsersWithInvalidQuery() {
+        webTestClient.get().uri("/api/_search/users/login:j*").accept(MediaType.APPLICATION_JSON).exchange().expectStatus().isBadRequest();
+    }
 }